@@ -0,0 +1,143 @@
+/**
+ * JMH throughput benchmark of the thread safe hash tables under a read heavy mixed workload (90%
+ * gets, 9% puts, 1% removes over a fixed key range). Compares {@link
+ * ConcurrentHashTableSeparateChaining} against a {@link HashTableSeparateChaining} guarded by a
+ * single lock and against {@code java.util.concurrent.ConcurrentHashMap}.
+ *
+ * <p>The number of threads is set with JMH's -t flag, so sweep it by running the benchmark once per
+ * thread count:
+ *
+ * <p>$ for t in 1 2 4 8 16 32 64; do ./gradlew jmh -PjmhArgs="ConcurrentHashTableBenchmark -t $t";
+ * cp build/reports/jmh/results.json build/reports/jmh/concurrent-$t.json; done
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConcurrentHashTableBenchmark {
+
+  // The operations every table under test has to support.
+  interface Table {
+    Integer get(Integer key);
+
+    Integer put(Integer key, Integer value);
+
+    Integer remove(Integer key);
+  }
+
+  public enum Implementation {
+    STRIPED_SEPARATE_CHAINING {
+      @Override
+      Table create() {
+        final ConcurrentHashTableSeparateChaining<Integer, Integer> map =
+            new ConcurrentHashTableSeparateChaining<>();
+        return new Table() {
+          @Override
+          public Integer get(Integer key) {
+            return map.get(key);
+          }
+
+          @Override
+          public Integer put(Integer key, Integer value) {
+            return map.put(key, value);
+          }
+
+          @Override
+          public Integer remove(Integer key) {
+            return map.remove(key);
+          }
+        };
+      }
+    },
+    SYNCHRONIZED_SEPARATE_CHAINING {
+      @Override
+      Table create() {
+        final HashTableSeparateChaining<Integer, Integer> map = new HashTableSeparateChaining<>();
+        return new Table() {
+          @Override
+          public synchronized Integer get(Integer key) {
+            return map.get(key);
+          }
+
+          @Override
+          public synchronized Integer put(Integer key, Integer value) {
+            return map.put(key, value);
+          }
+
+          @Override
+          public synchronized Integer remove(Integer key) {
+            return map.remove(key);
+          }
+        };
+      }
+    },
+    CONCURRENT_HASH_MAP {
+      @Override
+      Table create() {
+        final ConcurrentHashMap<Integer, Integer> map = new ConcurrentHashMap<>();
+        return new Table() {
+          @Override
+          public Integer get(Integer key) {
+            return map.get(key);
+          }
+
+          @Override
+          public Integer put(Integer key, Integer value) {
+            return map.put(key, value);
+          }
+
+          @Override
+          public Integer remove(Integer key) {
+            return map.remove(key);
+          }
+        };
+      }
+    };
+
+    abstract Table create();
+  }
+
+  @Param({"STRIPED_SEPARATE_CHAINING", "SYNCHRONIZED_SEPARATE_CHAINING", "CONCURRENT_HASH_MAP"})
+  public Implementation implementation;
+
+  @Param({"1048576"})
+  public int keyRange;
+
+  private Table table;
+
+  // Half fill the key range so gets hit and miss equally often.
+  @Setup
+  public void setup() {
+    table = implementation.create();
+    for (int i = 0; i < keyRange; i += 2) table.put(i, i);
+  }
+
+  @Benchmark
+  public Integer mixedOperations() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Integer key = random.nextInt(keyRange);
+    int operation = random.nextInt(100);
+    if (operation < 90) return table.get(key);
+    if (operation < 99) return table.put(key, operation);
+    return table.remove(key);
+  }
+}
@@ -0,0 +1,77 @@
+/**
+ * JMH benchmark of loading a batch of random edges into a union find, comparing the sequential
+ * {@link UnionFind} against {@link ConcurrentUnionFind#unifyAll} on the common fork/join pool and
+ * against {@link ConcurrentUnionFind#unify} called from a single thread, which shows the cost of
+ * the atomic operations.
+ *
+ * <p>The parallelism of unifyAll is that of the common pool, set it with
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=N in the JVM arguments.
+ *
+ * <p>$ ./gradlew jmh -PjmhArgs="UnionFindBenchmark"
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UnionFindBenchmark {
+
+  @Param({"1000000", "10000000"})
+  public int n;
+
+  // The number of edges per node.
+  @Param({"2"})
+  public int density;
+
+  private int[] from, to;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    int m = density * n;
+    from = new int[m];
+    to = new int[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+    }
+  }
+
+  @Benchmark
+  public int sequential() {
+    UnionFind uf = new UnionFind(n);
+    for (int i = 0; i < from.length; i++) uf.unify(from[i], to[i]);
+    return uf.components();
+  }
+
+  @Benchmark
+  public int concurrentSingleThread() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+    for (int i = 0; i < from.length; i++) uf.unify(from[i], to[i]);
+    return uf.components();
+  }
+
+  @Benchmark
+  public int concurrentUnifyAll() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+    uf.unifyAll(from, to);
+    return uf.components();
+  }
+}
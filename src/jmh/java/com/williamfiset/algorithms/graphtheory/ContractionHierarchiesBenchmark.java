@@ -0,0 +1,106 @@
+/**
+ * JMH benchmark of point to point shortest path queries on grid graphs with random weights, a rough
+ * stand in for road networks. Compares queries on a {@link ContractionHierarchies} against plain
+ * and bidirectional Dijkstra. The preprocessing is done once per trial and is not measured.
+ *
+ * <p>$ ./gradlew jmh -PjmhArgs="ContractionHierarchiesBenchmark"
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractionHierarchiesBenchmark {
+
+  private static final int QUERIES = 1024;
+
+  // Number of rows and columns of the grid.
+  @Param({"100", "200"})
+  public int side;
+
+  private DijkstrasShortestPathAdjacencyList adjacencyListSolver;
+  private DijkstrasShortestPathCsr csrSolver;
+  private DijkstrasShortestPathCsr.Workspace csrWorkspace;
+  private ContractionHierarchies ch;
+  private ContractionHierarchies.Workspace chWorkspace;
+
+  private int[] starts, ends;
+  private int query;
+
+  @Setup
+  public void setup() {
+    CsrGraph graph = ContractionHierarchies.gridGraph(side, side, 42);
+    int n = graph.numNodes();
+    adjacencyListSolver = new DijkstrasShortestPathAdjacencyList(n);
+    for (int u = 0; u < n; u++) {
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        adjacencyListSolver.addEdge(u, graph.target(e), (int) graph.weight(e));
+      }
+    }
+    csrSolver = new DijkstrasShortestPathCsr(graph);
+    csrWorkspace = csrSolver.newWorkspace();
+    ch = ContractionHierarchies.preprocess(graph);
+    chWorkspace = ch.newWorkspace();
+
+    Random random = new Random(7);
+    starts = new int[QUERIES];
+    ends = new int[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      starts[i] = random.nextInt(n);
+      ends[i] = random.nextInt(n);
+    }
+  }
+
+  private int nextQuery() {
+    return query = (query + 1) & (QUERIES - 1);
+  }
+
+  @Benchmark
+  public double dijkstra() {
+    int q = nextQuery();
+    return adjacencyListSolver.dijkstra(starts[q], ends[q]);
+  }
+
+  @Benchmark
+  public double bidirectionalDijkstra() {
+    int q = nextQuery();
+    return adjacencyListSolver.bidirectionalDijkstra(starts[q], ends[q]);
+  }
+
+  @Benchmark
+  public double csrWithWorkspace() {
+    int q = nextQuery();
+    return csrSolver.dijkstra(starts[q], ends[q], csrWorkspace);
+  }
+
+  @Benchmark
+  public double contractionHierarchies() {
+    int q = nextQuery();
+    return ch.query(starts[q], ends[q], chWorkspace);
+  }
+
+  @Benchmark
+  public int contractionHierarchiesWithPath() {
+    int q = nextQuery();
+    ch.query(starts[q], ends[q], chWorkspace);
+    return chWorkspace.reconstructPath().length;
+  }
+}
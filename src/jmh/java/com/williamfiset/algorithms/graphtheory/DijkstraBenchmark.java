@@ -0,0 +1,95 @@
+/**
+ * JMH benchmark of point to point shortest path queries on a random sparse graph. Compares the
+ * Dijkstra implementations backed by {@code java.util.PriorityQueue}, by a generic indexed d-ary
+ * heap and by the allocation free {@link DijkstrasShortestPathCsr} with a reused workspace.
+ *
+ * <p>Add JMH's GC profiler to see the allocation rate of each implementation:
+ *
+ * <p>$ ./gradlew jmh -PjmhArgs="DijkstraBenchmark -prof gc"
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DijkstraBenchmark {
+
+  private static final int QUERIES = 1024;
+
+  @Param({"10000", "100000"})
+  public int nodes;
+
+  @Param({"4"})
+  public int averageDegree;
+
+  private DijkstrasShortestPathAdjacencyList priorityQueueSolver;
+  private DijkstrasShortestPathAdjacencyListWithDHeap dHeapSolver;
+  private DijkstrasShortestPathCsr csrSolver;
+  private DijkstrasShortestPathCsr.Workspace workspace;
+
+  private int[] starts, ends;
+  private int query;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    priorityQueueSolver = new DijkstrasShortestPathAdjacencyList(nodes);
+    dHeapSolver = new DijkstrasShortestPathAdjacencyListWithDHeap(nodes);
+    CsrGraph.Builder builder = new CsrGraph.Builder(nodes);
+    for (int i = 0; i < nodes * averageDegree; i++) {
+      int u = random.nextInt(nodes), v = random.nextInt(nodes), cost = 1 + random.nextInt(100);
+      priorityQueueSolver.addEdge(u, v, cost);
+      dHeapSolver.addEdge(u, v, cost);
+      builder.addEdge(u, v, (double) cost);
+    }
+    csrSolver = new DijkstrasShortestPathCsr(builder.build());
+    workspace = csrSolver.newWorkspace();
+
+    starts = new int[QUERIES];
+    ends = new int[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      starts[i] = random.nextInt(nodes);
+      ends[i] = random.nextInt(nodes);
+    }
+  }
+
+  private int nextQuery() {
+    return query = (query + 1) & (QUERIES - 1);
+  }
+
+  @Benchmark
+  public double priorityQueue() {
+    int q = nextQuery();
+    return priorityQueueSolver.dijkstra(starts[q], ends[q]);
+  }
+
+  @Benchmark
+  public double indexedDHeap() {
+    int q = nextQuery();
+    return dHeapSolver.dijkstra(starts[q], ends[q]);
+  }
+
+  @Benchmark
+  public double csrWithWorkspace() {
+    int q = nextQuery();
+    return csrSolver.dijkstra(starts[q], ends[q], workspace);
+  }
+}
@@ -0,0 +1,55 @@
+/**
+ * JMH benchmark of all pairs shortest paths on random sparse graphs, comparing the textbook {@link
+ * FloydWarshallSolver} against the blocked and parallel {@link FloydWarshallBlockedSolver}.
+ *
+ * <p>$ ./gradlew jmh -PjmhArgs="FloydWarshallBenchmark"
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FloydWarshallBenchmark {
+
+  @Param({"512", "2048"})
+  public int n;
+
+  private double[][] matrix;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    matrix = FloydWarshallSolver.createGraph(n);
+    for (int i = 0; i < 8 * n; i++) {
+      int u = random.nextInt(n), v = random.nextInt(n);
+      if (u != v) matrix[u][v] = random.nextInt(100);
+    }
+  }
+
+  @Benchmark
+  public double[][] textbook() {
+    return new FloydWarshallSolver(matrix).getApspMatrix();
+  }
+
+  @Benchmark
+  public double[][] blocked() {
+    return new FloydWarshallBlockedSolver(matrix).getApspMatrix();
+  }
+}
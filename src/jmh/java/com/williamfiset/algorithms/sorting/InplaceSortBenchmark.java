@@ -0,0 +1,76 @@
+/**
+ * JMH benchmark of the sub-quadratic InplaceSort implementations across input sizes and input
+ * distributions. The quadratic sorts are benchmarked separately in {@link
+ * QuadraticInplaceSortBenchmark} since they are impractical on the larger input sizes.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -PjmhArgs="InplaceSortBenchmark"
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InplaceSortBenchmark {
+
+  @Param({
+    "BUCKET_SORT",
+    "COUNTING_SORT",
+    "HEAP_SORT",
+    "LSD_RADIX_SORT",
+    "LSD_RADIX_SORT_11_BIT",
+    "MERGE_SORT",
+    "PARALLEL_MERGE_SORT",
+    "PARALLEL_QUICK_SORT",
+    "QUICK_SORT",
+    "QUICK_SORT3",
+    "RADIX_SORT"
+  })
+  public SortingAlgorithm algorithm;
+
+  @Param({"1000", "100000", "1000000"})
+  public int size;
+
+  @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+  public InputDistribution distribution;
+
+  private InplaceSort sorter;
+  private int[] input;
+  private int[] values;
+
+  @Setup
+  public void setup() {
+    sorter = algorithm.create();
+    input = distribution.generate(size, new Random(0x5eed));
+    values = new int[size];
+  }
+
+  // Every call sorts a fresh copy of the unsorted input in a preallocated array. The copy is part
+  // of the measurement, but it is linear and small next to sorting, and avoids the timer overhead
+  // of a per invocation setup which would swamp the smallest input size. Returning the array keeps
+  // the JIT from eliminating the sort as dead code.
+  @Benchmark
+  public int[] sort() {
+    System.arraycopy(input, 0, values, 0, size);
+    sorter.sort(values);
+    return values;
+  }
+}
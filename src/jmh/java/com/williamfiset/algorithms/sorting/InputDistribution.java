@@ -0,0 +1,65 @@
+/**
+ * Input shapes used when benchmarking the sorting algorithms. Every generated value lies in the
+ * range [1, n] so that algorithms with restrictions on their input (counting sort, bucket sort and
+ * radix sort) can be benchmarked alongside the comparison based sorts.
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.Random;
+
+public enum InputDistribution {
+
+  // Uniformly random values.
+  RANDOM {
+    @Override
+    int[] generate(int n, Random random) {
+      int[] ar = new int[n];
+      for (int i = 0; i < n; i++) ar[i] = 1 + random.nextInt(n);
+      return ar;
+    }
+  },
+
+  // Values already in ascending order.
+  SORTED {
+    @Override
+    int[] generate(int n, Random random) {
+      int[] ar = new int[n];
+      for (int i = 0; i < n; i++) ar[i] = i + 1;
+      return ar;
+    }
+  },
+
+  // Values in descending order.
+  REVERSED {
+    @Override
+    int[] generate(int n, Random random) {
+      int[] ar = new int[n];
+      for (int i = 0; i < n; i++) ar[i] = n - i;
+      return ar;
+    }
+  },
+
+  // Random values drawn from a small set of distinct keys.
+  FEW_UNIQUE {
+    @Override
+    int[] generate(int n, Random random) {
+      int[] ar = new int[n];
+      int distinct = Math.max(1, Math.min(n, 16));
+      for (int i = 0; i < n; i++) ar[i] = 1 + random.nextInt(distinct);
+      return ar;
+    }
+  },
+
+  // Values ascending over the first half of the array and descending over the second half.
+  ORGAN_PIPE {
+    @Override
+    int[] generate(int n, Random random) {
+      int[] ar = new int[n];
+      for (int i = 0; i < n; i++) ar[i] = 1 + Math.min(i, n - 1 - i);
+      return ar;
+    }
+  };
+
+  // Generates an input array of length n. The same seed always produces the same array.
+  abstract int[] generate(int n, Random random);
+}
@@ -0,0 +1,60 @@
+/**
+ * JMH benchmark of the O(n^2) InplaceSort implementations on input sizes small enough for them to
+ * finish in a reasonable amount of time.
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew jmh -PjmhArgs="QuadraticInplaceSortBenchmark"
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QuadraticInplaceSortBenchmark {
+
+  @Param({"BUBBLE_SORT", "INSERTION_SORT", "SELECTION_SORT"})
+  public SortingAlgorithm algorithm;
+
+  @Param({"100", "1000", "10000"})
+  public int size;
+
+  @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+  public InputDistribution distribution;
+
+  private InplaceSort sorter;
+  private int[] input;
+  private int[] values;
+
+  @Setup
+  public void setup() {
+    sorter = algorithm.create();
+    input = distribution.generate(size, new Random(0x5eed));
+    values = new int[size];
+  }
+
+  // Sorts a fresh copy of the input on every call, see InplaceSortBenchmark.
+  @Benchmark
+  public int[] sort() {
+    System.arraycopy(input, 0, values, 0, size);
+    sorter.sort(values);
+    return values;
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * The InplaceSort implementations which can be selected from a JMH {@code @Param}.
+ */
+package com.williamfiset.algorithms.sorting;
+
+public enum SortingAlgorithm {
+  BUBBLE_SORT {
+    @Override
+    InplaceSort create() {
+      return new BubbleSort();
+    }
+  },
+  BUCKET_SORT {
+    @Override
+    InplaceSort create() {
+      return new BucketSort();
+    }
+  },
+  COUNTING_SORT {
+    @Override
+    InplaceSort create() {
+      return new CountingSort();
+    }
+  },
+  HEAP_SORT {
+    @Override
+    InplaceSort create() {
+      return new Heapsort();
+    }
+  },
+  INSERTION_SORT {
+    @Override
+    InplaceSort create() {
+      return new InsertionSort();
+    }
+  },
+  LSD_RADIX_SORT {
+    @Override
+    InplaceSort create() {
+      return new LsdRadixSort();
+    }
+  },
+  LSD_RADIX_SORT_11_BIT {
+    @Override
+    InplaceSort create() {
+      return new LsdRadixSort(11);
+    }
+  },
+  MERGE_SORT {
+    @Override
+    InplaceSort create() {
+      return new MergeSort();
+    }
+  },
+  PARALLEL_MERGE_SORT {
+    @Override
+    InplaceSort create() {
+      return new ParallelMergeSort();
+    }
+  },
+  PARALLEL_QUICK_SORT {
+    @Override
+    InplaceSort create() {
+      return new ParallelQuickSort();
+    }
+  },
+  QUICK_SORT {
+    @Override
+    InplaceSort create() {
+      return new QuickSort();
+    }
+  },
+  QUICK_SORT3 {
+    @Override
+    InplaceSort create() {
+      return new QuickSort3();
+    }
+  },
+  RADIX_SORT {
+    @Override
+    InplaceSort create() {
+      return new RadixSort();
+    }
+  },
+  SELECTION_SORT {
+    @Override
+    InplaceSort create() {
+      return new SelectionSort();
+    }
+  };
+
+  abstract InplaceSort create();
+}
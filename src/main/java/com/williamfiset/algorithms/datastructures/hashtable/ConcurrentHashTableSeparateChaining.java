@@ -0,0 +1,390 @@
+/**
+ * A thread safe hash-table using separate chaining.
+ *
+ * <p>Compared to wrapping {@link HashTableSeparateChaining} in a single lock this implementation
+ * lets many threads use the table at once:
+ *
+ * <ul>
+ *   <li>Writers only lock one of a fixed number of lock stripes. The stripe is chosen from the low
+ *       bits of the key's hash, and since the table size is a power of two which is never smaller
+ *       than the number of stripes, every key in a bucket always maps to the same stripe, no matter
+ *       how many times the table has grown.
+ *   <li>Readers never lock. Bucket chains are made of immutable nodes, writers build a new chain
+ *       (copying only the nodes in front of the one which changed) and publish it with a volatile
+ *       write, so a reader always sees a complete chain.
+ *   <li>Growing the table does not stop the world. When the table gets too full a table twice the
+ *       size is allocated and every subsequent write migrates a small chunk of buckets to it.
+ *       Migrated buckets are replaced by a forwarding marker which points readers and writers to
+ *       the new table. Once the last bucket is migrated the new table takes over.
+ * </ul>
+ *
+ * <p>Like {@code ConcurrentHashMap}, aggregate methods such as {@link #size()}, {@link #keys()} and
+ * {@link #clear()} are not atomic with respect to concurrent writes.
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentHashTableSeparateChaining<K, V> implements Iterable<K> {
+
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+  private static final double DEFAULT_LOAD_FACTOR = 0.75;
+  private static final int MAX_CAPACITY = 1 << 30;
+
+  // Number of buckets a writer migrates each time it helps grow the table.
+  private static final int MIGRATION_CHUNK = 16;
+
+  // An immutable link in a bucket chain.
+  private static final class Node<K, V> {
+    final int hash;
+    final K key;
+    final V value;
+    final Node<K, V> next;
+
+    Node(int hash, K key, V value, Node<K, V> next) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  private static final class Table<K, V> {
+    final AtomicReferenceArray<Node<K, V>> buckets;
+    final int mask, threshold;
+
+    // The table being migrated to, or null if this table is not growing.
+    final AtomicReference<Table<K, V>> next = new AtomicReference<>();
+
+    // The next bucket index to be claimed for migration and the number of
+    // buckets which have finished migrating.
+    final AtomicInteger claimed = new AtomicInteger(), migrated = new AtomicInteger();
+
+    Table(int size, double loadFactor) {
+      buckets = new AtomicReferenceArray<>(size);
+      mask = size - 1;
+      threshold = (int) Math.min(Integer.MAX_VALUE, size * loadFactor);
+    }
+
+    int size() {
+      return mask + 1;
+    }
+  }
+
+  // Marks a bucket whose contents have been moved to the next table.
+  @SuppressWarnings("rawtypes")
+  private static final Node FORWARD = new Node<>(0, null, null, null);
+
+  private final double maxLoadFactor;
+  private final ReentrantLock[] locks;
+  private final int lockMask;
+  private final AtomicReference<Table<K, V>> table;
+  private final LongAdder size = new LongAdder();
+
+  public ConcurrentHashTableSeparateChaining() {
+    this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  public ConcurrentHashTableSeparateChaining(int capacity) {
+    this(capacity, DEFAULT_LOAD_FACTOR, DEFAULT_CONCURRENCY_LEVEL);
+  }
+
+  // Designated constructor. The concurrency level is the number of lock
+  // stripes, rounded up to a power of two; it bounds how many writers can
+  // modify the table at the same time.
+  public ConcurrentHashTableSeparateChaining(
+      int capacity, double maxLoadFactor, int concurrencyLevel) {
+    if (capacity < 0) throw new IllegalArgumentException("Illegal capacity");
+    if (maxLoadFactor <= 0 || Double.isNaN(maxLoadFactor) || Double.isInfinite(maxLoadFactor))
+      throw new IllegalArgumentException("Illegal maxLoadFactor");
+    if (concurrencyLevel <= 0 || concurrencyLevel > MAX_CAPACITY)
+      throw new IllegalArgumentException("Illegal concurrencyLevel");
+
+    this.maxLoadFactor = maxLoadFactor;
+    int stripes = nextPowerOfTwo(concurrencyLevel);
+    locks = new ReentrantLock[stripes];
+    for (int i = 0; i < stripes; i++) locks[i] = new ReentrantLock();
+    lockMask = stripes - 1;
+
+    int tableSize = nextPowerOfTwo(Math.max(Math.max(capacity, DEFAULT_CAPACITY), stripes));
+    table = new AtomicReference<>(new Table<K, V>(tableSize, maxLoadFactor));
+  }
+
+  private static int nextPowerOfTwo(int n) {
+    if (n >= MAX_CAPACITY) return MAX_CAPACITY;
+    int pow2 = Integer.highestOneBit(n);
+    return pow2 == n ? n : pow2 << 1;
+  }
+
+  // Spreads the higher bits of the hash down since only the low bits are used
+  // to pick both the bucket and the lock stripe.
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> Node<K, V> forward() {
+    return (Node<K, V>) FORWARD;
+  }
+
+  // Returns the number of elements currently inside the hash-table
+  public int size() {
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(0, size.sum()));
+  }
+
+  // Returns true/false depending on whether the hash-table is empty
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  // Returns the number of buckets in the table currently in use
+  public int getCapacity() {
+    return table.get().size();
+  }
+
+  public boolean containsKey(K key) {
+    return hasKey(key);
+  }
+
+  // Returns true/false depending on whether a key is in the hash table
+  public boolean hasKey(K key) {
+    return findNode(key) != null;
+  }
+
+  // Gets a key's values from the map and returns the value.
+  // NOTE: returns null if the value is null AND also returns
+  // null if the key does not exists, so watch out..
+  public V get(K key) {
+    Node<K, V> node = findNode(key);
+    return node == null ? null : node.value;
+  }
+
+  // Lock free lookup. Follows forwarding markers into newer tables if the
+  // bucket has already been migrated.
+  private Node<K, V> findNode(K key) {
+    if (key == null) return null;
+    int hash = spread(key.hashCode());
+    Table<K, V> t = table.get();
+    while (true) {
+      Node<K, V> node = t.buckets.get(hash & t.mask);
+      if (node == FORWARD) {
+        t = t.next.get();
+        continue;
+      }
+      for (; node != null; node = node.next) {
+        if (node.hash == hash && node.key.equals(key)) return node;
+      }
+      return null;
+    }
+  }
+
+  // Insert, put and add all place a value in the hash-table
+  public V put(K key, V value) {
+    return insert(key, value);
+  }
+
+  public V add(K key, V value) {
+    return insert(key, value);
+  }
+
+  public V insert(K key, V value) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    int hash = spread(key.hashCode());
+    Table<K, V> start = table.get();
+    V oldValue = null;
+    boolean added = false;
+
+    ReentrantLock lock = locks[hash & lockMask];
+    lock.lock();
+    try {
+      Table<K, V> t = target(start, hash);
+      int i = hash & t.mask;
+      Node<K, V> head = t.buckets.get(i);
+      Node<K, V> existing = find(head, hash, key);
+      if (existing == null) {
+        t.buckets.set(i, new Node<>(hash, key, value, head));
+        added = true;
+      } else {
+        oldValue = existing.value;
+        t.buckets.set(i, replace(head, existing, new Node<>(hash, key, value, existing.next)));
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (added) size.increment();
+    afterWrite(added);
+    return oldValue;
+  }
+
+  // Removes a key from the map and returns the value.
+  // NOTE: returns null if the value is null AND also returns
+  // null if the key does not exists.
+  public V remove(K key) {
+    if (key == null) return null;
+    int hash = spread(key.hashCode());
+    Table<K, V> start = table.get();
+    V oldValue = null;
+    boolean removed = false;
+
+    ReentrantLock lock = locks[hash & lockMask];
+    lock.lock();
+    try {
+      Table<K, V> t = target(start, hash);
+      int i = hash & t.mask;
+      Node<K, V> head = t.buckets.get(i);
+      Node<K, V> existing = find(head, hash, key);
+      if (existing != null) {
+        oldValue = existing.value;
+        t.buckets.set(i, replace(head, existing, existing.next));
+        removed = true;
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    if (removed) size.decrement();
+    afterWrite(false);
+    return oldValue;
+  }
+
+  // Clears all the contents of the hash-table. Keys inserted concurrently
+  // with the call to clear may or may not be removed.
+  public void clear() {
+    for (K key : keys()) remove(key);
+  }
+
+  // Follows forwarding markers to the table which currently owns the bucket
+  // of the given hash. Must be called while holding the hash's lock stripe so
+  // the bucket cannot be migrated underneath the caller.
+  private Table<K, V> target(Table<K, V> t, int hash) {
+    while (t.buckets.get(hash & t.mask) == FORWARD) t = t.next.get();
+    return t;
+  }
+
+  private static <K, V> Node<K, V> find(Node<K, V> node, int hash, K key) {
+    for (; node != null; node = node.next) {
+      if (node.hash == hash && node.key.equals(key)) return node;
+    }
+    return null;
+  }
+
+  // Returns a new chain where 'target' is replaced by the chain 'rest'. Only
+  // the nodes in front of target are copied, the tail is shared.
+  @SuppressWarnings("unchecked")
+  private static <K, V> Node<K, V> replace(Node<K, V> head, Node<K, V> target, Node<K, V> rest) {
+    int prefixLength = 0;
+    for (Node<K, V> node = head; node != target; node = node.next) prefixLength++;
+    Node<K, V>[] prefix = new Node[prefixLength];
+    for (int i = 0; i < prefixLength; i++, head = head.next) prefix[i] = head;
+    for (int i = prefixLength - 1; i >= 0; i--) {
+      rest = new Node<>(prefix[i].hash, prefix[i].key, prefix[i].value, rest);
+    }
+    return rest;
+  }
+
+  // Starts growing the table if an insertion made it too full, then lends a
+  // hand migrating buckets if a migration is in progress.
+  private void afterWrite(boolean added) {
+    Table<K, V> t = table.get();
+    if (added
+        && t.next.get() == null
+        && size.sum() > t.threshold
+        && t.size() < MAX_CAPACITY) {
+      t.next.compareAndSet(null, new Table<K, V>(t.size() << 1, maxLoadFactor));
+    }
+    if (t.next.get() != null) helpMigrate(t);
+  }
+
+  // Claims a chunk of buckets of 't' and moves them to the next table. The
+  // thread which migrates the last bucket makes the next table current.
+  private void helpMigrate(Table<K, V> t) {
+    Table<K, V> next = t.next.get();
+    int n = t.size();
+    int from = t.claimed.getAndAdd(MIGRATION_CHUNK);
+    if (from >= n) return;
+    int to = Math.min(n, from + MIGRATION_CHUNK);
+    for (int i = from; i < to; i++) migrateBucket(t, next, i);
+    if (t.migrated.addAndGet(to - from) == n) table.compareAndSet(t, next);
+  }
+
+  // Splits bucket i of 't' into buckets i and i + n of the next table, which
+  // is twice as large, then leaves a forwarding marker behind.
+  private void migrateBucket(Table<K, V> t, Table<K, V> next, int i) {
+    int n = t.size();
+    ReentrantLock lock = locks[i & lockMask];
+    lock.lock();
+    try {
+      Node<K, V> lo = null, hi = null;
+      for (Node<K, V> node = t.buckets.get(i); node != null; node = node.next) {
+        if ((node.hash & n) == 0) lo = new Node<>(node.hash, node.key, node.value, lo);
+        else hi = new Node<>(node.hash, node.key, node.value, hi);
+      }
+      next.buckets.set(i, lo);
+      next.buckets.set(i + n, hi);
+      t.buckets.set(i, forward());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // Returns the list of keys found within the hash table
+  public List<K> keys() {
+    List<K> keys = new ArrayList<>(size());
+    Table<K, V> t = table.get();
+    for (int i = 0; i < t.size(); i++) collectKeys(t, i, keys);
+    return keys;
+  }
+
+  private void collectKeys(Table<K, V> t, int i, List<K> keys) {
+    Node<K, V> node = t.buckets.get(i);
+    if (node == FORWARD) {
+      Table<K, V> next = t.next.get();
+      collectKeys(next, i, keys);
+      collectKeys(next, i + t.size(), keys);
+      return;
+    }
+    for (; node != null; node = node.next) keys.add(node.key);
+  }
+
+  // Return an iterator over a snapshot of the keys in this map. The iterator
+  // never throws ConcurrentModificationException.
+  @Override
+  public Iterator<K> iterator() {
+    final Iterator<K> it = keys().iterator();
+    return new Iterator<K>() {
+      @Override
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      @Override
+      public K next() {
+        return it.next();
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  // Returns a string representation of this hash table
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    for (K key : keys()) sb.append(key + " => " + get(key) + ", ");
+    sb.append("}");
+    return sb.toString();
+  }
+}
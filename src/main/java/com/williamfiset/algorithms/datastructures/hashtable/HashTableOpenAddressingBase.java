@@ -32,6 +32,9 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
   private static final int DEFAULT_CAPACITY = 7;
   private static final double DEFAULT_LOAD_FACTOR = 0.65;
 
+  // The number of keys getAll hashes before it starts probing for them.
+  private static final int BATCH_SIZE = 64;
+
   protected HashTableOpenAddressingBase() {
     this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
   }
@@ -125,12 +128,61 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
     return hashtableValues;
   }
 
+  // Returns the number of probes needed to find a key which is known to be in
+  // the table, where 0 means the key sits in its home bucket.
+  protected int probeLength(K key) {
+    setupProbing(key);
+    final int offset = normalizeIndex(key.hashCode());
+    int i = offset, x = 0;
+    // Skip over deleted cells, the keys' equals methods may not accept the tombstone.
+    while (keys[i] == TOMBSTONE || !key.equals(keys[i])) i = normalizeIndex(offset + probe(++x));
+    return x;
+  }
+
+  // Returns a histogram of the probe lengths of all the keys in the table, the
+  // value at index x is the number of keys found after exactly x probes. Useful
+  // for comparing how well the different probing strategies spread out keys.
+  public int[] probeLengthHistogram() {
+    int[] histogram = new int[1];
+    for (int i = 0; i < capacity; i++) {
+      if (keys[i] == null || keys[i] == TOMBSTONE) continue;
+      int length = probeLength(keys[i]);
+      if (length >= histogram.length)
+        histogram = java.util.Arrays.copyOf(histogram, Math.max(length + 1, 2 * histogram.length));
+      histogram[length]++;
+    }
+    int len = histogram.length;
+    while (len > 1 && histogram[len - 1] == 0) len--;
+    return java.util.Arrays.copyOf(histogram, len);
+  }
+
+  // Returns the mean number of probes needed to find a key in the table.
+  public double averageProbeLength() {
+    if (keyCount == 0) return 0;
+    int[] histogram = probeLengthHistogram();
+    long total = 0;
+    for (int x = 0; x < histogram.length; x++) total += (long) x * histogram[x];
+    return (double) total / keyCount;
+  }
+
+  // Returns the largest number of probes needed to find a key in the table.
+  public int maxProbeLength() {
+    return probeLengthHistogram().length - 1;
+  }
+
   // Double the size of the hash-table
   protected void resizeTable() {
-    increaseCapacity();
-    adjustCapacity();
+    resizeTable(0);
+  }
 
-    threshold = (int) (capacity * loadFactor);
+  // Grows the hash-table at least once, and until 'expectedKeys' keys fit
+  // below the threshold, then re-inserts all the keys in a single pass.
+  protected void resizeTable(int expectedKeys) {
+    do {
+      increaseCapacity();
+      adjustCapacity();
+      threshold = (int) (capacity * loadFactor);
+    } while (threshold < expectedKeys);
 
     K[] oldKeyTable = (K[]) new Object[capacity];
     V[] oldValueTable = (V[]) new Object[capacity];
@@ -227,6 +279,59 @@ public abstract class HashTableOpenAddressingBase<K, V> implements Iterable<K> {
     }
   }
 
+  // Places all the key-value pairs into the hash-table, newKeys[i] is mapped
+  // to newValues[i]. The table is resized at most once up front instead of
+  // possibly several times while the keys are being inserted.
+  public void putAll(K[] newKeys, V[] newValues) {
+    if (newKeys.length != newValues.length)
+      throw new IllegalArgumentException("Keys and values differ in length");
+    for (K key : newKeys) if (key == null) throw new IllegalArgumentException("Null key");
+
+    if (usedBuckets + newKeys.length > threshold) resizeTable(keyCount + newKeys.length);
+    for (int i = 0; i < newKeys.length; i++) insert(newKeys[i], newValues[i]);
+  }
+
+  // Looks up a batch of keys and stores the value associated with
+  // queryKeys[i] in out[i], or null if the key does not exist. Returns the
+  // number of keys found. Keys are processed in blocks: every key of a block
+  // is hashed before any of them is probed, which keeps the hashing and the
+  // scattered table accesses in two separate tight loops.
+  public int getAll(K[] queryKeys, V[] out) {
+    if (out.length < queryKeys.length)
+      throw new IllegalArgumentException("Output array is too small");
+
+    int[] offsets = new int[Math.min(BATCH_SIZE, queryKeys.length)];
+    int found = 0;
+    for (int lo = 0; lo < queryKeys.length; lo += BATCH_SIZE) {
+      int hi = Math.min(lo + BATCH_SIZE, queryKeys.length);
+      for (int i = lo; i < hi; i++) {
+        if (queryKeys[i] == null) throw new IllegalArgumentException("Null key");
+        offsets[i - lo] = normalizeIndex(queryKeys[i].hashCode());
+      }
+      for (int i = lo; i < hi; i++) {
+        int index = findIndex(queryKeys[i], offsets[i - lo]);
+        if (index == -1) {
+          out[i] = null;
+        } else {
+          out[i] = values[index];
+          found++;
+        }
+      }
+    }
+    return found;
+  }
+
+  // Returns the index of the bucket containing the key, or -1 if the key does
+  // not exist, where 'offset' is the normalized hash of the key. Unlike get,
+  // this does not relocate the key past any deleted cells.
+  protected int findIndex(K key, int offset) {
+    setupProbing(key);
+    for (int i = offset, x = 1; ; i = normalizeIndex(offset + probe(x++))) {
+      if (keys[i] == null) return -1;
+      if (keys[i] != TOMBSTONE && keys[i].equals(key)) return i;
+    }
+  }
+
   // Returns true/false on whether a given key exists within the hash-table
   public boolean hasKey(K key) {
     if (key == null) throw new IllegalArgumentException("Null key");
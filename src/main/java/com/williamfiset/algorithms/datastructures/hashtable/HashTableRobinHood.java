@@ -0,0 +1,185 @@
+/**
+ * An implementation of a hash-table using open addressing with Robin Hood hashing as a collision
+ * resolution method.
+ *
+ * <p>Robin Hood hashing is linear probing where every bucket also records the probe distance of the
+ * key it holds, i.e. how far the key sits from its home bucket. While inserting, whenever the key
+ * being placed is further from home than the key occupying the current bucket, the two are swapped
+ * and the displaced key continues probing. This "takes from the rich and gives to the poor", which
+ * keeps the variance of probe lengths low even at high load factors.
+ *
+ * <p>The invariant that probe distances never decrease faster than one per bucket along a cluster
+ * gives two more benefits: a lookup can stop as soon as it reaches a bucket whose key is closer to
+ * home than the key being searched would be, and removals can use backward shift deletion instead
+ * of tombstones, so the table never fills up with deleted markers.
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+@SuppressWarnings("unchecked")
+public class HashTableRobinHood<K, V> extends HashTableOpenAddressingBase<K, V> {
+
+  // The probe distance of the key stored in each bucket. Only meaningful for
+  // buckets whose key is non null.
+  private int[] distances;
+
+  public HashTableRobinHood() {
+    super();
+    distances = new int[capacity];
+  }
+
+  public HashTableRobinHood(int capacity) {
+    super(capacity);
+    distances = new int[this.capacity];
+  }
+
+  // Designated constructor. The load factor must be below 1 since every key
+  // needs its own bucket.
+  public HashTableRobinHood(int capacity, double loadFactor) {
+    super(capacity, loadFactor);
+    if (loadFactor >= 1) throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+    distances = new int[this.capacity];
+  }
+
+  @Override
+  protected void setupProbing(K key) {}
+
+  // Robin Hood hashing always probes the next bucket over.
+  @Override
+  protected int probe(int x) {
+    return x;
+  }
+
+  // A step size of one reaches every bucket, so any capacity works.
+  @Override
+  protected void adjustCapacity() {}
+
+  private int next(int i) {
+    return ++i == capacity ? 0 : i;
+  }
+
+  // Returns the bucket containing the key or -1 if the key is not in the
+  // table.
+  private int indexOf(K key) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    return findIndex(key, normalizeIndex(key.hashCode()));
+  }
+
+  // The search stops early once it reaches a bucket whose key is closer to its
+  // home bucket than the key we are looking for would be.
+  @Override
+  protected int findIndex(K key, int offset) {
+    for (int i = offset, d = 0; ; i = next(i), d++) {
+      if (keys[i] == null || distances[i] < d) return -1;
+      if (keys[i].equals(key)) return i;
+    }
+  }
+
+  @Override
+  public V insert(K key, V val) {
+    if (key == null) throw new IllegalArgumentException("Null key");
+    if (usedBuckets >= threshold) resizeTable();
+
+    int i = normalizeIndex(key.hashCode()), d = 0;
+
+    // Look for the key first. The key can only be found before the point
+    // where it would have displaced another key.
+    for (; keys[i] != null && distances[i] >= d; i = next(i), d++) {
+      if (keys[i].equals(key)) {
+        V oldValue = values[i];
+        values[i] = val;
+        modificationCount++;
+        return oldValue;
+      }
+    }
+
+    // The key is new. Place it here and keep pushing displaced keys along
+    // until one of them lands in an empty bucket.
+    K k = key;
+    V v = val;
+    while (keys[i] != null) {
+      if (distances[i] < d) {
+        K tmpKey = keys[i];
+        V tmpValue = values[i];
+        int tmpDistance = distances[i];
+        keys[i] = k;
+        values[i] = v;
+        distances[i] = d;
+        k = tmpKey;
+        v = tmpValue;
+        d = tmpDistance;
+      }
+      i = next(i);
+      d++;
+    }
+    keys[i] = k;
+    values[i] = v;
+    distances[i] = d;
+
+    usedBuckets++;
+    keyCount++;
+    modificationCount++;
+    return null;
+  }
+
+  @Override
+  public boolean hasKey(K key) {
+    return indexOf(key) != -1;
+  }
+
+  @Override
+  public V get(K key) {
+    int i = indexOf(key);
+    return i == -1 ? null : values[i];
+  }
+
+  @Override
+  public V remove(K key) {
+    int i = indexOf(key);
+    if (i == -1) return null;
+    V oldValue = values[i];
+
+    // Backward shift deletion: pull every following key of the cluster one
+    // bucket closer to its home until we reach an empty bucket or a key which
+    // already sits in its home bucket.
+    for (int j = next(i); keys[j] != null && distances[j] > 0; i = j, j = next(j)) {
+      keys[i] = keys[j];
+      values[i] = values[j];
+      distances[i] = distances[j] - 1;
+    }
+    keys[i] = null;
+    values[i] = null;
+
+    keyCount--;
+    usedBuckets--;
+    modificationCount++;
+    return oldValue;
+  }
+
+  @Override
+  protected int probeLength(K key) {
+    return distances[indexOf(key)];
+  }
+
+  // Grow the table and re-insert all the keys. The distance array has to be
+  // reallocated alongside the key and value arrays.
+  @Override
+  protected void resizeTable(int expectedKeys) {
+    K[] oldKeys = keys;
+    V[] oldValues = values;
+
+    do {
+      increaseCapacity();
+      adjustCapacity();
+      threshold = (int) (capacity * loadFactor);
+    } while (threshold < expectedKeys);
+
+    keys = (K[]) new Object[capacity];
+    values = (V[]) new Object[capacity];
+    distances = new int[capacity];
+    keyCount = usedBuckets = 0;
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) insert(oldKeys[i], oldValues[i]);
+    }
+  }
+}
@@ -1,10 +1,16 @@
 /**
  * An implementation of a hash-table using separate chaining with a linked list.
  *
+ * <p>To protect against keys with poorly distributed hash codes, a bucket whose chain grows longer
+ * than {@link #TREEIFY_THRESHOLD} entries is converted into a {@link TreeBucket} backed by a
+ * balanced binary search tree, and converted back into a linked list once it shrinks to {@link
+ * #UNTREEIFY_THRESHOLD} entries. This bounds lookups in heavily colliding buckets to O(log(n)).
+ *
  * @author William Fiset, william.alexandre.fiset@gmail.com
  */
 package com.williamfiset.algorithms.datastructures.hashtable;
 
+import com.williamfiset.algorithms.datastructures.balancedtree.AVLTreeRecursiveOptimized;
 import java.util.*;
 
 class Entry<K, V> {
@@ -38,10 +44,24 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   private static final int DEFAULT_CAPACITY = 3;
   private static final double DEFAULT_LOAD_FACTOR = 0.75;
 
+  // A bucket is converted to a tree once its chain grows longer than this.
+  static final int TREEIFY_THRESHOLD = 8;
+
+  // A tree bucket is converted back to a chain once it shrinks to this size.
+  static final int UNTREEIFY_THRESHOLD = 6;
+
+  // Long chains in tables smaller than this are more likely caused by the
+  // table being small than by colliding hashes, so the table grows instead.
+  static final int MIN_TREEIFY_CAPACITY = 64;
+
   private double maxLoadFactor;
   private int capacity, threshold, size = 0;
   private LinkedList<Entry<K, V>>[] table;
 
+  // trees[i] is non null when bucket i has been converted to a tree, in which
+  // case table[i] is null.
+  private TreeBucket<K, V>[] trees;
+
   public HashTableSeparateChaining() {
     this(DEFAULT_CAPACITY, DEFAULT_LOAD_FACTOR);
   }
@@ -59,6 +79,7 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
     this.capacity = Math.max(DEFAULT_CAPACITY, capacity);
     threshold = (int) (this.capacity * maxLoadFactor);
     table = new LinkedList[this.capacity];
+    trees = new TreeBucket[this.capacity];
   }
 
   // Returns the number of elements currently inside the hash-table
@@ -80,6 +101,7 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   // Clears all the contents of the hash-table
   public void clear() {
     Arrays.fill(table, null);
+    Arrays.fill(trees, null);
     size = 0;
   }
 
@@ -135,6 +157,15 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   // Removes an entry from a given bucket if it exists
   private V bucketRemoveEntry(int bucketIndex, K key) {
 
+    TreeBucket<K, V> tree = trees[bucketIndex];
+    if (tree != null) {
+      Entry<K, V> entry = tree.remove(key);
+      if (entry == null) return null;
+      --size;
+      if (tree.size() <= UNTREEIFY_THRESHOLD) untreeify(bucketIndex);
+      return entry.value;
+    }
+
     Entry<K, V> entry = bucketSeekEntry(bucketIndex, key);
     if (entry != null) {
       LinkedList<Entry<K, V>> links = table[bucketIndex];
@@ -148,13 +179,22 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   // exist in the given bucket, but if it does then update the entry value
   private V bucketInsertEntry(int bucketIndex, Entry<K, V> entry) {
 
-    LinkedList<Entry<K, V>> bucket = table[bucketIndex];
-    if (bucket == null) table[bucketIndex] = bucket = new LinkedList<>();
-
     Entry<K, V> existentEntry = bucketSeekEntry(bucketIndex, entry.key);
     if (existentEntry == null) {
-      bucket.add(entry);
-      if (++size > threshold) resizeTable();
+      boolean grow = false;
+      TreeBucket<K, V> tree = trees[bucketIndex];
+      if (tree != null) {
+        tree.add(entry);
+      } else {
+        LinkedList<Entry<K, V>> bucket = table[bucketIndex];
+        if (bucket == null) table[bucketIndex] = bucket = new LinkedList<>();
+        bucket.add(entry);
+        if (bucket.size() > TREEIFY_THRESHOLD) {
+          if (capacity >= MIN_TREEIFY_CAPACITY) treeify(bucketIndex);
+          else grow = true;
+        }
+      }
+      if (++size > threshold || grow) resizeTable();
       return null; // Use null to indicate that there was no previous entry
     } else {
       V oldVal = existentEntry.value;
@@ -167,45 +207,91 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   private Entry<K, V> bucketSeekEntry(int bucketIndex, K key) {
 
     if (key == null) return null;
+    if (trees[bucketIndex] != null) return trees[bucketIndex].seek(key);
     LinkedList<Entry<K, V>> bucket = table[bucketIndex];
     if (bucket == null) return null;
     for (Entry<K, V> entry : bucket) if (entry.key.equals(key)) return entry;
     return null;
   }
 
+  // Converts the chain of a bucket into a tree.
+  private void treeify(int bucketIndex) {
+    TreeBucket<K, V> tree = new TreeBucket<>();
+    for (Entry<K, V> entry : table[bucketIndex]) tree.add(entry);
+    table[bucketIndex] = null;
+    trees[bucketIndex] = tree;
+  }
+
+  // Converts a tree bucket back into a chain.
+  private void untreeify(int bucketIndex) {
+    LinkedList<Entry<K, V>> bucket = new LinkedList<>(trees[bucketIndex].entries());
+    trees[bucketIndex] = null;
+    table[bucketIndex] = bucket.isEmpty() ? null : bucket;
+  }
+
+  // Returns the entries of a bucket, or null if the bucket is empty.
+  private Collection<Entry<K, V>> bucketEntries(int bucketIndex) {
+    if (trees[bucketIndex] != null) return trees[bucketIndex].entries();
+    return table[bucketIndex];
+  }
+
   // Resizes the internal table holding buckets of entries
   private void resizeTable() {
 
+    LinkedList<Entry<K, V>>[] oldTable = table;
+    TreeBucket<K, V>[] oldTrees = trees;
+
     capacity *= 2;
     threshold = (int) (capacity * maxLoadFactor);
 
-    LinkedList<Entry<K, V>>[] newTable = new LinkedList[capacity];
+    table = new LinkedList[capacity];
+    trees = new TreeBucket[capacity];
 
-    for (int i = 0; i < table.length; i++) {
-      if (table[i] != null) {
+    for (int i = 0; i < oldTable.length; i++) {
+      Collection<Entry<K, V>> entries = (oldTrees[i] != null) ? oldTrees[i].entries() : oldTable[i];
+      if (entries == null) continue;
 
-        for (Entry<K, V> entry : table[i]) {
-          int bucketIndex = normalizeIndex(entry.hash);
-          LinkedList<Entry<K, V>> bucket = newTable[bucketIndex];
-          if (bucket == null) newTable[bucketIndex] = bucket = new LinkedList<>();
-          bucket.add(entry);
-        }
+      for (Entry<K, V> entry : entries) {
+        int bucketIndex = normalizeIndex(entry.hash);
+        LinkedList<Entry<K, V>> bucket = table[bucketIndex];
+        if (bucket == null) table[bucketIndex] = bucket = new LinkedList<>();
+        bucket.add(entry);
+      }
 
-        // Avoid memory leak. Help the GC
-        table[i].clear();
-        table[i] = null;
+      // Avoid memory leak. Help the GC
+      oldTable[i] = null;
+      oldTrees[i] = null;
+    }
+
+    // Buckets which still collide heavily after being spread out get converted
+    // to trees once again.
+    if (capacity >= MIN_TREEIFY_CAPACITY) {
+      for (int i = 0; i < capacity; i++) {
+        if (table[i] != null && table[i].size() > TREEIFY_THRESHOLD) treeify(i);
       }
     }
+  }
+
+  // Returns the number of buckets in the table (used mostly for testing)
+  int capacity() {
+    return capacity;
+  }
 
-    table = newTable;
+  // Returns the number of buckets currently stored as trees (used mostly for testing)
+  int treeifiedBucketCount() {
+    int count = 0;
+    for (TreeBucket<K, V> tree : trees) if (tree != null) count++;
+    return count;
   }
 
   // Returns the list of keys found within the hash table
   public List<K> keys() {
 
     List<K> keys = new ArrayList<>(size());
-    for (LinkedList<Entry<K, V>> bucket : table)
+    for (int i = 0; i < capacity; i++) {
+      Collection<Entry<K, V>> bucket = bucketEntries(i);
       if (bucket != null) for (Entry<K, V> entry : bucket) keys.add(entry.key);
+    }
     return keys;
   }
 
@@ -213,8 +299,10 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
   public List<V> values() {
 
     List<V> values = new ArrayList<>(size());
-    for (LinkedList<Entry<K, V>> bucket : table)
+    for (int i = 0; i < capacity; i++) {
+      Collection<Entry<K, V>> bucket = bucketEntries(i);
       if (bucket != null) for (Entry<K, V> entry : bucket) values.add(entry.value);
+    }
     return values;
   }
 
@@ -225,7 +313,7 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
     return new java.util.Iterator<K>() {
 
       int bucketIndex = 0;
-      java.util.Iterator<Entry<K, V>> bucketIter = (table[0] == null) ? null : table[0].iterator();
+      java.util.Iterator<Entry<K, V>> bucketIter = iterator(bucketEntries(0));
 
       @Override
       public boolean hasNext() {
@@ -238,10 +326,11 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
 
           // Search next buckets until a valid iterator is found
           while (++bucketIndex < capacity) {
-            if (table[bucketIndex] != null) {
+            Collection<Entry<K, V>> bucket = bucketEntries(bucketIndex);
+            if (bucket != null) {
 
               // Make sure this iterator actually has elements -_-
-              java.util.Iterator<Entry<K, V>> nextIter = table[bucketIndex].iterator();
+              java.util.Iterator<Entry<K, V>> nextIter = bucket.iterator();
               if (nextIter.hasNext()) {
                 bucketIter = nextIter;
                 break;
@@ -257,6 +346,10 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
         return bucketIter.next().key;
       }
 
+      private java.util.Iterator<Entry<K, V>> iterator(Collection<Entry<K, V>> bucket) {
+        return bucket == null ? null : bucket.iterator();
+      }
+
       @Override
       public void remove() {
         throw new UnsupportedOperationException();
@@ -271,10 +364,115 @@ public class HashTableSeparateChaining<K, V> implements Iterable<K> {
     StringBuilder sb = new StringBuilder();
     sb.append("{");
     for (int i = 0; i < capacity; i++) {
-      if (table[i] == null) continue;
-      for (Entry<K, V> entry : table[i]) sb.append(entry + ", ");
+      Collection<Entry<K, V>> bucket = bucketEntries(i);
+      if (bucket == null) continue;
+      for (Entry<K, V> entry : bucket) sb.append(entry + ", ");
     }
     sb.append("}");
     return sb.toString();
   }
+
+  /**
+   * A bucket which stores its entries in a balanced binary search tree instead of a linked list,
+   * bounding the cost of a lookup in a bucket with many colliding keys to O(log(n)).
+   *
+   * <p>Entries are ordered by their hash value, then by the name of the key's class, and then by
+   * the key's natural ordering if the key is {@link Comparable}. Keys which are equal under this
+   * ordering but not equal to each other (e.g. non comparable keys with identical hash values)
+   * share a single tree node and are searched linearly, so fully adversarial non comparable keys
+   * still degrade to O(n), but colliding keys with distinct hashes or comparable keys do not.
+   */
+  static final class TreeBucket<K, V> {
+
+    // All the entries of the bucket which compare equal to each other.
+    static class Bin<K, V> implements Comparable<Bin<K, V>> {
+      final int hash;
+      final K key;
+      final List<Entry<K, V>> entries = new ArrayList<>(1);
+
+      Bin(int hash, K key) {
+        this.hash = hash;
+        this.key = key;
+      }
+
+      @Override
+      @SuppressWarnings({"unchecked", "rawtypes"})
+      public int compareTo(Bin<K, V> other) {
+        int cmp = Integer.compare(hash, other.hash);
+        if (cmp != 0) return cmp;
+        Class<?> c1 = key.getClass(), c2 = other.key.getClass();
+        if (c1 != c2) return c1.getName().compareTo(c2.getName());
+        if (key instanceof Comparable) return ((Comparable) key).compareTo(other.key);
+        return 0;
+      }
+    }
+
+    private final AVLTreeRecursiveOptimized<Bin<K, V>> tree = new AVLTreeRecursiveOptimized<>();
+    private int size;
+
+    // Returns the number of entries in this bucket.
+    int size() {
+      return size;
+    }
+
+    // Finds the tree node holding the bin the key belongs to, or null.
+    private Bin<K, V> findBin(int hash, K key) {
+      Bin<K, V> probe = new Bin<>(hash, key);
+      AVLTreeRecursiveOptimized<Bin<K, V>>.Node node = tree.root;
+      while (node != null) {
+        int cmp = probe.compareTo(node.value);
+        if (cmp < 0) node = node.left;
+        else if (cmp > 0) node = node.right;
+        else return node.value;
+      }
+      return null;
+    }
+
+    // Returns the entry with the given key, or null if there is none.
+    Entry<K, V> seek(K key) {
+      Bin<K, V> bin = findBin(key.hashCode(), key);
+      if (bin == null) return null;
+      for (Entry<K, V> entry : bin.entries) if (entry.key.equals(key)) return entry;
+      return null;
+    }
+
+    // Adds an entry whose key is known not to be in the bucket yet.
+    void add(Entry<K, V> entry) {
+      Bin<K, V> bin = findBin(entry.hash, entry.key);
+      if (bin == null) {
+        bin = new Bin<>(entry.hash, entry.key);
+        tree.insert(bin);
+      }
+      bin.entries.add(entry);
+      size++;
+    }
+
+    // Removes the entry with the given key and returns it, or null if there is none.
+    Entry<K, V> remove(K key) {
+      Bin<K, V> bin = findBin(key.hashCode(), key);
+      if (bin == null) return null;
+      for (int i = 0; i < bin.entries.size(); i++) {
+        Entry<K, V> entry = bin.entries.get(i);
+        if (entry.key.equals(key)) {
+          bin.entries.remove(i);
+          if (bin.entries.isEmpty()) tree.remove(bin);
+          size--;
+          return entry;
+        }
+      }
+      return null;
+    }
+
+    // Returns all the entries in this bucket, ordered as in the tree.
+    List<Entry<K, V>> entries() {
+      List<Entry<K, V>> entries = new ArrayList<>(size);
+      for (Bin<K, V> bin : tree) entries.addAll(bin.entries);
+      return entries;
+    }
+
+    // Returns the height of the underlying tree (used mostly for testing).
+    int height() {
+      return tree.height();
+    }
+  }
 }
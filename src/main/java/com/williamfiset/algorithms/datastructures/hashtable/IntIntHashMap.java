@@ -0,0 +1,201 @@
+/**
+ * An open addressing hash table mapping primitive int keys to primitive int values.
+ *
+ * <p>Unlike {@link HashTableLinearProbing}, keys and values are stored in two parallel int[] arrays
+ * so no objects are allocated by put, get or remove. Empty slots are marked with the sentinel key
+ * 0, and the key 0 itself is stored outside the table. Collisions are resolved with linear probing
+ * over a power of two table, which allows removals to use backward shift deletion: the entries
+ * following a removed key are shifted back into the hole, so no tombstones are ever left behind
+ * and probe sequences stay as short as they were before the removal.
+ *
+ * <p>Since there is no null for primitives, lookups of missing keys return a configurable 'no
+ * entry' value, 0 by default. Use {@link #containsKey(int)} to tell the two cases apart.
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.Arrays;
+
+public class IntIntHashMap {
+
+  // Key used to mark an empty slot in the table.
+  private static final int EMPTY = 0;
+
+  private final double loadFactor;
+  private final int noEntryValue;
+
+  // The mask is always the table size minus one since the table size is a power of two.
+  private int mask, threshold, size;
+  private int[] keys, values;
+
+  // The sentinel key cannot be stored in the table so it is tracked separately.
+  private boolean hasEmptyKey;
+  private int emptyKeyValue;
+
+  public IntIntHashMap() {
+    this(PrimitiveHashing.DEFAULT_CAPACITY);
+  }
+
+  public IntIntHashMap(int capacity) {
+    this(capacity, PrimitiveHashing.DEFAULT_LOAD_FACTOR, 0);
+  }
+
+  // Designated constructor. The table is sized to hold 'capacity' keys without resizing.
+  public IntIntHashMap(int capacity, double loadFactor, int noEntryValue) {
+    PrimitiveHashing.checkArguments(capacity, loadFactor);
+    this.loadFactor = loadFactor;
+    this.noEntryValue = noEntryValue;
+    allocate(PrimitiveHashing.tableSizeFor(capacity, loadFactor));
+  }
+
+  private void allocate(int tableSize) {
+    keys = new int[tableSize];
+    values = new int[tableSize];
+    mask = tableSize - 1;
+    threshold = PrimitiveHashing.thresholdFor(tableSize, loadFactor);
+  }
+
+  // Returns the number of keys currently inside the hash table.
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the number of slots in the table (used mostly for testing).
+  public int getCapacity() {
+    return keys.length;
+  }
+
+  // The value returned by get and remove when a key is not in the map.
+  public int noEntryValue() {
+    return noEntryValue;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    hasEmptyKey = false;
+    size = 0;
+  }
+
+  // Returns the slot containing the key, or -1 if the key is not in the table.
+  private int indexOf(int key) {
+    for (int i = PrimitiveHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+      int k = keys[i];
+      if (k == key) return i;
+      if (k == EMPTY) return -1;
+    }
+  }
+
+  public boolean containsKey(int key) {
+    if (key == EMPTY) return hasEmptyKey;
+    return indexOf(key) != -1;
+  }
+
+  public int get(int key) {
+    return getOrDefault(key, noEntryValue);
+  }
+
+  public int getOrDefault(int key, int defaultValue) {
+    if (key == EMPTY) return hasEmptyKey ? emptyKeyValue : defaultValue;
+    int i = indexOf(key);
+    return i == -1 ? defaultValue : values[i];
+  }
+
+  // Places a key-value pair into the hash table and returns the previous value
+  // associated with the key, or the no entry value if there was none.
+  public int put(int key, int value) {
+    if (key == EMPTY) {
+      int oldValue = hasEmptyKey ? emptyKeyValue : noEntryValue;
+      if (!hasEmptyKey) size++;
+      hasEmptyKey = true;
+      emptyKeyValue = value;
+      return oldValue;
+    }
+    for (int i = PrimitiveHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+      int k = keys[i];
+      if (k == key) {
+        int oldValue = values[i];
+        values[i] = value;
+        return oldValue;
+      }
+      if (k == EMPTY) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) resizeTable();
+        return noEntryValue;
+      }
+    }
+  }
+
+  // Removes a key from the map and returns its value, or the no entry value
+  // if the key was not in the map.
+  public int remove(int key) {
+    if (key == EMPTY) {
+      if (!hasEmptyKey) return noEntryValue;
+      hasEmptyKey = false;
+      size--;
+      return emptyKeyValue;
+    }
+    int i = indexOf(key);
+    if (i == -1) return noEntryValue;
+    int oldValue = values[i];
+    shiftKeysBack(i);
+    size--;
+    return oldValue;
+  }
+
+  // Backward shift deletion. Walks the cluster after the hole at slot 'hole' and
+  // moves back every entry whose home slot is not strictly between the hole and
+  // its current position, since the hole would otherwise break its probe chain.
+  private void shiftKeysBack(int hole) {
+    for (int j = (hole + 1) & mask; ; j = (j + 1) & mask) {
+      int k = keys[j];
+      if (k == EMPTY) break;
+      int home = PrimitiveHashing.mix(k) & mask;
+      if (((j - home) & mask) >= ((j - hole) & mask)) {
+        keys[hole] = k;
+        values[hole] = values[j];
+        hole = j;
+      }
+    }
+    keys[hole] = EMPTY;
+  }
+
+  // Double the size of the table and re-insert all the keys.
+  private void resizeTable() {
+    if (keys.length == PrimitiveHashing.MAX_CAPACITY)
+      throw new IllegalStateException("Hash table is full");
+    int[] oldKeys = keys, oldValues = values;
+    allocate(keys.length << 1);
+    for (int j = 0; j < oldKeys.length; j++) {
+      int k = oldKeys[j];
+      if (k == EMPTY) continue;
+      int i = PrimitiveHashing.mix(k) & mask;
+      while (keys[i] != EMPTY) i = (i + 1) & mask;
+      keys[i] = k;
+      values[i] = oldValues[j];
+    }
+  }
+
+  // Returns all the keys in the map in no particular order.
+  public int[] keys() {
+    int[] result = new int[size];
+    int n = 0;
+    if (hasEmptyKey) result[n++] = EMPTY;
+    for (int k : keys) if (k != EMPTY) result[n++] = k;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    if (hasEmptyKey) sb.append(EMPTY + " => " + emptyKeyValue + ", ");
+    for (int i = 0; i < keys.length; i++)
+      if (keys[i] != EMPTY) sb.append(keys[i] + " => " + values[i] + ", ");
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,194 @@
+/**
+ * An open addressing hash table mapping primitive long keys to object values.
+ *
+ * <p>Keys are stored in a long[] array parallel to the value array so no key is ever boxed. Empty
+ * slots are marked with the sentinel key 0, and the key 0 itself is stored outside the table.
+ * Collisions are resolved with linear probing over a power of two table and removals use backward
+ * shift deletion, so no tombstones are ever left behind. See {@link IntIntHashMap} for details.
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.util.Arrays;
+
+@SuppressWarnings("unchecked")
+public class LongObjectHashMap<V> {
+
+  // Key used to mark an empty slot in the table.
+  private static final long EMPTY = 0;
+
+  private final double loadFactor;
+
+  // The mask is always the table size minus one since the table size is a power of two.
+  private int mask, threshold, size;
+  private long[] keys;
+  private V[] values;
+
+  // The sentinel key cannot be stored in the table so it is tracked separately.
+  private boolean hasEmptyKey;
+  private V emptyKeyValue;
+
+  public LongObjectHashMap() {
+    this(PrimitiveHashing.DEFAULT_CAPACITY);
+  }
+
+  public LongObjectHashMap(int capacity) {
+    this(capacity, PrimitiveHashing.DEFAULT_LOAD_FACTOR);
+  }
+
+  // Designated constructor. The table is sized to hold 'capacity' keys without resizing.
+  public LongObjectHashMap(int capacity, double loadFactor) {
+    PrimitiveHashing.checkArguments(capacity, loadFactor);
+    this.loadFactor = loadFactor;
+    allocate(PrimitiveHashing.tableSizeFor(capacity, loadFactor));
+  }
+
+  private void allocate(int tableSize) {
+    keys = new long[tableSize];
+    values = (V[]) new Object[tableSize];
+    mask = tableSize - 1;
+    threshold = PrimitiveHashing.thresholdFor(tableSize, loadFactor);
+  }
+
+  // Returns the number of keys currently inside the hash table.
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the number of slots in the table (used mostly for testing).
+  public int getCapacity() {
+    return keys.length;
+  }
+
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    Arrays.fill(values, null);
+    hasEmptyKey = false;
+    emptyKeyValue = null;
+    size = 0;
+  }
+
+  // Returns the slot containing the key, or -1 if the key is not in the table.
+  private int indexOf(long key) {
+    for (int i = PrimitiveHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) return i;
+      if (k == EMPTY) return -1;
+    }
+  }
+
+  public boolean containsKey(long key) {
+    if (key == EMPTY) return hasEmptyKey;
+    return indexOf(key) != -1;
+  }
+
+  // Get the value associated with the input key.
+  // NOTE: returns null if the value is null AND also returns
+  // null if the key does not exists.
+  public V get(long key) {
+    if (key == EMPTY) return emptyKeyValue;
+    int i = indexOf(key);
+    return i == -1 ? null : values[i];
+  }
+
+  // Places a key-value pair into the hash table and returns the previous value
+  // associated with the key, or null if there was none.
+  public V put(long key, V value) {
+    if (key == EMPTY) {
+      V oldValue = emptyKeyValue;
+      if (!hasEmptyKey) size++;
+      hasEmptyKey = true;
+      emptyKeyValue = value;
+      return oldValue;
+    }
+    for (int i = PrimitiveHashing.mix(key) & mask; ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        V oldValue = values[i];
+        values[i] = value;
+        return oldValue;
+      }
+      if (k == EMPTY) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size > threshold) resizeTable();
+        return null;
+      }
+    }
+  }
+
+  // Removes a key from the map and returns its value, or null if the key was
+  // not in the map.
+  public V remove(long key) {
+    if (key == EMPTY) {
+      if (!hasEmptyKey) return null;
+      V oldValue = emptyKeyValue;
+      hasEmptyKey = false;
+      emptyKeyValue = null;
+      size--;
+      return oldValue;
+    }
+    int i = indexOf(key);
+    if (i == -1) return null;
+    V oldValue = values[i];
+    shiftKeysBack(i);
+    size--;
+    return oldValue;
+  }
+
+  // Backward shift deletion, see IntIntHashMap#shiftKeysBack.
+  private void shiftKeysBack(int hole) {
+    for (int j = (hole + 1) & mask; ; j = (j + 1) & mask) {
+      long k = keys[j];
+      if (k == EMPTY) break;
+      int home = PrimitiveHashing.mix(k) & mask;
+      if (((j - home) & mask) >= ((j - hole) & mask)) {
+        keys[hole] = k;
+        values[hole] = values[j];
+        hole = j;
+      }
+    }
+    keys[hole] = EMPTY;
+    values[hole] = null;
+  }
+
+  // Double the size of the table and re-insert all the keys.
+  private void resizeTable() {
+    if (keys.length == PrimitiveHashing.MAX_CAPACITY)
+      throw new IllegalStateException("Hash table is full");
+    long[] oldKeys = keys;
+    V[] oldValues = values;
+    allocate(keys.length << 1);
+    for (int j = 0; j < oldKeys.length; j++) {
+      long k = oldKeys[j];
+      if (k == EMPTY) continue;
+      int i = PrimitiveHashing.mix(k) & mask;
+      while (keys[i] != EMPTY) i = (i + 1) & mask;
+      keys[i] = k;
+      values[i] = oldValues[j];
+    }
+  }
+
+  // Returns all the keys in the map in no particular order.
+  public long[] keys() {
+    long[] result = new long[size];
+    int n = 0;
+    if (hasEmptyKey) result[n++] = EMPTY;
+    for (long k : keys) if (k != EMPTY) result[n++] = k;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{");
+    if (hasEmptyKey) sb.append(EMPTY + " => " + emptyKeyValue + ", ");
+    for (int i = 0; i < keys.length; i++)
+      if (keys[i] != EMPTY) sb.append(keys[i] + " => " + values[i] + ", ");
+    sb.append("}");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,301 @@
+/**
+ * An open addressing hash table mapping long keys to long values which lives outside the Java heap
+ * in a memory mapped file.
+ *
+ * <p>The table is laid out in the file as a small header followed by an array of fixed width
+ * slots, each holding an 8 byte key and an 8 byte value. Since nothing is stored on the heap, even
+ * tables with hundreds of millions of entries add nothing to garbage collection pauses, and since
+ * the file is the table, a table written by one process can be re-opened by the next with {@link
+ * #open(Path)} in constant time: the operating system pages the slots in lazily as they are used.
+ *
+ * <p>Like {@link LongLongHashMap}, collisions are resolved with linear probing over a power of two
+ * number of slots, empty slots are marked with the key 0 (the key 0 itself is stored in the
+ * header) and removals use backward shift deletion. A single mapped buffer can address at most 2GB,
+ * so the slot array is mapped as several segments.
+ *
+ * <p>The number of slots is fixed when the file is created; inserting more keys than the capacity
+ * the table was created for throws an {@link IllegalStateException}. This class is not thread
+ * safe, and changes are only guaranteed to reach the disk after {@link #force()} or {@link
+ * #close()}.
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class OffHeapLongLongHashMap implements Closeable {
+
+  // Identifies files written by this class ("OHLLMAP1" in ASCII).
+  private static final long MAGIC = 0x4F484C4C4D415031L;
+
+  // Header layout, all values are stored in native byte order.
+  private static final int MAGIC_OFFSET = 0;
+  private static final int SLOTS_OFFSET = 8;
+  private static final int SIZE_OFFSET = 16;
+  private static final int NO_ENTRY_VALUE_OFFSET = 24;
+  private static final int HAS_EMPTY_KEY_OFFSET = 32;
+  private static final int EMPTY_KEY_VALUE_OFFSET = 40;
+  private static final int HEADER_BYTES = 64;
+
+  // Each slot holds an 8 byte key followed by an 8 byte value.
+  private static final int SLOT_BYTES = 16;
+
+  // Every mapped segment covers 2^30 bytes, which is a whole number of slots.
+  private static final int SEGMENT_SHIFT = 30;
+  private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+  private static final long EMPTY = 0;
+  private static final double LOAD_FACTOR = 0.5;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer header;
+  private final MappedByteBuffer[] segments;
+  private final long slotMask, threshold;
+  private final long noEntryValue;
+  private long size;
+
+  private OffHeapLongLongHashMap(FileChannel channel, long slots) throws IOException {
+    this.channel = channel;
+    header = map(channel, 0, HEADER_BYTES);
+    long dataBytes = slots * SLOT_BYTES;
+    int segmentCount = (int) ((dataBytes + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    segments = new MappedByteBuffer[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      long start = (long) i << SEGMENT_SHIFT;
+      long bytes = Math.min(1L << SEGMENT_SHIFT, dataBytes - start);
+      segments[i] = map(channel, HEADER_BYTES + start, bytes);
+    }
+    slotMask = slots - 1;
+    threshold = Math.min(slots - 1, (long) (slots * LOAD_FACTOR));
+    noEntryValue = header.getLong(NO_ENTRY_VALUE_OFFSET);
+    size = header.getLong(SIZE_OFFSET);
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, long position, long bytes)
+      throws IOException {
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+    buffer.order(ByteOrder.nativeOrder());
+    return buffer;
+  }
+
+  // Creates a new table in the given file, replacing any existing file, able
+  // to hold 'capacity' keys. Missing keys are reported as 'noEntryValue'.
+  public static OffHeapLongLongHashMap create(Path file, long capacity, long noEntryValue)
+      throws IOException {
+    if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    long required =
+        Math.max(PrimitiveHashing.DEFAULT_CAPACITY, (long) Math.ceil(capacity / LOAD_FACTOR) + 1);
+    long slots = Long.highestOneBit(required);
+    if (slots < required) slots <<= 1;
+    if (slots > (Long.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES)
+      throw new IllegalArgumentException("Capacity too large: " + capacity);
+
+    FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      // Mapping past the end of the file grows it with zeros, i.e. with empty slots.
+      MappedByteBuffer header = map(channel, 0, HEADER_BYTES);
+      header.putLong(SLOTS_OFFSET, slots);
+      header.putLong(SIZE_OFFSET, 0);
+      header.putLong(NO_ENTRY_VALUE_OFFSET, noEntryValue);
+      header.putLong(MAGIC_OFFSET, MAGIC);
+      return new OffHeapLongLongHashMap(channel, slots);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  public static OffHeapLongLongHashMap create(Path file, long capacity) throws IOException {
+    return create(file, capacity, 0);
+  }
+
+  // Re-opens a table previously written to the given file. Only the header is
+  // read, the slots are paged in on demand.
+  public static OffHeapLongLongHashMap open(Path file) throws IOException {
+    if (Files.size(file) < HEADER_BYTES) throw new IOException("Not a hash table file: " + file);
+    FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      MappedByteBuffer header = map(channel, 0, HEADER_BYTES);
+      if (header.getLong(MAGIC_OFFSET) != MAGIC)
+        throw new IOException("Not a hash table file: " + file);
+      long slots = header.getLong(SLOTS_OFFSET);
+      if (slots <= 0
+          || Long.bitCount(slots) != 1
+          || slots > (Long.MAX_VALUE - HEADER_BYTES) / SLOT_BYTES
+          || channel.size() < HEADER_BYTES + slots * SLOT_BYTES)
+        throw new IOException("Corrupt hash table file: " + file);
+      return new OffHeapLongLongHashMap(channel, slots);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  // Returns the number of keys currently inside the hash table.
+  public long size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the number of slots in the table.
+  public long getCapacity() {
+    return slotMask + 1;
+  }
+
+  // The value returned by get and remove when a key is not in the map.
+  public long noEntryValue() {
+    return noEntryValue;
+  }
+
+  private long keyAt(long slot) {
+    long offset = slot * SLOT_BYTES;
+    return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+  }
+
+  private long valueAt(long slot) {
+    long offset = slot * SLOT_BYTES + 8;
+    return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+  }
+
+  private void setSlot(long slot, long key, long value) {
+    long offset = slot * SLOT_BYTES;
+    MappedByteBuffer segment = segments[(int) (offset >>> SEGMENT_SHIFT)];
+    int index = (int) (offset & SEGMENT_MASK);
+    segment.putLong(index, key);
+    segment.putLong(index + 8, value);
+  }
+
+  private void setKey(long slot, long key) {
+    long offset = slot * SLOT_BYTES;
+    segments[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & SEGMENT_MASK), key);
+  }
+
+  private void setValue(long slot, long value) {
+    long offset = slot * SLOT_BYTES + 8;
+    segments[(int) (offset >>> SEGMENT_SHIFT)].putLong((int) (offset & SEGMENT_MASK), value);
+  }
+
+  private long home(long key) {
+    return PrimitiveHashing.mix64(key) & slotMask;
+  }
+
+  private void setSize(long newSize) {
+    size = newSize;
+    header.putLong(SIZE_OFFSET, newSize);
+  }
+
+  private boolean hasEmptyKey() {
+    return header.getLong(HAS_EMPTY_KEY_OFFSET) != 0;
+  }
+
+  // Returns the slot containing the key, or -1 if the key is not in the table.
+  private long indexOf(long key) {
+    for (long i = home(key); ; i = (i + 1) & slotMask) {
+      long k = keyAt(i);
+      if (k == key) return i;
+      if (k == EMPTY) return -1;
+    }
+  }
+
+  public boolean containsKey(long key) {
+    if (key == EMPTY) return hasEmptyKey();
+    return indexOf(key) != -1;
+  }
+
+  public long get(long key) {
+    return getOrDefault(key, noEntryValue);
+  }
+
+  public long getOrDefault(long key, long defaultValue) {
+    if (key == EMPTY) return hasEmptyKey() ? header.getLong(EMPTY_KEY_VALUE_OFFSET) : defaultValue;
+    long i = indexOf(key);
+    return i == -1 ? defaultValue : valueAt(i);
+  }
+
+  // Places a key-value pair into the hash table and returns the previous value
+  // associated with the key, or the no entry value if there was none.
+  public long put(long key, long value) {
+    if (key == EMPTY) {
+      long oldValue = noEntryValue;
+      if (hasEmptyKey()) oldValue = header.getLong(EMPTY_KEY_VALUE_OFFSET);
+      else setSize(size + 1);
+      header.putLong(EMPTY_KEY_VALUE_OFFSET, value);
+      header.putLong(HAS_EMPTY_KEY_OFFSET, 1);
+      return oldValue;
+    }
+    for (long i = home(key); ; i = (i + 1) & slotMask) {
+      long k = keyAt(i);
+      if (k == key) {
+        long oldValue = valueAt(i);
+        setValue(i, value);
+        return oldValue;
+      }
+      if (k == EMPTY) {
+        if (size >= threshold) throw new IllegalStateException("Hash table is full");
+        setSlot(i, key, value);
+        setSize(size + 1);
+        return noEntryValue;
+      }
+    }
+  }
+
+  // Removes a key from the map and returns its value, or the no entry value
+  // if the key was not in the map.
+  public long remove(long key) {
+    if (key == EMPTY) {
+      if (!hasEmptyKey()) return noEntryValue;
+      header.putLong(HAS_EMPTY_KEY_OFFSET, 0);
+      setSize(size - 1);
+      return header.getLong(EMPTY_KEY_VALUE_OFFSET);
+    }
+    long i = indexOf(key);
+    if (i == -1) return noEntryValue;
+    long oldValue = valueAt(i);
+    shiftKeysBack(i);
+    setSize(size - 1);
+    return oldValue;
+  }
+
+  // Backward shift deletion, see IntIntHashMap#shiftKeysBack.
+  private void shiftKeysBack(long hole) {
+    for (long j = (hole + 1) & slotMask; ; j = (j + 1) & slotMask) {
+      long k = keyAt(j);
+      if (k == EMPTY) break;
+      if (((j - home(k)) & slotMask) >= ((j - hole) & slotMask)) {
+        setSlot(hole, k, valueAt(j));
+        hole = j;
+      }
+    }
+    setKey(hole, EMPTY);
+  }
+
+  // Flushes all changes made to the table to the underlying file.
+  public void force() {
+    for (MappedByteBuffer segment : segments) segment.force();
+    header.force();
+  }
+
+  // Flushes the table to disk and closes the file. The memory mappings are
+  // released once the table is garbage collected.
+  @Override
+  public void close() throws IOException {
+    force();
+    channel.close();
+  }
+}
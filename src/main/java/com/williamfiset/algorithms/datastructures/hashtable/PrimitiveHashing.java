@@ -0,0 +1,66 @@
+/**
+ * Hashing and sizing helpers shared by the primitive specialized open addressing hash tables.
+ *
+ * @see IntIntHashMap
+ * @see LongLongHashMap
+ * @see LongObjectHashMap
+ */
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+final class PrimitiveHashing {
+
+  static final int DEFAULT_CAPACITY = 16;
+  static final double DEFAULT_LOAD_FACTOR = 0.5;
+
+  // Largest power of two table size representable by an int.
+  static final int MAX_CAPACITY = 1 << 30;
+
+  private static final int INT_PHI = 0x9E3779B9;
+  private static final long LONG_PHI = 0x9E3779B97F4A7C15L;
+
+  private PrimitiveHashing() {}
+
+  // Scrambles the bits of an int key. Multiplying by the golden ratio and
+  // xoring in the high bits spreads sequential keys evenly across the table.
+  static int mix(int key) {
+    int h = key * INT_PHI;
+    return h ^ (h >>> 16);
+  }
+
+  // Scrambles the bits of a long key down into an int hash.
+  static int mix(long key) {
+    long h = key * LONG_PHI;
+    h ^= (h >>> 32);
+    return (int) (h ^ (h >>> 16));
+  }
+
+  // Scrambles all the bits of a long key (the MurmurHash3 finalizer). Used
+  // when a table may have more slots than an int can index.
+  static long mix64(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    return key ^ (key >>> 33);
+  }
+
+  static void checkArguments(int capacity, double loadFactor) {
+    if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    if (!(loadFactor > 0 && loadFactor < 1))
+      throw new IllegalArgumentException("Illegal loadFactor: " + loadFactor);
+  }
+
+  // Returns the smallest power of two table size able to hold 'expectedSize'
+  // keys without exceeding the load factor.
+  static int tableSizeFor(int expectedSize, double loadFactor) {
+    long required = (long) Math.ceil(Math.max(expectedSize, 1) / loadFactor);
+    if (required > MAX_CAPACITY) throw new IllegalArgumentException("Table too large");
+    int size = Integer.highestOneBit((int) Math.max(required, DEFAULT_CAPACITY));
+    return size < required ? size << 1 : size;
+  }
+
+  // The number of keys a table of the given size holds before it must grow.
+  static int thresholdFor(int tableSize, double loadFactor) {
+    return Math.min(tableSize - 1, (int) (tableSize * loadFactor));
+  }
+}
@@ -0,0 +1,294 @@
+/**
+ * A hash set using bucketized cuckoo hashing.
+ *
+ * <p>Every element has exactly two candidate buckets, one in each of two tables, and each bucket
+ * holds up to four elements. An element is always stored in one of its two buckets, or in a tiny
+ * stash of elements which could not be placed, so a lookup inspects at most eight slots plus the
+ * stash no matter how full the set is. This gives the set a worst case lookup time which does not
+ * depend on the length of a probe sequence or chain, unlike {@link HSet}.
+ *
+ * <p>Inserting into a full bucket evicts one of its elements to its alternate bucket, which may in
+ * turn evict another element, and so on. After too many evictions the element left over goes to the
+ * stash, and once the stash fills up everything is rehashed with new, randomly seeded hash
+ * functions, into larger tables if they are at least half full.
+ *
+ * <p>Since Java hash codes are only 32 bits, elements with identical hash codes always share the
+ * same two buckets; if more than eight of them are added the extra ones live in the stash and
+ * lookups for them become linear in the stash size. When rehashing cannot empty the stash the set
+ * lets it grow to twice its size before trying again. {@link IntCuckooHashSet} and {@link
+ * LongCuckooHashSet} do not have this problem.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=datastructures.set.CuckooHashSet
+ */
+package com.williamfiset.algorithms.datastructures.set;
+
+import static com.williamfiset.algorithms.datastructures.set.CuckooHashing.*;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+@SuppressWarnings("unchecked")
+public class CuckooHashSet<T> implements Iterable<T> {
+
+  // The slots of both tables, table 0 followed by table 1. A null slot is free.
+  private Object[] slots;
+  private Object[] stash = new Object[MAX_STASH_SIZE + 1];
+
+  private int bucketMask, threshold, size, stashSize, modificationCount;
+  private long seed = randomSeed();
+
+  // The stash may hold this many elements before the tables are rehashed. It only exceeds
+  // MAX_STASH_SIZE after rehashing failed to separate elements with identical hash codes.
+  private int stashLimit = MAX_STASH_SIZE;
+  private int random = 0x2545F491;
+
+  public CuckooHashSet() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  // Creates a set which can hold 'capacity' elements before it has to grow.
+  public CuckooHashSet(int capacity) {
+    allocate(bucketsFor(capacity));
+  }
+
+  private void allocate(int buckets) {
+    slots = new Object[2 * buckets * SLOTS_PER_BUCKET];
+    bucketMask = buckets - 1;
+    threshold = (int) (slots.length * MAX_LOAD_FACTOR);
+  }
+
+  private long hash(Object elem) {
+    return mix64(elem.hashCode() ^ seed);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the number of slots in the two tables.
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  // Returns the number of elements which did not fit in their buckets.
+  int stashSize() {
+    return stashSize;
+  }
+
+  // Returns the seed of the current hash functions.
+  long seed() {
+    return seed;
+  }
+
+  public void clear() {
+    Arrays.fill(slots, null);
+    Arrays.fill(stash, null);
+    size = stashSize = 0;
+    stashLimit = MAX_STASH_SIZE;
+    modificationCount++;
+  }
+
+  public boolean contains(T elem) {
+    if (elem == null) throw new IllegalArgumentException("Null element");
+    return slotOf(elem, hash(elem)) != -1 || stashIndexOf(elem) != -1;
+  }
+
+  // Adds an element to the set, returns false if it was already present.
+  public boolean add(T elem) {
+    if (elem == null) throw new IllegalArgumentException("Null element");
+    if (slotOf(elem, hash(elem)) != -1 || stashIndexOf(elem) != -1) return false;
+    if (size >= threshold) resize(2 * (bucketMask + 1));
+
+    size++;
+    modificationCount++;
+    Object homeless = place(elem);
+    if (homeless != null) pushStash(homeless);
+    if (stashSize > stashLimit) rehash();
+    return true;
+  }
+
+  // Removes an element from the set, returns false if it was not present.
+  public boolean remove(T elem) {
+    if (elem == null) throw new IllegalArgumentException("Null element");
+    int s = slotOf(elem, hash(elem));
+    if (s != -1) {
+      slots[s] = null;
+      // The freed slot may be able to take an element from the stash.
+      if (stashSize > 0) drainStash();
+    } else {
+      int i = stashIndexOf(elem);
+      if (i == -1) return false;
+      stash[i] = stash[--stashSize];
+      stash[stashSize] = null;
+    }
+    size--;
+    modificationCount++;
+    return true;
+  }
+
+  // Returns the slot holding the element or -1 if it is not in either bucket.
+  private int slotOf(Object elem, long h) {
+    for (int table = 0; table < 2; table++) {
+      int start = bucketStart(h, table, bucketMask);
+      for (int i = start; i < start + SLOTS_PER_BUCKET; i++) {
+        if (slots[i] != null && slots[i].equals(elem)) return i;
+      }
+    }
+    return -1;
+  }
+
+  private int stashIndexOf(Object elem) {
+    for (int i = 0; i < stashSize; i++) if (stash[i].equals(elem)) return i;
+    return -1;
+  }
+
+  private int freeSlot(int start) {
+    for (int i = start; i < start + SLOTS_PER_BUCKET; i++) if (slots[i] == null) return i;
+    return -1;
+  }
+
+  // Places the element in one of its two buckets, evicting other elements to
+  // their alternate bucket as needed. Returns the element left without a slot
+  // after MAX_KICKS evictions, or null if everything fit.
+  private Object place(Object elem) {
+    long h = hash(elem);
+    int s = freeSlot(bucketStart(h, 0, bucketMask));
+    if (s == -1) s = freeSlot(bucketStart(h, 1, bucketMask));
+    if (s != -1) {
+      slots[s] = elem;
+      return null;
+    }
+
+    random = nextRandom(random);
+    int table = random & 1;
+    for (int kicks = 0; kicks < MAX_KICKS; kicks++) {
+      random = nextRandom(random);
+      int victim = bucketStart(h, table, bucketMask) + (random & (SLOTS_PER_BUCKET - 1));
+      Object evicted = slots[victim];
+      slots[victim] = elem;
+
+      // The evicted element sat in its bucket of this table, so its only
+      // other option is its bucket in the other table.
+      elem = evicted;
+      h = hash(elem);
+      table ^= 1;
+      s = freeSlot(bucketStart(h, table, bucketMask));
+      if (s != -1) {
+        slots[s] = elem;
+        return null;
+      }
+    }
+    return elem;
+  }
+
+  private void pushStash(Object elem) {
+    if (stashSize == stash.length) stash = Arrays.copyOf(stash, 2 * stash.length);
+    stash[stashSize++] = elem;
+  }
+
+  // Moves stashed elements back into the tables where there is now room.
+  private void drainStash() {
+    for (int i = stashSize - 1; i >= 0; i--) {
+      long h = hash(stash[i]);
+      int s = freeSlot(bucketStart(h, 0, bucketMask));
+      if (s == -1) s = freeSlot(bucketStart(h, 1, bucketMask));
+      if (s == -1) continue;
+      slots[s] = stash[i];
+      stash[i] = stash[--stashSize];
+      stash[stashSize] = null;
+    }
+  }
+
+  // Rehashes with fresh hash functions, growing the tables if they are full
+  // enough, until the stash is back within MAX_STASH_SIZE. Elements with
+  // identical hash codes cannot be separated, so after MAX_REHASH_ATTEMPTS
+  // the stash is tolerated until it doubles, which keeps adds amortized O(1).
+  private void rehash() {
+    int buckets = bucketMask + 1;
+    if (size >= slots.length * MIN_GROW_LOAD_FACTOR) buckets *= 2;
+    for (int attempt = 0; attempt < MAX_REHASH_ATTEMPTS; attempt++) {
+      resize(buckets);
+      if (stashSize <= MAX_STASH_SIZE) {
+        stashLimit = MAX_STASH_SIZE;
+        return;
+      }
+    }
+    stashLimit = 2 * stashSize;
+  }
+
+  // Rebuilds the tables with the given number of buckets and new hash
+  // functions.
+  private void resize(int buckets) {
+    if (buckets > MAX_BUCKETS) throw new IllegalStateException("Set is full");
+    Object[] oldSlots = slots, oldStash = stash;
+    int oldStashSize = stashSize;
+
+    allocate(buckets);
+    stash = new Object[Math.max(MAX_STASH_SIZE + 1, oldStashSize)];
+    stashSize = 0;
+    seed = randomSeed();
+
+    for (Object elem : oldSlots) if (elem != null) reinsert(elem);
+    for (int i = 0; i < oldStashSize; i++) reinsert(oldStash[i]);
+  }
+
+  private void reinsert(Object elem) {
+    Object homeless = place(elem);
+    if (homeless != null) pushStash(homeless);
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    final int MODIFICATION_COUNT = modificationCount;
+
+    return new Iterator<T>() {
+      // Positions past the end of the slots index into the stash.
+      int index, elemsLeft = size;
+
+      @Override
+      public boolean hasNext() {
+        if (MODIFICATION_COUNT != modificationCount) throw new ConcurrentModificationException();
+        return elemsLeft != 0;
+      }
+
+      @Override
+      public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        elemsLeft--;
+        while (index < slots.length && slots[index] == null) index++;
+        if (index < slots.length) return (T) slots[index++];
+        return (T) stash[index++ - slots.length];
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("[");
+    for (T elem : this) sb.append(elem + ", ");
+    sb.append("]");
+    return sb.toString();
+  }
+
+  public static void main(String[] args) {
+    CuckooHashSet<String> set = new CuckooHashSet<>();
+    for (int i = 0; i < 1000; i++) set.add("key" + i);
+    System.out.println(set.size()); // 1000
+    System.out.println(set.contains("key500")); // true
+    System.out.println(set.contains("key1000")); // false
+    set.remove("key500");
+    System.out.println(set.contains("key500")); // false
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Constants and helpers shared by the cuckoo hash sets.
+ *
+ * <p>All the cuckoo sets use two tables of buckets, each bucket holding {@link #SLOTS_PER_BUCKET}
+ * elements, and a small stash for the rare elements which cannot be placed in either of their two
+ * buckets.
+ */
+package com.williamfiset.algorithms.datastructures.set;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+final class CuckooHashing {
+
+  // Number of elements stored side by side in every bucket.
+  static final int SLOTS_PER_BUCKET = 4;
+
+  // Number of evictions tried before an element is moved to the stash.
+  static final int MAX_KICKS = 256;
+
+  // Once the stash holds more elements than this the tables are rehashed.
+  static final int MAX_STASH_SIZE = 4;
+
+  // Number of rehashes with fresh hash functions tried before the tables of the primitive sets are
+  // grown, or before CuckooHashSet gives up on emptying its stash.
+  static final int MAX_REHASH_ATTEMPTS = 4;
+
+  // Two tables of four slot buckets remain easy to insert into up to a load
+  // of about 95%, so growing at 90% leaves some head room.
+  static final double MAX_LOAD_FACTOR = 0.9;
+
+  // A full stash only causes the tables to grow if they are at least this
+  // full. Below this load they are rehashed at the same size with new hash
+  // functions instead.
+  static final double MIN_GROW_LOAD_FACTOR = 0.5;
+
+  static final int DEFAULT_CAPACITY = 16;
+
+  // Keeps the total number of slots, 2 * buckets * SLOTS_PER_BUCKET, at or
+  // below 2^30.
+  static final int MAX_BUCKETS = 1 << 27;
+
+  private CuckooHashing() {}
+
+  // Scrambles all the bits of a long (the MurmurHash3 finalizer). The low and
+  // high halves of the result select the buckets in the two tables.
+  static long mix64(long x) {
+    x ^= x >>> 33;
+    x *= 0xff51afd7ed558ccdL;
+    x ^= x >>> 33;
+    x *= 0xc4ceb9fe1a85ec53L;
+    return x ^ (x >>> 33);
+  }
+
+  // Returns a random seed for new hash functions. Every set and every rehash
+  // draws its own, so colliding keys cannot be crafted in advance.
+  static long randomSeed() {
+    return ThreadLocalRandom.current().nextLong();
+  }
+
+  // Returns the number of buckets per table, a power of two, needed to hold
+  // 'capacity' elements without growing.
+  static int bucketsFor(int capacity) {
+    if (capacity < 0) throw new IllegalArgumentException("Illegal capacity: " + capacity);
+    double needed = Math.ceil(capacity / MAX_LOAD_FACTOR / (2 * SLOTS_PER_BUCKET));
+    int buckets = 1;
+    while (buckets < needed) {
+      if (buckets == MAX_BUCKETS)
+        throw new IllegalArgumentException("Capacity too large: " + capacity);
+      buckets <<= 1;
+    }
+    return buckets;
+  }
+
+  // Returns the index of the first slot of the bucket the hash selects in the
+  // given table (0 or 1).
+  static int bucketStart(long hash, int table, int bucketMask) {
+    int h = table == 0 ? (int) hash : (int) (hash >>> 32);
+    return ((table * (bucketMask + 1)) + (h & bucketMask)) * SLOTS_PER_BUCKET;
+  }
+
+  // A cheap xorshift step used to pick which element to evict.
+  static int nextRandom(int x) {
+    x ^= x << 13;
+    x ^= x >>> 17;
+    return x ^ (x << 5);
+  }
+}
@@ -0,0 +1,250 @@
+/**
+ * A set of primitive int values using bucketized cuckoo hashing, see {@link CuckooHashSet}.
+ *
+ * <p>Values are stored unboxed in a flat int array where 0 marks a free slot; the value 0 itself is
+ * tracked with a separate flag. Distinct values always have distinct 64 bit hashes, so apart from
+ * the small stash every lookup inspects at most two buckets of four adjacent slots.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=datastructures.set.IntCuckooHashSet
+ */
+package com.williamfiset.algorithms.datastructures.set;
+
+import static com.williamfiset.algorithms.datastructures.set.CuckooHashing.*;
+
+import java.util.Arrays;
+
+public class IntCuckooHashSet {
+
+  private static final int EMPTY = 0;
+
+  // The slots of both tables, table 0 followed by table 1.
+  private int[] slots;
+  private int[] stash = new int[MAX_STASH_SIZE + 1];
+  private boolean hasEmptyValue;
+
+  private int bucketMask, threshold, size, stashSize;
+  private long seed = randomSeed();
+  private int random = 0x2545F491;
+
+  public IntCuckooHashSet() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  // Creates a set which can hold 'capacity' values before it has to grow.
+  public IntCuckooHashSet(int capacity) {
+    allocate(bucketsFor(capacity));
+  }
+
+  private void allocate(int buckets) {
+    slots = new int[2 * buckets * SLOTS_PER_BUCKET];
+    bucketMask = buckets - 1;
+    threshold = (int) (slots.length * MAX_LOAD_FACTOR);
+  }
+
+  private long hash(int value) {
+    return mix64(value ^ seed);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  // Returns the number of slots in the two tables.
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  // Returns the number of values which did not fit in their buckets.
+  int stashSize() {
+    return stashSize;
+  }
+
+  // Returns the seed of the current hash functions.
+  long seed() {
+    return seed;
+  }
+
+  public void clear() {
+    Arrays.fill(slots, EMPTY);
+    stashSize = size = 0;
+    hasEmptyValue = false;
+  }
+
+  public boolean contains(int value) {
+    if (value == EMPTY) return hasEmptyValue;
+    return slotOf(value, hash(value)) != -1 || stashIndexOf(value) != -1;
+  }
+
+  // Adds a value to the set, returns false if it was already present.
+  public boolean add(int value) {
+    if (value == EMPTY) {
+      if (hasEmptyValue) return false;
+      hasEmptyValue = true;
+      size++;
+      return true;
+    }
+    if (slotOf(value, hash(value)) != -1 || stashIndexOf(value) != -1) return false;
+    if (size >= threshold) {
+      resize(2 * (bucketMask + 1));
+      if (stashSize > MAX_STASH_SIZE) rehash();
+    }
+
+    size++;
+    int homeless = place(value);
+    if (homeless != EMPTY) {
+      pushStash(homeless);
+      if (stashSize > MAX_STASH_SIZE) rehash();
+    }
+    return true;
+  }
+
+  // Removes a value from the set, returns false if it was not present.
+  public boolean remove(int value) {
+    if (value == EMPTY) {
+      if (!hasEmptyValue) return false;
+      hasEmptyValue = false;
+      size--;
+      return true;
+    }
+    int s = slotOf(value, hash(value));
+    if (s != -1) {
+      slots[s] = EMPTY;
+      // The freed slot may be able to take a value from the stash.
+      if (stashSize > 0) drainStash();
+    } else {
+      int i = stashIndexOf(value);
+      if (i == -1) return false;
+      stash[i] = stash[--stashSize];
+    }
+    size--;
+    return true;
+  }
+
+  // Returns the values of the set in no particular order.
+  public int[] toArray() {
+    int[] values = new int[size];
+    int n = 0;
+    if (hasEmptyValue) values[n++] = EMPTY;
+    for (int value : slots) if (value != EMPTY) values[n++] = value;
+    for (int i = 0; i < stashSize; i++) values[n++] = stash[i];
+    return values;
+  }
+
+  // Returns the slot holding the value or -1 if it is not in either bucket.
+  private int slotOf(int value, long h) {
+    for (int table = 0; table < 2; table++) {
+      int start = bucketStart(h, table, bucketMask);
+      for (int i = start; i < start + SLOTS_PER_BUCKET; i++) if (slots[i] == value) return i;
+    }
+    return -1;
+  }
+
+  private int stashIndexOf(int value) {
+    for (int i = 0; i < stashSize; i++) if (stash[i] == value) return i;
+    return -1;
+  }
+
+  private int freeSlot(int start) {
+    for (int i = start; i < start + SLOTS_PER_BUCKET; i++) if (slots[i] == EMPTY) return i;
+    return -1;
+  }
+
+  // Places the value in one of its two buckets, evicting other values to
+  // their alternate bucket as needed. Returns the value left without a slot
+  // after MAX_KICKS evictions, or EMPTY if everything fit.
+  private int place(int value) {
+    long h = hash(value);
+    int s = freeSlot(bucketStart(h, 0, bucketMask));
+    if (s == -1) s = freeSlot(bucketStart(h, 1, bucketMask));
+    if (s != -1) {
+      slots[s] = value;
+      return EMPTY;
+    }
+
+    random = nextRandom(random);
+    int table = random & 1;
+    for (int kicks = 0; kicks < MAX_KICKS; kicks++) {
+      random = nextRandom(random);
+      int victim = bucketStart(h, table, bucketMask) + (random & (SLOTS_PER_BUCKET - 1));
+      int evicted = slots[victim];
+      slots[victim] = value;
+
+      // The evicted value sat in its bucket of this table, so its only other
+      // option is its bucket in the other table.
+      value = evicted;
+      h = hash(value);
+      table ^= 1;
+      s = freeSlot(bucketStart(h, table, bucketMask));
+      if (s != -1) {
+        slots[s] = value;
+        return EMPTY;
+      }
+    }
+    return value;
+  }
+
+  private void pushStash(int value) {
+    if (stashSize == stash.length) stash = Arrays.copyOf(stash, 2 * stash.length);
+    stash[stashSize++] = value;
+  }
+
+  // Moves stashed values back into the tables where there is now room.
+  private void drainStash() {
+    for (int i = stashSize - 1; i >= 0; i--) {
+      long h = hash(stash[i]);
+      int s = freeSlot(bucketStart(h, 0, bucketMask));
+      if (s == -1) s = freeSlot(bucketStart(h, 1, bucketMask));
+      if (s == -1) continue;
+      slots[s] = stash[i];
+      stash[i] = stash[--stashSize];
+    }
+  }
+
+  // Rehashes until the stash is back within MAX_STASH_SIZE. Distinct values
+  // have distinct hashes, so fresh hash functions nearly always separate
+  // them; the tables only grow when they are full enough or when reseeding
+  // keeps failing.
+  private void rehash() {
+    int buckets = bucketMask + 1;
+    if (size >= slots.length * MIN_GROW_LOAD_FACTOR) buckets *= 2;
+    for (int attempt = 1; ; attempt++) {
+      resize(buckets);
+      if (stashSize <= MAX_STASH_SIZE) return;
+      if (attempt % MAX_REHASH_ATTEMPTS == 0) buckets *= 2;
+    }
+  }
+
+  // Rebuilds the tables with the given number of buckets and new hash
+  // functions.
+  private void resize(int buckets) {
+    if (buckets > MAX_BUCKETS) throw new IllegalStateException("Set is full");
+    int[] oldSlots = slots, oldStash = stash;
+    int oldStashSize = stashSize;
+
+    allocate(buckets);
+    stash = new int[Math.max(MAX_STASH_SIZE + 1, oldStashSize)];
+    stashSize = 0;
+    seed = randomSeed();
+
+    for (int value : oldSlots) if (value != EMPTY) reinsert(value);
+    for (int i = 0; i < oldStashSize; i++) reinsert(oldStash[i]);
+  }
+
+  private void reinsert(int value) {
+    int homeless = place(value);
+    if (homeless != EMPTY) pushStash(homeless);
+  }
+
+  public static void main(String[] args) {
+    IntCuckooHashSet set = new IntCuckooHashSet();
+    for (int i = 0; i < 1000; i++) set.add(i * 7);
+    System.out.println(set.size()); // 1000
+    System.out.println(set.contains(0)); // true
+    System.out.println(set.contains(7 * 500)); // true
+    System.out.println(set.contains(1)); // false
+  }
+}
@@ -0,0 +1,183 @@
+/**
+ * A lock-free union find which any number of threads can update at the same time, following the
+ * concurrent disjoint set union of Anderson and Woll and of Jayanti and Tarjan.
+ *
+ * <p>The parent pointers live in an {@link AtomicIntegerArray}. Unify links one root below the
+ * other with a single compare and set, which fails and retries if another thread linked that root
+ * first. Roots are always linked in the same fixed order of their indices (a hash of the index, so
+ * that linking the nodes of a path in order doesn't build a path), which rules out cycles without
+ * any locks. Find uses path halving: every node on the way to the root is pointed at its
+ * grandparent with a compare and set, which may fail harmlessly since the parent only ever moves
+ * closer to the root.
+ *
+ * <p>Every operation is linearizable. Finds and connected queries can run while other threads are
+ * unifying, a connected query which returns true stays true. The number of components is exact once
+ * no unify is running.
+ *
+ * <p>Run with: ./gradlew run -Palgorithm=datastructures.unionfind.ConcurrentUnionFind
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentUnionFind {
+
+  // unifyAll splits the edges into ranges of at most this many edges per task.
+  static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // The number of elements in this union find
+  private final int size;
+
+  // id[i] points to the parent of i, if id[i] = i then i is a root node
+  private final AtomicIntegerArray id;
+
+  // The number of successful unions, striped to avoid contention between threads
+  private final LongAdder unions = new LongAdder();
+
+  private final ForkJoinPool pool;
+
+  public ConcurrentUnionFind(int size) {
+    this(size, ForkJoinPool.commonPool());
+  }
+
+  public ConcurrentUnionFind(int size, ForkJoinPool pool) {
+    if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.size = size;
+    this.pool = pool;
+    id = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) id.lazySet(i, i);
+  }
+
+  // Find the root of the component/set 'p' belongs to, halving the path on the way.
+  public int find(int p) {
+    while (true) {
+      int parent = id.get(p);
+      if (parent == p) return p;
+      int grandparent = id.get(parent);
+      if (parent != grandparent) id.compareAndSet(p, parent, grandparent);
+      p = grandparent;
+    }
+  }
+
+  // Return whether or not the elements 'p' and 'q' are in the same components/set.
+  public boolean connected(int p, int q) {
+    while (true) {
+      p = find(p);
+      q = find(q);
+      if (p == q) return true;
+      // If 'p' is still a root then 'p' and 'q' were in different sets when q's root was read.
+      if (id.get(p) == p) return false;
+    }
+  }
+
+  // Return the number of elements in this union find
+  public int size() {
+    return size;
+  }
+
+  // Returns the number of remaining components/sets, exact once no unify is running.
+  public int components() {
+    return (int) (size - unions.sum());
+  }
+
+  // Unify the components/sets containing elements 'p' and 'q', returns false if they were
+  // already in the same component/set.
+  public boolean unify(int p, int q) {
+    while (true) {
+      p = find(p);
+      q = find(q);
+      if (p == q) return false;
+      // Link the lower ranked root below the higher ranked one, retrying if 'p' stopped being a
+      // root in the meantime.
+      if (rank(p) > rank(q)) {
+        int tmp = p;
+        p = q;
+        q = tmp;
+      }
+      if (id.compareAndSet(p, p, q)) {
+        unions.increment();
+        return true;
+      }
+    }
+  }
+
+  // A fixed pseudo random order of the indices, the finalizer of MurmurHash3 which is a bijection
+  // so no two indices have the same rank.
+  private static int rank(int p) {
+    p ^= p >>> 16;
+    p *= 0x85ebca6b;
+    p ^= p >>> 13;
+    p *= 0xc2b2ae35;
+    return p ^ (p >>> 16);
+  }
+
+  // Unifies from[i] with to[i] for every i, splitting the edges across the threads of the pool.
+  // Returns the number of unions which merged two components/sets.
+  public int unifyAll(int[] from, int[] to) {
+    if (from == null || to == null) throw new IllegalArgumentException("Edges cannot be null");
+    if (from.length != to.length) {
+      throw new IllegalArgumentException("Edge arrays have different lengths");
+    }
+    UnifyTask task = new UnifyTask(from, to, 0, from.length);
+    return from.length <= SEQUENTIAL_CUTOFF ? task.compute() : pool.invoke(task);
+  }
+
+  // Unifies the edges in [lo, hi).
+  private final class UnifyTask extends RecursiveTask<Integer> {
+    private static final long serialVersionUID = 1L;
+
+    final int[] from, to;
+    final int lo, hi;
+
+    UnifyTask(int[] from, int[] to, int lo, int hi) {
+      this.from = from;
+      this.to = to;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected Integer compute() {
+      if (hi - lo > SEQUENTIAL_CUTOFF) {
+        int mid = (lo + hi) >>> 1;
+        UnifyTask left = new UnifyTask(from, to, lo, mid);
+        left.fork();
+        int right = new UnifyTask(from, to, mid, hi).compute();
+        return left.join() + right;
+      }
+      int merged = 0;
+      for (int i = lo; i < hi; i++) if (unify(from[i], to[i])) merged++;
+      return merged;
+    }
+  }
+
+  public static void main(String[] args) {
+    int n = 5_000_000, m = 10_000_000;
+    Random random = new Random(1);
+    int[] from = new int[m], to = new int[m];
+    for (int i = 0; i < m; i++) {
+      from[i] = random.nextInt(n);
+      to[i] = random.nextInt(n);
+    }
+
+    long time = System.nanoTime();
+    UnionFind sequential = new UnionFind(n);
+    for (int i = 0; i < m; i++) sequential.unify(from[i], to[i]);
+    time = System.nanoTime() - time;
+    System.out.printf(
+        "UnionFind: %d components in %d ms%n", sequential.components(), time / 1_000_000);
+
+    time = System.nanoTime();
+    ConcurrentUnionFind concurrent = new ConcurrentUnionFind(n);
+    concurrent.unifyAll(from, to);
+    time = System.nanoTime() - time;
+    System.out.printf(
+        "ConcurrentUnionFind (%d threads): %d components in %d ms%n",
+        ForkJoinPool.commonPool().getParallelism(), concurrent.components(), time / 1_000_000);
+  }
+}
@@ -0,0 +1,217 @@
+/**
+ * Offline dynamic connectivity: answers connectivity queries over a stream of undirected edge
+ * insertions and deletions in O((E + Q) log(Q) log(n)) time in total, instead of recomputing the
+ * components from scratch for every query.
+ *
+ * <p>The events are recorded first. Every edge is then alive during a range of queries, from the
+ * first query after it was added up to the first query after it was removed. These ranges are
+ * stored on a segment tree over the queries, where each range is split over O(log(Q)) nodes. A
+ * depth first walk of the segment tree unifies the edges of every node it enters and rolls them
+ * back when it leaves, using a {@link RollbackUnionFind}, so at each leaf the union find holds
+ * exactly the edges alive at that query.
+ *
+ * <p>Parallel edges are allowed, each removal removes one copy of the edge.
+ *
+ * <p>Run with: ./gradlew run -Palgorithm=datastructures.unionfind.OfflineDynamicConnectivity
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import com.williamfiset.algorithms.datastructures.dynamicarray.IntArray;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class OfflineDynamicConnectivity {
+
+  private final int n;
+
+  // The edges and the range of queries [from, to) during which they are alive. Edges which are
+  // still present have to = -1 until solve is called.
+  private final IntArray edgeU = new IntArray(), edgeV = new IntArray();
+  private final IntArray edgeFrom = new IntArray(), edgeTo = new IntArray();
+
+  // The indices of the edges currently present, for every pair of endpoints.
+  private final Map<Long, IntArray> present = new HashMap<>();
+
+  // The queried nodes, queryU is -1 for a query of the number of components.
+  private final IntArray queryU = new IntArray(), queryV = new IntArray();
+
+  // The answer to every query, null until solve is called after the last event.
+  private int[] answers;
+
+  public OfflineDynamicConnectivity(int n) {
+    if (n <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+    this.n = n;
+  }
+
+  private void checkNode(int u) {
+    if (u < 0 || u >= n) throw new IllegalArgumentException("Invalid node index: " + u);
+  }
+
+  private static long key(int u, int v) {
+    return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+  }
+
+  // Adds the undirected edge (u, v).
+  public void addEdge(int u, int v) {
+    checkNode(u);
+    checkNode(v);
+    present.computeIfAbsent(key(u, v), k -> new IntArray(1)).add(edgeU.size());
+    edgeU.add(u);
+    edgeV.add(v);
+    edgeFrom.add(queryU.size());
+    edgeTo.add(-1);
+    answers = null;
+  }
+
+  // Removes one copy of the undirected edge (u, v), which has to be present.
+  public void removeEdge(int u, int v) {
+    checkNode(u);
+    checkNode(v);
+    IntArray edges = present.get(key(u, v));
+    if (edges == null) throw new IllegalArgumentException("Edge not present: " + u + ", " + v);
+    int edge = edges.get(edges.size() - 1);
+    edges.removeAt(edges.size() - 1);
+    if (edges.isEmpty()) present.remove(key(u, v));
+    edgeTo.set(edge, queryU.size());
+    answers = null;
+  }
+
+  // Asks whether nodes u and v are connected after the events so far, returns the query index.
+  public int queryConnected(int u, int v) {
+    checkNode(u);
+    checkNode(v);
+    queryU.add(u);
+    queryV.add(v);
+    answers = null;
+    return queryU.size() - 1;
+  }
+
+  // Asks for the number of components after the events so far, returns the query index.
+  public int queryComponents() {
+    queryU.add(-1);
+    queryV.add(-1);
+    answers = null;
+    return queryU.size() - 1;
+  }
+
+  public int queryCount() {
+    return queryU.size();
+  }
+
+  // Returns the answer to a query made with queryConnected.
+  public boolean isConnected(int query) {
+    checkQuery(query, true);
+    return answers[query] == 1;
+  }
+
+  // Returns the answer to a query made with queryComponents.
+  public int components(int query) {
+    checkQuery(query, false);
+    return answers[query];
+  }
+
+  private void checkQuery(int query, boolean connected) {
+    if (query < 0 || query >= queryU.size()) {
+      throw new IllegalArgumentException("Invalid query index: " + query);
+    }
+    if ((queryU.get(query) != -1) != connected) {
+      throw new IllegalArgumentException("Query " + query + " is of a different kind");
+    }
+    solve();
+  }
+
+  // Answers all the queries, called automatically by the first lookup after an event.
+  public void solve() {
+    if (answers != null) return;
+    int q = queryU.size();
+    answers = new int[q];
+    if (q == 0) return;
+
+    int leaves = 1;
+    while (leaves < q) leaves <<= 1;
+
+    // Lay out the edges of every segment tree node contiguously, first counting them per node.
+    int[] start = new int[2 * leaves + 1];
+    int numEdges = edgeU.size();
+    for (int e = 0; e < numEdges; e++) forEachNode(e, q, leaves, start, null);
+    for (int i = 1; i <= 2 * leaves; i++) start[i] += start[i - 1];
+    int[] edges = new int[start[2 * leaves]];
+    for (int e = numEdges - 1; e >= 0; e--) forEachNode(e, q, leaves, start, edges);
+
+    walk(1, 0, leaves, q, leaves, start, edges, new RollbackUnionFind(n));
+  }
+
+  // Visits the segment tree nodes covering the queries during which edge e is alive. Counts the
+  // edges of each node in start[node] when 'edges' is null, otherwise fills them in backwards from
+  // the end of the node's range which is left at its beginning.
+  private void forEachNode(int e, int q, int leaves, int[] start, int[] edges) {
+    int from = edgeFrom.get(e), to = edgeTo.get(e) == -1 ? q : edgeTo.get(e);
+    for (int l = from + leaves, r = to + leaves; l < r; l >>>= 1, r >>>= 1) {
+      if ((l & 1) == 1) add(l++, e, start, edges);
+      if ((r & 1) == 1) add(--r, e, start, edges);
+    }
+  }
+
+  private static void add(int node, int e, int[] start, int[] edges) {
+    if (edges == null) start[node]++;
+    else edges[--start[node]] = e;
+  }
+
+  // Answers the queries in [lo, hi) below 'node', whose depth is at most log(Q).
+  private void walk(
+      int node, int lo, int hi, int q, int leaves, int[] start, int[] edges, RollbackUnionFind uf) {
+    if (lo >= q) return;
+    int checkpoint = uf.checkpoint();
+    for (int i = start[node]; i < start[node + 1]; i++) {
+      uf.unify(edgeU.get(edges[i]), edgeV.get(edges[i]));
+    }
+    if (node >= leaves) {
+      int u = queryU.get(lo);
+      answers[lo] = u == -1 ? uf.components() : uf.connected(u, queryV.get(lo)) ? 1 : 0;
+    } else {
+      int mid = (lo + hi) >>> 1;
+      walk(2 * node, lo, mid, q, leaves, start, edges, uf);
+      walk(2 * node + 1, mid, hi, q, leaves, start, edges, uf);
+    }
+    uf.rollback(checkpoint);
+  }
+
+  public static void main(String[] args) {
+    // A random stream of edge insertions, deletions and queries on a sparse graph.
+    int n = 100_000, numEvents = 1_000_000;
+    Random random = new Random(1);
+    OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(n);
+    long[] alive = new long[numEvents];
+    int numAlive = 0;
+    for (int i = 0; i < numEvents; i++) {
+      int type = random.nextInt(10);
+      if (type < 5 || numAlive == 0) {
+        int u = random.nextInt(n), v = random.nextInt(n);
+        dc.addEdge(u, v);
+        alive[numAlive++] = key(u, v);
+      } else if (type < 8) {
+        int j = random.nextInt(numAlive);
+        long edge = alive[j];
+        alive[j] = alive[--numAlive];
+        dc.removeEdge((int) (edge >>> 32), (int) edge);
+      } else if (type < 9) {
+        dc.queryConnected(random.nextInt(n), random.nextInt(n));
+      } else {
+        dc.queryComponents();
+      }
+    }
+
+    long time = System.nanoTime();
+    dc.solve();
+    time = System.nanoTime() - time;
+
+    int connected = 0;
+    for (int i = 0; i < dc.queryCount(); i++) {
+      if (dc.queryU.get(i) != -1 && dc.isConnected(i)) connected++;
+    }
+    System.out.printf(
+        "Answered %d queries (%d connected pairs) over %d edges in %d ms%n",
+        dc.queryCount(), connected, dc.edgeU.size(), time / 1_000_000);
+  }
+}
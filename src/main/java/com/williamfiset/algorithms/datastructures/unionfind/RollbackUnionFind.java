@@ -0,0 +1,120 @@
+/**
+ * A union find which can undo its unions. Components are merged by size and find does no path
+ * compression, so every union changes exactly one parent pointer and one size. These changes are
+ * kept on an undo log: {@link #checkpoint()} returns the current length of the log and {@link
+ * #rollback(int)} undoes every union made after it, most recent first.
+ *
+ * <p>Without path compression the trees stay O(log(n)) deep, so find and unify take O(log(n))
+ * time while taking a checkpoint and undoing a union take constant time. This makes it the building
+ * block of offline dynamic connectivity, see {@link OfflineDynamicConnectivity}.
+ */
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import java.util.Arrays;
+
+public class RollbackUnionFind {
+
+  // The number of elements in this union find
+  private final int size;
+
+  // sz[i] is the size of the component rooted at i, a child keeps the size it had as a root
+  private final int[] sz;
+
+  // id[i] points to the parent of i, if id[i] = i then i is a root node
+  private final int[] id;
+
+  // The roots which were attached to another root by each union, in order
+  private int[] history;
+  private int historySize;
+
+  // Tracks the number of components in the union find
+  private int numComponents;
+
+  public RollbackUnionFind(int size) {
+    if (size <= 0) throw new IllegalArgumentException("Size <= 0 is not allowed");
+    this.size = numComponents = size;
+    sz = new int[size];
+    id = new int[size];
+    history = new int[16];
+    for (int i = 0; i < size; i++) {
+      id[i] = i;
+      sz[i] = 1;
+    }
+  }
+
+  // Find which component/set 'p' belongs to, takes O(log(n)) time.
+  public int find(int p) {
+    while (p != id[p]) p = id[p];
+    return p;
+  }
+
+  // Return whether or not the elements 'p' and 'q' are in the same components/set.
+  public boolean connected(int p, int q) {
+    return find(p) == find(q);
+  }
+
+  // Return the size of the components/set 'p' belongs to
+  public int componentSize(int p) {
+    return sz[find(p)];
+  }
+
+  // Return the number of elements in this union find
+  public int size() {
+    return size;
+  }
+
+  // Returns the number of remaining components/sets
+  public int components() {
+    return numComponents;
+  }
+
+  // Unify the components/sets containing elements 'p' and 'q', returns false if they were
+  // already in the same component/set in which case nothing is logged.
+  public boolean unify(int p, int q) {
+    int root1 = find(p), root2 = find(q);
+    if (root1 == root2) return false;
+
+    // Attach the smaller tree below the larger one, which keeps the trees O(log(n)) deep.
+    if (sz[root1] < sz[root2]) {
+      int tmp = root1;
+      root1 = root2;
+      root2 = tmp;
+    }
+    id[root2] = root1;
+    sz[root1] += sz[root2];
+    numComponents--;
+
+    if (historySize == history.length) {
+      history = Arrays.copyOf(history, historySize * 2);
+    }
+    history[historySize++] = root2;
+    return true;
+  }
+
+  // Returns a checkpoint which rollback can later return to. Checkpoints are the number of unions
+  // made so far, so they are only valid while no rollback has gone past them.
+  public int checkpoint() {
+    return historySize;
+  }
+
+  // Undoes every union made since 'checkpoint' was taken.
+  public void rollback(int checkpoint) {
+    if (checkpoint < 0 || checkpoint > historySize) {
+      throw new IllegalArgumentException("Invalid checkpoint: " + checkpoint);
+    }
+    while (historySize > checkpoint) {
+      int child = history[--historySize];
+      int root = id[child];
+      sz[root] -= sz[child];
+      id[child] = child;
+      numComponents++;
+    }
+  }
+
+  // Undoes the most recent union, returns false if there is none.
+  public boolean undo() {
+    if (historySize == 0) return false;
+    rollback(historySize - 1);
+    return true;
+  }
+}
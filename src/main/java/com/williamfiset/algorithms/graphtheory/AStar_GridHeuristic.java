@@ -2,6 +2,8 @@
 package com.williamfiset.algorithms.graphtheory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class AStar_GridHeuristic {
 
@@ -50,12 +52,26 @@ public class AStar_GridHeuristic {
     }
   }
 
+  // A lower bound on the distance from node 'at' to node 'end'. A* only returns shortest paths if
+  // the heuristic is consistent: h(u) <= cost(u, v) + h(v) for every edge (u, v).
+  @FunctionalInterface
+  public interface Heuristic {
+    double estimate(int at, int end);
+  }
+
   // Run A* algorithm on a directed graph to find the shortest path
-  // from a starting node to an ending node. If there is no path between the
-  // starting node and the destination node the returned value is set to be
-  // Double.POSITIVE_INFINITY.
+  // from a starting node to an ending node using the Euclidean heuristic.
+  // If there is no path between the starting node and the destination
+  // node the returned value is set to be Double.POSITIVE_INFINITY.
   public static double astar(
       double[] X, double[] Y, Map<Integer, List<Edge>> graph, int start, int end, int n) {
+    return astar(graph, start, end, n, (at, e) -> heuristic(X, Y, at, e));
+  }
+
+  // Run A* algorithm guided by any consistent heuristic, for example the
+  // distance bounds of a set of Landmarks.
+  public static double astar(
+      Map<Integer, List<Edge>> graph, int start, int end, int n, Heuristic heuristic) {
 
     // In the event that you wish to rebuild the shortest path
     // you can do so using the prev array and starting at some node 'end'
@@ -65,25 +81,22 @@ public class AStar_GridHeuristic {
     // int[] prev = new int[n];
 
     double[] G = new double[n];
-    double[] F = new double[n];
     Arrays.fill(G, Double.POSITIVE_INFINITY);
-    Arrays.fill(F, Double.POSITIVE_INFINITY);
     G[start] = 0;
-    F[start] = heuristic(X, Y, start, end);
 
-    Set<Integer> openSet = new HashSet<>();
-    Set<Integer> closedSet = new HashSet<>();
+    boolean[] closed = new boolean[n];
 
-    // Keep a priority queue of the next most promising node to visit
+    // Keep a priority queue of the next most promising node to visit. A node
+    // is pushed again every time its cost improves, outdated entries are
+    // skipped once the node is closed.
     PriorityQueue<Node> pq = new PriorityQueue<>();
-    pq.offer(new Node(start, G[start], F[start]));
-    openSet.add(start);
+    pq.offer(new Node(start, 0, heuristic.estimate(start, end)));
 
     while (!pq.isEmpty()) {
 
       Node node = pq.poll();
-      openSet.remove(node.id);
-      closedSet.add(node.id);
+      if (closed[node.id]) continue;
+      closed[node.id] = true;
 
       if (node.id == end) return G[end];
 
@@ -92,20 +105,16 @@ public class AStar_GridHeuristic {
         for (int i = 0; i < edges.size(); i++) {
 
           Edge edge = edges.get(i);
-          if (closedSet.contains(edge.to)) continue;
-
-          double g = node.g + edge.cost;
-          double h = heuristic(X, Y, edge.to, end);
-
-          if (g < G[edge.to] || !openSet.contains(edge.to)) {
+          if (closed[edge.to]) continue;
 
+          double g = G[node.id] + edge.cost;
+          if (g < G[edge.to]) {
+            double h = heuristic.estimate(edge.to, end);
+            // An infinite estimate proves the end node is unreachable from here.
+            if (h == Double.POSITIVE_INFINITY) continue;
             G[edge.to] = g;
             // prev[edge.to] = edge.from;
-
-            if (!openSet.contains(edge.to)) {
-              pq.offer(new Node(edge.to, g, h));
-              openSet.add(edge.to);
-            }
+            pq.offer(new Node(edge.to, g, h));
           }
         }
       }
@@ -115,13 +124,122 @@ public class AStar_GridHeuristic {
     return Double.POSITIVE_INFINITY;
   }
 
-  // Euclidean distance is used as a heuristic
+  // Run bidirectional A* on a directed graph to find the shortest path from a starting node to an
+  // ending node. The reverse graph is built on every call; use the overload accepting a prebuilt
+  // reverse graph (see reverseGraph) when answering many queries on the same graph.
+  public static double bidirectionalAstar(
+      double[] X, double[] Y, Map<Integer, List<Edge>> graph, int start, int end, int n) {
+    return bidirectionalAstar(X, Y, graph, reverseGraph(graph), start, end, n);
+  }
+
+  // Run bidirectional A* guided by the Euclidean heuristic, reusing a prebuilt reverse graph.
+  public static double bidirectionalAstar(
+      double[] X,
+      double[] Y,
+      Map<Integer, List<Edge>> graph,
+      Map<Integer, List<Edge>> reverseGraph,
+      int start,
+      int end,
+      int n) {
+    return bidirectionalAstar(
+        graph, reverseGraph, start, end, n, (at, e) -> heuristic(X, Y, at, e));
+  }
+
+  // Run bidirectional A* using the average potential pf(v) = (h(v, end) - h(v, start)) / 2 for the
+  // forward search and pb(v) = -pf(v) for the backward search. Both searches then see the same
+  // non negative reduced edge costs, so the bidirectional Dijkstra stopping rule carries over:
+  // once the smallest forward key plus the smallest backward key reaches the best path found so
+  // far, that path is the shortest. The backward search reads h(v, start) as a lower bound on the
+  // distance from 'start' to v, so the heuristic has to be consistent and symmetric, like a
+  // distance on the plane. If there is no path between the starting node and the destination
+  // node the returned value is set to be Double.POSITIVE_INFINITY.
+  public static double bidirectionalAstar(
+      Map<Integer, List<Edge>> graph,
+      Map<Integer, List<Edge>> reverseGraph,
+      int start,
+      int end,
+      int n,
+      Heuristic heuristic) {
+
+    if (start == end) return 0;
+
+    double[] G = new double[n];
+    double[] GR = new double[n];
+    Arrays.fill(G, Double.POSITIVE_INFINITY);
+    Arrays.fill(GR, Double.POSITIVE_INFINITY);
+    G[start] = 0;
+    GR[end] = 0;
+
+    // Keys are g + pf(v) for the forward queue and g - pf(v) for the backward queue.
+    PriorityQueue<DNode> forwardPq = new PriorityQueue<>();
+    PriorityQueue<DNode> backwardPq = new PriorityQueue<>();
+    forwardPq.offer(new DNode(start, potential(heuristic, start, start, end)));
+    backwardPq.offer(new DNode(end, -potential(heuristic, end, start, end)));
+
+    double best = Double.POSITIVE_INFINITY;
+
+    while (true) {
+      // Discard entries that were superseded by a shorter path.
+      while (!forwardPq.isEmpty() && isStale(forwardPq.peek(), G, heuristic, start, end, +1)) {
+        forwardPq.poll();
+      }
+      while (!backwardPq.isEmpty() && isStale(backwardPq.peek(), GR, heuristic, start, end, -1)) {
+        backwardPq.poll();
+      }
+      if (forwardPq.isEmpty() || backwardPq.isEmpty()) break;
+      if (forwardPq.peek().value + backwardPq.peek().value >= best) break;
+
+      boolean forward = forwardPq.peek().value <= backwardPq.peek().value;
+      DNode node = forward ? forwardPq.poll() : backwardPq.poll();
+      double[] g = forward ? G : GR;
+      double[] otherG = forward ? GR : G;
+      int sign = forward ? +1 : -1;
+
+      List<Edge> edges = forward ? graph.get(node.id) : reverseGraph.get(node.id);
+      if (edges == null) continue;
+      for (int i = 0; i < edges.size(); i++) {
+        Edge edge = edges.get(i);
+        double newG = g[node.id] + edge.cost;
+        if (newG < g[edge.to]) {
+          g[edge.to] = newG;
+          double key = newG + sign * potential(heuristic, edge.to, start, end);
+          (forward ? forwardPq : backwardPq).offer(new DNode(edge.to, key));
+        }
+        best = Math.min(best, g[edge.to] + otherG[edge.to]);
+      }
+    }
+    return best;
+  }
+
+  // Returns the graph with the direction of every edge reversed.
+  public static Map<Integer, List<Edge>> reverseGraph(Map<Integer, List<Edge>> graph) {
+    Map<Integer, List<Edge>> reverse = new HashMap<>();
+    for (List<Edge> edges : graph.values()) {
+      for (Edge edge : edges) {
+        reverse
+            .computeIfAbsent(edge.to, k -> new ArrayList<>())
+            .add(new Edge(edge.to, edge.from, edge.cost));
+      }
+    }
+    return reverse;
+  }
+
+  // Average potential of the forward search.
+  private static double potential(Heuristic heuristic, int at, int start, int end) {
+    return (heuristic.estimate(at, end) - heuristic.estimate(at, start)) / 2;
+  }
+
+  private static boolean isStale(
+      DNode node, double[] g, Heuristic heuristic, int start, int end, int sign) {
+    return g[node.id] + sign * potential(heuristic, node.id, start, end) < node.value - DNode.EPS;
+  }
+
+  // Euclidean distance is used as a heuristic, it is consistent as long as no edge costs less than
+  // the straight line distance between its endpoints.
   static double heuristic(double[] X, double[] Y, int at, int end) {
-    // double dx = Math.abs(X[at] - X[end]);
-    // double dy = Math.abs(Y[at] - Y[end]);
-    // return dx*dx + dy*dy; // Avoid square root
-    // return Math.sqrt(dx*dx + dy*dy);
-    return 0;
+    double dx = X[at] - X[end];
+    double dy = Y[at] - Y[end];
+    return Math.sqrt(dx * dx + dy * dy);
   }
 
   // Run a random test between A* and Dijkstra
@@ -167,6 +285,9 @@ public class AStar_GridHeuristic {
 
     System.out.println(graph);
 
+    Landmarks landmarks =
+        Landmarks.select(graph, n, 8, Landmarks.Strategy.AVOID, RANDOM);
+
     for (int i = 0; i < 10 * n; i++) {
 
       int s = locations[RANDOM.nextInt(2 * connections)];
@@ -174,9 +295,11 @@ public class AStar_GridHeuristic {
 
       double d = dijkstra(graph, s, e, n);
       double a = astar(X, Y, graph, s, e, n);
+      double b = bidirectionalAstar(X, Y, graph, s, e, n);
+      double l = astar(graph, s, e, n, landmarks);
       // System.out.println(a + " " + d);
-      if (a != d) {
-        System.out.println("ERROR: " + a + " " + d + " " + s + " " + e);
+      if (a != d || b != d || l != d) {
+        System.out.println("ERROR: " + a + " " + b + " " + l + " " + d + " " + s + " " + e);
         // System.out.println(graph);
         break;
       }
@@ -214,9 +337,24 @@ public class AStar_GridHeuristic {
   // starting node and the destination node the returned value is set to be
   // Double.POSITIVE_INFINITY.
   public static double dijkstra(Map<Integer, List<Edge>> graph, int start, int end, int n) {
+    return dijkstra(graph, start, end, n, new double[n], null);
+  }
 
-    // Maintain an array of the minimum distance to each node
+  // Run Dijkstra's algorithm from a starting node and return the distance to
+  // every node, Double.POSITIVE_INFINITY for nodes which are unreachable.
+  public static double[] dijkstra(Map<Integer, List<Edge>> graph, int start, int n) {
     double[] dists = new double[n];
+    dijkstra(graph, start, -1, n, dists, null);
+    return dists;
+  }
+
+  // Runs Dijkstra's algorithm filling in 'dists' and, if it is not null, the
+  // shortest path tree in 'prev'. Stops early once 'end' is reached, or never
+  // if 'end' is -1.
+  private static double dijkstra(
+      Map<Integer, List<Edge>> graph, int start, int end, int n, double[] dists, int[] prev) {
+
+    // Maintain an array of the minimum distance to each node
     Arrays.fill(dists, Double.POSITIVE_INFINITY);
     dists[start] = 0;
 
@@ -231,8 +369,8 @@ public class AStar_GridHeuristic {
     // you can do so using the prev array and starting at some node 'end'
     // and finding the previous node using prev[end] and the previous node
     // after that prev[prev[end]] etc... working all the way back until
-    // the index of start is found. Simply uncomment where the prev array is used.
-    // int[] prev = new int[n];
+    // the index of start is found.
+    if (prev != null) Arrays.fill(prev, -1);
 
     while (!pq.isEmpty()) {
 
@@ -255,7 +393,7 @@ public class AStar_GridHeuristic {
           // Update minimum cost if applicable
           double newDist = dists[edge.from] + edge.cost;
           if (newDist < dists[edge.to]) {
-            // prev[edge.to] = edge.from;
+            if (prev != null) prev[edge.to] = edge.from;
             dists[edge.to] = newDist;
             pq.offer(new DNode(edge.to, dists[edge.to]));
           }
@@ -276,4 +414,201 @@ public class AStar_GridHeuristic {
     // End node is unreachable
     return Double.POSITIVE_INFINITY;
   }
+
+  /**
+   * The ALT heuristic (A*, landmarks and triangle inequality) for graphs without geometry. For a
+   * landmark L the triangle inequality gives d(L, end) - d(L, at) <= d(at, end) and d(at, L) -
+   * d(end, L) <= d(at, end), so the largest of these differences over all landmarks is a consistent
+   * lower bound on the distance from 'at' to 'end'. Landmarks behind the end node as seen from the
+   * start, ideally near the border of the graph, give the tightest bounds.
+   *
+   * <p>The distances from and to every landmark are computed once with Dijkstra's algorithm, in
+   * parallel on a fork/join pool, and stored in two flat arrays indexed by node first so all the
+   * landmark distances of a node are adjacent in memory.
+   */
+  public static final class Landmarks implements Heuristic {
+
+    public enum Strategy {
+      // Repeatedly pick the node farthest from the landmarks chosen so far.
+      FARTHEST,
+      // Grow a shortest path tree from a random root and descend into the subtree where the
+      // current landmarks give the worst bounds, picking the leaf reached (Goldberg and Werneck).
+      AVOID
+    }
+
+    private final int n, k;
+    private final int[] nodes;
+
+    // fromLandmark[v * k + i] = d(landmark i, v) and toLandmark[v * k + i] = d(v, landmark i).
+    private final double[] fromLandmark, toLandmark;
+
+    // Number of landmarks whose distances are computed, only below k during selection.
+    private int count;
+
+    private Landmarks(int n, int k) {
+      this.n = n;
+      this.k = k;
+      nodes = new int[k];
+      fromLandmark = new double[n * k];
+      toLandmark = new double[n * k];
+    }
+
+    /**
+     * Selects 'k' landmarks with the given strategy and precomputes their distances.
+     *
+     * @param graph - A directed graph with non negative edge costs.
+     * @param n - The number of nodes in the graph.
+     * @param k - The number of landmarks, at most n.
+     */
+    public static Landmarks select(
+        Map<Integer, List<Edge>> graph, int n, int k, Strategy strategy, Random random) {
+      if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+      if (strategy == null) throw new IllegalArgumentException("Strategy cannot be null");
+      if (k < 1 || k > n) throw new IllegalArgumentException("Invalid number of landmarks: " + k);
+      Map<Integer, List<Edge>> reverse = reverseGraph(graph);
+      Landmarks landmarks = new Landmarks(n, k);
+      if (strategy == Strategy.FARTHEST) {
+        landmarks.selectFarthest(graph, random);
+        landmarks.computeDistances(graph, reverse, 0, k);
+      } else {
+        // Every choice depends on the bounds of the previous landmarks, so only the two
+        // searches of each landmark run in parallel.
+        for (int i = 0; i < k; i++) {
+          landmarks.nodes[i] = landmarks.selectAvoid(graph, random);
+          landmarks.computeDistances(graph, reverse, i, i + 1);
+        }
+      }
+      return landmarks;
+    }
+
+    /** Precomputes the distances of the given landmark nodes. */
+    public static Landmarks of(Map<Integer, List<Edge>> graph, int n, int[] landmarkNodes) {
+      if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+      if (landmarkNodes == null || landmarkNodes.length == 0) {
+        throw new IllegalArgumentException("At least one landmark is required");
+      }
+      Landmarks landmarks = new Landmarks(n, landmarkNodes.length);
+      for (int i = 0; i < landmarkNodes.length; i++) {
+        if (landmarkNodes[i] < 0 || landmarkNodes[i] >= n) {
+          throw new IllegalArgumentException("Invalid landmark node: " + landmarkNodes[i]);
+        }
+        landmarks.nodes[i] = landmarkNodes[i];
+      }
+      landmarks.computeDistances(graph, reverseGraph(graph), 0, landmarks.k);
+      return landmarks;
+    }
+
+    public int[] getLandmarks() {
+      return nodes.clone();
+    }
+
+    @Override
+    public double estimate(int at, int end) {
+      double best = 0;
+      int a = at * k, b = end * k;
+      for (int i = 0; i < count; i++) {
+        // Differences of two infinite distances are NaN and never win the comparison. The other
+        // infinite differences are real proofs that 'end' cannot be reached from 'at'.
+        double forward = fromLandmark[b + i] - fromLandmark[a + i];
+        double backward = toLandmark[a + i] - toLandmark[b + i];
+        if (forward > best) best = forward;
+        if (backward > best) best = backward;
+      }
+      return best;
+    }
+
+    // Runs the forward and backward Dijkstra of the landmarks in [from, to) in parallel and copies
+    // the distances into the flat tables.
+    private void computeDistances(
+        Map<Integer, List<Edge>> graph, Map<Integer, List<Edge>> reverse, int from, int to) {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        int index = i;
+        tasks.add(
+            ForkJoinPool.commonPool()
+                .submit(() -> store(fromLandmark, index, dijkstra(graph, nodes[index], n))));
+        tasks.add(
+            ForkJoinPool.commonPool()
+                .submit(() -> store(toLandmark, index, dijkstra(reverse, nodes[index], n))));
+      }
+      for (ForkJoinTask<?> task : tasks) task.join();
+      count = to;
+    }
+
+    private void store(double[] table, int index, double[] dists) {
+      for (int v = 0; v < n; v++) table[v * k + index] = dists[v];
+    }
+
+    // Picks the node farthest from a random node, then repeatedly the node whose distance from
+    // the closest landmark is the largest. Nodes no landmark reaches count as the farthest so
+    // every component reachable from a landmark gets covered.
+    private void selectFarthest(Map<Integer, List<Edge>> graph, Random random) {
+      double[] closest = dijkstra(graph, random.nextInt(n), n);
+      boolean[] chosen = new boolean[n];
+      for (int i = 0; i < k; i++) {
+        int next = -1;
+        for (int v = 0; v < n; v++) {
+          if (!chosen[v] && (next == -1 || closest[v] > closest[next])) next = v;
+        }
+        nodes[i] = next;
+        chosen[next] = true;
+        if (i == 0) Arrays.fill(closest, Double.POSITIVE_INFINITY);
+        double[] dists = dijkstra(graph, next, n);
+        for (int v = 0; v < n; v++) closest[v] = Math.min(closest[v], dists[v]);
+      }
+    }
+
+    // Picks the next landmark with the avoid strategy using the 'count' landmarks chosen so far.
+    private int selectAvoid(Map<Integer, List<Edge>> graph, Random random) {
+      boolean[] isLandmark = new boolean[n];
+      for (int i = 0; i < count; i++) isLandmark[nodes[i]] = true;
+      int root = random.nextInt(n);
+      while (isLandmark[root]) root = random.nextInt(n);
+
+      double[] dists = new double[n];
+      int[] parent = new int[n];
+      dijkstra(graph, root, -1, n, dists, parent);
+
+      // Visit the tree from the leaves up, a node becomes ready once all its children are done.
+      int[] pendingChildren = new int[n];
+      for (int v = 0; v < n; v++) if (parent[v] != -1) pendingChildren[parent[v]]++;
+      ArrayDeque<Integer> ready = new ArrayDeque<>();
+      for (int v = 0; v < n; v++) {
+        if (dists[v] != Double.POSITIVE_INFINITY && pendingChildren[v] == 0) ready.add(v);
+      }
+
+      // The size of a subtree is the total gap between the true distance from the root and the
+      // current lower bound, or zero if the subtree already contains a landmark.
+      double[] size = new double[n];
+      boolean[] covered = new boolean[n];
+      while (!ready.isEmpty()) {
+        int v = ready.poll();
+        if (isLandmark[v]) covered[v] = true;
+        size[v] += dists[v] - estimate(root, v);
+        if (covered[v]) size[v] = 0;
+        int p = parent[v];
+        if (p != -1) {
+          size[p] += size[v];
+          covered[p] |= covered[v];
+          if (--pendingChildren[p] == 0) ready.add(p);
+        }
+      }
+
+      // Walk down from the root into the child with the largest size until reaching a leaf.
+      int at = root;
+      while (true) {
+        int next = -1;
+        List<Edge> edges = graph.get(at);
+        if (edges != null) {
+          for (Edge edge : edges) {
+            int child = edge.to;
+            if (parent[child] != at || size[child] <= 0) continue;
+            if (next == -1 || size[child] > size[next]) next = child;
+          }
+        }
+        if (next == -1) return at;
+        at = next;
+      }
+    }
+  }
 }
@@ -10,6 +10,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,14 +20,29 @@ public class ArticulationPointsAdjacencyList {
   private boolean solved;
   private int[] low, ids;
   private boolean[] visited, isArticulationPoint;
-  private List<List<Integer>> graph;
+
+  // Exactly one of the two is set, depending on the format the graph was given in.
+  private List<List<Integer>> adjacencyList;
+  private CsrGraph graph;
 
   public ArticulationPointsAdjacencyList(List<List<Integer>> graph, int n) {
     if (graph == null || n <= 0 || graph.size() != n) throw new IllegalArgumentException();
-    this.graph = graph;
+    this.adjacencyList = graph;
     this.n = n;
   }
 
+  private ArticulationPointsAdjacencyList(CsrGraph graph) {
+    this.graph = graph;
+    this.n = graph.numNodes();
+  }
+
+  // Creates a solver for a graph in the CSR format. The graph is undirected, so every edge must be
+  // present in both directions.
+  public static ArticulationPointsAdjacencyList fromCsr(CsrGraph graph) {
+    if (graph == null || graph.numNodes() <= 0) throw new IllegalArgumentException();
+    return new ArticulationPointsAdjacencyList(graph);
+  }
+
   // Returns the indexes for all articulation points in the graph even if the
   // graph is not fully connected.
   public boolean[] findArticulationPoints() {
@@ -57,8 +73,8 @@ public class ArticulationPointsAdjacencyList {
     visited[at] = true;
     low[at] = ids[at] = id++;
 
-    List<Integer> edges = graph.get(at);
-    for (Integer to : edges) {
+    for (int i = 0, degree = degree(at); i < degree; i++) {
+      int to = target(at, i);
       if (to == parent) continue;
       if (!visited[to]) {
         dfs(root, to, at);
@@ -72,6 +88,15 @@ public class ArticulationPointsAdjacencyList {
     }
   }
 
+  // Reads the edges of node 'at' in place from whichever format the graph was given in.
+  private int degree(int at) {
+    return graph != null ? graph.degree(at) : adjacencyList.get(at).size();
+  }
+
+  private int target(int at, int i) {
+    return graph != null ? graph.target(graph.edgeStart(at) + i) : adjacencyList.get(at).get(i);
+  }
+
   /* Graph helpers */
 
   // Initialize a graph with 'n' nodes.
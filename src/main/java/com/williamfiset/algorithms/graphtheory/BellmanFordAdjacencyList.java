@@ -62,8 +62,10 @@ public class BellmanFordAdjacencyList {
 
     // Run algorithm a second time to detect which nodes are part
     // of a negative cycle. A negative cycle has occurred if we
-    // can find a better path beyond the optimal solution.
-    for (int i = 0; i < V - 1; i++)
+    // can find a better path beyond the optimal solution. The first pass
+    // finds a node on every negative cycle and it takes up to V-1 more
+    // passes to reach all the nodes behind it.
+    for (int i = 0; i < V; i++)
       for (List<Edge> edges : graph)
         for (Edge edge : edges)
           if (dist[edge.from] + edge.cost < dist[edge.to]) dist[edge.to] = Double.NEGATIVE_INFINITY;
@@ -72,6 +74,71 @@ public class BellmanFordAdjacencyList {
     return dist;
   }
 
+  /**
+   * Queue based Bellman-Ford, also known as the shortest path faster algorithm (SPFA). Only the
+   * edges out of nodes whose distance changed are relaxed, using a FIFO queue of such nodes, and
+   * the algorithm stops as soon as the queue is empty. The output is the same as {@link
+   * #bellmanFord}: nodes whose shortest path is affected by a negative cycle have a minimum cost of
+   * Double.NEGATIVE_INFINITY.
+   *
+   * <p>Without negative cycles a node enters the queue at most V-1 times, so a node entering it for
+   * the V-th time must be reachable from a negative cycle. It is not queued again and all the nodes
+   * reachable from it are set to Double.NEGATIVE_INFINITY.
+   *
+   * <p>Time Complexity: O(VE) in the worst case, usually close to O(E) on sparse graphs.
+   *
+   * @param graph - An adjacency list containing directed edges forming the graph
+   * @param V - The number of vertices in the graph.
+   * @param start - The id of the starting node
+   */
+  public static double[] spfa(List<Edge>[] graph, int V, int start) {
+
+    double[] dist = new double[V];
+    java.util.Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    dist[start] = 0;
+
+    int[] timesQueued = new int[V];
+    boolean[] inQueue = new boolean[V];
+    boolean[] onNegativeCycle = new boolean[V];
+    Deque<Integer> queue = new ArrayDeque<>();
+    queue.offer(start);
+    inQueue[start] = true;
+    timesQueued[start] = 1;
+
+    while (!queue.isEmpty()) {
+      int from = queue.poll();
+      inQueue[from] = false;
+      for (Edge edge : graph[from]) {
+        if (dist[from] + edge.cost < dist[edge.to]) {
+          dist[edge.to] = dist[from] + edge.cost;
+          if (inQueue[edge.to] || onNegativeCycle[edge.to]) continue;
+          if (++timesQueued[edge.to] >= V) {
+            onNegativeCycle[edge.to] = true;
+          } else {
+            queue.offer(edge.to);
+            inQueue[edge.to] = true;
+          }
+        }
+      }
+    }
+
+    // Every node reachable from a node detected above has no shortest path.
+    for (int i = 0; i < V; i++) if (onNegativeCycle[i]) queue.offer(i);
+    while (!queue.isEmpty()) {
+      int from = queue.poll();
+      dist[from] = Double.NEGATIVE_INFINITY;
+      for (Edge edge : graph[from]) {
+        if (!onNegativeCycle[edge.to]) {
+          onNegativeCycle[edge.to] = true;
+          queue.offer(edge.to);
+        }
+      }
+    }
+
+    // Return the array containing the shortest distance to every node
+    return dist;
+  }
+
   public static void main(String[] args) {
 
     int E = 10, V = 9, start = 0;
@@ -12,7 +12,7 @@ import java.util.stream.Collectors;
 public class BellmanFordAdjacencyMatrix {
 
   private int n, start;
-  private boolean solved;
+  private boolean solved, useQueue;
   private double[] dist;
   private Integer[] prev;
   private double[][] matrix;
@@ -35,6 +35,16 @@ public class BellmanFordAdjacencyMatrix {
     for (int i = 0; i < n; i++) this.matrix[i] = matrix[i].clone();
   }
 
+  /**
+   * Same as {@link #BellmanFordAdjacencyMatrix(int, double[][])} but with 'useQueue' set the
+   * solver runs the queue based variant of Bellman-Ford (SPFA), which only relaxes the edges out of
+   * nodes whose distance changed and stops as soon as no distance changes.
+   */
+  public BellmanFordAdjacencyMatrix(int start, double[][] matrix, boolean useQueue) {
+    this(start, matrix);
+    this.useQueue = useQueue;
+  }
+
   public double[] getShortestPaths() {
     if (!solved) solve();
     return dist;
@@ -66,6 +76,12 @@ public class BellmanFordAdjacencyMatrix {
     // reconstruction after the algorithm has terminated.
     prev = new Integer[n];
 
+    if (useQueue) {
+      solveWithQueue();
+      solved = true;
+      return;
+    }
+
     // For each vertex, apply relaxation for all the edges
     for (int k = 0; k < n - 1; k++)
       for (int i = 0; i < n; i++)
@@ -77,8 +93,10 @@ public class BellmanFordAdjacencyMatrix {
 
     // Run algorithm a second time to detect which nodes are part
     // of a negative cycle. A negative cycle has occurred if we
-    // can find a better path beyond the optimal solution.
-    for (int k = 0; k < n - 1; k++)
+    // can find a better path beyond the optimal solution. The first pass
+    // finds a node on every negative cycle and it takes up to n-1 more
+    // passes to reach all the nodes behind it.
+    for (int k = 0; k < n; k++)
       for (int i = 0; i < n; i++)
         for (int j = 0; j < n; j++)
           if (dist[i] + matrix[i][j] < dist[j]) {
@@ -89,6 +107,52 @@ public class BellmanFordAdjacencyMatrix {
     solved = true;
   }
 
+  // Queue based Bellman-Ford (SPFA). Without negative cycles a node enters the
+  // queue at most n-1 times, so a node entering it for the n-th time must be
+  // reachable from a negative cycle. It is not queued again and all the nodes
+  // reachable from it are set to Double.NEGATIVE_INFINITY.
+  private void solveWithQueue() {
+    int[] timesQueued = new int[n];
+    boolean[] inQueue = new boolean[n];
+    boolean[] onNegativeCycle = new boolean[n];
+    Deque<Integer> queue = new ArrayDeque<>();
+    queue.offer(start);
+    inQueue[start] = true;
+    timesQueued[start] = 1;
+
+    while (!queue.isEmpty()) {
+      int i = queue.poll();
+      inQueue[i] = false;
+      for (int j = 0; j < n; j++) {
+        if (dist[i] + matrix[i][j] < dist[j]) {
+          dist[j] = dist[i] + matrix[i][j];
+          prev[j] = i;
+          if (inQueue[j] || onNegativeCycle[j]) continue;
+          if (++timesQueued[j] >= n) {
+            onNegativeCycle[j] = true;
+          } else {
+            queue.offer(j);
+            inQueue[j] = true;
+          }
+        }
+      }
+    }
+
+    // Every node reachable from a node detected above has no shortest path.
+    for (int i = 0; i < n; i++) if (onNegativeCycle[i]) queue.offer(i);
+    while (!queue.isEmpty()) {
+      int i = queue.poll();
+      dist[i] = Double.NEGATIVE_INFINITY;
+      prev[i] = -1;
+      for (int j = 0; j < n; j++) {
+        if (matrix[i][j] != Double.POSITIVE_INFINITY && !onNegativeCycle[j]) {
+          onNegativeCycle[j] = true;
+          queue.offer(j);
+        }
+      }
+    }
+  }
+
   public static void main(String[] args) {
 
     int n = 9;
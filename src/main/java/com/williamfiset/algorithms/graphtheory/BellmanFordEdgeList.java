@@ -54,9 +54,11 @@ public class BellmanFordEdgeList {
 
     // Run algorithm a second time to detect which nodes are part
     // of a negative cycle. A negative cycle has occurred if we
-    // can find a better path beyond the optimal solution.
+    // can find a better path beyond the optimal solution. The first pass
+    // finds a node on every negative cycle and it takes up to V-1 more
+    // passes to reach all the nodes behind it.
     relaxedAnEdge = true;
-    for (int v = 0; v < V - 1 && relaxedAnEdge; v++) {
+    for (int v = 0; v < V && relaxedAnEdge; v++) {
       relaxedAnEdge = false;
       for (Edge edge : edges) {
         if (dist[edge.from] + edge.cost < dist[edge.to]) {
@@ -70,6 +72,82 @@ public class BellmanFordEdgeList {
     return dist;
   }
 
+  /**
+   * Queue based Bellman-Ford, also known as the shortest path faster algorithm (SPFA). Instead of
+   * relaxing every edge V-1 times, only the edges out of nodes whose distance changed are relaxed,
+   * using a FIFO queue of such nodes, and the algorithm stops as soon as the queue is empty. The
+   * output is the same as {@link #bellmanFord}: nodes whose shortest path is affected by a negative
+   * cycle have a minimum cost of Double.NEGATIVE_INFINITY.
+   *
+   * <p>Without negative cycles a node enters the queue at most V-1 times, so a node entering it for
+   * the V-th time must be reachable from a negative cycle. Such a node is not queued again, which
+   * guarantees termination, and every node reachable from it is set to Double.NEGATIVE_INFINITY.
+   *
+   * <p>Time Complexity: O(VE) in the worst case, usually close to O(E) on sparse graphs.
+   *
+   * @param edges - An edge list containing directed edges forming the graph
+   * @param V - The number of vertices in the graph.
+   * @param start - The id of the starting node
+   */
+  public static double[] spfa(Edge[] edges, int V, int start) {
+
+    // Group the edges by the node they start at so the edges out of a node
+    // can be found without scanning the whole edge list.
+    int[] offsets = new int[V + 1];
+    for (Edge edge : edges) offsets[edge.from + 1]++;
+    for (int i = 0; i < V; i++) offsets[i + 1] += offsets[i];
+    Edge[] outgoing = new Edge[edges.length];
+    int[] next = java.util.Arrays.copyOf(offsets, V);
+    for (Edge edge : edges) outgoing[next[edge.from]++] = edge;
+
+    double[] dist = new double[V];
+    java.util.Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    dist[start] = 0;
+
+    int[] timesQueued = new int[V];
+    boolean[] inQueue = new boolean[V];
+    boolean[] onNegativeCycle = new boolean[V];
+    java.util.ArrayDeque<Integer> queue = new java.util.ArrayDeque<>();
+    queue.offer(start);
+    inQueue[start] = true;
+    timesQueued[start] = 1;
+
+    while (!queue.isEmpty()) {
+      int from = queue.poll();
+      inQueue[from] = false;
+      for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+        Edge edge = outgoing[i];
+        if (dist[from] + edge.cost < dist[edge.to]) {
+          dist[edge.to] = dist[from] + edge.cost;
+          if (inQueue[edge.to] || onNegativeCycle[edge.to]) continue;
+          if (++timesQueued[edge.to] >= V) {
+            onNegativeCycle[edge.to] = true;
+          } else {
+            queue.offer(edge.to);
+            inQueue[edge.to] = true;
+          }
+        }
+      }
+    }
+
+    // Every node reachable from a node detected above has no shortest path.
+    for (int i = 0; i < V; i++) if (onNegativeCycle[i]) queue.offer(i);
+    while (!queue.isEmpty()) {
+      int from = queue.poll();
+      dist[from] = Double.NEGATIVE_INFINITY;
+      for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+        int to = outgoing[i].to;
+        if (!onNegativeCycle[to]) {
+          onNegativeCycle[to] = true;
+          queue.offer(to);
+        }
+      }
+    }
+
+    // Return the array containing the shortest distance to every node
+    return dist;
+  }
+
   public static void main(String[] args) {
 
     int E = 10, V = 9, start = 0;
@@ -7,6 +7,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -29,12 +30,26 @@ public class BreadthFirstSearchAdjacencyListIterative {
   private Integer[] prev;
   private List<List<Edge>> graph;
 
+  // Set instead of 'graph' when searching an immutable CSR graph.
+  private CsrGraph csrGraph;
+
   public BreadthFirstSearchAdjacencyListIterative(List<List<Edge>> graph) {
     if (graph == null) throw new IllegalArgumentException("Graph can not be null");
     n = graph.size();
     this.graph = graph;
   }
 
+  private BreadthFirstSearchAdjacencyListIterative(CsrGraph graph) {
+    n = graph.numNodes();
+    this.csrGraph = graph;
+  }
+
+  // Creates a solver which searches an immutable CSR graph.
+  public static BreadthFirstSearchAdjacencyListIterative fromCsr(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph can not be null");
+    return new BreadthFirstSearchAdjacencyListIterative(graph);
+  }
+
   /**
    * Reconstructs the path (of nodes) from 'start' to 'end' inclusive. If the edges are unweighted
    * then this method returns the shortest path from 'start' to 'end'
@@ -65,15 +80,25 @@ public class BreadthFirstSearchAdjacencyListIterative {
     // Continue until the BFS is done.
     while (!queue.isEmpty()) {
       int node = queue.poll();
-      List<Edge> edges = graph.get(node);
 
       // Loop through all edges attached to this node. Mark nodes as visited once they're
       // in the queue. This will prevent having duplicate nodes in the queue and speedup the BFS.
-      for (Edge edge : edges) {
-        if (!visited[edge.to]) {
-          visited[edge.to] = true;
-          prev[edge.to] = node;
-          queue.offer(edge.to);
+      if (csrGraph != null) {
+        for (int e = csrGraph.edgeStart(node); e < csrGraph.edgeEnd(node); e++) {
+          int to = csrGraph.target(e);
+          if (!visited[to]) {
+            visited[to] = true;
+            prev[to] = node;
+            queue.offer(to);
+          }
+        }
+      } else {
+        for (Edge edge : graph.get(node)) {
+          if (!visited[edge.to]) {
+            visited[edge.to] = true;
+            prev[edge.to] = node;
+            queue.offer(edge.to);
+          }
         }
       }
     }
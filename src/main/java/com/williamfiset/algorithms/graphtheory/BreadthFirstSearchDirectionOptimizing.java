@@ -0,0 +1,336 @@
+/**
+ * A parallel, level synchronous breadth first search on a {@link CsrGraph} which switches between
+ * top-down and bottom-up steps, following the direction optimizing BFS of Beamer, Asanović and
+ * Patterson.
+ *
+ * <p>A top-down step scans the edges out of the frontier and claims every unvisited node it finds.
+ * On graphs with a small diameter, such as social networks, the frontier quickly grows to a large
+ * part of the graph and most of these edges lead to nodes which are already visited. A bottom-up
+ * step turns the search around: every unvisited node scans its incoming edges and stops at the
+ * first parent it finds in the frontier, so when the frontier is large most nodes only look at a
+ * few of their edges. The search goes bottom-up when the edges out of the frontier outnumber the
+ * edges into the unvisited nodes divided by ALPHA while the frontier grows, and back top-down once
+ * the frontier shrinks below n / BETA nodes.
+ *
+ * <p>The frontier, the next frontier and the visited nodes are bitsets. The nodes of every level
+ * are split into ranges of whole bitset words which are processed in parallel on a fork/join pool.
+ * Top-down steps claim nodes with an atomic compare and set on the visited bitset, bottom-up steps
+ * need no synchronization since every node, and the word holding its bit, belongs to one task.
+ *
+ * <p>Time Complexity: O(V + E) for top-down steps, bottom-up steps can scan an edge more than once
+ * but usually scan far fewer edges in total.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.BreadthFirstSearchDirectionOptimizing
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class BreadthFirstSearchDirectionOptimizing {
+
+  // The tuning parameters suggested by Beamer et al.
+  static final int ALPHA = 14, BETA = 24;
+
+  // Ranges of at most this many bitset words (64 nodes each) are processed by a single task.
+  static final int WORDS_PER_TASK = 64;
+
+  private final CsrGraph graph, reverse;
+  private final ForkJoinPool pool;
+  private final int n, numWords;
+
+  /** Searches a directed graph, bottom-up steps use its transpose. */
+  public BreadthFirstSearchDirectionOptimizing(CsrGraph graph) {
+    this(graph, checkNotNull(graph).transpose(), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param graph - The graph to search.
+   * @param reverse - The transpose of the graph, whose edges the bottom-up steps follow. Pass the
+   *     graph itself for an undirected graph to avoid building the transpose.
+   * @param pool - The pool running the steps.
+   */
+  public BreadthFirstSearchDirectionOptimizing(
+      CsrGraph graph, CsrGraph reverse, ForkJoinPool pool) {
+    checkNotNull(graph);
+    if (reverse == null) throw new IllegalArgumentException("Reverse graph cannot be null");
+    if (reverse.numNodes() != graph.numNodes() || reverse.numEdges() != graph.numEdges()) {
+      throw new IllegalArgumentException("Reverse graph is not the transpose of the graph");
+    }
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.graph = graph;
+    this.reverse = reverse;
+    this.pool = pool;
+    this.n = graph.numNodes();
+    this.numWords = (n + 63) >>> 6;
+  }
+
+  private static CsrGraph checkNotNull(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    return graph;
+  }
+
+  /** The BFS tree found by a search. */
+  public static final class Result {
+    private final int[] depth, parent;
+    private int reached, levels, bottomUpLevels;
+
+    private Result(int n) {
+      depth = new int[n];
+      parent = new int[n];
+      Arrays.fill(depth, -1);
+      Arrays.fill(parent, -1);
+    }
+
+    // Returns the number of edges on a shortest path from the start node to v, or -1 if v was not
+    // reached.
+    public int depth(int v) {
+      return depth[v];
+    }
+
+    // Returns the node before v in the BFS tree, or -1 for the start node and unreached nodes.
+    public int parent(int v) {
+      return parent[v];
+    }
+
+    // Returns the number of nodes reached, including the start node.
+    public int reachedCount() {
+      return reached;
+    }
+
+    // Returns the number of levels expanded, and how many of them went bottom-up.
+    public int levels() {
+      return levels;
+    }
+
+    public int bottomUpLevels() {
+      return bottomUpLevels;
+    }
+
+    // Returns the nodes on a shortest path from the start node to 'end' inclusive, or an empty
+    // array if 'end' was not reached.
+    public int[] reconstructPath(int end) {
+      if (depth[end] == -1) return new int[0];
+      int[] path = new int[depth[end] + 1];
+      for (int at = end, i = path.length - 1; i >= 0; at = parent[at], i--) path[i] = at;
+      return path;
+    }
+  }
+
+  // Counters for the nodes added to the next frontier, merged across tasks.
+  private static final class Stats {
+    long nodes, outEdges, inEdges;
+
+    Stats add(Stats other) {
+      nodes += other.nodes;
+      outEdges += other.outEdges;
+      inEdges += other.inEdges;
+      return this;
+    }
+  }
+
+  /** Runs a breadth first search from 'start'. */
+  public Result bfs(int start) {
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+    Result result = new Result(n);
+    long[] frontier = new long[numWords];
+    AtomicLongArray next = new AtomicLongArray(numWords);
+    AtomicLongArray visited = new AtomicLongArray(numWords);
+
+    result.depth[start] = 0;
+    frontier[start >>> 6] = 1L << start;
+    visited.set(start >>> 6, 1L << start);
+    long frontierNodes = 1, frontierOutEdges = graph.degree(start);
+    long unvisitedInEdges = reverse.numEdges() - reverse.degree(start);
+    result.reached = 1;
+
+    boolean topDown = true;
+    for (int level = 0, previousNodes = 0; frontierNodes > 0; level++) {
+      boolean growing = frontierNodes > previousNodes;
+      if (topDown) {
+        topDown = !growing || frontierOutEdges <= unvisitedInEdges / ALPHA;
+      } else if (!growing && frontierNodes < n / BETA) {
+        topDown = true;
+      }
+      previousNodes = (int) frontierNodes;
+
+      Step step = new Step(0, numWords, level, topDown, result, frontier, next, visited);
+      Stats stats = numWords <= WORDS_PER_TASK ? step.compute() : pool.invoke(step);
+
+      for (int w = 0; w < numWords; w++) frontier[w] = next.getAndSet(w, 0);
+      frontierNodes = stats.nodes;
+      frontierOutEdges = stats.outEdges;
+      unvisitedInEdges -= stats.inEdges;
+      result.reached += stats.nodes;
+      result.levels++;
+      if (!topDown) result.bottomUpLevels++;
+    }
+    return result;
+  }
+
+  // Expands one level for the bitset words in [lo, hi).
+  private final class Step extends RecursiveTask<Stats> {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi, level;
+    final boolean topDown;
+    final Result result;
+    final long[] frontier;
+    final AtomicLongArray next, visited;
+
+    Step(
+        int lo,
+        int hi,
+        int level,
+        boolean topDown,
+        Result result,
+        long[] frontier,
+        AtomicLongArray next,
+        AtomicLongArray visited) {
+      this.lo = lo;
+      this.hi = hi;
+      this.level = level;
+      this.topDown = topDown;
+      this.result = result;
+      this.frontier = frontier;
+      this.next = next;
+      this.visited = visited;
+    }
+
+    @Override
+    protected Stats compute() {
+      if (hi - lo > WORDS_PER_TASK) {
+        int mid = (lo + hi) >>> 1;
+        Step left = new Step(lo, mid, level, topDown, result, frontier, next, visited);
+        left.fork();
+        Stats right = new Step(mid, hi, level, topDown, result, frontier, next, visited).compute();
+        return left.join().add(right);
+      }
+      return topDown ? topDown() : bottomUp();
+    }
+
+    // Claims the unvisited neighbours of the frontier nodes in [lo, hi).
+    Stats topDown() {
+      Stats stats = new Stats();
+      for (int w = lo; w < hi; w++) {
+        for (long bits = frontier[w]; bits != 0; bits &= bits - 1) {
+          int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+          for (int e = graph.edgeStart(u), end = graph.edgeEnd(u); e < end; e++) {
+            int v = graph.target(e);
+            if (!setBit(visited, v)) continue;
+            result.parent[v] = u;
+            result.depth[v] = level + 1;
+            setBit(next, v);
+            stats.nodes++;
+            stats.outEdges += graph.degree(v);
+            stats.inEdges += reverse.degree(v);
+          }
+        }
+      }
+      return stats;
+    }
+
+    // Looks for a parent in the frontier for every unvisited node in [lo, hi).
+    Stats bottomUp() {
+      Stats stats = new Stats();
+      for (int w = lo; w < hi; w++) {
+        long seen = visited.get(w), found = 0;
+        long unvisited = ~seen & (w == numWords - 1 ? lastWordMask() : -1L);
+        for (; unvisited != 0; unvisited &= unvisited - 1) {
+          int v = (w << 6) | Long.numberOfTrailingZeros(unvisited);
+          for (int e = reverse.edgeStart(v), end = reverse.edgeEnd(v); e < end; e++) {
+            int u = reverse.target(e);
+            if ((frontier[u >>> 6] & (1L << u)) == 0) continue;
+            result.parent[v] = u;
+            result.depth[v] = level + 1;
+            found |= 1L << v;
+            stats.nodes++;
+            stats.outEdges += graph.degree(v);
+            stats.inEdges += reverse.degree(v);
+            break;
+          }
+        }
+        if (found != 0) {
+          visited.set(w, seen | found);
+          next.set(w, found);
+        }
+      }
+      return stats;
+    }
+  }
+
+  // The bits of the last word which belong to nodes.
+  private long lastWordMask() {
+    return (n & 63) == 0 ? -1L : (1L << n) - 1;
+  }
+
+  // Atomically sets the bit of node v, returning false if it was already set.
+  private static boolean setBit(AtomicLongArray bits, int v) {
+    int w = v >>> 6;
+    long mask = 1L << v;
+    while (true) {
+      long current = bits.get(w);
+      if ((current & mask) != 0) return false;
+      if (bits.compareAndSet(w, current, current | mask)) return true;
+    }
+  }
+
+  // A plain queue based BFS, used to check the results in the example below.
+  private static int[] sequentialDepths(CsrGraph graph, int start) {
+    int[] depth = new int[graph.numNodes()];
+    Arrays.fill(depth, -1);
+    Deque<Integer> queue = new ArrayDeque<>();
+    depth[start] = 0;
+    queue.offer(start);
+    while (!queue.isEmpty()) {
+      int u = queue.poll();
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        int v = graph.target(e);
+        if (depth[v] == -1) {
+          depth[v] = depth[u] + 1;
+          queue.offer(v);
+        }
+      }
+    }
+    return depth;
+  }
+
+  public static void main(String[] args) {
+    // A random undirected graph with a few hubs, which has a small diameter like social networks.
+    int n = 1_000_000, m = 8 * n;
+    Random random = new Random(1);
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) {
+      int u = random.nextInt(n), v = random.nextInt(random.nextBoolean() ? n : 1000);
+      builder.addUndirectedEdge(u, v);
+    }
+    CsrGraph graph = builder.build();
+
+    BreadthFirstSearchDirectionOptimizing solver =
+        new BreadthFirstSearchDirectionOptimizing(graph, graph, ForkJoinPool.commonPool());
+    long time = System.nanoTime();
+    Result result = solver.bfs(0);
+    time = System.nanoTime() - time;
+
+    long sequentialTime = System.nanoTime();
+    int[] depth = sequentialDepths(graph, 0);
+    sequentialTime = System.nanoTime() - sequentialTime;
+
+    for (int v = 0; v < n; v++) {
+      if (depth[v] != result.depth(v)) System.out.println("ERROR: " + v);
+    }
+    System.out.printf(
+        "Reached %d nodes in %d levels (%d bottom-up) in %d ms, a queue based BFS took %d ms%n",
+        result.reachedCount(),
+        result.levels(),
+        result.bottomUpLevels(),
+        time / 1_000_000,
+        sequentialTime / 1_000_000);
+  }
+}
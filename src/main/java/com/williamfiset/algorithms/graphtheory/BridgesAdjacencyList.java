@@ -10,6 +10,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,15 +20,30 @@ public class BridgesAdjacencyList {
   private int[] low, ids;
   private boolean solved;
   private boolean[] visited;
-  private List<List<Integer>> graph;
+
+  // Exactly one of the two is set, depending on the format the graph was given in.
+  private List<List<Integer>> adjacencyList;
+  private CsrGraph graph;
   private List<Integer> bridges;
 
   public BridgesAdjacencyList(List<List<Integer>> graph, int n) {
     if (graph == null || n <= 0 || graph.size() != n) throw new IllegalArgumentException();
-    this.graph = graph;
+    this.adjacencyList = graph;
     this.n = n;
   }
 
+  private BridgesAdjacencyList(CsrGraph graph) {
+    this.graph = graph;
+    this.n = graph.numNodes();
+  }
+
+  // Creates a solver for a graph in the CSR format. The graph is undirected, so every edge must be
+  // present in both directions.
+  public static BridgesAdjacencyList fromCsr(CsrGraph graph) {
+    if (graph == null || graph.numNodes() <= 0) throw new IllegalArgumentException();
+    return new BridgesAdjacencyList(graph);
+  }
+
   // Returns a list of pairs of nodes indicating which nodes form bridges.
   // The returned list is always of even length and indexes (2*i, 2*i+1) form a
   // pair. For example, nodes at indexes (0, 1) are a pair, (2, 3) are another
@@ -54,7 +70,8 @@ public class BridgesAdjacencyList {
     visited[at] = true;
     low[at] = ids[at] = ++id;
 
-    for (Integer to : graph.get(at)) {
+    for (int i = 0, degree = degree(at); i < degree; i++) {
+      int to = target(at, i);
       if (to == parent) continue;
       if (!visited[to]) {
         dfs(to, at, bridges);
@@ -69,6 +86,15 @@ public class BridgesAdjacencyList {
     }
   }
 
+  // Edge access for both graph formats, an adjacency list is read as is rather than converted.
+  private int degree(int at) {
+    return graph != null ? graph.degree(at) : adjacencyList.get(at).size();
+  }
+
+  private int target(int at, int i) {
+    return graph != null ? graph.target(graph.edgeStart(at) + i) : adjacencyList.get(at).get(i);
+  }
+
   /* Example usage: */
 
   public static void main(String[] args) {
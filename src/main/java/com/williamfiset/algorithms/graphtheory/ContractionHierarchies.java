@@ -0,0 +1,822 @@
+/**
+ * Contraction hierarchies: a shortest path technique for large road networks which spends some
+ * preprocessing time to make point to point queries orders of magnitude faster than Dijkstra's
+ * algorithm.
+ *
+ * <p>Preprocessing contracts the nodes one at a time in order of importance. Contracting a node v
+ * removes it from the remaining graph, and for every pair of remaining neighbours u -> v -> w whose
+ * shortest path goes through v a shortcut edge u -> w is added with the weight of both edges. A
+ * witness search (a bounded Dijkstra from u which avoids v) finds pairs that have another path at
+ * least as short, which need no shortcut. The next node to contract is picked by its edge
+ * difference, the number of shortcuts its contraction would add minus the number of edges it
+ * removes, plus the number of its already contracted neighbours to spread the contraction evenly
+ * over the graph. Priorities are updated lazily when a node reaches the top of the queue.
+ *
+ * <p>The rank of a node is the position at which it was contracted. A query runs Dijkstra forward
+ * from the start using only edges to higher ranked nodes and backward from the end also only going
+ * up in rank. Every shortest path has a highest ranked node where both searches meet, so each
+ * search only explores the small upward part of the hierarchy above its endpoint. Shortcuts
+ * remember the node they bypass, so a path of shortcuts is unpacked back into the original edges.
+ *
+ * <p>A hierarchy can be written to and read back from a binary file, so the preprocessing only has
+ * to be done once per graph. Edge weights must be non negative.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.ContractionHierarchies
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public final class ContractionHierarchies {
+
+  // "CHGRAPH1" in ASCII.
+  private static final long MAGIC = 0x3148504152474843L;
+  private static final int VERSION = 1;
+
+  // Middle node of edges which are not shortcuts.
+  private static final int NO_MIDDLE = -1;
+
+  // Number of nodes a witness search may settle before it gives up and the shortcut is added.
+  // Adding a shortcut which is not needed does not affect correctness, only the size of the graph.
+  // Estimating priorities runs far more witness searches than contracting, so it uses a lower
+  // limit.
+  private static final int WITNESS_SETTLE_LIMIT = 500, PRIORITY_SETTLE_LIMIT = 50;
+
+  private final int n;
+  private final int[] rank;
+
+  // Upward edges u -> v with rank[v] > rank[u], grouped by u.
+  private final int[] upOffsets, upTargets, upMiddles;
+  private final double[] upWeights;
+
+  // Downward edges x -> y with rank[x] > rank[y], grouped by y and storing x, so the backward
+  // search from the end node also only moves up in rank.
+  private final int[] downOffsets, downSources, downMiddles;
+  private final double[] downWeights;
+
+  private ContractionHierarchies(
+      int n,
+      int[] rank,
+      int[] upOffsets,
+      int[] upTargets,
+      int[] upMiddles,
+      double[] upWeights,
+      int[] downOffsets,
+      int[] downSources,
+      int[] downMiddles,
+      double[] downWeights) {
+    this.n = n;
+    this.rank = rank;
+    this.upOffsets = upOffsets;
+    this.upTargets = upTargets;
+    this.upMiddles = upMiddles;
+    this.upWeights = upWeights;
+    this.downOffsets = downOffsets;
+    this.downSources = downSources;
+    this.downMiddles = downMiddles;
+    this.downWeights = downWeights;
+  }
+
+  /**
+   * Builds the contraction hierarchy of a directed graph. Unweighted graphs use a weight of 1 for
+   * every edge.
+   *
+   * @param graph - A graph with non negative edge weights.
+   */
+  public static ContractionHierarchies preprocess(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    return new Contractor(graph).contract();
+  }
+
+  public int numNodes() {
+    return n;
+  }
+
+  // Returns the number of edges in the hierarchy, original edges and shortcuts.
+  public int numEdges() {
+    return upTargets.length + downSources.length;
+  }
+
+  public int numShortcuts() {
+    int count = 0;
+    for (int middle : upMiddles) if (middle != NO_MIDDLE) count++;
+    for (int middle : downMiddles) if (middle != NO_MIDDLE) count++;
+    return count;
+  }
+
+  // Returns the position at which node u was contracted.
+  public int rank(int u) {
+    return rank[u];
+  }
+
+  // Creates a workspace for running queries on this hierarchy. Each thread running queries needs
+  // its own workspace.
+  public Workspace newWorkspace() {
+    return new Workspace(this);
+  }
+
+  /**
+   * Holds the state of both searches of a query. The results of the last query stay readable until
+   * the workspace is used for another query.
+   */
+  public static final class Workspace {
+    private final ContractionHierarchies ch;
+    private final double[] distForward, distBackward;
+    private final int[] prevForward, prevBackward;
+    private final int[] edgeForward, edgeBackward;
+    private final MinHeap forwardHeap = new MinHeap(), backwardHeap = new MinHeap();
+
+    // Nodes reached by the last query, reset before the next one.
+    private final int[] touched;
+    private int touchedCount;
+
+    private int start = -1, end = -1, meetingNode = -1;
+    private double distance = Double.POSITIVE_INFINITY;
+
+    private Workspace(ContractionHierarchies ch) {
+      this.ch = ch;
+      int n = ch.n;
+      distForward = new double[n];
+      distBackward = new double[n];
+      prevForward = new int[n];
+      prevBackward = new int[n];
+      edgeForward = new int[n];
+      edgeBackward = new int[n];
+      touched = new int[n];
+      Arrays.fill(distForward, Double.POSITIVE_INFINITY);
+      Arrays.fill(distBackward, Double.POSITIVE_INFINITY);
+    }
+
+    private void reset() {
+      for (int i = 0; i < touchedCount; i++) {
+        distForward[touched[i]] = Double.POSITIVE_INFINITY;
+        distBackward[touched[i]] = Double.POSITIVE_INFINITY;
+      }
+      touchedCount = 0;
+      forwardHeap.clear();
+      backwardHeap.clear();
+      meetingNode = -1;
+      distance = Double.POSITIVE_INFINITY;
+    }
+
+    private void touch(int u) {
+      if (distForward[u] == Double.POSITIVE_INFINITY
+          && distBackward[u] == Double.POSITIVE_INFINITY) {
+        touched[touchedCount++] = u;
+      }
+    }
+
+    // Returns the number of nodes reached by either search of the last query.
+    public int touchedCount() {
+      return touchedCount;
+    }
+
+    // Returns the distance found by the last query.
+    public double distance() {
+      return distance;
+    }
+
+    /**
+     * Reconstructs the shortest path of the last query in the original graph, with all shortcuts
+     * unpacked.
+     *
+     * @return The nodes of the path from the start to the end node inclusive, or an empty array if
+     *     they are not connected.
+     */
+    public int[] reconstructPath() {
+      if (start == -1) throw new IllegalStateException("No query has been run");
+      if (distance == Double.POSITIVE_INFINITY) return new int[0];
+      IntArray path = new IntArray();
+      path.add(start);
+
+      // Collect the upward edges from the meeting node back to the start, then unpack them in
+      // order from the start.
+      IntArray chain = new IntArray();
+      for (int at = meetingNode; at != start; at = prevForward[at]) chain.add(at);
+      for (int i = chain.size - 1; i >= 0; i--) {
+        int to = chain.values[i];
+        ch.unpack(prevForward[to], to, ch.upMiddles[edgeForward[to]], path);
+      }
+      for (int at = meetingNode; at != end; at = prevBackward[at]) {
+        ch.unpack(at, prevBackward[at], ch.downMiddles[edgeBackward[at]], path);
+      }
+      return Arrays.copyOf(path.values, path.size);
+    }
+  }
+
+  /**
+   * Finds the shortest path distance from 'start' to 'end'.
+   *
+   * @return The distance, or Double.POSITIVE_INFINITY if 'end' is not reachable from 'start'.
+   */
+  public double query(int start, int end, Workspace ws) {
+    if (ws == null || ws.ch != this) {
+      throw new IllegalArgumentException("Workspace was not created by this hierarchy");
+    }
+    if (start < 0 || start >= n || end < 0 || end >= n) {
+      throw new IllegalArgumentException("Invalid node index");
+    }
+    ws.reset();
+    ws.start = start;
+    ws.end = end;
+    ws.touch(start);
+    ws.distForward[start] = 0;
+    ws.touch(end);
+    ws.distBackward[end] = 0;
+    ws.forwardHeap.push(0, start);
+    ws.backwardHeap.push(0, end);
+
+    double best = Double.POSITIVE_INFINITY;
+    while (!ws.forwardHeap.isEmpty() || !ws.backwardHeap.isEmpty()) {
+      boolean forward =
+          ws.backwardHeap.isEmpty()
+              || (!ws.forwardHeap.isEmpty()
+                  && ws.forwardHeap.minKey() <= ws.backwardHeap.minKey());
+      MinHeap heap = forward ? ws.forwardHeap : ws.backwardHeap;
+      double key = heap.minKey();
+      int u = heap.minNode();
+      heap.pop();
+
+      // Unlike plain bidirectional Dijkstra a search cannot stop when the searches meet, since the
+      // highest node of the shortest path may be far up in either search. A search is only done
+      // once it cannot improve the best path any more.
+      if (key >= best) {
+        heap.clear();
+        continue;
+      }
+
+      double[] dist = forward ? ws.distForward : ws.distBackward;
+      double[] otherDist = forward ? ws.distBackward : ws.distForward;
+      if (key > dist[u]) continue;
+      if (key + otherDist[u] < best) {
+        best = key + otherDist[u];
+        ws.meetingNode = u;
+      }
+
+      int[] offsets = forward ? upOffsets : downOffsets;
+      int[] targets = forward ? upTargets : downSources;
+      double[] weights = forward ? upWeights : downWeights;
+      int[] prev = forward ? ws.prevForward : ws.prevBackward;
+      int[] prevEdge = forward ? ws.edgeForward : ws.edgeBackward;
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        int v = targets[e];
+        double newDist = key + weights[e];
+        if (newDist < dist[v]) {
+          ws.touch(v);
+          dist[v] = newDist;
+          prev[v] = u;
+          prevEdge[v] = e;
+          heap.push(newDist, v);
+        }
+      }
+    }
+    ws.distance = best;
+    return best;
+  }
+
+  // Appends the original nodes of the edge from -> to, excluding 'from', to the path. Shortcuts are
+  // unpacked with an explicit stack since chains of shortcuts can be deep.
+  private void unpack(int from, int to, int middle, IntArray path) {
+    IntArray stack = new IntArray();
+    stack.add(from);
+    stack.add(to);
+    stack.add(middle);
+    while (stack.size > 0) {
+      int m = stack.values[--stack.size];
+      int v = stack.values[--stack.size];
+      int u = stack.values[--stack.size];
+      if (m == NO_MIDDLE) {
+        path.add(v);
+        continue;
+      }
+      // Push the second half first so the first half is unpacked first.
+      stack.add(m);
+      stack.add(v);
+      stack.add(middleOf(m, v));
+      stack.add(u);
+      stack.add(m);
+      stack.add(middleOf(u, m));
+    }
+  }
+
+  // Returns the middle node of the edge u -> v of the hierarchy.
+  private int middleOf(int u, int v) {
+    if (rank[v] > rank[u]) {
+      for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++) {
+        if (upTargets[e] == v) return upMiddles[e];
+      }
+    } else {
+      for (int e = downOffsets[v]; e < downOffsets[v + 1]; e++) {
+        if (downSources[e] == u) return downMiddles[e];
+      }
+    }
+    throw new IllegalStateException("Missing edge " + u + " -> " + v + " in hierarchy");
+  }
+
+  /**
+   * Writes the hierarchy to a file, replacing the file if it exists. The hierarchy is written to a
+   * temporary file next to it first, so a failed write leaves the previous file intact.
+   */
+  public void write(Path path) throws IOException {
+    Path dir = path.toAbsolutePath().getParent();
+    Path temp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+    try {
+      writeTo(temp);
+      try {
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private void writeTo(Path path) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeLong(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(n);
+      out.writeInt(upTargets.length);
+      out.writeInt(downSources.length);
+      writeInts(out, rank);
+      writeInts(out, upOffsets);
+      writeInts(out, upTargets);
+      writeInts(out, upMiddles);
+      for (double weight : upWeights) out.writeDouble(weight);
+      writeInts(out, downOffsets);
+      writeInts(out, downSources);
+      writeInts(out, downMiddles);
+      for (double weight : downWeights) out.writeDouble(weight);
+    }
+  }
+
+  /** Reads a hierarchy previously saved with {@link #write(Path)}. */
+  public static ContractionHierarchies read(Path path) throws IOException {
+    try (DataInputStream in =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readLong() != MAGIC) throw new IOException("Not a contraction hierarchy file");
+      int version = in.readInt();
+      if (version != VERSION) throw new IOException("Unsupported file version " + version);
+      int n = in.readInt(), numUp = in.readInt(), numDown = in.readInt();
+      if (n < 0 || n == Integer.MAX_VALUE || numUp < 0 || numDown < 0) {
+        throw new IOException("Corrupt file header");
+      }
+      // Reject truncated files before allocating arrays for the counts of the header.
+      long size = 24 + 4L * (3L * n + 2) + 16L * ((long) numUp + numDown);
+      if (Files.size(path) != size) throw new IOException("Corrupt file header");
+      int[] rank = readInts(in, n);
+      int[] upOffsets = readInts(in, n + 1);
+      int[] upTargets = readInts(in, numUp);
+      int[] upMiddles = readInts(in, numUp);
+      double[] upWeights = readDoubles(in, numUp);
+      int[] downOffsets = readInts(in, n + 1);
+      int[] downSources = readInts(in, numDown);
+      int[] downMiddles = readInts(in, numDown);
+      double[] downWeights = readDoubles(in, numDown);
+      if (!isPermutation(rank)
+          || !isValidSide(rank, upOffsets, upTargets, upMiddles, upWeights)
+          || !isValidSide(rank, downOffsets, downSources, downMiddles, downWeights)) {
+        throw new IOException("Corrupt file");
+      }
+      return new ContractionHierarchies(
+          n,
+          rank,
+          upOffsets,
+          upTargets,
+          upMiddles,
+          upWeights,
+          downOffsets,
+          downSources,
+          downMiddles,
+          downWeights);
+    }
+  }
+
+  private static boolean isPermutation(int[] rank) {
+    boolean[] seen = new boolean[rank.length];
+    for (int r : rank) {
+      if (r < 0 || r >= rank.length || seen[r]) return false;
+      seen[r] = true;
+    }
+    return true;
+  }
+
+  // Checks the edges of the upward or the downward graph: the offsets have to be non decreasing
+  // and cover all the edges, every edge has to lead to a higher ranked node and be a shortcut over
+  // a lower ranked middle node, which guarantees that unpacking terminates.
+  private static boolean isValidSide(
+      int[] rank, int[] offsets, int[] others, int[] middles, double[] weights) {
+    int n = rank.length;
+    if (offsets[0] != 0 || offsets[n] != others.length) return false;
+    for (int u = 0; u < n; u++) {
+      if (offsets[u] > offsets[u + 1]) return false;
+      for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+        int v = others[e], m = middles[e];
+        if (v < 0 || v >= n || rank[v] <= rank[u] || !(weights[e] >= 0)) return false;
+        if (m != NO_MIDDLE && (m < 0 || m >= n || rank[m] >= rank[u])) return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+    for (int value : values) out.writeInt(value);
+  }
+
+  private static int[] readInts(DataInputStream in, int length) throws IOException {
+    int[] values = new int[length];
+    for (int i = 0; i < length; i++) values[i] = in.readInt();
+    return values;
+  }
+
+  private static double[] readDoubles(DataInputStream in, int length) throws IOException {
+    double[] values = new double[length];
+    for (int i = 0; i < length; i++) values[i] = in.readDouble();
+    return values;
+  }
+
+  // A directed edge of the graph being contracted. The same object is stored in the outgoing list
+  // of 'from' and the incoming list of 'to' so a shorter shortcut updates both.
+  private static final class Edge {
+    final int from, to;
+    double weight;
+    int middle;
+
+    Edge(int from, int to, double weight, int middle) {
+      this.from = from;
+      this.to = to;
+      this.weight = weight;
+      this.middle = middle;
+    }
+  }
+
+  // Runs the preprocessing. The adjacency lists only hold the edges of the remaining graph, while
+  // all edges ever added are kept in 'edges' and split into upward and downward edges by rank at
+  // the end.
+  private static final class Contractor {
+    private final int n;
+    private final List<List<Edge>> out, in;
+    private final List<Edge> edges = new ArrayList<>();
+    private final boolean[] contracted;
+    private final int[] contractedNeighbours;
+
+    // Witness search state, reset through the list of touched nodes.
+    private final double[] witnessDist;
+    private final int[] witnessTouched;
+    private int witnessTouchedCount;
+    private final MinHeap heap = new MinHeap();
+
+    // The nodes a witness search needs distances for are marked with the current search number.
+    private final int[] targetMark;
+    private int searchNumber;
+
+    Contractor(CsrGraph graph) {
+      n = graph.numNodes();
+      out = new ArrayList<>(n);
+      in = new ArrayList<>(n);
+      for (int i = 0; i < n; i++) {
+        out.add(new ArrayList<>());
+        in.add(new ArrayList<>());
+      }
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          double weight = graph.weight(e);
+          if (weight < 0) throw new IllegalArgumentException("No negative edge weights");
+          int v = graph.target(e);
+          // Self loops are never part of a shortest path.
+          if (u != v) addEdge(u, v, weight, NO_MIDDLE);
+        }
+      }
+      contracted = new boolean[n];
+      contractedNeighbours = new int[n];
+      witnessDist = new double[n];
+      witnessTouched = new int[n];
+      targetMark = new int[n];
+      Arrays.fill(witnessDist, Double.POSITIVE_INFINITY);
+    }
+
+    // Adds the edge u -> v, or lowers the weight of the existing edge u -> v. Keeping a single edge
+    // per pair of nodes keeps the hierarchy small and shortcut unpacking unambiguous.
+    private void addEdge(int u, int v, double weight, int middle) {
+      for (Edge edge : out.get(u)) {
+        if (edge.to == v) {
+          if (weight < edge.weight) {
+            edge.weight = weight;
+            edge.middle = middle;
+          }
+          return;
+        }
+      }
+      Edge edge = new Edge(u, v, weight, middle);
+      out.get(u).add(edge);
+      in.get(v).add(edge);
+      edges.add(edge);
+    }
+
+    // Removes the edge from a list by swapping it with the last edge, since order does not matter.
+    private static void removeEdge(List<Edge> list, Edge edge) {
+      for (int i = 0; i < list.size(); i++) {
+        if (list.get(i) == edge) {
+          list.set(i, list.get(list.size() - 1));
+          list.remove(list.size() - 1);
+          return;
+        }
+      }
+    }
+
+    ContractionHierarchies contract() {
+      int[] rank = new int[n];
+      double[] priority = new double[n];
+      MinHeap queue = new MinHeap();
+      for (int v = 0; v < n; v++) {
+        priority[v] = priority(v);
+        queue.push(priority[v], v);
+      }
+
+      int order = 0;
+      while (!queue.isEmpty()) {
+        double key = queue.minKey();
+        int v = queue.minNode();
+        queue.pop();
+        if (contracted[v] || key != priority[v]) continue;
+
+        // Lazy update: the priority may have grown since neighbours were contracted. Put the node
+        // back if it is no longer the most promising one.
+        priority[v] = priority(v);
+        if (!queue.isEmpty() && priority[v] > queue.minKey()) {
+          queue.push(priority[v], v);
+          continue;
+        }
+
+        shortcuts(v, true);
+        contracted[v] = true;
+        rank[v] = order++;
+        // Detach v from the remaining graph.
+        for (Edge edge : out.get(v)) {
+          contractedNeighbours[edge.to]++;
+          removeEdge(in.get(edge.to), edge);
+        }
+        for (Edge edge : in.get(v)) {
+          contractedNeighbours[edge.from]++;
+          removeEdge(out.get(edge.from), edge);
+        }
+      }
+      return build(rank);
+    }
+
+    // The edge difference of contracting v plus its number of contracted neighbours.
+    private double priority(int v) {
+      int removed = out.get(v).size() + in.get(v).size();
+      return shortcuts(v, false) - removed + contractedNeighbours[v];
+    }
+
+    // Counts the shortcuts needed to contract v and adds them to the graph if 'add' is true.
+    private int shortcuts(int v, boolean add) {
+      List<Edge> outgoing = out.get(v);
+      double maxOut = 0;
+      for (Edge edge : outgoing) maxOut = Math.max(maxOut, edge.weight);
+
+      int count = 0;
+      List<Edge> incoming = in.get(v);
+      for (int i = 0; i < incoming.size(); i++) {
+        Edge inEdge = incoming.get(i);
+        int u = inEdge.from;
+        int targets = 0;
+        searchNumber++;
+        for (Edge outEdge : outgoing) {
+          if (outEdge.to != u) {
+            targetMark[outEdge.to] = searchNumber;
+            targets++;
+          }
+        }
+        if (targets == 0) continue;
+        int settleLimit = add ? WITNESS_SETTLE_LIMIT : PRIORITY_SETTLE_LIMIT;
+        witnessSearch(u, v, inEdge.weight + maxOut, targets, settleLimit);
+        for (int j = 0; j < outgoing.size(); j++) {
+          Edge outEdge = outgoing.get(j);
+          int w = outEdge.to;
+          if (w == u) continue;
+          double viaV = inEdge.weight + outEdge.weight;
+          if (witnessDist[w] <= viaV) continue;
+          count++;
+          if (add) addEdge(u, w, viaV, v);
+        }
+      }
+      return count;
+    }
+
+    // Dijkstra from u over the remaining graph without node v, stopping once all the marked target
+    // nodes are settled, at distance 'limit' or after settling 'settleLimit' nodes.
+    private void witnessSearch(int u, int v, double limit, int targets, int settleLimit) {
+      for (int i = 0; i < witnessTouchedCount; i++) {
+        witnessDist[witnessTouched[i]] = Double.POSITIVE_INFINITY;
+      }
+      witnessTouchedCount = 0;
+      heap.clear();
+
+      witnessDist[u] = 0;
+      witnessTouched[witnessTouchedCount++] = u;
+      heap.push(0, u);
+      int settled = 0;
+      while (!heap.isEmpty() && settled < settleLimit) {
+        double key = heap.minKey();
+        int x = heap.minNode();
+        heap.pop();
+        if (key > limit) break;
+        if (key > witnessDist[x]) continue;
+        if (targetMark[x] == searchNumber && --targets == 0) break;
+        settled++;
+        for (Edge edge : out.get(x)) {
+          int y = edge.to;
+          if (y == v) continue;
+          double newDist = key + edge.weight;
+          if (newDist < witnessDist[y]) {
+            if (witnessDist[y] == Double.POSITIVE_INFINITY) {
+              witnessTouched[witnessTouchedCount++] = y;
+            }
+            witnessDist[y] = newDist;
+            heap.push(newDist, y);
+          }
+        }
+      }
+    }
+
+    // Splits every edge into an upward or downward edge and lays them out in CSR form.
+    private ContractionHierarchies build(int[] rank) {
+      int[] upOffsets = new int[n + 1];
+      int[] downOffsets = new int[n + 1];
+      for (Edge edge : edges) {
+        if (rank[edge.to] > rank[edge.from]) upOffsets[edge.from + 1]++;
+        else downOffsets[edge.to + 1]++;
+      }
+      for (int u = 0; u < n; u++) {
+        upOffsets[u + 1] += upOffsets[u];
+        downOffsets[u + 1] += downOffsets[u];
+      }
+
+      int[] upTargets = new int[upOffsets[n]], upMiddles = new int[upOffsets[n]];
+      double[] upWeights = new double[upOffsets[n]];
+      int[] downSources = new int[downOffsets[n]], downMiddles = new int[downOffsets[n]];
+      double[] downWeights = new double[downOffsets[n]];
+      int[] upNext = Arrays.copyOf(upOffsets, n);
+      int[] downNext = Arrays.copyOf(downOffsets, n);
+      for (Edge edge : edges) {
+        if (rank[edge.to] > rank[edge.from]) {
+          int e = upNext[edge.from]++;
+          upTargets[e] = edge.to;
+          upMiddles[e] = edge.middle;
+          upWeights[e] = edge.weight;
+        } else {
+          int e = downNext[edge.to]++;
+          downSources[e] = edge.from;
+          downMiddles[e] = edge.middle;
+          downWeights[e] = edge.weight;
+        }
+      }
+      return new ContractionHierarchies(
+          n,
+          rank,
+          upOffsets,
+          upTargets,
+          upMiddles,
+          upWeights,
+          downOffsets,
+          downSources,
+          downMiddles,
+          downWeights);
+    }
+  }
+
+  // A binary min heap of (key, node) entries without decrease-key. Outdated entries are skipped by
+  // comparing their key to the current distance of the node. The arrays only grow, so a reused heap
+  // stops allocating once it reached its largest size.
+  private static final class MinHeap {
+    private double[] keys = new double[16];
+    private int[] nodes = new int[16];
+    private int size;
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    double minKey() {
+      return keys[0];
+    }
+
+    int minNode() {
+      return nodes[0];
+    }
+
+    void push(double key, int node) {
+      if (size == keys.length) {
+        keys = Arrays.copyOf(keys, 2 * size);
+        nodes = Arrays.copyOf(nodes, 2 * size);
+      }
+      int i = size++;
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (keys[parent] <= key) break;
+        keys[i] = keys[parent];
+        nodes[i] = nodes[parent];
+        i = parent;
+      }
+      keys[i] = key;
+      nodes[i] = node;
+    }
+
+    void pop() {
+      double key = keys[--size];
+      int node = nodes[size];
+      int i = 0;
+      while (true) {
+        int child = 2 * i + 1;
+        if (child >= size) break;
+        if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+        if (key <= keys[child]) break;
+        keys[i] = keys[child];
+        nodes[i] = nodes[child];
+        i = child;
+      }
+      keys[i] = key;
+      nodes[i] = node;
+    }
+  }
+
+  // A growable int array.
+  private static final class IntArray {
+    int[] values = new int[16];
+    int size;
+
+    void add(int value) {
+      if (size == values.length) values = Arrays.copyOf(values, 2 * size);
+      values[size++] = value;
+    }
+  }
+
+  // Builds a rows x cols grid where every cell is connected to its neighbours in both directions
+  // with random weights, a rough stand in for a road network.
+  static CsrGraph gridGraph(int rows, int cols, long seed) {
+    Random random = new Random(seed);
+    CsrGraph.Builder builder = new CsrGraph.Builder(rows * cols);
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        int u = r * cols + c;
+        if (c + 1 < cols) {
+          builder.addEdge(u, u + 1, 1.0 + random.nextInt(100));
+          builder.addEdge(u + 1, u, 1.0 + random.nextInt(100));
+        }
+        if (r + 1 < rows) {
+          builder.addEdge(u, u + cols, 1.0 + random.nextInt(100));
+          builder.addEdge(u + cols, u, 1.0 + random.nextInt(100));
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  public static void main(String[] args) {
+    CsrGraph graph = gridGraph(200, 200, 1);
+
+    long time = System.nanoTime();
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(graph);
+    System.out.printf(
+        "Preprocessed %d nodes in %d ms, %d shortcuts added%n",
+        graph.numNodes(), (System.nanoTime() - time) / 1_000_000, ch.numShortcuts());
+
+    DijkstrasShortestPathCsr dijkstra = new DijkstrasShortestPathCsr(graph);
+    DijkstrasShortestPathCsr.Workspace dijkstraWs = dijkstra.newWorkspace();
+    Workspace ws = ch.newWorkspace();
+    Random random = new Random(2);
+    long dijkstraTouched = 0, chTouched = 0;
+    for (int i = 0; i < 1000; i++) {
+      int s = random.nextInt(graph.numNodes()), e = random.nextInt(graph.numNodes());
+      double expected = dijkstra.dijkstra(s, e, dijkstraWs);
+      double actual = ch.query(s, e, ws);
+      if (expected != actual) System.out.println("ERROR: " + s + " " + e);
+      dijkstraTouched += dijkstraWs.touchedCount();
+      chTouched += ws.touchedCount();
+    }
+    System.out.printf(
+        "Average nodes reached per query, Dijkstra: %d, contraction hierarchies: %d%n",
+        dijkstraTouched / 1000, chTouched / 1000);
+  }
+}
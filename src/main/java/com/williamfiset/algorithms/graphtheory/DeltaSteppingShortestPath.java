@@ -0,0 +1,316 @@
+/**
+ * A parallel single source shortest path solver using the delta-stepping algorithm of Meyer and
+ * Sanders, for graphs with non negative edge weights.
+ *
+ * <p>Dijkstra's algorithm settles one node at a time, which leaves nothing to do in parallel.
+ * Delta-stepping instead groups the nodes in buckets of width delta by their tentative distance and
+ * settles a whole bucket at once. Edges no heavier than delta are light: relaxing them from a node
+ * in the current bucket can put a node back into the same bucket, so the light edges of the bucket
+ * are relaxed in rounds until no node of the bucket improves. Heavy edges always lead to a later
+ * bucket and are relaxed only once, after the bucket is settled. Every round relaxes the edges of
+ * all the nodes of the frontier in parallel on a fork/join pool, and distances are lowered with an
+ * atomic compare and set so concurrent relaxations of the same node cannot lose an update.
+ *
+ * <p>A small delta behaves like Dijkstra's algorithm with little parallelism, a large delta like
+ * Bellman-Ford with a lot of wasted work. The default delta is the largest edge weight divided by
+ * the average degree, which works well for graphs with random weights.
+ *
+ * <p>The distances are the same as the ones returned by {@link BellmanFordEdgeList#bellmanFord} on
+ * graphs without negative edges.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.DeltaSteppingShortestPath
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class DeltaSteppingShortestPath {
+
+  // Frontiers smaller than this are relaxed on the current thread rather than split into tasks.
+  static final int SEQUENTIAL_CUTOFF = 1 << 10;
+
+  // The largest number of buckets a query may keep, which bounds how small delta can be.
+  static final int MAX_BUCKETS = 1 << 20;
+
+  private final CsrGraph graph;
+  private final double delta;
+  private final ForkJoinPool pool;
+
+  // The tentative distances waiting in the buckets span less than maxWeight + 2 * delta, so the
+  // buckets are reused cyclically and a query never needs more than this many of them. One extra
+  // bucket covers rounding errors in the distances.
+  private final int numBuckets;
+
+  public DeltaSteppingShortestPath(CsrGraph graph) {
+    this(graph, defaultDelta(graph), ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param graph - A graph with non negative edge weights.
+   * @param delta - The width of a bucket, a positive number no smaller than the largest edge
+   *     weight divided by MAX_BUCKETS.
+   * @param pool - The pool running the relaxations.
+   */
+  public DeltaSteppingShortestPath(CsrGraph graph, double delta, ForkJoinPool pool) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    if (!(delta > 0) || Double.isInfinite(delta)) {
+      throw new IllegalArgumentException("Delta must be positive: " + delta);
+    }
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    double maxWeight = 0;
+    for (int e = 0; e < graph.numEdges(); e++) {
+      if (graph.weight(e) < 0) throw new IllegalArgumentException("No negative edge weights");
+      maxWeight = Math.max(maxWeight, graph.weight(e));
+    }
+    if (maxWeight / delta >= MAX_BUCKETS - 3) {
+      throw new IllegalArgumentException("Delta is too small for the largest edge weight");
+    }
+    this.graph = graph;
+    this.delta = delta;
+    this.pool = pool;
+    numBuckets = (int) (maxWeight / delta) + 3;
+  }
+
+  // The largest edge weight divided by the average degree.
+  static double defaultDelta(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    double maxWeight = 0;
+    for (int e = 0; e < graph.numEdges(); e++) maxWeight = Math.max(maxWeight, graph.weight(e));
+    if (maxWeight == 0) return 1;
+    double averageDegree = (double) graph.numEdges() / Math.max(1, graph.numNodes());
+    return maxWeight / Math.max(1, averageDegree);
+  }
+
+  public double getDelta() {
+    return delta;
+  }
+
+  /**
+   * Runs delta-stepping on a graph given as an edge list, in the same format as {@link
+   * BellmanFordEdgeList#bellmanFord}.
+   *
+   * @param edges - An edge list containing directed edges with non negative costs.
+   * @param V - The number of vertices in the graph.
+   * @param start - The id of the starting node
+   */
+  public static double[] deltaStepping(BellmanFordEdgeList.Edge[] edges, int V, int start) {
+    if (edges == null) throw new IllegalArgumentException("Edges cannot be null");
+    CsrGraph.Builder builder = new CsrGraph.Builder(V);
+    for (BellmanFordEdgeList.Edge edge : edges) builder.addEdge(edge.from, edge.to, edge.cost);
+    return new DeltaSteppingShortestPath(builder.build()).shortestPaths(start);
+  }
+
+  /**
+   * Finds the shortest path distance from 'start' to every node.
+   *
+   * @return The distances, Double.POSITIVE_INFINITY for nodes which cannot be reached.
+   */
+  public double[] shortestPaths(int start) {
+    int n = graph.numNodes();
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+    return new Run(n).solve(start);
+  }
+
+  // The state of a single query.
+  private final class Run {
+    // Tentative distances as raw double bits. Non negative doubles order the same way as their
+    // bits, which is what atomicMin relies on.
+    final AtomicLongArray dist;
+
+    // buckets[i % numBuckets] holds the nodes which got a distance in [i * delta, (i + 1) * delta)
+    // while bucket i is among the numBuckets buckets following the current one. A node stays in
+    // the buckets it was put in before its distance improved, such entries are skipped.
+    final IntArray[] buckets = new IntArray[numBuckets];
+    int nonEmptyBuckets;
+
+    // The last round that added the node to a frontier or to the settled nodes of a bucket, so
+    // every node appears at most once in each.
+    final int[] frontierMark, settledMark;
+    int round;
+
+    Run(int n) {
+      dist = new AtomicLongArray(n);
+      long infinity = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+      for (int i = 0; i < n; i++) dist.set(i, infinity);
+      frontierMark = new int[n];
+      settledMark = new int[n];
+    }
+
+    double[] solve(int start) {
+      dist.set(start, Double.doubleToLongBits(0));
+      addToBucket(start);
+
+      int b = 0;
+      while (nonEmptyBuckets > 0) {
+        IntArray bucket = buckets[b % numBuckets];
+        if (bucket == null) {
+          b++;
+          continue;
+        }
+        buckets[b % numBuckets] = null;
+        nonEmptyBuckets--;
+
+        int settledRound = ++round;
+        IntArray settled = new IntArray();
+        IntArray frontier = frontier(bucket, b);
+
+        // Relax light edges until the bucket stops changing. Improved nodes which fall in the
+        // current bucket form the next frontier, the others are stored in later buckets.
+        while (frontier.size > 0) {
+          for (int i = 0; i < frontier.size; i++) {
+            int u = frontier.values[i];
+            if (settledMark[u] != settledRound) {
+              settledMark[u] = settledRound;
+              settled.add(u);
+            }
+          }
+          IntArray improved = relax(frontier, true);
+          IntArray current = new IntArray();
+          for (int i = 0; i < improved.size; i++) {
+            int v = improved.values[i];
+            if (bucketOf(v) == b) current.add(v);
+            else addToBucket(v);
+          }
+          frontier = frontier(current, b);
+        }
+
+        // Heavy edges lead past the current bucket, so they only need to be relaxed once. Should
+        // rounding put a node back into the current bucket, the bucket is simply processed again.
+        IntArray improved = relax(settled, false);
+        for (int i = 0; i < improved.size; i++) addToBucket(improved.values[i]);
+      }
+
+      double[] result = new double[dist.length()];
+      for (int i = 0; i < result.length; i++) result[i] = Double.longBitsToDouble(dist.get(i));
+      return result;
+    }
+
+    // Removes outdated entries and duplicates from the nodes of bucket b.
+    IntArray frontier(IntArray nodes, int b) {
+      int frontierRound = ++round;
+      IntArray frontier = new IntArray();
+      for (int i = 0; i < nodes.size; i++) {
+        int u = nodes.values[i];
+        if (frontierMark[u] != frontierRound && bucketOf(u) == b) {
+          frontierMark[u] = frontierRound;
+          frontier.add(u);
+        }
+      }
+      return frontier;
+    }
+
+    int bucketOf(int u) {
+      double d = Double.longBitsToDouble(dist.get(u));
+      return (int) Math.min(Integer.MAX_VALUE - 1, Math.floor(d / delta));
+    }
+
+    void addToBucket(int u) {
+      int b = bucketOf(u) % numBuckets;
+      if (buckets[b] == null) {
+        buckets[b] = new IntArray();
+        nonEmptyBuckets++;
+      }
+      buckets[b].add(u);
+    }
+
+    // Relaxes the light or heavy edges of the nodes in parallel and returns the nodes whose
+    // distance improved, possibly more than once.
+    IntArray relax(IntArray nodes, boolean light) {
+      if (nodes.size < SEQUENTIAL_CUTOFF) return relax(nodes, 0, nodes.size, light);
+      return pool.invoke(new RelaxTask(nodes, 0, nodes.size, light));
+    }
+
+    IntArray relax(IntArray nodes, int lo, int hi, boolean light) {
+      IntArray improved = new IntArray();
+      for (int i = lo; i < hi; i++) {
+        int u = nodes.values[i];
+        double du = Double.longBitsToDouble(dist.get(u));
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          double w = graph.weight(e);
+          if ((w <= delta) != light) continue;
+          int v = graph.target(e);
+          if (atomicMin(v, du + w)) improved.add(v);
+        }
+      }
+      return improved;
+    }
+
+    // Lowers the distance of v to d if it is smaller, returning whether it was.
+    boolean atomicMin(int v, double d) {
+      long bits = Double.doubleToLongBits(d);
+      while (true) {
+        long current = dist.get(v);
+        if (bits >= current) return false;
+        if (dist.compareAndSet(v, current, bits)) return true;
+      }
+    }
+
+    final class RelaxTask extends RecursiveTask<IntArray> {
+      private static final long serialVersionUID = 1L;
+
+      final IntArray nodes;
+      final int lo, hi;
+      final boolean light;
+
+      RelaxTask(IntArray nodes, int lo, int hi, boolean light) {
+        this.nodes = nodes;
+        this.lo = lo;
+        this.hi = hi;
+        this.light = light;
+      }
+
+      @Override
+      protected IntArray compute() {
+        if (hi - lo <= SEQUENTIAL_CUTOFF) return relax(nodes, lo, hi, light);
+        int mid = (lo + hi) >>> 1;
+        RelaxTask left = new RelaxTask(nodes, lo, mid, light);
+        left.fork();
+        IntArray right = new RelaxTask(nodes, mid, hi, light).compute();
+        IntArray result = left.join();
+        for (int i = 0; i < right.size; i++) result.add(right.values[i]);
+        return result;
+      }
+    }
+  }
+
+  // A growable int array.
+  private static final class IntArray {
+    int[] values = new int[16];
+    int size;
+
+    void add(int value) {
+      if (size == values.length) values = Arrays.copyOf(values, 2 * size);
+      values[size++] = value;
+    }
+  }
+
+  public static void main(String[] args) {
+    int n = 1_000_000, m = 8 * n;
+    Random random = new Random(1);
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) {
+      builder.addEdge(random.nextInt(n), random.nextInt(n), random.nextDouble());
+    }
+    CsrGraph graph = builder.build();
+
+    DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(graph);
+    long time = System.nanoTime();
+    double[] dist = solver.shortestPaths(0);
+    time = System.nanoTime() - time;
+
+    DijkstrasShortestPathCsr dijkstra = new DijkstrasShortestPathCsr(graph);
+    DijkstrasShortestPathCsr.Workspace ws = dijkstra.newWorkspace();
+    dijkstra.dijkstra(0, ws);
+    for (int v = 0; v < n; v++) {
+      if (dist[v] != ws.distance(v)) System.out.println("ERROR: " + v);
+    }
+    System.out.printf(
+        "Delta-stepping with delta %.3f on %d threads took %d ms%n",
+        solver.getDelta(), ForkJoinPool.commonPool().getParallelism(), time / 1_000_000);
+  }
+}
@@ -5,6 +5,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class DepthFirstSearchAdjacencyListIterative {
@@ -50,6 +51,32 @@ public class DepthFirstSearchAdjacencyListIterative {
     return count;
   }
 
+  // Perform a depth first search on a graph in CSR format from a starting
+  // point to count the number of nodes in a given component. An int array
+  // serves as the stack, so no objects are created during the search.
+  public static int dfs(CsrGraph graph, int start) {
+    int count = 0, top = 0;
+    boolean[] visited = new boolean[graph.numNodes()];
+    int[] stack = new int[graph.numNodes()];
+
+    stack[top++] = start;
+    visited[start] = true;
+
+    while (top > 0) {
+      int node = stack[--top];
+      count++;
+      for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+        int to = graph.target(e);
+        if (!visited[to]) {
+          stack[top++] = to;
+          visited[to] = true;
+        }
+      }
+    }
+
+    return count;
+  }
+
   // Example usage of DFS
   public static void main(String[] args) {
 
@@ -9,6 +9,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -50,6 +51,17 @@ public class DijkstrasShortestPathAdjacencyList {
   private Integer[] prev;
   private List<List<Edge>> graph;
 
+  // Set instead of 'graph' when the solver runs on an immutable CSR graph.
+  private CsrGraph csrGraph;
+
+  // State of the backward search used by the bidirectional variant. The reverse graphs are built
+  // lazily on the first bidirectional query and dropped whenever an edge is added.
+  private double[] distReverse;
+  private Integer[] next;
+  private int meetingNode = -1;
+  private List<List<Edge>> reverseGraph;
+  private CsrGraph csrReverseGraph;
+
   private Comparator<Node> comparator =
       new Comparator<Node>() {
         @Override
@@ -76,6 +88,21 @@ public class DijkstrasShortestPathAdjacencyList {
     this.comparator = comparator;
   }
 
+  private DijkstrasShortestPathAdjacencyList(CsrGraph graph) {
+    this.n = graph.numNodes();
+    this.csrGraph = graph;
+  }
+
+  /**
+   * Creates a solver for a prebuilt graph in CSR format. Edges cannot be added afterwards.
+   *
+   * @param graph - A graph with non negative edge weights.
+   */
+  public static DijkstrasShortestPathAdjacencyList fromCsr(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    return new DijkstrasShortestPathAdjacencyList(graph);
+  }
+
   /**
    * Adds a directed edge to the graph.
    *
@@ -84,7 +111,9 @@ public class DijkstrasShortestPathAdjacencyList {
    * @param cost - The cost of the edge.
    */
   public void addEdge(int from, int to, int cost) {
+    if (csrGraph != null) throw new IllegalStateException("Cannot add edges to a CSR graph");
     graph.get(from).add(new Edge(from, to, cost));
+    reverseGraph = null;
   }
 
   // Use {@link #addEdge} method to add edges to the graph and use this method
@@ -110,6 +139,23 @@ public class DijkstrasShortestPathAdjacencyList {
     return path;
   }
 
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive using {@link
+   * #bidirectionalDijkstra}. The path is stitched together at the node where both searches met.
+   *
+   * @return A list of the node indexes on the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected then an empty list is returned.
+   */
+  public List<Integer> reconstructBidirectionalPath(int start, int end) {
+    double dist = bidirectionalDijkstra(start, end);
+    List<Integer> path = new ArrayList<>();
+    if (dist == Double.POSITIVE_INFINITY) return path;
+    for (Integer at = meetingNode; at != null; at = prev[at]) path.add(at);
+    Collections.reverse(path);
+    for (Integer at = next[meetingNode]; at != null; at = next[at]) path.add(at);
+    return path;
+  }
+
   // Run Dijkstra's algorithm on a directed graph to find the shortest path
   // from a starting node to an ending node. If there is no path between the
   // starting node and the destination node the returned value is set to be
@@ -136,20 +182,15 @@ public class DijkstrasShortestPathAdjacencyList {
       // processing this node so we can ignore it.
       if (dist[node.id] < node.value) continue;
 
-      List<Edge> edges = graph.get(node.id);
-      for (int i = 0; i < edges.size(); i++) {
-        Edge edge = edges.get(i);
-
-        // You cannot get a shorter path by revisiting
-        // a node you have already visited before.
-        if (visited[edge.to]) continue;
-
-        // Relax edge by updating minimum cost if applicable.
-        double newDist = dist[edge.from] + edge.cost;
-        if (newDist < dist[edge.to]) {
-          prev[edge.to] = edge.from;
-          dist[edge.to] = newDist;
-          pq.offer(new Node(edge.to, dist[edge.to]));
+      if (csrGraph != null) {
+        for (int e = csrGraph.edgeStart(node.id); e < csrGraph.edgeEnd(node.id); e++) {
+          relax(node.id, csrGraph.target(e), csrGraph.weight(e), visited, pq);
+        }
+      } else {
+        List<Edge> edges = graph.get(node.id);
+        for (int i = 0; i < edges.size(); i++) {
+          Edge edge = edges.get(i);
+          relax(edge.from, edge.to, edge.cost, visited, pq);
         }
       }
       // Once we've visited all the nodes spanning from the end
@@ -161,6 +202,122 @@ public class DijkstrasShortestPathAdjacencyList {
     return Double.POSITIVE_INFINITY;
   }
 
+  private void relax(int from, int to, double cost, boolean[] visited, PriorityQueue<Node> pq) {
+    // You cannot get a shorter path by revisiting
+    // a node you have already visited before.
+    if (visited[to]) return;
+
+    // Relax edge by updating minimum cost if applicable.
+    double newDist = dist[from] + cost;
+    if (newDist < dist[to]) {
+      prev[to] = from;
+      dist[to] = newDist;
+      pq.offer(new Node(to, dist[to]));
+    }
+  }
+
+  // Run Dijkstra's algorithm simultaneously forward from 'start' and backward from 'end' over the
+  // reversed edges, always expanding the side whose queue has the smaller minimum. Every relaxed
+  // edge that reaches a node labelled by the other search yields a candidate path. Once the sum of
+  // both queue minimums is at least the best candidate no shorter path can exist, since it would
+  // have to pass through a node that is unsettled on both sides. If there is no path between the
+  // starting node and the destination node the returned value is Double.POSITIVE_INFINITY.
+  public double bidirectionalDijkstra(int start, int end) {
+    if (end < 0 || end >= n) throw new IllegalArgumentException("Invalid node index");
+    if (start < 0 || start >= n) throw new IllegalArgumentException("Invalid node index");
+
+    dist = new double[n];
+    distReverse = new double[n];
+    Arrays.fill(dist, Double.POSITIVE_INFINITY);
+    Arrays.fill(distReverse, Double.POSITIVE_INFINITY);
+    dist[start] = 0;
+    distReverse[end] = 0;
+    prev = new Integer[n];
+    next = new Integer[n];
+    meetingNode = start;
+    if (start == end) return 0;
+    buildReverseGraph();
+
+    PriorityQueue<Node> forwardPq = new PriorityQueue<>(comparator);
+    PriorityQueue<Node> backwardPq = new PriorityQueue<>(comparator);
+    forwardPq.offer(new Node(start, 0));
+    backwardPq.offer(new Node(end, 0));
+
+    double best = Double.POSITIVE_INFINITY;
+    meetingNode = -1;
+
+    while (true) {
+      // Discard entries that were superseded by a shorter distance.
+      while (!forwardPq.isEmpty() && dist[forwardPq.peek().id] < forwardPq.peek().value) {
+        forwardPq.poll();
+      }
+      while (!backwardPq.isEmpty()
+          && distReverse[backwardPq.peek().id] < backwardPq.peek().value) {
+        backwardPq.poll();
+      }
+      // An exhausted side has settled every node it can reach, so all candidates were seen.
+      if (forwardPq.isEmpty() || backwardPq.isEmpty()) break;
+      if (forwardPq.peek().value + backwardPq.peek().value >= best) break;
+
+      boolean forward = forwardPq.peek().value <= backwardPq.peek().value;
+      int at = forward ? forwardPq.poll().id : backwardPq.poll().id;
+      double[] d = forward ? dist : distReverse;
+      double[] otherD = forward ? distReverse : dist;
+      Integer[] parent = forward ? prev : next;
+      PriorityQueue<Node> pq = forward ? forwardPq : backwardPq;
+
+      if (csrGraph != null) {
+        CsrGraph g = forward ? csrGraph : csrReverseGraph;
+        for (int e = g.edgeStart(at); e < g.edgeEnd(at); e++) {
+          int to = g.target(e);
+          relaxBidirectional(at, to, g.weight(e), d, parent, pq);
+          if (d[to] + otherD[to] < best) {
+            best = d[to] + otherD[to];
+            meetingNode = to;
+          }
+        }
+      } else {
+        List<Edge> edges = forward ? graph.get(at) : reverseGraph.get(at);
+        for (int i = 0; i < edges.size(); i++) {
+          Edge edge = edges.get(i);
+          relaxBidirectional(at, edge.to, edge.cost, d, parent, pq);
+          if (d[edge.to] + otherD[edge.to] < best) {
+            best = d[edge.to] + otherD[edge.to];
+            meetingNode = edge.to;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  private static void relaxBidirectional(
+      int from, int to, double cost, double[] d, Integer[] parent, PriorityQueue<Node> pq) {
+    double newDist = d[from] + cost;
+    if (newDist < d[to]) {
+      parent[to] = from;
+      d[to] = newDist;
+      pq.offer(new Node(to, newDist));
+    }
+  }
+
+  // Builds the graph with every edge reversed, used by the backward half of the bidirectional
+  // search. Reversed edges keep the 'from' field as the node they are stored under.
+  private void buildReverseGraph() {
+    if (csrGraph != null) {
+      if (csrReverseGraph == null) csrReverseGraph = csrGraph.transpose();
+      return;
+    }
+    if (reverseGraph != null) return;
+    reverseGraph = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) reverseGraph.add(new ArrayList<>());
+    for (List<Edge> edges : graph) {
+      for (Edge edge : edges) {
+        reverseGraph.get(edge.to).add(new Edge(edge.to, edge.from, edge.cost));
+      }
+    }
+  }
+
   // Construct an empty graph with n nodes including the source and sink nodes.
   private void createEmptyGraph() {
     graph = new ArrayList<>(n);
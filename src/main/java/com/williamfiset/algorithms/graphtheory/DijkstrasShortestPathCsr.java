@@ -0,0 +1,254 @@
+/**
+ * An implementation of Dijkstra's shortest path algorithm on a {@link CsrGraph} which does not
+ * allocate any memory while answering queries.
+ *
+ * <p>The priority queue is an indexed d-ary heap whose keys are the tentative distances themselves,
+ * stored in a primitive double array, so improving the distance of a node in the queue is a
+ * decrease-key operation rather than the insertion of a new boxed entry. All the per query arrays
+ * (distances, predecessors, heap positions) live in a {@link Workspace} which is reused from one
+ * query to the next. Instead of clearing the whole workspace, every query only resets the nodes the
+ * previous query touched, so a short point to point query costs time proportional to the part of
+ * the graph it explores and not to the size of the graph.
+ *
+ * <p>The solver itself is immutable and can be shared between threads, as long as every thread
+ * uses its own workspace. Edge weights must be non negative.
+ *
+ * <p>Time Complexity: O(E*log_d(V)) per query, where d is the degree of the heap
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.DijkstrasShortestPathCsr
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+
+public class DijkstrasShortestPathCsr {
+
+  // Heap positions of nodes which are not in the heap.
+  private static final int ABSENT = -1, SETTLED = -2;
+
+  private final CsrGraph graph;
+  private final int heapDegree;
+
+  public DijkstrasShortestPathCsr(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    this.graph = graph;
+    // Like DijkstrasShortestPathAdjacencyListWithDHeap, match the degree of
+    // the heap to the average degree of the graph.
+    this.heapDegree = Math.max(2, graph.numEdges() / Math.max(1, graph.numNodes()));
+  }
+
+  public CsrGraph getGraph() {
+    return graph;
+  }
+
+  // Creates a workspace for running queries on this solver's graph. Each
+  // thread running queries needs its own workspace.
+  public Workspace newWorkspace() {
+    return new Workspace(graph.numNodes(), heapDegree);
+  }
+
+  /**
+   * Holds all the state of a query: distances, shortest path tree and the priority queue. The
+   * results of the last query stay readable until the workspace is used for another query.
+   */
+  public static final class Workspace {
+    private final int n, d;
+    private final double[] dist;
+    private final int[] prev;
+
+    // The heap of node indexes ordered by 'dist', and the position of every
+    // node inside of it (or ABSENT/SETTLED).
+    private final int[] heap, pos;
+    private int heapSize;
+
+    // The nodes modified by the last query, the only ones which need to be
+    // reset before the next query.
+    private final int[] touched;
+    private int touchedCount;
+
+    private int start = -1;
+
+    private Workspace(int n, int d) {
+      this.n = n;
+      this.d = d;
+      dist = new double[n];
+      prev = new int[n];
+      heap = new int[n];
+      pos = new int[n];
+      touched = new int[n];
+      Arrays.fill(dist, Double.POSITIVE_INFINITY);
+      Arrays.fill(prev, -1);
+      Arrays.fill(pos, ABSENT);
+    }
+
+    // Returns the shortest distance from the start node of the last query to
+    // node v, or infinity if v was not reached. After a point to point query
+    // only the distances of nodes settled before the end node are final.
+    public double distance(int v) {
+      return dist[v];
+    }
+
+    // Returns the node before v on the shortest path from the start node of
+    // the last query, or -1 if there is none.
+    public int previous(int v) {
+      return prev[v];
+    }
+
+    // Returns the nodes on the shortest path from the start node of the last
+    // query to 'end' inclusive, or an empty array if 'end' was not reached.
+    public int[] reconstructPath(int end) {
+      if (dist[end] == Double.POSITIVE_INFINITY) return new int[0];
+      int length = 1;
+      for (int at = end; at != start; at = prev[at]) length++;
+      int[] path = new int[length];
+      for (int at = end, i = length - 1; i >= 0; at = prev[at], i--) path[i] = at;
+      return path;
+    }
+
+    // Returns the number of nodes the last query touched.
+    public int touchedCount() {
+      return touchedCount;
+    }
+
+    private void reset(int newStart) {
+      for (int i = 0; i < touchedCount; i++) {
+        int v = touched[i];
+        dist[v] = Double.POSITIVE_INFINITY;
+        prev[v] = -1;
+        pos[v] = ABSENT;
+      }
+      touchedCount = heapSize = 0;
+      start = newStart;
+    }
+
+    private void push(int v) {
+      touched[touchedCount++] = v;
+      heap[heapSize] = v;
+      pos[v] = heapSize;
+      swim(heapSize++);
+    }
+
+    private int poll() {
+      int min = heap[0];
+      pos[min] = SETTLED;
+      if (--heapSize > 0) {
+        heap[0] = heap[heapSize];
+        pos[heap[0]] = 0;
+        sink(0);
+      }
+      return min;
+    }
+
+    // Moves the node at heap index i up until its parent is no larger.
+    private void swim(int i) {
+      int v = heap[i];
+      double key = dist[v];
+      while (i > 0) {
+        int parent = (i - 1) / d;
+        int p = heap[parent];
+        if (dist[p] <= key) break;
+        heap[i] = p;
+        pos[p] = i;
+        i = parent;
+      }
+      heap[i] = v;
+      pos[v] = i;
+    }
+
+    // Moves the node at heap index i down until none of its children is
+    // smaller.
+    private void sink(int i) {
+      int v = heap[i];
+      double key = dist[v];
+      while (true) {
+        int first = i * d + 1;
+        if (first >= heapSize) break;
+        int last = Math.min(first + d, heapSize), min = first;
+        for (int c = first + 1; c < last; c++) if (dist[heap[c]] < dist[heap[min]]) min = c;
+        if (dist[heap[min]] >= key) break;
+        heap[i] = heap[min];
+        pos[heap[i]] = i;
+        i = min;
+      }
+      heap[i] = v;
+      pos[v] = i;
+    }
+  }
+
+  // Runs Dijkstra's algorithm from 'start' and returns the shortest distance
+  // to 'end', or Double.POSITIVE_INFINITY if 'end' is unreachable. The search
+  // stops as soon as 'end' is settled.
+  public double dijkstra(int start, int end, Workspace ws) {
+    checkNode(end);
+    run(start, end, ws);
+    return ws.dist[end];
+  }
+
+  // Runs Dijkstra's algorithm from 'start' until every reachable node is
+  // settled. Read the distances from the workspace afterwards.
+  public void dijkstra(int start, Workspace ws) {
+    run(start, -1, ws);
+  }
+
+  private void run(int start, int end, Workspace ws) {
+    checkNode(start);
+    if (ws.n != graph.numNodes())
+      throw new IllegalArgumentException("Workspace was created for a different graph");
+    ws.reset(start);
+    ws.dist[start] = 0;
+    ws.push(start);
+
+    final double[] dist = ws.dist;
+    final int[] pos = ws.pos;
+    while (ws.heapSize > 0) {
+      int u = ws.poll();
+      if (u == end) return;
+
+      double du = dist[u];
+      for (int e = graph.edgeStart(u), last = graph.edgeEnd(u); e < last; e++) {
+        int v = graph.target(e);
+
+        // Settled nodes already have their shortest distance.
+        if (pos[v] == SETTLED) continue;
+
+        double newDist = du + graph.weight(e);
+        if (newDist < dist[v]) {
+          dist[v] = newDist;
+          ws.prev[v] = u;
+          if (pos[v] == ABSENT) ws.push(v);
+          else ws.swim(pos[v]);
+        }
+      }
+    }
+  }
+
+  private void checkNode(int v) {
+    if (v < 0 || v >= graph.numNodes()) throw new IllegalArgumentException("Invalid node index");
+  }
+
+  public static void main(String[] args) {
+    CsrGraph graph =
+        new CsrGraph.Builder(6)
+            .addEdge(0, 1, 5.0)
+            .addEdge(0, 2, 1.0)
+            .addEdge(1, 3, 1.0)
+            .addEdge(2, 1, 2.0)
+            .addEdge(2, 4, 10.0)
+            .addEdge(3, 4, 2.0)
+            .build();
+
+    DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(graph);
+    Workspace ws = solver.newWorkspace();
+
+    // Prints: 6.0 [0, 2, 1, 3, 4]
+    System.out.println(solver.dijkstra(0, 4, ws) + " " + Arrays.toString(ws.reconstructPath(4)));
+
+    // The same workspace answers the next query without allocating.
+    // Prints: 3.0 [1, 3, 4]
+    System.out.println(solver.dijkstra(1, 4, ws) + " " + Arrays.toString(ws.reconstructPath(4)));
+
+    // Prints: Infinity
+    System.out.println(solver.dijkstra(4, 5, ws));
+  }
+}
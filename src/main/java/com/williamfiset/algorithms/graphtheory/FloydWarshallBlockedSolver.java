@@ -0,0 +1,340 @@
+/**
+ * A blocked (tiled) and parallel implementation of the Floyd-Warshall algorithm. It finds the same
+ * all pairs shortest paths as {@link FloydWarshallSolver}, including the negative cycle propagation
+ * and the path reconstruction, but is much faster on large graphs.
+ *
+ * <p>The textbook triple loop sweeps the whole matrix once for every intermediate node k, so as
+ * soon as the matrix no longer fits in the cache every sweep reads it from main memory again. Here
+ * the matrix is stored in a single flat array and cut into square tiles of blockSize x blockSize
+ * entries. Every round handles a block of intermediate nodes at once, in three phases:
+ *
+ * <ol>
+ *   <li>The diagonal tile of the block is updated with the nodes of the block.
+ *   <li>The other tiles in the row and in the column of the diagonal tile are updated, they only
+ *       depend on themselves and on the diagonal tile.
+ *   <li>All remaining tiles are updated, tile (i, j) only depends on itself, on tile (i, k) of the
+ *       column and on tile (k, j) of the row.
+ * </ol>
+ *
+ * All the tiles of a phase are independent and are updated in parallel on a fork/join pool, and
+ * each tile update only touches three tiles which stay in the cache for blockSize iterations.
+ *
+ * <p>Since the tiles are not relaxed in the order of the textbook algorithm, copying the first hop
+ * next[i][k] along with every improvement, like it does, can leave cycles in the first hop table.
+ * The table is instead built from the final distances the first time a path is reconstructed.
+ *
+ * <p>Time Complexity: O(V^3)
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.FloydWarshallBlockedSolver
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import static java.lang.Double.NEGATIVE_INFINITY;
+import static java.lang.Double.POSITIVE_INFINITY;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+public class FloydWarshallBlockedSolver {
+
+  // Three 64 x 64 tiles of doubles take 96KB, which fits in the L2 cache of most processors.
+  static final int DEFAULT_BLOCK_SIZE = 64;
+
+  // Entries of the first hop table for pairs without a path and pairs with an infinite number of
+  // shortest paths.
+  private static final int NO_PATH = -1, REACHES_NEGATIVE_CYCLE = -2;
+
+  private final int n, blockSize, numBlocks;
+  private final ForkJoinPool pool;
+  private boolean solved;
+
+  // dp[i * n + j] is the distance from i to j and next[i * n + j] the node after i on that path,
+  // next is null until a path is reconstructed.
+  private final double[] dp;
+  private int[] next;
+
+  // A copy of the input matrix for path reconstruction, which reads it column by column.
+  private final double[] weights;
+
+  /**
+   * As input, this class takes an adjacency matrix with edge weights between nodes, where
+   * POSITIVE_INFINITY is used to indicate that two nodes are not connected, like {@link
+   * FloydWarshallSolver}.
+   */
+  public FloydWarshallBlockedSolver(double[][] matrix) {
+    this(size(matrix), flatten(matrix), DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * @param matrix - An n x n adjacency matrix in row major order, matrix[i * n + j] is the weight
+   *     of the edge from i to j. The matrix is copied.
+   * @param n - The number of nodes.
+   * @param blockSize - The number of rows and columns of a tile.
+   * @param pool - The pool updating the tiles.
+   */
+  public FloydWarshallBlockedSolver(double[] matrix, int n, int blockSize, ForkJoinPool pool) {
+    this(n, copy(matrix, n), blockSize, pool);
+  }
+
+  // Takes 'dp' over without copying it.
+  private FloydWarshallBlockedSolver(int n, double[] dp, int blockSize, ForkJoinPool pool) {
+    if (blockSize <= 0) throw new IllegalArgumentException("Invalid block size: " + blockSize);
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.n = n;
+    this.blockSize = blockSize;
+    this.numBlocks = (n + blockSize - 1) / blockSize;
+    this.pool = pool;
+
+    this.dp = dp;
+    weights = dp.clone();
+  }
+
+  private static double[] copy(double[] matrix, int n) {
+    if (matrix == null) throw new IllegalArgumentException("Matrix cannot be null");
+    if (n < 0 || (long) n * n != matrix.length) {
+      throw new IllegalArgumentException("Matrix is not " + n + " x " + n);
+    }
+    return matrix.clone();
+  }
+
+  private static int size(double[][] matrix) {
+    if (matrix == null) throw new IllegalArgumentException("Matrix cannot be null");
+    return matrix.length;
+  }
+
+  private static double[] flatten(double[][] matrix) {
+    int n = matrix.length;
+    double[] flat = new double[n * n];
+    for (int i = 0; i < n; i++) {
+      if (matrix[i].length != n) throw new IllegalArgumentException("Matrix is not square");
+      System.arraycopy(matrix[i], 0, flat, i * n, n);
+    }
+    return flat;
+  }
+
+  /**
+   * Runs Floyd-Warshall to compute the shortest distance between every pair of nodes.
+   *
+   * @return A copy of the solved All Pairs Shortest Path (APSP) matrix.
+   */
+  public double[][] getApspMatrix() {
+    solve();
+    double[][] matrix = new double[n][n];
+    for (int i = 0; i < n; i++) System.arraycopy(dp, i * n, matrix[i], 0, n);
+    return matrix;
+  }
+
+  // Returns the solved APSP matrix in row major order without copying it.
+  public double[] getFlatApspMatrix() {
+    solve();
+    return dp;
+  }
+
+  // Returns the shortest distance from 'start' to 'end'.
+  public double getDistance(int start, int end) {
+    solve();
+    return dp[start * n + end];
+  }
+
+  // Executes the blocked Floyd-Warshall algorithm.
+  public void solve() {
+    if (solved) return;
+
+    List<int[]> rowsAndColumns = new ArrayList<>(), rest = new ArrayList<>();
+    for (int kb = 0; kb < numBlocks; kb++) {
+      rowsAndColumns.clear();
+      rest.clear();
+      for (int b = 0; b < numBlocks; b++) {
+        if (b == kb) continue;
+        rowsAndColumns.add(new int[] {kb, b});
+        rowsAndColumns.add(new int[] {b, kb});
+        for (int c = 0; c < numBlocks; c++) if (c != kb) rest.add(new int[] {b, c});
+      }
+
+      updateTile(kb, kb, kb);
+      updateTiles(rowsAndColumns, kb);
+      updateTiles(rest, kb);
+    }
+
+    propagateNegativeCycles();
+    solved = true;
+  }
+
+  private void updateTiles(List<int[]> tiles, int kb) {
+    parallelFor(0, tiles.size(), t -> updateTile(tiles.get(t)[0], tiles.get(t)[1], kb));
+  }
+
+  // Relaxes the entries of tile (ib, jb) through the intermediate nodes of block kb. Skipping rows
+  // with dp[i][k] = ∞ changes nothing since ∞ + x is never smaller than dp[i][j].
+  private void updateTile(int ib, int jb, int kb) {
+    int iHi = Math.min(n, (ib + 1) * blockSize);
+    int jLo = jb * blockSize, jHi = Math.min(n, jLo + blockSize);
+    int kHi = Math.min(n, (kb + 1) * blockSize);
+    for (int k = kb * blockSize; k < kHi; k++) {
+      int kRow = k * n;
+      for (int i = ib * blockSize; i < iHi; i++) {
+        int iRow = i * n;
+        double ik = dp[iRow + k];
+        if (ik == POSITIVE_INFINITY) continue;
+        for (int j = jLo; j < jHi; j++) {
+          double d = ik + dp[kRow + j];
+          if (d < dp[iRow + j]) dp[iRow + j] = d;
+        }
+      }
+    }
+  }
+
+  // Identify negative cycles by propagating the value 'NEGATIVE_INFINITY' to every pair of nodes
+  // whose path can go through a node k with dp[k][k] < 0, one row per task. The rows of other tasks
+  // are read while they are being written, but a write only ever replaces a value other than ∞ by
+  // -∞, so the reachability tests cannot change.
+  private void propagateNegativeCycles() {
+    int count = 0;
+    int[] negative = new int[n];
+    for (int k = 0; k < n; k++) if (dp[k * n + k] < 0) negative[count++] = k;
+    if (count == 0) return;
+
+    final int numNegative = count;
+    parallelFor(
+        0,
+        n,
+        i -> {
+          int iRow = i * n;
+          for (int x = 0; x < numNegative; x++) {
+            int k = negative[x], kRow = k * n;
+            if (dp[iRow + k] == POSITIVE_INFINITY) continue;
+            for (int j = 0; j < n; j++) {
+              if (dp[kRow + j] != POSITIVE_INFINITY) dp[iRow + j] = NEGATIVE_INFINITY;
+            }
+          }
+        });
+  }
+
+  /**
+   * Reconstructs the shortest path (of nodes) from 'start' to 'end' inclusive.
+   *
+   * @return An array of nodes indexes of the shortest path from 'start' to 'end'. If 'start' and
+   *     'end' are not connected return an empty array. If the shortest path from 'start' to 'end'
+   *     are reachable by a negative cycle return null.
+   */
+  public List<Integer> reconstructShortestPath(int start, int end) {
+    solve();
+    List<Integer> path = new ArrayList<>();
+    if (dp[start * n + end] == POSITIVE_INFINITY) return path;
+    // Return null since there are an infinite number of shortest paths.
+    if (dp[start * n + end] == NEGATIVE_INFINITY) return null;
+    buildNext();
+    for (int at = start; at != end; at = next[at * n + end]) path.add(at);
+    path.add(end);
+    return path;
+  }
+
+  // Builds the first hop table from the final distances, one destination per task.
+  private void buildNext() {
+    if (next != null) return;
+    int[] table = new int[n * n];
+    parallelFor(0, n, j -> buildNextColumn(table, j));
+    next = table;
+  }
+
+  // Grows a tree of shortest paths into 'end' with Dijkstra's algorithm over the reversed edges,
+  // using the reduced costs w(i, k) + dp[k][end] - dp[i][end] which are zero on shortest paths and
+  // never negative. Every node points at a node added to the tree before it, so following the
+  // first hops cannot cycle, even through zero weight cycles, and rounding in the distances only
+  // makes some reduced costs slightly positive. Takes O(V^2) time.
+  private void buildNextColumn(int[] table, int end) {
+    double[] dist = new double[n], reduced = new double[n];
+    boolean[] done = new boolean[n];
+    for (int i = 0; i < n; i++) {
+      dist[i] = dp[i * n + end];
+      reduced[i] = POSITIVE_INFINITY;
+      table[i * n + end] = dist[i] == NEGATIVE_INFINITY ? REACHES_NEGATIVE_CYCLE : NO_PATH;
+    }
+    // Every node reaching 'end' reaches the negative cycle through it too.
+    if (dist[end] == NEGATIVE_INFINITY) return;
+
+    // The path from 'end' to itself is empty, whatever the diagonal says.
+    dist[end] = reduced[end] = 0;
+    table[end * n + end] = end;
+    while (true) {
+      int k = -1;
+      for (int v = 0; v < n; v++) {
+        if (!done[v] && reduced[v] != POSITIVE_INFINITY && (k == -1 || reduced[v] < reduced[k])) {
+          k = v;
+        }
+      }
+      if (k == -1) return;
+      done[k] = true;
+      for (int i = 0; i < n; i++) {
+        double w = weights[i * n + k];
+        if (done[i] || w == POSITIVE_INFINITY || Double.isInfinite(dist[i])) continue;
+        double r = reduced[k] + Math.max(0, w + dist[k] - dist[i]);
+        if (r < reduced[i]) {
+          reduced[i] = r;
+          table[i * n + end] = k;
+        }
+      }
+    }
+  }
+
+  // Runs body for every index in [lo, hi) on the pool.
+  private void parallelFor(int lo, int hi, IntConsumer body) {
+    if (hi - lo == 1) body.accept(lo);
+    else if (hi > lo) pool.invoke(new RangeTask(lo, hi, body));
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final IntConsumer body;
+
+    RangeTask(int lo, int hi, IntConsumer body) {
+      this.lo = lo;
+      this.hi = hi;
+      this.body = body;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo == 1) {
+        body.accept(lo);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new RangeTask(lo, mid, body), new RangeTask(mid, hi, body));
+    }
+  }
+
+  public static void main(String[] args) {
+    int n = 1500;
+    Random random = new Random(1);
+    double[][] m = FloydWarshallSolver.createGraph(n);
+    for (int i = 0; i < 8 * n; i++) m[random.nextInt(n)][random.nextInt(n)] = random.nextInt(100);
+    for (int i = 0; i < n; i++) m[i][i] = 0;
+
+    long time = System.nanoTime();
+    double[][] expected = new FloydWarshallSolver(m).getApspMatrix();
+    long textbookTime = System.nanoTime() - time;
+
+    time = System.nanoTime();
+    FloydWarshallBlockedSolver solver = new FloydWarshallBlockedSolver(m);
+    double[][] dist = solver.getApspMatrix();
+    long blockedTime = System.nanoTime() - time;
+
+    for (int i = 0; i < n; i++)
+      for (int j = 0; j < n; j++)
+        if (dist[i][j] != expected[i][j]) System.out.printf("ERROR: %d -> %d%n", i, j);
+
+    System.out.printf(
+        "Textbook Floyd-Warshall took %d ms, blocked on %d threads took %d ms%n",
+        textbookTime / 1_000_000,
+        ForkJoinPool.commonPool().getParallelism(),
+        blockedTime / 1_000_000);
+    System.out.println("The shortest path from 0 to 1 is " + solver.reconstructShortestPath(0, 1));
+  }
+}
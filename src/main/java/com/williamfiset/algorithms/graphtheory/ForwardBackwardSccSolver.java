@@ -0,0 +1,441 @@
+/**
+ * A parallel strongly connected components solver for {@link CsrGraph}s based on forward-backward
+ * reachability (Fleischer, Hendrickson and Pinar) with trimming (McLendon et al.).
+ *
+ * <p>The nodes are split into partitions identified by a color, and no SCC ever spans two
+ * partitions. Each partition is solved by a fork/join task in three steps:
+ *
+ * <ol>
+ *   <li>Trim: a node without incoming or without outgoing edges inside the partition is an SCC on
+ *       its own. Removing it can expose more such nodes, so trimming peels the partition layer by
+ *       layer, which disposes of long chains and tree like parts without any search.
+ *   <li>Pick a random pivot and find the nodes it reaches (forward) and the nodes reaching it
+ *       (backward). The nodes found by both searches form the SCC of the pivot.
+ *   <li>Recolor the nodes found only by the forward search, only by the backward search and by
+ *       neither search into three new partitions, which are solved in parallel. An SCC cannot
+ *       contain nodes of two of them.
+ * </ol>
+ *
+ * The trimming layers and the levels of the searches are expanded in parallel as well, which keeps
+ * all the cores busy while the first partitions are still large. Small partitions are handed to
+ * {@link TarjanSccSolverAdjacencyList}.
+ *
+ * <p>The SCCs are numbered like the ones of {@link TarjanSccSolverAdjacencyList}, in reverse
+ * topological order of the condensation: every edge between two SCCs goes from a higher to a lower
+ * id. Since the SCCs are found in a different order the ids themselves can differ from Tarjan's,
+ * but they do not depend on the scheduling of the tasks.
+ *
+ * <p>Time Complexity: O(V + E) for trimming, and O((V + E) log(V)) expected for the searches on
+ * most graphs, O(V(V + E)) in the worst case.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.ForwardBackwardSccSolver
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+public class ForwardBackwardSccSolver {
+
+  // Partitions with at most this many nodes are solved with Tarjan's algorithm.
+  static final int SEQUENTIAL_CUTOFF = 1 << 12;
+
+  // Frontiers and ranges of nodes smaller than this are processed on the current thread.
+  static final int PARALLEL_CUTOFF = 1 << 10;
+
+  // The color of nodes whose SCC is known, and a color no node ever has.
+  private static final int DONE = -1, NONE = Integer.MIN_VALUE;
+
+  private final int n;
+  private final CsrGraph graph;
+  private final ForkJoinPool pool;
+
+  private boolean solved;
+  private int sccCount;
+  private int[] sccs;
+
+  // Per node state while solving. Partitions never share nodes, so the tasks of different
+  // partitions never touch the same entries. Colors are never reused, so a node of another
+  // partition can never be mistaken for one of the current partition.
+  private CsrGraph reverse;
+  private AtomicIntegerArray color, inDegree, outDegree;
+  private AtomicInteger nextColor;
+
+  // The SCC of every node is first identified by one of its nodes.
+  private int[] representative;
+
+  // Scratch space for Tarjan's algorithm, the index of each node in its partition.
+  private int[] local;
+
+  public ForwardBackwardSccSolver(List<List<Integer>> graph) {
+    this(CsrGraph.fromAdjacencyList(graph), ForkJoinPool.commonPool());
+  }
+
+  public ForwardBackwardSccSolver(CsrGraph graph) {
+    this(graph, ForkJoinPool.commonPool());
+  }
+
+  public ForwardBackwardSccSolver(CsrGraph graph, ForkJoinPool pool) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null.");
+    this.n = graph.numNodes();
+    this.graph = graph;
+    this.pool = pool;
+  }
+
+  // Returns the number of strongly connected components in the graph.
+  public int sccCount() {
+    if (!solved) solve();
+    return sccCount;
+  }
+
+  // Get the connected components of this graph. If two indexes
+  // have the same value then they're in the same SCC.
+  public int[] getSccs() {
+    if (!solved) solve();
+    return sccs;
+  }
+
+  /**
+   * Returns the condensation of the graph, the DAG with one node per SCC, see {@link
+   * TarjanSccSolverAdjacencyList#condensation()}. Visiting the SCCs by decreasing id is a
+   * topological order.
+   */
+  public CsrGraph condensation() {
+    if (!solved) solve();
+    return TarjanSccSolverAdjacencyList.condensation(graph, sccs, sccCount);
+  }
+
+  public void solve() {
+    if (solved) return;
+    reverse = graph.transpose();
+    color = new AtomicIntegerArray(n);
+    inDegree = new AtomicIntegerArray(n);
+    outDegree = new AtomicIntegerArray(n);
+    nextColor = new AtomicInteger(1);
+    representative = new int[n];
+    local = new int[n];
+
+    int[] nodes = new int[n];
+    for (int i = 0; i < n; i++) nodes[i] = i;
+    if (n > 0) pool.invoke(new PartitionTask(0, nodes));
+
+    number();
+    reverse = null;
+    color = inDegree = outDegree = null;
+    representative = local = null;
+    solved = true;
+  }
+
+  // Turns the representatives into SCC ids in reverse topological order. The SCCs are first
+  // numbered by their smallest node, which does not depend on the random pivots, then Tarjan's
+  // algorithm numbers the condensation.
+  private void number() {
+    int[] id = new int[n];
+    Arrays.fill(id, -1);
+    for (int u = 0; u < n; u++) if (id[representative[u]] == -1) id[representative[u]] = sccCount++;
+    sccs = new int[n];
+    for (int u = 0; u < n; u++) sccs[u] = id[representative[u]];
+    CsrGraph dag = TarjanSccSolverAdjacencyList.condensation(graph, sccs, sccCount);
+    int[] order = TarjanSccSolverAdjacencyList.fromCsr(dag).getSccs();
+    for (int u = 0; u < n; u++) sccs[u] = order[sccs[u]];
+  }
+
+  private final class PartitionTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int c;
+    final int[] nodes;
+
+    PartitionTask(int c, int[] nodes) {
+      this.c = c;
+      this.nodes = nodes;
+    }
+
+    @Override
+    protected void compute() {
+      if (nodes.length <= SEQUENTIAL_CUTOFF) {
+        solveSequentially(c, nodes);
+        return;
+      }
+      int[] rest = trim(c, nodes);
+      if (rest.length <= SEQUENTIAL_CUTOFF) {
+        solveSequentially(c, rest);
+        return;
+      }
+
+      int pivot = rest[ThreadLocalRandom.current().nextInt(rest.length)];
+      int forward = nextColor.getAndIncrement();
+      int backward = nextColor.getAndIncrement();
+      int scc = nextColor.getAndIncrement();
+
+      // Forward search: nodes reached from the pivot move to the forward color. Backward search:
+      // nodes of the forward color reaching the pivot are in its SCC, the others move to the
+      // backward color.
+      color.set(pivot, forward);
+      search(graph, pivot, c, forward, NONE, NONE);
+      color.set(pivot, scc);
+      search(reverse, pivot, forward, scc, c, backward);
+
+      IntArray forwardNodes = new IntArray(), backwardNodes = new IntArray();
+      IntArray remaining = new IntArray();
+      for (int u : rest) {
+        int cu = color.get(u);
+        if (cu == scc) {
+          representative[u] = pivot;
+          color.set(u, DONE);
+        } else if (cu == forward) {
+          forwardNodes.add(u);
+        } else if (cu == backward) {
+          backwardNodes.add(u);
+        } else {
+          remaining.add(u);
+        }
+      }
+      invokeAll(
+          new PartitionTask(forward, forwardNodes.toArray()),
+          new PartitionTask(backward, backwardNodes.toArray()),
+          new PartitionTask(c, remaining.toArray()));
+    }
+  }
+
+  // Removes the nodes of partition c which have no incoming or no outgoing edges within the
+  // partition, repeatedly, and returns the nodes left.
+  private int[] trim(int c, int[] nodes) {
+    // Count all the degrees before removing any node, so every removal is subtracted once.
+    parallelFor(
+        nodes.length,
+        i -> {
+          int u = nodes[i];
+          inDegree.set(u, countPartitionEdges(reverse, u, c));
+          outDegree.set(u, countPartitionEdges(graph, u, c));
+        });
+    IntArray frontier = new IntArray();
+    for (int u : nodes) {
+      if (inDegree.get(u) == 0 || outDegree.get(u) == 0) {
+        color.set(u, DONE);
+        representative[u] = u;
+        frontier.add(u);
+      }
+    }
+
+    // Removing u takes an incoming edge away from its successors and an outgoing edge away from
+    // its predecessors.
+    while (frontier.size > 0) {
+      frontier =
+          expand(
+              frontier,
+              (u, next) -> {
+                peel(graph, u, c, inDegree, next);
+                peel(reverse, u, c, outDegree, next);
+              });
+    }
+
+    IntArray rest = new IntArray();
+    for (int u : nodes) if (color.get(u) == c) rest.add(u);
+    return rest.toArray();
+  }
+
+  // Counts the edges of u in g to other nodes of partition c.
+  private int countPartitionEdges(CsrGraph g, int u, int c) {
+    int count = 0;
+    for (int e = g.edgeStart(u); e < g.edgeEnd(u); e++) {
+      int v = g.target(e);
+      if (v != u && color.get(v) == c) count++;
+    }
+    return count;
+  }
+
+  private void peel(CsrGraph g, int u, int c, AtomicIntegerArray degree, IntArray next) {
+    for (int e = g.edgeStart(u); e < g.edgeEnd(u); e++) {
+      int v = g.target(e);
+      if (v == u || color.get(v) != c) continue;
+      if (degree.decrementAndGet(v) == 0 && color.compareAndSet(v, c, DONE)) {
+        representative[v] = v;
+        next.add(v);
+      }
+    }
+  }
+
+  // A level synchronous search in g from 'start', which already has its new color. The search
+  // enters nodes of color fromA or fromB and changes their color to toA or toB respectively.
+  private void search(CsrGraph g, int start, int fromA, int toA, int fromB, int toB) {
+    IntArray frontier = new IntArray();
+    frontier.add(start);
+    while (frontier.size > 0) {
+      frontier =
+          expand(
+              frontier,
+              (u, next) -> {
+                for (int e = g.edgeStart(u); e < g.edgeEnd(u); e++) {
+                  int v = g.target(e);
+                  int cv = color.get(v);
+                  if (cv == fromA && color.compareAndSet(v, fromA, toA)) next.add(v);
+                  else if (cv == fromB && color.compareAndSet(v, fromB, toB)) next.add(v);
+                }
+              });
+    }
+  }
+
+  // Solves partition c with Tarjan's algorithm on the subgraph induced by its nodes.
+  private void solveSequentially(int c, int[] nodes) {
+    for (int i = 0; i < nodes.length; i++) local[nodes[i]] = i;
+    CsrGraph.Builder builder = new CsrGraph.Builder(nodes.length);
+    for (int i = 0; i < nodes.length; i++) {
+      int u = nodes[i];
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        int v = graph.target(e);
+        if (color.get(v) == c) builder.addEdge(i, local[v]);
+      }
+    }
+    TarjanSccSolverAdjacencyList tarjan = TarjanSccSolverAdjacencyList.fromCsr(builder.build());
+    int[] ids = tarjan.getSccs();
+    int[] first = new int[tarjan.sccCount()];
+    Arrays.fill(first, -1);
+    for (int i = 0; i < nodes.length; i++) {
+      if (first[ids[i]] == -1) first[ids[i]] = nodes[i];
+      representative[nodes[i]] = first[ids[i]];
+    }
+    for (int u : nodes) color.set(u, DONE);
+  }
+
+  // Visits the nodes of one level, collecting the nodes of the next level.
+  @FunctionalInterface
+  private interface Visitor {
+    void visit(int u, IntArray next);
+  }
+
+  private IntArray expand(IntArray frontier, Visitor visitor) {
+    if (frontier.size <= PARALLEL_CUTOFF) return expand(frontier, 0, frontier.size, visitor);
+    return new ExpandTask(frontier, 0, frontier.size, visitor).invoke();
+  }
+
+  private static IntArray expand(IntArray frontier, int lo, int hi, Visitor visitor) {
+    IntArray next = new IntArray();
+    for (int i = lo; i < hi; i++) visitor.visit(frontier.values[i], next);
+    return next;
+  }
+
+  private static final class ExpandTask extends RecursiveTask<IntArray> {
+    private static final long serialVersionUID = 1L;
+
+    final IntArray frontier;
+    final int lo, hi;
+    final Visitor visitor;
+
+    ExpandTask(IntArray frontier, int lo, int hi, Visitor visitor) {
+      this.frontier = frontier;
+      this.lo = lo;
+      this.hi = hi;
+      this.visitor = visitor;
+    }
+
+    @Override
+    protected IntArray compute() {
+      if (hi - lo <= PARALLEL_CUTOFF) return expand(frontier, lo, hi, visitor);
+      int mid = (lo + hi) >>> 1;
+      ExpandTask left = new ExpandTask(frontier, lo, mid, visitor);
+      left.fork();
+      IntArray right = new ExpandTask(frontier, mid, hi, visitor).compute();
+      return left.join().addAll(right);
+    }
+  }
+
+  // Runs body for every index in [0, size), in parallel for large ranges.
+  private static void parallelFor(int size, IntConsumer body) {
+    new RangeTask(0, size, body).invoke();
+  }
+
+  private static final class RangeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final IntConsumer body;
+
+    RangeTask(int lo, int hi, IntConsumer body) {
+      this.lo = lo;
+      this.hi = hi;
+      this.body = body;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo <= PARALLEL_CUTOFF) {
+        for (int i = lo; i < hi; i++) body.accept(i);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new RangeTask(lo, mid, body), new RangeTask(mid, hi, body));
+    }
+  }
+
+  // A growable int array.
+  private static final class IntArray {
+    int[] values;
+    int size;
+
+    IntArray() {
+      values = new int[16];
+    }
+
+    void add(int value) {
+      if (size == values.length) values = Arrays.copyOf(values, 2 * size);
+      values[size++] = value;
+    }
+
+    IntArray addAll(IntArray other) {
+      if (size + other.size > values.length) {
+        values = Arrays.copyOf(values, Math.max(2 * values.length, size + other.size));
+      }
+      System.arraycopy(other.values, 0, values, size, other.size);
+      size += other.size;
+      return this;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+
+  public static void main(String[] args) {
+    // A random graph with a giant SCC, plus a long chain of small cycles hanging off it.
+    int n = 1_000_000, m = 3 * n;
+    Random random = new Random(1);
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    int half = n / 2;
+    for (int i = 0; i < m; i++) builder.addEdge(random.nextInt(half), random.nextInt(half));
+    for (int u = half; u + 1 < n; u++) {
+      builder.addEdge(u, u + 1);
+      if (u % 3 == 0) builder.addEdge(u + 1, u);
+    }
+    builder.addEdge(0, half);
+    CsrGraph graph = builder.build();
+
+    long time = System.nanoTime();
+    ForwardBackwardSccSolver solver = new ForwardBackwardSccSolver(graph);
+    int count = solver.sccCount();
+    time = System.nanoTime() - time;
+
+    long tarjanTime = System.nanoTime();
+    TarjanSccSolverAdjacencyList tarjan = TarjanSccSolverAdjacencyList.fromCsr(graph);
+    int tarjanCount = tarjan.sccCount();
+    tarjanTime = System.nanoTime() - tarjanTime;
+
+    if (count != tarjanCount) System.out.println("ERROR: " + count + " != " + tarjanCount);
+    System.out.printf(
+        "Found %d SCCs in %d ms on %d threads, Tarjan's algorithm took %d ms%n",
+        count,
+        time / 1_000_000,
+        ForkJoinPool.commonPool().getParallelism(),
+        tarjanTime / 1_000_000);
+  }
+}
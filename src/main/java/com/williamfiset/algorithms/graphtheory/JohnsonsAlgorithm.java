@@ -0,0 +1,232 @@
+/**
+ * Johnson's algorithm finds the shortest paths between all pairs of nodes of a sparse graph which
+ * may have negative edge weights.
+ *
+ * <p>A new node is connected to every node with an edge of cost 0 and one run of Bellman-Ford from
+ * it gives every node v a potential h(v), the length of the shortest path to v. By the triangle
+ * inequality every edge (u, v) then has a non negative reduced cost w(u, v) + h(u) - h(v), and the
+ * reduced cost of a path from s to t is its cost plus h(s) - h(t), so shortest paths do not change.
+ * Dijkstra's algorithm is then run from every node on the reweighted graph. The searches are
+ * independent and run in parallel on a fork/join pool, each worker with its own reusable {@link
+ * DijkstrasShortestPathCsr.Workspace}.
+ *
+ * <p>The V x V distance matrix of a large graph does not fit in memory, so instead of calling
+ * {@link #getApspMatrix()} the rows can be handed one at a time to a {@link RowSink} with {@link
+ * #forEachRow(RowSink)}, which only keeps one row per worker alive.
+ *
+ * <p>Johnson's algorithm has no meaningful answer when the graph has a negative cycle, which is
+ * reported by {@link #hasNegativeCycle()}. Use {@link FloydWarshallSolver} on such graphs.
+ *
+ * <p>Time Complexity: O(VE*log(V)), which beats the O(V^3) of Floyd-Warshall on sparse graphs
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=graphtheory.JohnsonsAlgorithm
+ */
+package com.williamfiset.algorithms.graphtheory;
+
+import com.williamfiset.algorithms.graphtheory.BellmanFordAdjacencyList.Edge;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class JohnsonsAlgorithm {
+
+  /** Receives the shortest distances from one source node to every node. */
+  @FunctionalInterface
+  public interface RowSink {
+    /**
+     * Called once for every source node, concurrently from several threads and in no particular
+     * order. The array is reused for another row once the call returns, so copy it to keep it.
+     *
+     * @param source - The source node of the row.
+     * @param dist - dist[t] is the shortest distance from source to t, or Double.POSITIVE_INFINITY
+     *     if t cannot be reached.
+     */
+    void accept(int source, double[] dist);
+  }
+
+  private final int n;
+  private final ForkJoinPool pool;
+
+  // The potential of every node, null if the graph has a negative cycle.
+  private final double[] potential;
+
+  // The graph with the reduced edge costs.
+  private final DijkstrasShortestPathCsr dijkstra;
+
+  // The number of sources each task handles, enough to amortize the creation of its workspace.
+  private final int grain;
+
+  /**
+   * @param graph - An adjacency list created with {@link BellmanFordAdjacencyList#createGraph}.
+   * @param V - The number of vertices in the graph.
+   */
+  public JohnsonsAlgorithm(List<Edge>[] graph, int V) {
+    this(graph, V, ForkJoinPool.commonPool());
+  }
+
+  public JohnsonsAlgorithm(List<Edge>[] graph, int V, ForkJoinPool pool) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null");
+    if (V != graph.length) throw new IllegalArgumentException("Graph does not have V vertices");
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.n = V;
+    this.pool = pool;
+    this.grain = Math.max(1, V / (8 * pool.getParallelism()));
+
+    // Bellman-Ford from an extra node V with an edge of cost 0 to every node.
+    List<Edge>[] augmented = Arrays.copyOf(graph, V + 1);
+    augmented[V] = new ArrayList<>(V);
+    for (int v = 0; v < V; v++) BellmanFordAdjacencyList.addEdge(augmented, V, v, 0);
+    double[] h = BellmanFordAdjacencyList.spfa(augmented, V + 1, V);
+
+    boolean negativeCycle = false;
+    for (int v = 0; v < V; v++) negativeCycle |= h[v] == Double.NEGATIVE_INFINITY;
+    if (negativeCycle) {
+      potential = null;
+      dijkstra = null;
+      return;
+    }
+    potential = Arrays.copyOf(h, V);
+
+    CsrGraph.Builder builder = new CsrGraph.Builder(V);
+    for (int u = 0; u < V; u++) {
+      for (Edge edge : graph[u]) {
+        // Clamp rounding errors, the reduced costs are never negative.
+        double cost = Math.max(0, edge.cost + potential[edge.from] - potential[edge.to]);
+        builder.addEdge(edge.from, edge.to, cost);
+      }
+    }
+    dijkstra = new DijkstrasShortestPathCsr(builder.build());
+  }
+
+  // Returns true if the graph has a negative cycle, in which case no query can be answered.
+  public boolean hasNegativeCycle() {
+    return potential == null;
+  }
+
+  /**
+   * Finds the shortest distance from 'source' to every node.
+   *
+   * @return The distances, Double.POSITIVE_INFINITY for nodes which cannot be reached.
+   */
+  public double[] shortestPaths(int source) {
+    checkNoNegativeCycle();
+    if (source < 0 || source >= n) throw new IllegalArgumentException("Invalid node index");
+    double[] row = new double[n];
+    solveRow(source, dijkstra.newWorkspace(), row);
+    return row;
+  }
+
+  /**
+   * Computes the shortest distance between every pair of nodes. This takes 8 * V^2 bytes, use
+   * {@link #forEachRow(RowSink)} on large graphs.
+   */
+  public double[][] getApspMatrix() {
+    double[][] matrix = new double[n][];
+    forEachRow((source, dist) -> matrix[source] = dist.clone());
+    return matrix;
+  }
+
+  /**
+   * Runs Dijkstra's algorithm from every node in parallel and hands each row of distances to the
+   * sink as soon as it is computed. The sink must be thread safe. Returns once all rows were
+   * handed to the sink.
+   */
+  public void forEachRow(RowSink sink) {
+    checkNoNegativeCycle();
+    if (sink == null) throw new IllegalArgumentException("Sink cannot be null");
+    if (n > 0) pool.invoke(new RowTask(0, n, sink));
+  }
+
+  private void checkNoNegativeCycle() {
+    if (hasNegativeCycle()) throw new IllegalStateException("Graph contains a negative cycle");
+  }
+
+  // Computes the distances from 'source' into 'row', undoing the reweighting.
+  private void solveRow(int source, DijkstrasShortestPathCsr.Workspace ws, double[] row) {
+    dijkstra.dijkstra(source, ws);
+    double hs = potential[source];
+    for (int t = 0; t < n; t++) {
+      double d = ws.distance(t);
+      row[t] = d == Double.POSITIVE_INFINITY ? d : d - hs + potential[t];
+    }
+  }
+
+  private final class RowTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int lo, hi;
+    final RowSink sink;
+
+    RowTask(int lo, int hi, RowSink sink) {
+      this.lo = lo;
+      this.hi = hi;
+      this.sink = sink;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > grain) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new RowTask(lo, mid, sink), new RowTask(mid, hi, sink));
+        return;
+      }
+      DijkstrasShortestPathCsr.Workspace ws = dijkstra.newWorkspace();
+      double[] row = new double[n];
+      for (int source = lo; source < hi; source++) {
+        solveRow(source, ws, row);
+        sink.accept(source, row);
+      }
+    }
+  }
+
+  public static void main(String[] args) {
+    int V = 2000, E = 8 * V;
+    Random random = new Random(1);
+    List<Edge>[] graph = BellmanFordAdjacencyList.createGraph(V);
+    double[][] matrix = FloydWarshallSolver.createGraph(V);
+
+    // Shifting non negative costs by the difference of random node heights creates negative edges
+    // but no negative cycle, since the heights cancel out around every cycle.
+    int[] height = new int[V];
+    for (int v = 0; v < V; v++) height[v] = random.nextInt(50);
+    for (int i = 0; i < E; i++) {
+      int u = random.nextInt(V), v = random.nextInt(V);
+      if (u == v) continue;
+      double cost = random.nextInt(100) + height[u] - height[v];
+      BellmanFordAdjacencyList.addEdge(graph, u, v, cost);
+      matrix[u][v] = Math.min(matrix[u][v], cost);
+    }
+
+    long time = System.nanoTime();
+    JohnsonsAlgorithm johnson = new JohnsonsAlgorithm(graph, V);
+    double[][] dist = johnson.getApspMatrix();
+    long johnsonTime = System.nanoTime() - time;
+
+    time = System.nanoTime();
+    double[][] expected = new FloydWarshallBlockedSolver(matrix).getApspMatrix();
+    long floydWarshallTime = System.nanoTime() - time;
+
+    for (int i = 0; i < V; i++)
+      for (int j = 0; j < V; j++)
+        if (dist[i][j] != expected[i][j]) System.out.printf("ERROR: %d -> %d%n", i, j);
+
+    // Streams the rows without ever holding the whole matrix.
+    AtomicLong reachable = new AtomicLong();
+    johnson.forEachRow(
+        (source, row) -> {
+          long count = 0;
+          for (double d : row) if (d != Double.POSITIVE_INFINITY) count++;
+          reachable.addAndGet(count);
+        });
+
+    System.out.printf(
+        "Johnson's algorithm took %d ms, blocked Floyd-Warshall took %d ms%n",
+        johnsonTime / 1_000_000, floydWarshallTime / 1_000_000);
+    System.out.printf("%d of the %d pairs of nodes are connected%n", reachable.get(), (long) V * V);
+  }
+}
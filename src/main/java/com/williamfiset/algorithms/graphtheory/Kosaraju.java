@@ -1,6 +1,9 @@
 /**
  * Implementation of Kosaraju's SCC algorithm
  *
+ * <p>Both depth first searches keep their own stack of nodes in an int array instead of recursing,
+ * so graphs with paths of millions of nodes can be solved on a thread with the default stack size.
+ *
  * <p>Verified against:
  *
  * <ul>
@@ -12,6 +15,7 @@
  */
 package com.williamfiset.algorithms.graphtheory;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class Kosaraju {
@@ -23,17 +27,35 @@ public class Kosaraju {
   private boolean[] visited;
 
   // The post order forest traversal of the original graph resulting from the first DFS.
-  private List<Integer> postOrderTraversal;
+  private int[] postOrderTraversal;
+  private int postOrderSize;
+
+  // The nodes whose DFS has not returned yet, standing in for the call stack of a recursive DFS,
+  // and the index of the next outgoing edge each of them will follow.
+  private int[] callStack, nextEdge;
 
-  private List<List<Integer>> graph;
-  private List<List<Integer>> transposeGraph;
+  // Exactly one of the two is set, depending on the format the graph was given in.
+  private List<List<Integer>> adjacencyList;
+  private CsrGraph graph;
+  private CsrGraph transposeGraph;
 
   public Kosaraju(List<List<Integer>> graph) {
     if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
-    this.graph = graph;
+    this.adjacencyList = graph;
     n = graph.size();
   }
 
+  private Kosaraju(CsrGraph graph) {
+    this.graph = graph;
+    n = graph.numNodes();
+  }
+
+  // Creates a solver for a graph in the CSR format.
+  public static Kosaraju fromCsr(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    return new Kosaraju(graph);
+  }
+
   // Returns the number of strongly connected components in the graph.
   public int sccCount() {
     if (!solved) solve();
@@ -47,64 +69,90 @@ public class Kosaraju {
     return sccs;
   }
 
+  /**
+   * Returns the condensation of the graph: the DAG with one node per SCC and an edge from SCC a to
+   * SCC b whenever some edge of the graph goes from a node of a to a node of b. Kosaraju's
+   * algorithm finds an SCC only after all the SCCs which reach it, so every edge goes from a lower
+   * to a higher SCC id and visiting the SCCs by increasing id is a topological order.
+   */
+  public CsrGraph condensation() {
+    if (!solved) solve();
+    CsrGraph g = graph != null ? graph : CsrGraph.fromAdjacencyList(adjacencyList);
+    return TarjanSccSolverAdjacencyList.condensation(g, sccs, sccCount);
+  }
+
   private void solve() {
     sccCount = 0;
     sccs = new int[n];
     visited = new boolean[n];
-    postOrderTraversal = new ArrayList<>();
+    postOrderTraversal = new int[n];
+    callStack = new int[n];
+    nextEdge = new int[n];
 
     for (int i = 0; i < n; i++) {
-      dfs1(i);
+      if (!visited[i]) dfs(graph, i, true);
     }
 
     Arrays.fill(visited, false);
-    createTransposeGraph();
-
-    // Reverse the post order traversal to make iterating through it
-    // in the next step more intuitive.
-    Collections.reverse(postOrderTraversal);
+    transposeGraph = graph != null ? graph.transpose() : transpose(adjacencyList);
 
-    for (int node : postOrderTraversal) {
+    // Iterate through the post order traversal in reverse.
+    for (int i = postOrderSize - 1; i >= 0; i--) {
+      int node = postOrderTraversal[i];
       if (!visited[node]) {
-        dfs2(node);
+        dfs(transposeGraph, node, false);
         sccCount++;
       }
     }
 
+    postOrderTraversal = callStack = nextEdge = null;
     solved = true;
   }
 
-  // Traverse the original graph and add nodes to the post order traversal on the callback.
-  private void dfs1(int from) {
-    if (visited[from]) {
-      return;
-    }
-    visited[from] = true;
-    for (int to : graph.get(from)) {
-      dfs1(to);
+  // Traverses the graph from 'start' with an explicit call stack, so deep graphs cannot overflow
+  // the thread's stack. The first pass traverses the original graph and adds nodes to the post
+  // order traversal on the callback, the second pass traverses the transpose graph and labels all
+  // the encountered nodes as part of the same SCC. A null 'g' stands for the adjacency list.
+  private void dfs(CsrGraph g, int start, boolean firstPass) {
+    int depth = 0;
+    visited[start] = true;
+    nextEdge[start] = 0;
+    callStack[depth++] = start;
+
+    while (depth > 0) {
+      int at = callStack[depth - 1];
+      if (nextEdge[at] < degree(g, at)) {
+        int to = target(g, at, nextEdge[at]++);
+        if (!visited[to]) {
+          visited[to] = true;
+          nextEdge[to] = 0;
+          callStack[depth++] = to;
+        }
+        continue;
+      }
+      depth--;
+      if (firstPass) postOrderTraversal[postOrderSize++] = at;
+      else sccs[at] = sccCount;
     }
-    postOrderTraversal.add(from);
   }
 
-  // Traverse the transverse graph and label all the encountered nodes as part of the sane SCC.
-  private void dfs2(int from) {
-    if (visited[from]) {
-      return;
-    }
-    visited[from] = true;
-    for (int to : transposeGraph.get(from)) {
-      dfs2(to);
-    }
-    sccs[from] = sccCount;
+  // The number of edges out of node 'at' and the target of the i-th one, read from the adjacency
+  // list when 'g' is null so it does not have to be copied.
+  private int degree(CsrGraph g, int at) {
+    return g != null ? g.degree(at) : adjacencyList.get(at).size();
   }
 
-  private void createTransposeGraph() {
-    transposeGraph = createGraph(n);
-    for (int u = 0; u < n; u++) {
-      for (int v : graph.get(u)) {
-        addEdge(transposeGraph, v, u);
-      }
+  private int target(CsrGraph g, int at, int i) {
+    return g != null ? g.target(g.edgeStart(at) + i) : adjacencyList.get(at).get(i);
+  }
+
+  // Builds the transpose of an adjacency list graph directly in the CSR format.
+  private static CsrGraph transpose(List<List<Integer>> graph) {
+    CsrGraph.Builder builder = new CsrGraph.Builder(graph.size());
+    for (int u = 0; u < graph.size(); u++) {
+      for (int v : graph.get(u)) builder.addEdge(v, u);
     }
+    return builder.build();
   }
 
   // Initializes adjacency list with n nodes.
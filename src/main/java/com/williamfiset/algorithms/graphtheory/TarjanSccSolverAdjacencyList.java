@@ -1,6 +1,9 @@
 /**
  * An implementation of Tarjan's Strongly Connected Components algorithm using an adjacency list.
  *
+ * <p>The depth first search keeps its own stack of nodes in an int array instead of recursing, so
+ * graphs with paths of millions of nodes can be solved on a thread with the default stack size.
+ *
  * <p>Verified against:
  *
  * <ul>
@@ -17,27 +20,49 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static java.lang.Math.min;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 
 public class TarjanSccSolverAdjacencyList {
 
   private int n;
-  private List<List<Integer>> graph;
+
+  // Exactly one of the two is set, depending on the format the graph was given in.
+  private List<List<Integer>> adjacencyList;
+  private CsrGraph graph;
 
   private boolean solved;
   private int sccCount, id;
-  private boolean[] visited;
+  private boolean[] onStack;
   private int[] ids, low, sccs;
-  private Deque<Integer> stack;
+
+  // The nodes visited but not yet assigned to an SCC, and its size.
+  private int[] stack;
+  private int stackSize;
+
+  // The nodes whose DFS has not returned yet, standing in for the call stack of a recursive DFS,
+  // and the index of the next outgoing edge each of them will follow.
+  private int[] callStack, nextEdge;
 
   private static final int UNVISITED = -1;
 
   public TarjanSccSolverAdjacencyList(List<List<Integer>> graph) {
     if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
     n = graph.size();
+    this.adjacencyList = graph;
+  }
+
+  private TarjanSccSolverAdjacencyList(CsrGraph graph) {
+    n = graph.numNodes();
     this.graph = graph;
   }
 
+  // Creates a solver for a graph in the CSR format.
+  public static TarjanSccSolverAdjacencyList fromCsr(CsrGraph graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    return new TarjanSccSolverAdjacencyList(graph);
+  }
+
   // Returns the number of strongly connected components in the graph.
   public int sccCount() {
     if (!solved) solve();
@@ -51,14 +76,28 @@ public class TarjanSccSolverAdjacencyList {
     return sccs;
   }
 
+  /**
+   * Returns the condensation of the graph: the DAG with one node per SCC and an edge from SCC a to
+   * SCC b whenever some edge of the graph goes from a node of a to a node of b. Tarjan's algorithm
+   * finds an SCC only after all the SCCs it reaches, so every edge goes from a higher to a lower
+   * SCC id and visiting the SCCs by decreasing id is a topological order.
+   */
+  public CsrGraph condensation() {
+    if (!solved) solve();
+    CsrGraph g = graph != null ? graph : CsrGraph.fromAdjacencyList(adjacencyList);
+    return condensation(g, sccs, sccCount);
+  }
+
   public void solve() {
     if (solved) return;
 
     ids = new int[n];
     low = new int[n];
     sccs = new int[n];
-    visited = new boolean[n];
-    stack = new ArrayDeque<>();
+    onStack = new boolean[n];
+    stack = new int[n];
+    callStack = new int[n];
+    nextEdge = new int[n];
     Arrays.fill(ids, UNVISITED);
 
     for (int i = 0; i < n; i++) {
@@ -67,48 +106,110 @@ public class TarjanSccSolverAdjacencyList {
       }
     }
 
+    stack = callStack = nextEdge = null;
     solved = true;
   }
 
-  private void dfs(int at) {
-    ids[at] = low[at] = id++;
-    stack.push(at);
-    visited[at] = true;
+  // A depth first search from 'start' with an explicit call stack, so deep graphs cannot overflow
+  // the thread's stack. It visits the nodes and edges in the same order as the recursive version.
+  private void dfs(int start) {
+    int depth = 0;
+    visit(start);
+    callStack[depth++] = start;
 
-    for (int to : graph.get(at)) {
-      if (ids[to] == UNVISITED) {
-        dfs(to);
-      }
-      if (visited[to]) {
-        low[at] = min(low[at], low[to]);
+    while (depth > 0) {
+      int at = callStack[depth - 1];
+      int e = nextEdge[at];
+      if (e < degree(at)) {
+        int to = target(at, e);
+        if (ids[to] == UNVISITED) {
+          // Descend and come back to the same edge once 'to' is done.
+          visit(to);
+          callStack[depth++] = to;
+          continue;
+        }
+        if (onStack[to]) {
+          low[at] = min(low[at], low[to]);
+        }
+        /*
+         TODO(william): investigate whether the proper way to update the lowlinks
+         is the following bit of code. From my experience this doesn't seem to
+         matter if the output is placed in a separate output array, but this needs
+         further investigation.
+
+         if (ids[to] == UNVISITED) {
+           dfs(to);
+           low[at] = min(low[at], low[to]);
+         }
+         if (visited[to]) {
+           low[at] = min(low[at], ids[to]);
+         }
+        */
+        nextEdge[at] = e + 1;
+        continue;
       }
-      /*
-       TODO(william): investigate whether the proper way to update the lowlinks
-       is the following bit of code. From my experience this doesn't seem to
-       matter if the output is placed in a separate output array, but this needs
-       further investigation.
-
-       if (ids[to] == UNVISITED) {
-         dfs(to);
-         low[at] = min(low[at], low[to]);
-       }
-       if (visited[to]) {
-         low[at] = min(low[at], ids[to]);
-       }
-      */
+      depth--;
 
+      // On recursive callback, if we're at the root node (start of SCC)
+      // empty the seen stack until back to root.
+      if (ids[at] == low[at]) {
+        for (int node = stack[--stackSize]; ; node = stack[--stackSize]) {
+          onStack[node] = false;
+          sccs[node] = sccCount;
+          if (node == at) break;
+        }
+        sccCount++;
+      }
     }
+  }
+
+  private void visit(int at) {
+    ids[at] = low[at] = id++;
+    stack[stackSize++] = at;
+    onStack[at] = true;
+    nextEdge[at] = 0;
+  }
+
+  // The number of edges out of node 'at' and the target of the i-th one, read from whichever
+  // format the graph was given in so adjacency lists are not copied.
+  private int degree(int at) {
+    return graph != null ? graph.degree(at) : adjacencyList.get(at).size();
+  }
+
+  private int target(int at, int i) {
+    return graph != null ? graph.target(graph.edgeStart(at) + i) : adjacencyList.get(at).get(i);
+  }
+
+  // Builds the condensation of a graph given the SCC of every node, without duplicate edges. The
+  // edges out of each SCC are in the order in which they are first found.
+  static CsrGraph condensation(CsrGraph graph, int[] sccs, int sccCount) {
+    int n = graph.numNodes();
+
+    // Group the nodes by SCC with a counting sort.
+    int[] start = new int[sccCount + 1];
+    for (int u = 0; u < n; u++) start[sccs[u] + 1]++;
+    for (int c = 0; c < sccCount; c++) start[c + 1] += start[c];
+    int[] members = new int[n];
+    int[] fill = Arrays.copyOf(start, sccCount);
+    for (int u = 0; u < n; u++) members[fill[sccs[u]]++] = u;
 
-    // On recursive callback, if we're at the root node (start of SCC)
-    // empty the seen stack until back to root.
-    if (ids[at] == low[at]) {
-      for (int node = stack.pop(); ; node = stack.pop()) {
-        visited[node] = false;
-        sccs[node] = sccCount;
-        if (node == at) break;
+    // lastSource[d] == c once the edge c -> d has been added.
+    int[] lastSource = new int[sccCount];
+    Arrays.fill(lastSource, -1);
+    CsrGraph.Builder builder = new CsrGraph.Builder(sccCount);
+    for (int c = 0; c < sccCount; c++) {
+      for (int i = start[c]; i < start[c + 1]; i++) {
+        int u = members[i];
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          int d = sccs[graph.target(e)];
+          if (d != c && lastSource[d] != c) {
+            lastSource[d] = c;
+            builder.addEdge(c, d);
+          }
+        }
       }
-      sccCount++;
     }
+    return builder.build();
   }
 
   // Initializes adjacency list with n nodes.
@@ -10,6 +10,7 @@ public class TwoSatSolverAdjacencyList {
 
   private boolean solved;
   private boolean isSatisfiable;
+  private boolean[] assignment;
   private TarjanSccSolverAdjacencyList sccSolver;
 
   public TwoSatSolverAdjacencyList(List<List<Integer>> graph) {
@@ -23,6 +24,13 @@ public class TwoSatSolverAdjacencyList {
     return isSatisfiable;
   }
 
+  // Returns a value for each of the n variables which satisfies all the clauses, or null if the
+  // problem is not satisfiable.
+  public boolean[] getAssignment() {
+    if (!solved) solve();
+    return assignment;
+  }
+
   public void solve() {
     if (solved) return;
 
@@ -39,9 +47,12 @@ public class TwoSatSolverAdjacencyList {
       }
     }
 
-    // Find a truth assignment.
+    // Find a truth assignment. Tarjan's algorithm numbers the SCCs in reverse
+    // topological order of the implication graph, and a literal whose SCC comes
+    // after the SCC of its negation in topological order can safely be true.
     if (isSatisfiable) {
-      // get topsort ordering
+      assignment = new boolean[n];
+      for (int i = 0; i < n; i++) assignment[i] = sccs[2 * i] < sccs[2 * i + 1];
     }
 
     solved = true;
@@ -32,6 +32,21 @@ public class InsertionSort implements InplaceSort {
     }
   }
 
+  // Sort the interval [lo, hi] inplace. Instead of swapping, larger elements are
+  // shifted one position to the right to make room for the element being
+  // inserted. Used by the divide and conquer sorts to finish small partitions.
+  static void insertionSort(int[] ar, int lo, int hi) {
+    for (int i = lo + 1; i <= hi; i++) {
+      int value = ar[i];
+      int j = i - 1;
+      while (j >= lo && ar[j] > value) {
+        ar[j + 1] = ar[j];
+        j--;
+      }
+      ar[j + 1] = value;
+    }
+  }
+
   private static void swap(int[] ar, int i, int j) {
     int tmp = ar[i];
     ar[i] = ar[j];
@@ -0,0 +1,218 @@
+/**
+ * Least significant digit radix sort over binary digits.
+ *
+ * <p>Unlike {@link RadixSort}, which works in base 10, this implementation splits each key into
+ * 8-bit (or any width up to 16-bit) digits and distributes the keys one digit at a time with a
+ * counting pass. A few details make it fast in practice:
+ *
+ * <ul>
+ *   <li>The histograms for every digit are computed in a single pass over the input.
+ *   <li>The sign bit is flipped while extracting digits so negative numbers sort before positive
+ *       ones without any extra passes.
+ *   <li>Passes where every key shares the same digit are skipped entirely.
+ *   <li>Keys are moved back and forth between the input and one scratch buffer, so only a single
+ *       extra array is ever allocated.
+ * </ul>
+ *
+ * <p>Besides sorting int[] and long[] arrays directly, values can be sorted by an extracted int key
+ * and {@link #argsort(int[])} returns the indices which would sort an array. All sorts are stable.
+ *
+ * <p>Time Complexity: O(n*w/b) where w is the key width in bits and b is the digit width
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew run -Palgorithm=sorting.LsdRadixSort
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.function.IntUnaryOperator;
+
+public class LsdRadixSort implements InplaceSort {
+
+  public static final int DEFAULT_DIGIT_BITS = 8;
+  public static final int MAX_DIGIT_BITS = 16;
+
+  private final int digitBits;
+
+  public LsdRadixSort() {
+    this(DEFAULT_DIGIT_BITS);
+  }
+
+  // Create a sorter using digits which are 'digitBits' bits wide. Wider digits
+  // mean fewer passes but larger histograms; 8 and 11 bits are typical choices.
+  public LsdRadixSort(int digitBits) {
+    checkDigitBits(digitBits);
+    this.digitBits = digitBits;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    LsdRadixSort.lsdRadixSort(values, digitBits);
+  }
+
+  public static void lsdRadixSort(int[] ar) {
+    lsdRadixSort(ar, DEFAULT_DIGIT_BITS);
+  }
+
+  public static void lsdRadixSort(int[] ar, int digitBits) {
+    checkDigitBits(digitBits);
+    if (ar == null || ar.length <= 1) return;
+
+    final int n = ar.length;
+    final int radix = 1 << digitBits, mask = radix - 1;
+    final int passes = (Integer.SIZE + digitBits - 1) / digitBits;
+    int[][] count = histograms(ar, digitBits, passes);
+
+    int[] src = ar, dst = new int[n];
+    for (int pass = 0, shift = 0; pass < passes; pass++, shift += digitBits) {
+      int[] c = count[pass];
+      if (!prefixSums(c, n)) continue;
+      for (int i = 0; i < n; i++) {
+        int v = src[i];
+        dst[c[((v ^ Integer.MIN_VALUE) >>> shift) & mask]++] = v;
+      }
+      int[] tmp = src;
+      src = dst;
+      dst = tmp;
+    }
+    if (src != ar) System.arraycopy(src, 0, ar, 0, n);
+  }
+
+  public static void lsdRadixSort(long[] ar) {
+    lsdRadixSort(ar, DEFAULT_DIGIT_BITS);
+  }
+
+  public static void lsdRadixSort(long[] ar, int digitBits) {
+    checkDigitBits(digitBits);
+    if (ar == null || ar.length <= 1) return;
+
+    final int n = ar.length;
+    final int radix = 1 << digitBits, mask = radix - 1;
+    final int passes = (Long.SIZE + digitBits - 1) / digitBits;
+
+    int[][] count = new int[passes][radix];
+    for (long v : ar) {
+      long key = v ^ Long.MIN_VALUE;
+      for (int pass = 0, shift = 0; pass < passes; pass++, shift += digitBits) {
+        count[pass][(int) (key >>> shift) & mask]++;
+      }
+    }
+
+    long[] src = ar, dst = new long[n];
+    for (int pass = 0, shift = 0; pass < passes; pass++, shift += digitBits) {
+      int[] c = count[pass];
+      if (!prefixSums(c, n)) continue;
+      for (int i = 0; i < n; i++) {
+        long v = src[i];
+        dst[c[(int) ((v ^ Long.MIN_VALUE) >>> shift) & mask]++] = v;
+      }
+      long[] tmp = src;
+      src = dst;
+      dst = tmp;
+    }
+    if (src != ar) System.arraycopy(src, 0, ar, 0, n);
+  }
+
+  // Stably sorts the values inplace by the int key extracted from each value.
+  // The key function is called exactly once per value.
+  public static void sortByKey(int[] values, IntUnaryOperator key) {
+    if (values == null || values.length <= 1) return;
+    final int n = values.length;
+    int[] keys = new int[n];
+    for (int i = 0; i < n; i++) keys[i] = key.applyAsInt(values[i]);
+    sortByKeys(values, keys, DEFAULT_DIGIT_BITS);
+  }
+
+  // Returns the indices [0, n) ordered so that keys[indices[0]] <= keys[indices[1]] <= ...
+  // Equal keys keep their relative index order. The keys array is not modified.
+  public static int[] argsort(int[] keys) {
+    if (keys == null) return null;
+    final int n = keys.length;
+    int[] indices = new int[n];
+    for (int i = 0; i < n; i++) indices[i] = i;
+    sortByKeys(indices, keys.clone(), DEFAULT_DIGIT_BITS);
+    return indices;
+  }
+
+  // Permutes values and keys together so that keys ends up sorted. Both arrays
+  // are modified.
+  private static void sortByKeys(int[] values, int[] keys, int digitBits) {
+    final int n = values.length;
+    final int mask = (1 << digitBits) - 1;
+    final int passes = (Integer.SIZE + digitBits - 1) / digitBits;
+    int[][] count = histograms(keys, digitBits, passes);
+
+    int[] srcKeys = keys, dstKeys = new int[n];
+    int[] srcValues = values, dstValues = new int[n];
+    for (int pass = 0, shift = 0; pass < passes; pass++, shift += digitBits) {
+      int[] c = count[pass];
+      if (!prefixSums(c, n)) continue;
+      for (int i = 0; i < n; i++) {
+        int k = srcKeys[i];
+        int j = c[((k ^ Integer.MIN_VALUE) >>> shift) & mask]++;
+        dstKeys[j] = k;
+        dstValues[j] = srcValues[i];
+      }
+      int[] tmp = srcKeys;
+      srcKeys = dstKeys;
+      dstKeys = tmp;
+      tmp = srcValues;
+      srcValues = dstValues;
+      dstValues = tmp;
+    }
+    if (srcValues != values) System.arraycopy(srcValues, 0, values, 0, n);
+  }
+
+  // Counts the occurrences of every digit value for every pass in one sweep
+  // over the keys. The sign bit is flipped so negative keys order first.
+  private static int[][] histograms(int[] keys, int digitBits, int passes) {
+    final int mask = (1 << digitBits) - 1;
+    int[][] count = new int[passes][1 << digitBits];
+    for (int v : keys) {
+      int key = v ^ Integer.MIN_VALUE;
+      for (int pass = 0, shift = 0; pass < passes; pass++, shift += digitBits) {
+        count[pass][(key >>> shift) & mask]++;
+      }
+    }
+    return count;
+  }
+
+  // Turns the digit counts into starting offsets. Returns false when all n keys
+  // share the same digit, meaning the pass would not move anything.
+  private static boolean prefixSums(int[] count, int n) {
+    int sum = 0;
+    for (int i = 0; i < count.length; i++) {
+      int c = count[i];
+      if (c == n) return false;
+      count[i] = sum;
+      sum += c;
+    }
+    return true;
+  }
+
+  private static void checkDigitBits(int digitBits) {
+    if (digitBits < 1 || digitBits > MAX_DIGIT_BITS)
+      throw new IllegalArgumentException(
+          "Digit width must be between 1 and " + MAX_DIGIT_BITS + " bits, got: " + digitBits);
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new LsdRadixSort();
+    int[] numbers = {387, -468, 134, 123, -68, 221, 769, 37, 7, 890, 1, -587};
+    sorter.sort(numbers);
+    // Prints:
+    // [-587, -468, -68, 1, 7, 37, 123, 134, 221, 387, 769, 890]
+    System.out.println(java.util.Arrays.toString(numbers));
+
+    long[] ids = {4_000_000_000L, -1L, 42L, Long.MIN_VALUE, Long.MAX_VALUE};
+    LsdRadixSort.lsdRadixSort(ids, 11);
+    // Prints:
+    // [-9223372036854775808, -1, 42, 4000000000, 9223372036854775807]
+    System.out.println(java.util.Arrays.toString(ids));
+
+    int[] keys = {30, 10, 20, 10};
+    // Prints:
+    // [1, 3, 2, 0]
+    System.out.println(java.util.Arrays.toString(LsdRadixSort.argsort(keys)));
+  }
+}
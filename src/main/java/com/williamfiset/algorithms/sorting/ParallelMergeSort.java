@@ -0,0 +1,190 @@
+/**
+ * Parallel mergesort implementation built on the fork/join framework.
+ *
+ * <p>Unlike {@link MergeSort}, which allocates new arrays at every level of the recursion, this
+ * implementation allocates a single scratch buffer the size of the input up front and reuses it for
+ * every merge. The two halves of a range are sorted in parallel and then merged in parallel by
+ * splitting the larger run at its median and binary searching for the matching split point in the
+ * smaller run. Ranges below a sequential cutoff are sorted on the current thread, and very small
+ * ranges are finished with insertion sort.
+ *
+ * <p>Time Complexity: O(nlog(n)) work, O(log^3(n)) span
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew run -Palgorithm=sorting.ParallelMergeSort
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelMergeSort implements InplaceSort {
+
+  // Ranges smaller than this are sorted sequentially rather than split into more tasks.
+  static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // Ranges smaller than this are sorted using insertion sort.
+  static final int INSERTION_SORT_CUTOFF = 32;
+
+  private final ForkJoinPool pool;
+
+  // Sorts using the common fork/join pool.
+  public ParallelMergeSort() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ParallelMergeSort(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.pool = pool;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    ParallelMergeSort.parallelMergeSort(values, pool);
+  }
+
+  public static void parallelMergeSort(int[] ar) {
+    parallelMergeSort(ar, ForkJoinPool.commonPool());
+  }
+
+  public static void parallelMergeSort(int[] ar, ForkJoinPool pool) {
+    if (ar == null || ar.length <= 1) return;
+    int[] scratch = new int[ar.length];
+    if (ar.length < SEQUENTIAL_CUTOFF) {
+      mergesort(ar, scratch, 0, ar.length);
+    } else {
+      pool.invoke(new SortTask(ar, scratch, 0, ar.length));
+    }
+  }
+
+  // Sorts the interval [lo, hi) of ar inplace on the current thread using the
+  // interval [lo, hi) of the scratch buffer.
+  private static void mergesort(int[] ar, int[] scratch, int lo, int hi) {
+    if (hi - lo < INSERTION_SORT_CUTOFF) {
+      InsertionSort.insertionSort(ar, lo, hi - 1);
+      return;
+    }
+    int mid = (lo + hi) >>> 1;
+    mergesort(ar, scratch, lo, mid);
+    mergesort(ar, scratch, mid, hi);
+
+    // Skip the merge if the two halves are already in order.
+    if (ar[mid - 1] <= ar[mid]) return;
+
+    System.arraycopy(ar, lo, scratch, lo, hi - lo);
+    merge(scratch, lo, mid, mid, hi, ar, lo);
+  }
+
+  // Merges the sorted runs src[lo1, hi1) and src[lo2, hi2) into dst starting at
+  // position k. Ties are taken from the first run which keeps the merge stable.
+  private static void merge(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int k) {
+    while (lo1 < hi1 && lo2 < hi2) {
+      dst[k++] = (src[lo2] < src[lo1]) ? src[lo2++] : src[lo1++];
+    }
+    if (lo1 < hi1) System.arraycopy(src, lo1, dst, k, hi1 - lo1);
+    if (lo2 < hi2) System.arraycopy(src, lo2, dst, k, hi2 - lo2);
+  }
+
+  // Returns the first index i in [lo, hi) such that ar[i] >= value, or hi if
+  // there is no such index.
+  private static int lowerBound(int[] ar, int lo, int hi, int value) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (ar[mid] < value) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  // Returns the first index i in [lo, hi) such that ar[i] > value, or hi if
+  // there is no such index.
+  private static int upperBound(int[] ar, int lo, int hi, int value) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (ar[mid] <= value) lo = mid + 1;
+      else hi = mid;
+    }
+    return lo;
+  }
+
+  private static class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int[] ar, scratch;
+    final int lo, hi;
+
+    SortTask(int[] ar, int[] scratch, int lo, int hi) {
+      this.ar = ar;
+      this.scratch = scratch;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo < SEQUENTIAL_CUTOFF) {
+        mergesort(ar, scratch, lo, hi);
+        return;
+      }
+      int mid = (lo + hi) >>> 1;
+      invokeAll(new SortTask(ar, scratch, lo, mid), new SortTask(ar, scratch, mid, hi));
+
+      if (ar[mid - 1] <= ar[mid]) return;
+
+      System.arraycopy(ar, lo, scratch, lo, hi - lo);
+      new MergeTask(scratch, lo, mid, mid, hi, ar, lo).compute();
+    }
+  }
+
+  private static class MergeTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int[] src, dst;
+    final int lo1, hi1, lo2, hi2, k;
+
+    MergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int k) {
+      this.src = src;
+      this.lo1 = lo1;
+      this.hi1 = hi1;
+      this.lo2 = lo2;
+      this.hi2 = hi2;
+      this.dst = dst;
+      this.k = k;
+    }
+
+    @Override
+    protected void compute() {
+      int n1 = hi1 - lo1, n2 = hi2 - lo2;
+      if (n1 + n2 < SEQUENTIAL_CUTOFF) {
+        merge(src, lo1, hi1, lo2, hi2, dst, k);
+        return;
+      }
+      // Split the larger run at its midpoint and find where that value would be
+      // inserted in the other run. Everything left of the two split points ends
+      // up before everything right of them, so both halves merge independently.
+      // Equal values stay on the same side as in the first run for stability.
+      int m1, m2;
+      if (n1 >= n2) {
+        m1 = (lo1 + hi1) >>> 1;
+        m2 = lowerBound(src, lo2, hi2, src[m1]);
+      } else {
+        m2 = (lo2 + hi2) >>> 1;
+        m1 = upperBound(src, lo1, hi1, src[m2]);
+      }
+      int mk = k + (m1 - lo1) + (m2 - lo2);
+      invokeAll(
+          new MergeTask(src, lo1, m1, lo2, m2, dst, k),
+          new MergeTask(src, m1, hi1, m2, hi2, dst, mk));
+    }
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new ParallelMergeSort();
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    // Prints:
+    // [-13, 2, 3, 4, 4, 6, 8, 10]
+    System.out.println(java.util.Arrays.toString(array));
+  }
+}
@@ -0,0 +1,134 @@
+/**
+ * Parallel quicksort implementation built on the fork/join framework.
+ *
+ * <p>Partitions using Hoare's scheme like {@link QuickSort}, but picks the pivot as the median of
+ * the first, middle and last elements so sorted and reversed inputs do not degrade to quadratic
+ * time. After partitioning, the two sides are sorted as independent fork/join tasks. Partitions
+ * below a sequential cutoff are sorted on the current thread, and very small partitions are
+ * finished with insertion sort.
+ *
+ * <p>Time Complexity: O(nlog(n)) expected work
+ *
+ * <p>Run with:
+ *
+ * <p>$ ./gradlew run -Palgorithm=sorting.ParallelQuickSort
+ */
+package com.williamfiset.algorithms.sorting;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class ParallelQuickSort implements InplaceSort {
+
+  // Partitions smaller than this are sorted sequentially rather than split into more tasks.
+  static final int SEQUENTIAL_CUTOFF = 1 << 13;
+
+  // Partitions smaller than this are sorted using insertion sort.
+  static final int INSERTION_SORT_CUTOFF = 32;
+
+  private final ForkJoinPool pool;
+
+  // Sorts using the common fork/join pool.
+  public ParallelQuickSort() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ParallelQuickSort(ForkJoinPool pool) {
+    if (pool == null) throw new IllegalArgumentException("Pool cannot be null");
+    this.pool = pool;
+  }
+
+  @Override
+  public void sort(int[] values) {
+    ParallelQuickSort.parallelQuickSort(values, pool);
+  }
+
+  public static void parallelQuickSort(int[] ar) {
+    parallelQuickSort(ar, ForkJoinPool.commonPool());
+  }
+
+  public static void parallelQuickSort(int[] ar, ForkJoinPool pool) {
+    if (ar == null || ar.length <= 1) return;
+    if (ar.length < SEQUENTIAL_CUTOFF) {
+      quicksort(ar, 0, ar.length - 1);
+    } else {
+      pool.invoke(new SortTask(ar, 0, ar.length - 1));
+    }
+  }
+
+  // Sort interval [lo, hi] inplace on the current thread. Recurses on the
+  // smaller side and loops on the larger one to bound the stack depth.
+  private static void quicksort(int[] ar, int lo, int hi) {
+    while (hi - lo >= INSERTION_SORT_CUTOFF) {
+      int splitPoint = partition(ar, lo, hi);
+      if (splitPoint - lo < hi - splitPoint) {
+        quicksort(ar, lo, splitPoint);
+        lo = splitPoint + 1;
+      } else {
+        quicksort(ar, splitPoint + 1, hi);
+        hi = splitPoint;
+      }
+    }
+    InsertionSort.insertionSort(ar, lo, hi);
+  }
+
+  // Performs Hoare partition algorithm on [lo, hi] using a median of three pivot.
+  // Returns j such that every element in [lo, j] is <= every element in [j+1, hi].
+  private static int partition(int[] ar, int lo, int hi) {
+    int mid = (lo + hi) >>> 1;
+    if (ar[mid] < ar[lo]) swap(ar, lo, mid);
+    if (ar[hi] < ar[lo]) swap(ar, lo, hi);
+    if (ar[hi] < ar[mid]) swap(ar, mid, hi);
+    int pivot = ar[mid];
+    int i = lo - 1, j = hi + 1;
+    while (true) {
+      do {
+        i++;
+      } while (ar[i] < pivot);
+      do {
+        j--;
+      } while (ar[j] > pivot);
+      if (i < j) swap(ar, i, j);
+      else return j;
+    }
+  }
+
+  // Swap two elements
+  private static void swap(int[] ar, int i, int j) {
+    int tmp = ar[i];
+    ar[i] = ar[j];
+    ar[j] = tmp;
+  }
+
+  private static class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    final int[] ar;
+    final int lo, hi;
+
+    SortTask(int[] ar, int lo, int hi) {
+      this.ar = ar;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo < SEQUENTIAL_CUTOFF) {
+        quicksort(ar, lo, hi);
+        return;
+      }
+      int splitPoint = partition(ar, lo, hi);
+      invokeAll(new SortTask(ar, lo, splitPoint), new SortTask(ar, splitPoint + 1, hi));
+    }
+  }
+
+  public static void main(String[] args) {
+    InplaceSort sorter = new ParallelQuickSort();
+    int[] array = {10, 4, 6, 4, 8, -13, 2, 3};
+    sorter.sort(array);
+    // Prints:
+    // [-13, 2, 3, 4, 4, 6, 8, 10]
+    System.out.println(java.util.Arrays.toString(array));
+  }
+}
@@ -21,18 +21,30 @@ public class QuickSort implements InplaceSort {
     quicksort(ar, 0, ar.length - 1);
   }
 
-  // Sort interval [lo, hi] inplace recursively
+  // Sort interval [lo, hi] inplace. Only the smaller side is sorted recursively while the loop
+  // carries on with the larger side, so the recursion is at most O(log(n)) deep on any input.
   private static void quicksort(int[] ar, int lo, int hi) {
-    if (lo < hi) {
+    while (lo < hi) {
       int splitPoint = partition(ar, lo, hi);
-      quicksort(ar, lo, splitPoint);
-      quicksort(ar, splitPoint + 1, hi);
+      if (splitPoint - lo < hi - splitPoint) {
+        quicksort(ar, lo, splitPoint);
+        lo = splitPoint + 1;
+      } else {
+        quicksort(ar, splitPoint + 1, hi);
+        hi = splitPoint;
+      }
     }
   }
 
-  // Performs Hoare partition algorithm for quicksort
+  // Performs Hoare partition algorithm for quicksort. The pivot is the median of the first, middle
+  // and last elements, like in ParallelQuickSort, so that sorted, reversed and organ pipe inputs
+  // split evenly instead of taking O(n^2) time.
   private static int partition(int[] ar, int lo, int hi) {
-    int pivot = ar[lo];
+    int mid = (lo + hi) >>> 1;
+    if (ar[mid] < ar[lo]) swap(ar, lo, mid);
+    if (ar[hi] < ar[lo]) swap(ar, lo, hi);
+    if (ar[hi] < ar[mid]) swap(ar, mid, hi);
+    int pivot = ar[mid];
     int i = lo - 1, j = hi + 1;
     while (true) {
       do {
@@ -20,6 +20,20 @@ public final class TestUtils {
     return ar;
   }
 
+  // Generates the array [0, 1, ..., sz-1]
+  public static int[] sortedIntegerArray(int sz) {
+    int[] ar = new int[sz];
+    for (int i = 0; i < sz; i++) ar[i] = i;
+    return ar;
+  }
+
+  // Generates the array [sz-1, sz-2, ..., 0]
+  public static int[] reversedIntegerArray(int sz) {
+    int[] ar = new int[sz];
+    for (int i = 0; i < sz; i++) ar[i] = sz - 1 - i;
+    return ar;
+  }
+
   // Generates a list of random values where every number is between
   // [min, max) and there are possible repeats.
   public static List<Integer> randomIntegerList(int sz, int min, int max) {
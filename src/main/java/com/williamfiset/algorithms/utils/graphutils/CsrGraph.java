@@ -0,0 +1,271 @@
+/**
+ * An immutable directed graph stored in Compressed Sparse Row (CSR) format.
+ *
+ * <p>Instead of one list object per node and one object per edge, all the edges live in a single
+ * int array sorted by their source node. The outgoing edges of node u are the indexes in the range
+ * [offsets[u], offsets[u+1]) of the targets array (and of the optional weights array). This takes
+ * 4 bytes per edge plus 4 bytes per node, compared to several dozen bytes per edge for a
+ * List&lt;List&lt;Integer&gt;&gt;, and scanning the neighbours of a node reads contiguous memory.
+ *
+ * <p>Edges can be unweighted, have double weights or have long weights. Build a graph with {@link
+ * CsrGraph.Builder}, convert an existing adjacency list with {@link #fromAdjacencyList(List)} or
+ * map a graph file written by {@link CsrGraphFile}.
+ * The outgoing edges of every node keep the order in which they were added, so algorithms visit
+ * neighbours in the same order as with the equivalent adjacency list.
+ *
+ * <p>Time Complexity: O(V + E) to build
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class CsrGraph {
+
+  private final int n;
+
+  // The arrays are null for graphs whose edges live outside the heap, see
+  // MappedCsrGraph, which override the accessor methods instead.
+  private final int[] offsets, targets;
+
+  // At most one of the two weight arrays is non null.
+  private final double[] weights;
+  private final long[] longWeights;
+
+  CsrGraph(int n) {
+    this(n, null, null, null, null);
+  }
+
+  private CsrGraph(int n, int[] offsets, int[] targets, double[] weights, long[] longWeights) {
+    this.n = n;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.weights = weights;
+    this.longWeights = longWeights;
+  }
+
+  // Returns the number of nodes in the graph.
+  public int numNodes() {
+    return n;
+  }
+
+  // Returns the number of directed edges in the graph.
+  public int numEdges() {
+    return targets.length;
+  }
+
+  // Returns the number of outgoing edges of node u.
+  public int degree(int u) {
+    return edgeEnd(u) - edgeStart(u);
+  }
+
+  // Returns the index of the first outgoing edge of node u.
+  public int edgeStart(int u) {
+    return offsets[u];
+  }
+
+  // Returns one past the index of the last outgoing edge of node u.
+  public int edgeEnd(int u) {
+    return offsets[u + 1];
+  }
+
+  // Returns the node edge e points to.
+  public int target(int e) {
+    return targets[e];
+  }
+
+  public boolean hasWeights() {
+    return weights != null || longWeights != null;
+  }
+
+  public boolean hasLongWeights() {
+    return longWeights != null;
+  }
+
+  // Returns the weight of edge e. Unweighted edges have a weight of 1.
+  public double weight(int e) {
+    if (weights != null) return weights[e];
+    if (longWeights != null) return longWeights[e];
+    return 1;
+  }
+
+  // Returns the weight of edge e for a graph built with long weights.
+  public long longWeight(int e) {
+    if (longWeights == null) throw new IllegalStateException("Graph does not have long weights");
+    return longWeights[e];
+  }
+
+  // Returns the graph with the direction of every edge reversed. Weights are
+  // carried over to the reversed edges.
+  public CsrGraph transpose() {
+    int m = numEdges();
+    int[] tOffsets = new int[n + 1];
+    for (int e = 0; e < m; e++) tOffsets[target(e) + 1]++;
+    for (int u = 0; u < n; u++) tOffsets[u + 1] += tOffsets[u];
+
+    int[] next = Arrays.copyOf(tOffsets, n);
+    int[] tTargets = new int[m];
+    double[] tWeights = hasWeights() && !hasLongWeights() ? new double[m] : null;
+    long[] tLongWeights = hasLongWeights() ? new long[m] : null;
+    for (int u = 0; u < n; u++) {
+      for (int e = edgeStart(u); e < edgeEnd(u); e++) {
+        int i = next[target(e)]++;
+        tTargets[i] = u;
+        if (tWeights != null) tWeights[i] = weight(e);
+        if (tLongWeights != null) tLongWeights[i] = longWeight(e);
+      }
+    }
+    return new CsrGraph(n, tOffsets, tTargets, tWeights, tLongWeights);
+  }
+
+  // Converts an unweighted adjacency list, such as one created with
+  // Utils.createEmptyAdjacencyList, into a CSR graph.
+  public static CsrGraph fromAdjacencyList(List<List<Integer>> graph) {
+    if (graph == null) throw new IllegalArgumentException("Graph cannot be null.");
+    int n = graph.size();
+    int[] offsets = new int[n + 1];
+    for (int u = 0; u < n; u++) offsets[u + 1] = offsets[u] + graph.get(u).size();
+    int[] targets = new int[offsets[n]];
+    for (int u = 0; u < n; u++) {
+      int e = offsets[u];
+      for (int v : graph.get(u)) {
+        if (v < 0 || v >= n) throw new IllegalArgumentException("Node index out of bounds: " + v);
+        targets[e++] = v;
+      }
+    }
+    return new CsrGraph(n, offsets, targets, null, null);
+  }
+
+  // Converts the graph back into an unweighted adjacency list.
+  public List<List<Integer>> toAdjacencyList() {
+    List<List<Integer>> graph = Utils.createEmptyAdjacencyList(n);
+    for (int u = 0; u < n; u++)
+      for (int e = edgeStart(u); e < edgeEnd(u); e++) graph.get(u).add(target(e));
+    return graph;
+  }
+
+  /**
+   * Collects edges in any order and packs them into a {@link CsrGraph}. The kind of weights is
+   * fixed by the first edge added: all edges must then be unweighted, all have double weights or
+   * all have long weights. Note that integer literal weights select the long weight overloads.
+   */
+  public static final class Builder {
+
+    private static final int UNWEIGHTED = 0, DOUBLE_WEIGHTS = 1, LONG_WEIGHTS = 2;
+
+    private final int n;
+    private int m, kind = -1;
+    private int[] from = new int[16], to = new int[16];
+    private double[] weights;
+    private long[] longWeights;
+
+    // Creates a builder for a graph with n nodes labelled [0, n).
+    public Builder(int n) {
+      if (n < 0) throw new IllegalArgumentException("n cannot be negative; received: " + n);
+      this.n = n;
+    }
+
+    public int numNodes() {
+      return n;
+    }
+
+    public int numEdges() {
+      return m;
+    }
+
+    // Adds an unweighted directed edge.
+    public Builder addEdge(int u, int v) {
+      append(u, v, UNWEIGHTED);
+      return this;
+    }
+
+    // Adds a directed edge with a double weight.
+    public Builder addEdge(int u, int v, double weight) {
+      append(u, v, DOUBLE_WEIGHTS);
+      weights[m - 1] = weight;
+      return this;
+    }
+
+    // Adds a directed edge with a long weight.
+    public Builder addEdge(int u, int v, long weight) {
+      append(u, v, LONG_WEIGHTS);
+      longWeights[m - 1] = weight;
+      return this;
+    }
+
+    // Adds an unweighted edge in both directions.
+    public Builder addUndirectedEdge(int u, int v) {
+      return addEdge(u, v).addEdge(v, u);
+    }
+
+    // Adds an edge with a double weight in both directions.
+    public Builder addUndirectedEdge(int u, int v, double weight) {
+      return addEdge(u, v, weight).addEdge(v, u, weight);
+    }
+
+    // Adds an edge with a long weight in both directions.
+    public Builder addUndirectedEdge(int u, int v, long weight) {
+      return addEdge(u, v, weight).addEdge(v, u, weight);
+    }
+
+    private void append(int u, int v, int edgeKind) {
+      if (u < 0 || u >= n)
+        throw new IllegalArgumentException("'from' node index out of bounds; received: " + u);
+      if (v < 0 || v >= n)
+        throw new IllegalArgumentException("'to' node index out of bounds; received: " + v);
+      if (kind == -1) kind = edgeKind;
+      else if (kind != edgeKind)
+        throw new IllegalStateException("Cannot mix weighted and unweighted edges");
+
+      if (m == from.length) {
+        int capacity = 2 * m;
+        from = Arrays.copyOf(from, capacity);
+        to = Arrays.copyOf(to, capacity);
+        if (weights != null) weights = Arrays.copyOf(weights, capacity);
+        if (longWeights != null) longWeights = Arrays.copyOf(longWeights, capacity);
+      }
+      if (kind == DOUBLE_WEIGHTS && weights == null) weights = new double[from.length];
+      if (kind == LONG_WEIGHTS && longWeights == null) longWeights = new long[from.length];
+      from[m] = u;
+      to[m] = v;
+      m++;
+    }
+
+    // Packs the edges added so far into a graph. Edges are grouped by their
+    // source node with a counting sort, which keeps edges with the same source
+    // in insertion order.
+    public CsrGraph build() {
+      int[] offsets = new int[n + 1];
+      for (int e = 0; e < m; e++) offsets[from[e] + 1]++;
+      for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+      int[] next = Arrays.copyOf(offsets, n);
+      int[] targets = new int[m];
+      double[] w = weights == null ? null : new double[m];
+      long[] lw = longWeights == null ? null : new long[m];
+      for (int e = 0; e < m; e++) {
+        int i = next[from[e]]++;
+        targets[i] = to[e];
+        if (w != null) w[i] = weights[e];
+        if (lw != null) lw[i] = longWeights[e];
+      }
+      return new CsrGraph(n, offsets, targets, w, lw);
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int u = 0; u < n; u++) {
+      sb.append(u).append(" -> [");
+      for (int e = edgeStart(u); e < edgeEnd(u); e++) {
+        if (e > edgeStart(u)) sb.append(", ");
+        sb.append(target(e));
+        if (hasLongWeights()) sb.append(" (").append(longWeight(e)).append(')');
+        else if (hasWeights()) sb.append(" (").append(weight(e)).append(')');
+      }
+      sb.append("]\n");
+    }
+    return sb.toString();
+  }
+}
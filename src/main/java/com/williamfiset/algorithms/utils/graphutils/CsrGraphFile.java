@@ -0,0 +1,294 @@
+/**
+ * Reads and writes {@link CsrGraph}s in a binary file format which can be memory mapped, so a graph
+ * is ready to use as soon as the file is opened instead of after parsing text and rebuilding
+ * adjacency lists.
+ *
+ * <p>The file holds a 64 byte header followed by the CSR arrays exactly as they are used in memory:
+ *
+ * <pre>
+ *   header    magic, version, weight kind, node count, edge count, section positions
+ *   offsets   (n + 1) ints
+ *   targets   m ints
+ *   weights   m doubles or m longs (optional)
+ * </pre>
+ *
+ * <p>All values are little endian and every section starts at a multiple of 8 bytes. {@link
+ * #open(Path)} only reads the header and maps the sections, so opening takes milliseconds even for
+ * graphs with a billion edges; the pages are loaded lazily by the operating system as the graph is
+ * traversed.
+ *
+ * <p>Graphs can be written from a {@link CsrGraph}, from an adjacency list (for example the output
+ * of {@link GraphGenerator.DagGenerator#createDag()}) or converted straight from a text edge list
+ * without holding the edges on the heap.
+ *
+ * <p>Run with: <p>$ ./gradlew run -Palgorithm=utils.graphutils.CsrGraphFile
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringTokenizer;
+
+public final class CsrGraphFile {
+
+  // The kind of edge weights stored in a graph file.
+  public enum Weights {
+    NONE,
+    DOUBLE,
+    LONG
+  }
+
+  // "CSRGRAF1" in ASCII.
+  private static final long MAGIC = 0x3146415247525343L;
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 64;
+
+  private CsrGraphFile() {}
+
+  // The decoded file header and the position of every section.
+  static final class Header {
+    final int numNodes, numEdges;
+    final Weights weights;
+    final long offsetsPosition, targetsPosition, weightsPosition, fileSize;
+
+    Header(int numNodes, int numEdges, Weights weights) {
+      this.numNodes = numNodes;
+      this.numEdges = numEdges;
+      this.weights = weights;
+      offsetsPosition = HEADER_BYTES;
+      targetsPosition = align(offsetsPosition + 4L * (numNodes + 1));
+      long targetsEnd = targetsPosition + 4L * numEdges;
+      weightsPosition = weights == Weights.NONE ? 0 : align(targetsEnd);
+      fileSize = weights == Weights.NONE ? targetsEnd : weightsPosition + 8L * numEdges;
+    }
+
+    private static long align(long position) {
+      return (position + 7) & ~7L;
+    }
+
+    ByteBuffer encode() {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putLong(MAGIC);
+      buffer.putInt(VERSION);
+      buffer.putInt(weights.ordinal());
+      buffer.putLong(numNodes);
+      buffer.putLong(numEdges);
+      buffer.putLong(offsetsPosition);
+      buffer.putLong(targetsPosition);
+      buffer.putLong(weightsPosition);
+      buffer.flip();
+      return buffer;
+    }
+
+    static Header decode(FileChannel channel, Path file) throws IOException {
+      ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      if (channel.size() < HEADER_BYTES || channel.read(buffer, 0) < HEADER_BYTES)
+        throw new IOException("Not a graph file: " + file);
+      buffer.flip();
+      if (buffer.getLong() != MAGIC) throw new IOException("Not a graph file: " + file);
+      int version = buffer.getInt();
+      if (version != VERSION) throw new IOException("Unsupported graph file version: " + version);
+      int kind = buffer.getInt();
+      long n = buffer.getLong(), m = buffer.getLong();
+      if (kind < 0
+          || kind >= Weights.values().length
+          || n < 0
+          || n >= Integer.MAX_VALUE
+          || m < 0
+          || m > Integer.MAX_VALUE) throw new IOException("Corrupt graph file: " + file);
+
+      Header header = new Header((int) n, (int) m, Weights.values()[kind]);
+      if (buffer.getLong() != header.offsetsPosition
+          || buffer.getLong() != header.targetsPosition
+          || buffer.getLong() != header.weightsPosition
+          || channel.size() < header.fileSize) throw new IOException("Corrupt graph file: " + file);
+      return header;
+    }
+  }
+
+  // Maps a graph file written by one of the write methods. The returned graph
+  // reads its edges directly from the mapped file and can be passed to any
+  // solver accepting a CsrGraph.
+  public static CsrGraph open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      Header header = Header.decode(channel, file);
+      return new MappedCsrGraph(channel, FileChannel.MapMode.READ_ONLY, header);
+    }
+  }
+
+  // Sizes an empty temporary file for the header and maps it for writing.
+  private static MappedCsrGraph create(Path file, Header header) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      channel.write(header.encode(), 0);
+      // Mapping the sections grows the file, make sure it also covers the
+      // padding of a graph without edges.
+      MappedCsrGraph graph = new MappedCsrGraph(channel, FileChannel.MapMode.READ_WRITE, header);
+      if (channel.size() < header.fileSize) {
+        channel.write(ByteBuffer.allocate(1), header.fileSize - 1);
+      }
+      return graph;
+    }
+  }
+
+  // Graph files are written to a temporary file next to the target which then
+  // replaces it. Truncating the target in place would corrupt any graph still
+  // mapped from it, which keeps reading the old file after a rename.
+  private static Path createTempFile(Path file) throws IOException {
+    Path dir = file.toAbsolutePath().getParent();
+    return Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+  }
+
+  private static void replace(Path temp, Path file) throws IOException {
+    try {
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  // Writes a graph to a file, replacing the file if it exists.
+  public static void write(CsrGraph graph, Path file) throws IOException {
+    Weights weights =
+        graph.hasLongWeights() ? Weights.LONG : graph.hasWeights() ? Weights.DOUBLE : Weights.NONE;
+    int n = graph.numNodes(), m = graph.numEdges();
+    Path temp = createTempFile(file);
+    try {
+      MappedCsrGraph out = create(temp, new Header(n, m, weights));
+      for (int u = 0; u < n; u++) out.setOffset(u, graph.edgeStart(u));
+      out.setOffset(n, m);
+      for (int e = 0; e < m; e++) {
+        out.setTarget(e, graph.target(e));
+        if (weights == Weights.DOUBLE) out.setWeight(e, graph.weight(e));
+        if (weights == Weights.LONG) out.setLongWeight(e, graph.longWeight(e));
+      }
+      out.force();
+      replace(temp, file);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  // Writes an unweighted adjacency list, such as a graph produced by
+  // GraphGenerator.DagGenerator, to a file.
+  public static void write(List<List<Integer>> graph, Path file) throws IOException {
+    write(CsrGraph.fromAdjacencyList(graph), file);
+  }
+
+  /**
+   * Converts a text edge list into a graph file. Every line holds an edge as two node indexes
+   * followed by a weight if the graph is weighted, separated by whitespace. Blank lines and lines
+   * starting with '#' or '%' are skipped. The graph has one node more than the largest index found.
+   *
+   * <p>The edge list is read twice, once to count the degree of every node and once to place the
+   * edges, so only O(V) memory is used no matter how many edges there are.
+   */
+  public static void convertEdgeList(Path edgeList, Path file, Weights weights)
+      throws IOException {
+    // First pass: count the outgoing edges of every node.
+    int[] degree = new int[16];
+    int maxNode = -1;
+    long m = 0;
+    try (BufferedReader reader = Files.newBufferedReader(edgeList, StandardCharsets.UTF_8)) {
+      EdgeParser parser = new EdgeParser(weights);
+      for (String line; (line = reader.readLine()) != null; ) {
+        if (!parser.parse(line)) continue;
+        int hi = Math.max(parser.from, parser.to);
+        if (hi >= degree.length) {
+          degree = Arrays.copyOf(degree, Math.max(hi + 1, 2 * degree.length));
+        }
+        maxNode = Math.max(maxNode, hi);
+        degree[parser.from]++;
+        if (++m > Integer.MAX_VALUE) throw new IOException("Too many edges in " + edgeList);
+      }
+    }
+
+    int n = maxNode + 1;
+    int[] next = new int[n];
+    for (int u = 1; u < n; u++) next[u] = next[u - 1] + degree[u - 1];
+    degree = null;
+
+    Path temp = createTempFile(file);
+    try {
+      MappedCsrGraph out = create(temp, new Header(n, (int) m, weights));
+      for (int u = 0; u < n; u++) out.setOffset(u, next[u]);
+      out.setOffset(n, (int) m);
+
+      // Second pass: scatter every edge into the slot of its source node.
+      try (BufferedReader reader = Files.newBufferedReader(edgeList, StandardCharsets.UTF_8)) {
+        EdgeParser parser = new EdgeParser(weights);
+        for (String line; (line = reader.readLine()) != null; ) {
+          if (!parser.parse(line)) continue;
+          int e = next[parser.from]++;
+          out.setTarget(e, parser.to);
+          if (weights == Weights.DOUBLE) out.setWeight(e, parser.weight);
+          if (weights == Weights.LONG) out.setLongWeight(e, parser.longWeight);
+        }
+      }
+      out.force();
+      replace(temp, file);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  // Parses the lines of an edge list, keeping the fields of the last edge.
+  private static final class EdgeParser {
+    final Weights weights;
+    int lineNumber, from, to;
+    double weight;
+    long longWeight;
+
+    EdgeParser(Weights weights) {
+      this.weights = weights;
+    }
+
+    // Returns false for lines without an edge.
+    boolean parse(String line) throws IOException {
+      lineNumber++;
+      StringTokenizer tokens = new StringTokenizer(line);
+      if (!tokens.hasMoreTokens()) return false;
+      String first = tokens.nextToken();
+      if (first.startsWith("#") || first.startsWith("%")) return false;
+      try {
+        from = Integer.parseInt(first);
+        to = Integer.parseInt(tokens.nextToken());
+        if (weights == Weights.DOUBLE) weight = Double.parseDouble(tokens.nextToken());
+        if (weights == Weights.LONG) longWeight = Long.parseLong(tokens.nextToken());
+      } catch (RuntimeException e) {
+        throw new IOException("Malformed edge on line " + lineNumber + ": " + line);
+      }
+      if (from < 0 || to < 0)
+        throw new IOException("Negative node index on line " + lineNumber + ": " + line);
+      return true;
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path file = Files.createTempFile("dag", ".csr");
+    try {
+      GraphGenerator.DagGenerator generator = new GraphGenerator.DagGenerator(10, 10, 5, 5, 0.9);
+      List<List<Integer>> dag = generator.createDag();
+      write(dag, file);
+
+      CsrGraph graph = open(file);
+      System.out.printf(
+          "Mapped a DAG with %d nodes and %d edges from %s\n",
+          graph.numNodes(), graph.numEdges(), file);
+      System.out.println(graph.toAdjacencyList().equals(dag)); // true
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * A {@link CsrGraph} whose arrays are memory mapped views of a graph file written by {@link
+ * CsrGraphFile}. Nothing is copied onto the heap: the operating system pages the offsets, targets
+ * and weights in as the solvers touch them.
+ *
+ * <p>A single NIO buffer can address at most 2GB, so every section of the file is mapped as
+ * several segments of 2^30 bytes.
+ */
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+final class MappedCsrGraph extends CsrGraph {
+
+  // Number of ints (2^28) and longs or doubles (2^27) in a 2^30 byte segment.
+  private static final int INT_SHIFT = 28, LONG_SHIFT = 27;
+  private static final int INT_MASK = (1 << INT_SHIFT) - 1, LONG_MASK = (1 << LONG_SHIFT) - 1;
+
+  private final int m;
+  private final IntBuffer[] offsets, targets;
+  private final DoubleBuffer[] weights;
+  private final LongBuffer[] longWeights;
+
+  // Every mapped segment, kept to be able to flush writes to disk.
+  private final List<MappedByteBuffer> mappings = new ArrayList<>();
+
+  // Maps the sections of an already validated graph file. The mappings stay
+  // valid after the channel is closed.
+  MappedCsrGraph(FileChannel channel, FileChannel.MapMode mode, CsrGraphFile.Header header)
+      throws IOException {
+    super(header.numNodes);
+    m = header.numEdges;
+    offsets = mapInts(channel, mode, header.offsetsPosition, header.numNodes + 1L);
+    targets = mapInts(channel, mode, header.targetsPosition, m);
+    MappedByteBuffer[] w =
+        header.weights == CsrGraphFile.Weights.NONE
+            ? null
+            : map(channel, mode, header.weightsPosition, (long) m << 3);
+    weights = header.weights == CsrGraphFile.Weights.DOUBLE ? asDoubles(w) : null;
+    longWeights = header.weights == CsrGraphFile.Weights.LONG ? asLongs(w) : null;
+  }
+
+  private MappedByteBuffer[] map(
+      FileChannel channel, FileChannel.MapMode mode, long position, long bytes)
+      throws IOException {
+    int segments = (int) ((bytes + (1L << 30) - 1) >>> 30);
+    MappedByteBuffer[] buffers = new MappedByteBuffer[Math.max(1, segments)];
+    for (int i = 0; i < buffers.length; i++) {
+      long start = (long) i << 30;
+      long size = Math.max(0, Math.min(1L << 30, bytes - start));
+      buffers[i] = channel.map(mode, position + start, size);
+      buffers[i].order(ByteOrder.LITTLE_ENDIAN);
+      mappings.add(buffers[i]);
+    }
+    return buffers;
+  }
+
+  private IntBuffer[] mapInts(
+      FileChannel channel, FileChannel.MapMode mode, long position, long count)
+      throws IOException {
+    MappedByteBuffer[] bytes = map(channel, mode, position, count << 2);
+    IntBuffer[] ints = new IntBuffer[bytes.length];
+    for (int i = 0; i < bytes.length; i++) ints[i] = bytes[i].asIntBuffer();
+    return ints;
+  }
+
+  private static DoubleBuffer[] asDoubles(MappedByteBuffer[] bytes) {
+    DoubleBuffer[] doubles = new DoubleBuffer[bytes.length];
+    for (int i = 0; i < bytes.length; i++) doubles[i] = bytes[i].asDoubleBuffer();
+    return doubles;
+  }
+
+  private static LongBuffer[] asLongs(MappedByteBuffer[] bytes) {
+    LongBuffer[] longs = new LongBuffer[bytes.length];
+    for (int i = 0; i < bytes.length; i++) longs[i] = bytes[i].asLongBuffer();
+    return longs;
+  }
+
+  @Override
+  public int numEdges() {
+    return m;
+  }
+
+  @Override
+  public int edgeStart(int u) {
+    return offsets[u >>> INT_SHIFT].get(u & INT_MASK);
+  }
+
+  @Override
+  public int edgeEnd(int u) {
+    return edgeStart(u + 1);
+  }
+
+  @Override
+  public int target(int e) {
+    return targets[e >>> INT_SHIFT].get(e & INT_MASK);
+  }
+
+  @Override
+  public boolean hasWeights() {
+    return weights != null || longWeights != null;
+  }
+
+  @Override
+  public boolean hasLongWeights() {
+    return longWeights != null;
+  }
+
+  @Override
+  public double weight(int e) {
+    if (weights != null) return weights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+    if (longWeights != null) return longWeights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+    return 1;
+  }
+
+  @Override
+  public long longWeight(int e) {
+    if (longWeights == null) throw new IllegalStateException("Graph does not have long weights");
+    return longWeights[e >>> LONG_SHIFT].get(e & LONG_MASK);
+  }
+
+  /* Writers used by CsrGraphFile while filling in a freshly created file. */
+
+  void setOffset(int u, int offset) {
+    offsets[u >>> INT_SHIFT].put(u & INT_MASK, offset);
+  }
+
+  void setTarget(int e, int v) {
+    targets[e >>> INT_SHIFT].put(e & INT_MASK, v);
+  }
+
+  void setWeight(int e, double weight) {
+    weights[e >>> LONG_SHIFT].put(e & LONG_MASK, weight);
+  }
+
+  void setLongWeight(int e, long weight) {
+    longWeights[e >>> LONG_SHIFT].put(e & LONG_MASK, weight);
+  }
+
+  void force() {
+    for (MappedByteBuffer buffer : mappings) buffer.force();
+  }
+}
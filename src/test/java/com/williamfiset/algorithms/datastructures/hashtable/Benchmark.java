@@ -29,8 +29,13 @@ public class Benchmark {
   public static void main(String[] args) {
     testLinearProbing();
     testQuadraticProbing();
+    testRobinHood();
     testDoubleHashing();
     testHashMapSpeed();
+    testIntIntHashMap();
+    testLongLongHashMap();
+    testLongObjectHashMap();
+    testProbeLengths();
   }
 
   public static void testLinearProbing() {
@@ -61,6 +66,20 @@ public class Benchmark {
     System.out.println("Quadratic probing: " + (end - start) / 1e9);
   }
 
+  public static void testRobinHood() {
+
+    HashTableRobinHood<Integer, Integer> hashtable = new HashTableRobinHood<>();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < N; i++) {
+      hashtable.insert(keys[i], values[i]);
+      int val = hashtable.get(keys[i]);
+      if (val != values[i]) System.out.println("Not good..");
+    }
+    long end = System.nanoTime();
+    System.out.println("Robin Hood hashing: " + (end - start) / 1e9);
+  }
+
   public static void testDoubleHashing() {
 
     HashTableDoubleHashing<DoubleHashingTestObject, Integer> hashtable =
@@ -90,4 +109,73 @@ public class Benchmark {
     long end = System.nanoTime();
     System.out.println("HashMap: " + (end - start) / 1e9);
   }
+
+  public static void testIntIntHashMap() {
+
+    IntIntHashMap hashtable = new IntIntHashMap();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < N; i++) {
+      hashtable.put(keys[i], values[i]);
+      int val = hashtable.get(keys[i]);
+      if (val != values[i]) System.out.println("Not good..");
+    }
+    long end = System.nanoTime();
+    System.out.println("IntIntHashMap: " + (end - start) / 1e9);
+  }
+
+  public static void testLongLongHashMap() {
+
+    LongLongHashMap hashtable = new LongLongHashMap();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < N; i++) {
+      hashtable.put(keys[i], values[i]);
+      long val = hashtable.get(keys[i]);
+      if (val != values[i]) System.out.println("Not good..");
+    }
+    long end = System.nanoTime();
+    System.out.println("LongLongHashMap: " + (end - start) / 1e9);
+  }
+
+  public static void testLongObjectHashMap() {
+
+    LongObjectHashMap<Integer> hashtable = new LongObjectHashMap<>();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < N; i++) {
+      hashtable.put(keys[i], values[i]);
+      int val = hashtable.get(keys[i]);
+      if (val != values[i]) System.out.println("Not good..");
+    }
+    long end = System.nanoTime();
+    System.out.println("LongObjectHashMap: " + (end - start) / 1e9);
+  }
+
+  // Fills each open addressing table up to (just below) a given load factor
+  // and prints the mean and max number of probes needed to find a key.
+  public static void testProbeLengths() {
+    final int capacity = 1 << 17;
+    for (double loadFactor : new double[] {0.5, 0.7, 0.9}) {
+      List<HashTableOpenAddressingBase<DoubleHashingTestObject, Integer>> tables =
+          new ArrayList<>();
+      tables.add(new HashTableLinearProbing<>(capacity, loadFactor + 0.01));
+      tables.add(new HashTableQuadraticProbing<>(capacity, loadFactor + 0.01));
+      tables.add(new HashTableDoubleHashing<>(capacity, loadFactor + 0.01));
+      tables.add(new HashTableRobinHood<>(capacity, loadFactor + 0.01));
+
+      for (HashTableOpenAddressingBase<DoubleHashingTestObject, Integer> hashtable : tables) {
+        int n = (int) (hashtable.getCapacity() * loadFactor);
+        for (int i = 0; i < n; i++) {
+          hashtable.insert(new DoubleHashingTestObject(RANDOM.nextInt()), i);
+        }
+        System.out.printf(
+            "%s at load factor %.1f: mean probe length %.3f, max probe length %d%n",
+            hashtable.getClass().getSimpleName(),
+            loadFactor,
+            hashtable.averageProbeLength(),
+            hashtable.maxProbeLength());
+      }
+    }
+  }
 }
@@ -0,0 +1,194 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.*;
+
+public class ConcurrentHashTableSeparateChainingTest {
+
+  // An object whose hash value can be set to anything, handy to force collisions.
+  static class HashObject {
+    final int hash, data;
+
+    public HashObject(int hash, int data) {
+      this.hash = hash;
+      this.data = data;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      HashObject ho = (HashObject) o;
+      return hashCode() == ho.hashCode() && data == ho.data;
+    }
+  }
+
+  static final Random RANDOM = new Random();
+  static final int LOOPS = 50;
+  static final int THREADS = 8;
+
+  ConcurrentHashTableSeparateChaining<Integer, Integer> map;
+
+  @Before
+  public void setup() {
+    map = new ConcurrentHashTableSeparateChaining<>();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullKey() {
+    map.put(null, 5);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation1() {
+    new ConcurrentHashTableSeparateChaining<>(-3, 0.5, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation2() {
+    new ConcurrentHashTableSeparateChaining<>(5, Double.POSITIVE_INFINITY, 4);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation3() {
+    new ConcurrentHashTableSeparateChaining<>(5, 0.75, 0);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.add(1, 1)).isNull();
+    assertThat(map.get(1)).isEqualTo(1);
+    assertThat(map.add(1, 5)).isEqualTo(1);
+    assertThat(map.get(1)).isEqualTo(5);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testCollidingKeys() {
+    ConcurrentHashTableSeparateChaining<HashObject, Integer> m =
+        new ConcurrentHashTableSeparateChaining<>();
+    for (int i = 0; i < 100; i++) m.put(new HashObject(42, i), i);
+    assertThat(m.size()).isEqualTo(100);
+    for (int i = 0; i < 100; i += 2) assertThat(m.remove(new HashObject(42, i))).isEqualTo(i);
+    for (int i = 0; i < 100; i++) {
+      assertThat(m.get(new HashObject(42, i))).isEqualTo(i % 2 == 0 ? null : i);
+    }
+  }
+
+  @Test
+  public void testGrowing() {
+    int capacity = map.getCapacity();
+    for (int i = 0; i < 100000; i++) map.put(i, i);
+    assertThat(map.getCapacity()).isGreaterThan(capacity);
+    assertThat(map.size()).isEqualTo(100000);
+    for (int i = 0; i < 100000; i++) assertThat(map.get(i)).isEqualTo(i);
+    assertThat(map.keys().size()).isEqualTo(100000);
+  }
+
+  @Test
+  public void testClear() {
+    for (int i = 0; i < 1000; i++) map.put(i, i);
+    map.clear();
+    assertThat(map.isEmpty()).isTrue();
+    assertThat(map.get(5)).isNull();
+  }
+
+  @Test
+  public void testRandomMapOperations() {
+    HashMap<Integer, Integer> jmap = new HashMap<>();
+    for (int loop = 0; loop < LOOPS; loop++) {
+      map = new ConcurrentHashTableSeparateChaining<>(1, 0.75, 1 + RANDOM.nextInt(8));
+      jmap.clear();
+      for (int i = 0; i < 2000; i++) {
+        int key = RANDOM.nextInt(500) - 250;
+        if (RANDOM.nextBoolean()) assertThat(map.put(key, i)).isEqualTo(jmap.put(key, i));
+        else assertThat(map.remove(key)).isEqualTo(jmap.remove(key));
+        assertThat(map.get(key)).isEqualTo(jmap.get(key));
+        assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+        assertThat(map.size()).isEqualTo(jmap.size());
+      }
+      List<Integer> keys = map.keys();
+      Collections.sort(keys);
+      List<Integer> expected = new ArrayList<>(jmap.keySet());
+      Collections.sort(expected);
+      assertThat(keys).isEqualTo(expected);
+    }
+  }
+
+  // Every thread inserts and then removes its own disjoint range of keys while
+  // the table is growing, so the final contents are deterministic.
+  @Test
+  public void testConcurrentInsertsAndRemoves() throws Exception {
+    final int keysPerThread = 20000;
+    final ConcurrentHashTableSeparateChaining<Integer, Integer> m =
+        new ConcurrentHashTableSeparateChaining<>(1, 0.75, 4);
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int base = t * keysPerThread;
+      futures.add(
+          pool.submit(
+              () -> {
+                for (int i = 0; i < keysPerThread; i++) m.put(base + i, base + i);
+                for (int i = 0; i < keysPerThread; i += 2) m.remove(base + i);
+              }));
+    }
+    for (Future<?> f : futures) f.get();
+    pool.shutdown();
+
+    assertThat(m.size()).isEqualTo(THREADS * keysPerThread / 2);
+    for (int key = 0; key < THREADS * keysPerThread; key++) {
+      assertThat(m.get(key)).isEqualTo(key % 2 == 0 ? null : key);
+    }
+    assertThat(m.keys().size()).isEqualTo(m.size());
+  }
+
+  // Readers must always find keys which were inserted before they started,
+  // even while writers keep growing the table underneath them.
+  @Test
+  public void testReadersDuringResize() throws Exception {
+    final int stableKeys = 1000;
+    final ConcurrentHashTableSeparateChaining<Integer, Integer> m =
+        new ConcurrentHashTableSeparateChaining<>(1, 0.75, 2);
+    for (int i = 0; i < stableKeys; i++) m.put(-i - 1, i);
+
+    final AtomicBoolean done = new AtomicBoolean();
+    final AtomicBoolean failed = new AtomicBoolean();
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS / 2; t++) {
+      futures.add(
+          pool.submit(
+              () -> {
+                Random random = new Random();
+                while (!done.get()) {
+                  int i = random.nextInt(stableKeys);
+                  Integer value = m.get(-i - 1);
+                  if (value == null || value != i) failed.set(true);
+                }
+              }));
+    }
+    for (int t = 0; t < THREADS / 2; t++) {
+      final int base = t * 50000;
+      futures.add(
+          pool.submit(
+              () -> {
+                for (int i = 0; i < 50000; i++) m.put(base + i, i);
+              }));
+    }
+    for (int i = THREADS / 2; i < futures.size(); i++) futures.get(i).get();
+    done.set(true);
+    for (Future<?> f : futures) f.get();
+    pool.shutdown();
+
+    assertThat(failed.get()).isFalse();
+    assertThat(m.size()).isEqualTo(stableKeys + THREADS / 2 * 50000);
+  }
+}
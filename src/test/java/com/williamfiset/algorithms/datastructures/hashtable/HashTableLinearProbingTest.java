@@ -83,6 +83,66 @@ public class HashTableLinearProbingTest {
     assertThat(map.get(1)).isEqualTo(-7);
   }
 
+  @Test
+  public void testProbeLengthHistogram() {
+    HashTableLinearProbing<HashObject, Integer> m = new HashTableLinearProbing<>(50);
+    assertThat(m.probeLengthHistogram()).isEqualTo(new int[] {0});
+    for (int i = 0; i < 3; i++) m.put(new HashObject(5, i), i);
+    m.put(new HashObject(6, 0), 0);
+    assertThat(m.probeLengthHistogram()).isEqualTo(new int[] {2, 1, 1});
+    assertThat(m.maxProbeLength()).isEqualTo(2);
+    assertThat(m.averageProbeLength()).isWithin(1e-9).of(0.75);
+  }
+
+  @Test
+  public void testProbeLengthHistogramAfterRemovals() {
+    HashTableLinearProbing<HashObject, Integer> m = new HashTableLinearProbing<>(50);
+    for (int i = 0; i < 3; i++) m.put(new HashObject(5, i), i);
+    m.put(new HashObject(6, 0), 0);
+    // Leaves a tombstone in the home bucket of the other keys hashing to 5. HashObject's equals
+    // method casts its argument, so comparing against the tombstone would throw.
+    m.remove(new HashObject(5, 0));
+    assertThat(m.probeLengthHistogram()).isEqualTo(new int[] {1, 1, 1});
+    assertThat(m.maxProbeLength()).isEqualTo(2);
+  }
+
+  @Test
+  public void testPutAllAndGetAll() {
+    // Leave a deleted cell behind before the bulk insert.
+    map.put(-1, -1);
+    map.remove(-1);
+
+    // Keys repeat after 4000 so later values overwrite earlier ones.
+    int n = 5000;
+    Integer[] keys = new Integer[n], values = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = i % 4000;
+      values[i] = i;
+    }
+    map.putAll(keys, values);
+    assertThat(map.size()).isEqualTo(4000);
+
+    Integer[] query = new Integer[n + 1], out = new Integer[n + 1];
+    for (int i = 0; i <= n; i++) query[i] = i - 1;
+    assertThat(map.getAll(query, out)).isEqualTo(4000);
+    for (int i = 0; i <= n; i++) {
+      int key = i - 1;
+      if (key < 0 || key >= 4000) assertThat(out[i]).isNull();
+      else if (key < 1000) assertThat(out[i]).isEqualTo(key + 4000);
+      else assertThat(out[i]).isEqualTo(key);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutAllLengthMismatch() {
+    map.putAll(new Integer[] {1, 2}, new Integer[] {1});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetAllNullKey() {
+    map.getAll(new Integer[] {1, null}, new Integer[2]);
+  }
+
   @Test
   public void testIterator() {
 
@@ -104,6 +104,43 @@ public class HashTableQuadraticProbingTest {
     }
   }
 
+  @Test
+  public void testPutAllAndGetAll() {
+    // Leave a deleted cell behind before the bulk insert.
+    map.put(-1, -1);
+    map.remove(-1);
+
+    // Keys repeat after 4000 so later values overwrite earlier ones.
+    int n = 5000;
+    Integer[] keys = new Integer[n], values = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      keys[i] = i % 4000;
+      values[i] = i;
+    }
+    map.putAll(keys, values);
+    assertThat(map.size()).isEqualTo(4000);
+
+    Integer[] query = new Integer[n + 1], out = new Integer[n + 1];
+    for (int i = 0; i <= n; i++) query[i] = i - 1;
+    assertThat(map.getAll(query, out)).isEqualTo(4000);
+    for (int i = 0; i <= n; i++) {
+      int key = i - 1;
+      if (key < 0 || key >= 4000) assertThat(out[i]).isNull();
+      else if (key < 1000) assertThat(out[i]).isEqualTo(key + 4000);
+      else assertThat(out[i]).isEqualTo(key);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testPutAllLengthMismatch() {
+    map.putAll(new Integer[] {1, 2}, new Integer[] {1});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetAllNullKey() {
+    map.getAll(new Integer[] {1, null}, new Integer[2]);
+  }
+
   @Test
   public void testIterator() {
 
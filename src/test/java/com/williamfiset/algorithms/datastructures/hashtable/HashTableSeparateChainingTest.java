@@ -29,6 +29,18 @@ public class HashTableSeparateChainingTest {
     }
   }
 
+  // A comparable key whose hash value can be set to anything.
+  static class ComparableHashObject extends HashObject implements Comparable<ComparableHashObject> {
+    public ComparableHashObject(int hash, int data) {
+      super(hash, data);
+    }
+
+    @Override
+    public int compareTo(ComparableHashObject o) {
+      return Integer.compare(data, o.data);
+    }
+  }
+
   static final Random RANDOM = new Random();
   static int LOOPS, MAX_SIZE, MAX_RAND_NUM;
 
@@ -301,6 +313,93 @@ public class HashTableSeparateChainingTest {
     }
   }
 
+  @Test
+  public void testTreeifyComparableCollidingKeys() {
+    HashTableSeparateChaining<ComparableHashObject, Integer> m =
+        new HashTableSeparateChaining<>(128);
+    for (int i = 0; i < 500; i++) m.put(new ComparableHashObject(7, i), i);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(1);
+    for (int i = 0; i < 500; i++) assertThat(m.get(new ComparableHashObject(7, i))).isEqualTo(i);
+    assertThat(m.get(new ComparableHashObject(7, 500))).isNull();
+    assertThat(m.size()).isEqualTo(500);
+    assertThat(m.keys().size()).isEqualTo(500);
+
+    // Shrinking the bucket back down converts it back to a chain.
+    for (int i = 0; i < 495; i++) assertThat(m.remove(new ComparableHashObject(7, i))).isEqualTo(i);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(0);
+    for (int i = 495; i < 500; i++) assertThat(m.get(new ComparableHashObject(7, i))).isEqualTo(i);
+  }
+
+  // Keys with distinct hash values landing in the same bucket are ordered by
+  // their hash inside the tree even if they are not comparable.
+  @Test
+  public void testTreeifyDistinctHashesSameBucket() {
+    HashTableSeparateChaining<HashObject, Integer> m = new HashTableSeparateChaining<>(1024, 0.75);
+    for (int i = 0; i < 200; i++) m.put(new HashObject(i * 1024, i), i);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(1);
+    for (int i = 0; i < 200; i++) assertThat(m.get(new HashObject(i * 1024, i))).isEqualTo(i);
+    for (int i = 0; i < 200; i += 2) assertThat(m.remove(new HashObject(i * 1024, i))).isEqualTo(i);
+    for (int i = 0; i < 200; i++) {
+      assertThat(m.containsKey(new HashObject(i * 1024, i))).isEqualTo(i % 2 == 1);
+    }
+  }
+
+  // A long chain in a small table makes the table grow until it is large
+  // enough for the chain to be treeified.
+  @Test
+  public void testLongChainInSmallTableGrowsTable() {
+    HashTableSeparateChaining<HashObject, Integer> m = new HashTableSeparateChaining<>(3, 100);
+    for (int i = 0; i <= HashTableSeparateChaining.TREEIFY_THRESHOLD; i++) {
+      m.put(new HashObject(5, i), i);
+    }
+    assertThat(m.capacity()).isEqualTo(6);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(0);
+
+    for (int i = 0; i < 20; i++) m.put(new HashObject(5, i), i);
+    assertThat(m.capacity()).isAtLeast(HashTableSeparateChaining.MIN_TREEIFY_CAPACITY);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(1);
+    for (int i = 0; i < 20; i++) assertThat(m.get(new HashObject(5, i))).isEqualTo(i);
+  }
+
+  @Test
+  public void testTreeifySurvivesResize() {
+    HashTableSeparateChaining<HashObject, Integer> m = new HashTableSeparateChaining<>(64);
+    for (int i = 0; i < 20; i++) m.put(new HashObject(5, i), i);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(1);
+    for (int i = 0; i < 1000; i++) m.put(new HashObject(100 + i, i), i);
+    assertThat(m.treeifiedBucketCount()).isEqualTo(1);
+    for (int i = 0; i < 20; i++) assertThat(m.get(new HashObject(5, i))).isEqualTo(i);
+    for (int i = 0; i < 1000; i++) assertThat(m.get(new HashObject(100 + i, i))).isEqualTo(i);
+
+    int count = 0;
+    for (HashObject key : m) count++;
+    assertThat(count).isEqualTo(1020);
+  }
+
+  @Test
+  public void testRandomCollidingMapOperations() {
+    HashMap<HashObject, Integer> jmap = new HashMap<>();
+    for (int loop = 0; loop < 50; loop++) {
+      HashTableSeparateChaining<HashObject, Integer> m = new HashTableSeparateChaining<>();
+      jmap.clear();
+      for (int i = 0; i < 2000; i++) {
+        // Few distinct hash values so buckets collide heavily, mixed with
+        // comparable and non comparable keys.
+        int hash = RANDOM.nextInt(4) * 64;
+        int data = RANDOM.nextInt(100);
+        HashObject key =
+            RANDOM.nextBoolean()
+                ? new HashObject(hash, data)
+                : new ComparableHashObject(hash, data + 1000);
+        if (RANDOM.nextInt(3) > 0) assertThat(m.put(key, i)).isEqualTo(jmap.put(key, i));
+        else assertThat(m.remove(key)).isEqualTo(jmap.remove(key));
+        assertThat(m.get(key)).isEqualTo(jmap.get(key));
+        assertThat(m.size()).isEqualTo(jmap.size());
+      }
+      for (HashObject key : jmap.keySet()) assertThat(m.get(key)).isEqualTo(jmap.get(key));
+    }
+  }
+
   static int randInt(int min, int max) {
     return RANDOM.nextInt((max - min) + 1) + min;
   }
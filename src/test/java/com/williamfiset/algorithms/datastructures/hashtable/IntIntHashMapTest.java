@@ -0,0 +1,146 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class IntIntHashMapTest {
+
+  static final Random RANDOM = new Random();
+  static final int LOOPS = 100;
+
+  IntIntHashMap map;
+
+  @Before
+  public void setup() {
+    map = new IntIntHashMap();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation1() {
+    new IntIntHashMap(-3, 0.5, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation2() {
+    new IntIntHashMap(5, 1.0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation3() {
+    new IntIntHashMap(6, Double.NaN, 0);
+  }
+
+  @Test
+  public void testLegalCreation() {
+    assertThat(new IntIntHashMap(6, 0.9, -1).noEntryValue()).isEqualTo(-1);
+    assertThat(new IntIntHashMap(0).getCapacity()).isGreaterThan(0);
+  }
+
+  @Test
+  public void testPresizing() {
+    IntIntHashMap presized = new IntIntHashMap(1000);
+    int capacity = presized.getCapacity();
+    for (int i = 1; i <= 1000; i++) presized.put(i, i);
+    assertThat(presized.getCapacity()).isEqualTo(capacity);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.put(1, 1)).isEqualTo(0);
+    assertThat(map.get(1)).isEqualTo(1);
+
+    assertThat(map.put(1, 5)).isEqualTo(1);
+    assertThat(map.get(1)).isEqualTo(5);
+
+    assertThat(map.put(1, -7)).isEqualTo(5);
+    assertThat(map.get(1)).isEqualTo(-7);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testZeroKey() {
+    assertThat(map.containsKey(0)).isFalse();
+    map.put(0, 42);
+    assertThat(map.containsKey(0)).isTrue();
+    assertThat(map.get(0)).isEqualTo(42);
+    assertThat(map.size()).isEqualTo(1);
+    assertThat(map.keys()).isEqualTo(new int[] {0});
+    assertThat(map.remove(0)).isEqualTo(42);
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testNoEntryValue() {
+    IntIntHashMap m = new IntIntHashMap(4, 0.5, Integer.MIN_VALUE);
+    assertThat(m.get(3)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(m.remove(3)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(m.getOrDefault(3, 9)).isEqualTo(9);
+    assertThat(m.put(3, 1)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(m.getOrDefault(3, 9)).isEqualTo(1);
+  }
+
+  @Test
+  public void testClear() {
+    for (int i = -50; i < 50; i++) map.put(i, i);
+    map.clear();
+    assertThat(map.size()).isEqualTo(0);
+    for (int i = -50; i < 50; i++) assertThat(map.containsKey(i)).isFalse();
+  }
+
+  // Removing keys from the middle of long clusters must keep every other key
+  // reachable since there are no tombstones to keep probe chains intact.
+  @Test
+  public void testRemovingFromClusters() {
+    IntIntHashMap m = new IntIntHashMap(16, 0.9, -1);
+    List<Integer> keys = new ArrayList<>();
+    for (int i = 1; i <= 14; i++) {
+      m.put(i * 1024, i);
+      keys.add(i * 1024);
+    }
+    Collections.shuffle(keys, RANDOM);
+    for (int i = 0; i < keys.size(); i++) {
+      assertThat(m.remove(keys.get(i))).isEqualTo(keys.get(i) / 1024);
+      for (int j = i + 1; j < keys.size(); j++) {
+        assertThat(m.get(keys.get(j))).isEqualTo(keys.get(j) / 1024);
+      }
+    }
+    assertThat(m.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void randomOperationsAgainstHashMap() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      IntIntHashMap m = new IntIntHashMap(1 + RANDOM.nextInt(8), 0.75, -1);
+      Map<Integer, Integer> jmap = new HashMap<>();
+      int range = 1 + RANDOM.nextInt(300);
+
+      for (int i = 0; i < 2000; i++) {
+        int key = RANDOM.nextInt(2 * range) - range;
+        int value = RANDOM.nextInt();
+        switch (RANDOM.nextInt(4)) {
+          case 0:
+          case 1:
+            Integer old = jmap.put(key, value);
+            assertThat(m.put(key, value)).isEqualTo(old == null ? -1 : old);
+            break;
+          case 2:
+            Integer removed = jmap.remove(key);
+            assertThat(m.remove(key)).isEqualTo(removed == null ? -1 : removed);
+            break;
+          default:
+            assertThat(m.containsKey(key)).isEqualTo(jmap.containsKey(key));
+            assertThat(m.get(key)).isEqualTo(jmap.getOrDefault(key, -1));
+        }
+        assertThat(m.size()).isEqualTo(jmap.size());
+      }
+
+      int[] keys = m.keys();
+      Arrays.sort(keys);
+      int[] expected = jmap.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+      assertThat(keys).isEqualTo(expected);
+    }
+  }
+}
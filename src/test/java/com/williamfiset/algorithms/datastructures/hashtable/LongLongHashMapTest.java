@@ -0,0 +1,98 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class LongLongHashMapTest {
+
+  static final Random RANDOM = new Random();
+  static final int LOOPS = 100;
+
+  LongLongHashMap map;
+
+  @Before
+  public void setup() {
+    map = new LongLongHashMap();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation1() {
+    new LongLongHashMap(-3, 0.5, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation2() {
+    new LongLongHashMap(5, 0, 0);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.put(1L << 40, 1)).isEqualTo(0L);
+    assertThat(map.get(1L << 40)).isEqualTo(1L);
+
+    assertThat(map.put(1L << 40, Long.MAX_VALUE)).isEqualTo(1L);
+    assertThat(map.get(1L << 40)).isEqualTo(Long.MAX_VALUE);
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testZeroAndExtremeKeys() {
+    map.put(0, 1);
+    map.put(Long.MIN_VALUE, 2);
+    map.put(Long.MAX_VALUE, 3);
+    map.put(-1, 4);
+    assertThat(map.size()).isEqualTo(4);
+    assertThat(map.get(0)).isEqualTo(1L);
+    assertThat(map.get(Long.MIN_VALUE)).isEqualTo(2L);
+    assertThat(map.get(Long.MAX_VALUE)).isEqualTo(3L);
+    assertThat(map.get(-1)).isEqualTo(4L);
+    assertThat(map.remove(0)).isEqualTo(1L);
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.size()).isEqualTo(3);
+  }
+
+  // Keys which only differ in their upper 32 bits must not collide into the
+  // same home slot.
+  @Test
+  public void testHighBitKeys() {
+    for (long i = 1; i <= 1000; i++) map.put(i << 32, i);
+    for (long i = 1; i <= 1000; i++) assertThat(map.get(i << 32)).isEqualTo(i);
+    assertThat(map.containsKey(1001L << 32)).isFalse();
+  }
+
+  @Test
+  public void randomOperationsAgainstHashMap() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      LongLongHashMap m = new LongLongHashMap(1 + RANDOM.nextInt(8), 0.75, -1);
+      Map<Long, Long> jmap = new HashMap<>();
+      int range = 1 + RANDOM.nextInt(300);
+
+      for (int i = 0; i < 2000; i++) {
+        long key = ((long) (RANDOM.nextInt(2 * range) - range)) << RANDOM.nextInt(3) * 16;
+        long value = RANDOM.nextLong();
+        switch (RANDOM.nextInt(4)) {
+          case 0:
+          case 1:
+            Long old = jmap.put(key, value);
+            assertThat(m.put(key, value)).isEqualTo(old == null ? -1L : old);
+            break;
+          case 2:
+            Long removed = jmap.remove(key);
+            assertThat(m.remove(key)).isEqualTo(removed == null ? -1L : removed);
+            break;
+          default:
+            assertThat(m.containsKey(key)).isEqualTo(jmap.containsKey(key));
+            assertThat(m.get(key)).isEqualTo(jmap.getOrDefault(key, -1L));
+        }
+        assertThat(m.size()).isEqualTo(jmap.size());
+      }
+
+      long[] keys = m.keys();
+      Arrays.sort(keys);
+      long[] expected = jmap.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+      assertThat(keys).isEqualTo(expected);
+    }
+  }
+}
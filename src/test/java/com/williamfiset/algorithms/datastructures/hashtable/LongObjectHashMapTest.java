@@ -0,0 +1,78 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class LongObjectHashMapTest {
+
+  static final Random RANDOM = new Random();
+  static final int LOOPS = 100;
+
+  LongObjectHashMap<String> map;
+
+  @Before
+  public void setup() {
+    map = new LongObjectHashMap<>();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation() {
+    new LongObjectHashMap<String>(5, 1.5);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.put(7, "a")).isNull();
+    assertThat(map.get(7)).isEqualTo("a");
+    assertThat(map.put(7, "b")).isEqualTo("a");
+    assertThat(map.get(7)).isEqualTo("b");
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testNullValues() {
+    map.put(3, null);
+    assertThat(map.containsKey(3)).isTrue();
+    assertThat(map.get(3)).isNull();
+    assertThat(map.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void testZeroKey() {
+    assertThat(map.get(0)).isNull();
+    map.put(0, "zero");
+    assertThat(map.get(0)).isEqualTo("zero");
+    assertThat(map.remove(0)).isEqualTo("zero");
+    assertThat(map.get(0)).isNull();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void randomOperationsAgainstHashMap() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      LongObjectHashMap<String> m = new LongObjectHashMap<>(1 + RANDOM.nextInt(8), 0.75);
+      Map<Long, String> jmap = new HashMap<>();
+      int range = 1 + RANDOM.nextInt(300);
+
+      for (int i = 0; i < 2000; i++) {
+        long key = RANDOM.nextInt(2 * range) - range;
+        String value = String.valueOf(RANDOM.nextInt());
+        switch (RANDOM.nextInt(4)) {
+          case 0:
+          case 1:
+            assertThat(m.put(key, value)).isEqualTo(jmap.put(key, value));
+            break;
+          case 2:
+            assertThat(m.remove(key)).isEqualTo(jmap.remove(key));
+            break;
+          default:
+            assertThat(m.containsKey(key)).isEqualTo(jmap.containsKey(key));
+            assertThat(m.get(key)).isEqualTo(jmap.get(key));
+        }
+        assertThat(m.size()).isEqualTo(jmap.size());
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.williamfiset.algorithms.datastructures.hashtable;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import org.junit.*;
+
+public class OffHeapLongLongHashMapTest {
+
+  static final Random RANDOM = new Random();
+  static final int LOOPS = 50;
+
+  Path file;
+  OffHeapLongLongHashMap map;
+
+  @Before
+  public void setup() throws IOException {
+    file = Files.createTempFile("offheap", ".map");
+    map = OffHeapLongLongHashMap.create(file, 1000, -1);
+  }
+
+  @After
+  public void teardown() throws IOException {
+    map.close();
+    Files.deleteIfExists(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCreation() throws IOException {
+    OffHeapLongLongHashMap.create(file, -1);
+  }
+
+  @Test
+  public void testUpdatingValue() {
+    assertThat(map.put(1L << 40, 1)).isEqualTo(-1L);
+    assertThat(map.get(1L << 40)).isEqualTo(1L);
+    assertThat(map.put(1L << 40, Long.MAX_VALUE)).isEqualTo(1L);
+    assertThat(map.get(1L << 40)).isEqualTo(Long.MAX_VALUE);
+    assertThat(map.size()).isEqualTo(1L);
+  }
+
+  @Test
+  public void testZeroKey() {
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.put(0, 7)).isEqualTo(-1L);
+    assertThat(map.containsKey(0)).isTrue();
+    assertThat(map.get(0)).isEqualTo(7L);
+    assertThat(map.size()).isEqualTo(1L);
+    assertThat(map.remove(0)).isEqualTo(7L);
+    assertThat(map.containsKey(0)).isFalse();
+    assertThat(map.isEmpty()).isTrue();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testTableFull() {
+    for (long i = 1; i <= map.getCapacity(); i++) map.put(i, i);
+  }
+
+  @Test
+  public void testReopen() throws IOException {
+    for (long i = -500; i < 500; i++) map.put(i * 31, i);
+    map.remove(31);
+    map.close();
+
+    map = OffHeapLongLongHashMap.open(file);
+    assertThat(map.size()).isEqualTo(999L);
+    assertThat(map.noEntryValue()).isEqualTo(-1L);
+    assertThat(map.containsKey(31)).isFalse();
+    for (long i = -500; i < 500; i++) {
+      if (i != 1) assertThat(map.get(i * 31)).isEqualTo(i);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenInvalidFile() throws IOException {
+    Path other = Files.createTempFile("offheap", ".map");
+    try {
+      Files.write(other, new byte[128]);
+      OffHeapLongLongHashMap.open(other);
+    } finally {
+      Files.delete(other);
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenOverflowingSlotCount() throws IOException {
+    map.close();
+    // A power of two slot count whose size in bytes overflows a long.
+    ByteBuffer slots = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, 1L << 60);
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      channel.write(slots, 8);
+    }
+    OffHeapLongLongHashMap.open(file);
+  }
+
+  @Test
+  public void randomOperations() throws IOException {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      map.close();
+      map = OffHeapLongLongHashMap.create(file, 2000, -1);
+      Map<Long, Long> jmap = new HashMap<>();
+
+      for (int i = 0; i < 2000; i++) {
+        // Draw keys from a small range so that many operations hit existing keys.
+        long key = RANDOM.nextInt(3000) - 1500;
+        long value = RANDOM.nextLong();
+        if (RANDOM.nextDouble() < 0.3) {
+          Long expected = jmap.remove(key);
+          assertThat(map.remove(key)).isEqualTo(expected == null ? -1L : expected);
+        } else {
+          Long expected = jmap.put(key, value);
+          assertThat(map.put(key, value)).isEqualTo(expected == null ? -1L : expected);
+        }
+        assertThat(map.size()).isEqualTo((long) jmap.size());
+      }
+
+      for (long key = -1500; key < 1500; key++) {
+        assertThat(map.containsKey(key)).isEqualTo(jmap.containsKey(key));
+        assertThat(map.get(key)).isEqualTo(jmap.getOrDefault(key, -1L));
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package com.williamfiset.algorithms.datastructures.set;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.*;
+
+public class CuckooHashSetTest {
+
+  static Random r = new Random();
+
+  static final int LOOPS = 100;
+  static final int TEST_SZ = 2000;
+  static final int MAX_RAND_NUM = 5000;
+
+  CuckooHashSet<Integer> hs;
+
+  @Before
+  public void setup() {
+    hs = new CuckooHashSet<>();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullElement() {
+    hs.add(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIllegalCapacity() {
+    new CuckooHashSet<Integer>(-1);
+  }
+
+  @Test
+  public void testAddRemove() {
+    assertThat(hs.add(5)).isTrue();
+    assertThat(hs.add(5)).isFalse();
+    assertThat(hs.size()).isEqualTo(1);
+    assertThat(hs.contains(5)).isTrue();
+    assertThat(hs.remove(5)).isTrue();
+    assertThat(hs.remove(5)).isFalse();
+    assertThat(hs.isEmpty()).isTrue();
+    assertThat(hs.contains(5)).isFalse();
+  }
+
+  @Test
+  public void testGrowth() {
+    for (int i = 0; i < 100000; i++) assertThat(hs.add(i)).isTrue();
+    assertThat(hs.size()).isEqualTo(100000);
+    for (int i = 0; i < 100000; i++) assertThat(hs.contains(i)).isTrue();
+    assertThat(hs.contains(100000)).isFalse();
+  }
+
+  @Test
+  public void testIdenticalHashCodes() {
+    // Elements with the same hash code compete for the same eight slots, the
+    // rest have to be stashed.
+    CuckooHashSet<ConstObj> set = new CuckooHashSet<>();
+    for (int i = 0; i < 20; i++) set.add(new ConstObj(7, i));
+    assertThat(set.size()).isEqualTo(20);
+    assertThat(set.stashSize()).isEqualTo(12);
+    for (int i = 0; i < 20; i++) assertThat(set.contains(new ConstObj(7, i))).isTrue();
+    assertThat(set.contains(new ConstObj(7, 20))).isFalse();
+
+    // Removing an element from the tables lets a stashed element move in.
+    set.remove(new ConstObj(7, 0));
+    assertThat(set.stashSize()).isEqualTo(11);
+    for (int i = 1; i < 20; i++) assertThat(set.remove(new ConstObj(7, i))).isTrue();
+    assertThat(set.isEmpty()).isTrue();
+    assertThat(set.stashSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void testIterator() {
+    Set<Integer> expected = new HashSet<>();
+    for (int i = 0; i < TEST_SZ; i++) {
+      int v = r.nextInt(MAX_RAND_NUM);
+      hs.add(v);
+      expected.add(v);
+    }
+    Set<Integer> seen = new HashSet<>();
+    for (int v : hs) assertThat(seen.add(v)).isTrue();
+    assertThat(seen).isEqualTo(expected);
+  }
+
+  @Test(expected = java.util.ConcurrentModificationException.class)
+  public void testConcurrentModificationException() {
+    for (int i = 0; i < 10; i++) hs.add(i);
+    for (Integer v : hs) hs.add(v + 100);
+  }
+
+  @Test
+  public void testClear() {
+    for (int i = 0; i < TEST_SZ; i++) hs.add(i);
+    hs.clear();
+    assertThat(hs.size()).isEqualTo(0);
+    assertThat(hs.iterator().hasNext()).isFalse();
+    for (int i = 0; i < TEST_SZ; i++) assertThat(hs.contains(i)).isFalse();
+  }
+
+  @Test
+  public void randomizedSetOperations() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      hs.clear();
+      Set<Integer> jset = new HashSet<>();
+      for (int i = 0; i < TEST_SZ; i++) {
+        int v = r.nextInt(MAX_RAND_NUM) - MAX_RAND_NUM / 2;
+        if (r.nextDouble() < 0.3) assertThat(hs.remove(v)).isEqualTo(jset.remove(v));
+        else assertThat(hs.add(v)).isEqualTo(jset.add(v));
+        assertThat(hs.size()).isEqualTo(jset.size());
+      }
+      for (int v = -MAX_RAND_NUM / 2; v < MAX_RAND_NUM / 2; v++)
+        assertThat(hs.contains(v)).isEqualTo(jset.contains(v));
+    }
+  }
+
+  // Values whose buckets collide under the current hash functions fill the stash while the set is
+  // far from half full, which must rehash with a new seed instead of letting the stash grow.
+  @Test
+  public void testStashOverflowAtLowLoadReseeds() {
+    CuckooHashSet<Integer> set = new CuckooHashSet<>(16);
+    int capacity = set.getCapacity();
+    int bucketMask = capacity / (2 * CuckooHashing.SLOTS_PER_BUCKET) - 1;
+    long seed = set.seed();
+    List<Integer> colliding = new ArrayList<>();
+    int bucket0 = -1, bucket1 = -1;
+    for (int v = 1; colliding.size() < 13; v++) {
+      long h = CuckooHashing.mix64(v ^ seed);
+      int b0 = CuckooHashing.bucketStart(h, 0, bucketMask);
+      int b1 = CuckooHashing.bucketStart(h, 1, bucketMask);
+      if (bucket0 == -1) {
+        bucket0 = b0;
+        bucket1 = b1;
+      }
+      if (b0 == bucket0 && b1 == bucket1) colliding.add(v);
+    }
+    for (int v : colliding) {
+      set.add(v);
+      assertThat(set.stashSize()).isAtMost(CuckooHashing.MAX_STASH_SIZE);
+    }
+    assertThat(set.getCapacity()).isEqualTo(capacity);
+    assertThat(set.seed()).isNotEqualTo(seed);
+    for (int v : colliding) assertThat(set.contains(v)).isTrue();
+  }
+}
@@ -0,0 +1,111 @@
+package com.williamfiset.algorithms.datastructures.set;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.*;
+
+public class IntCuckooHashSetTest {
+
+  static Random r = new Random();
+
+  static final int LOOPS = 100;
+  static final int TEST_SZ = 2000;
+  static final int MAX_RAND_NUM = 5000;
+
+  IntCuckooHashSet hs;
+
+  @Before
+  public void setup() {
+    hs = new IntCuckooHashSet();
+  }
+
+  @Test
+  public void testZeroValue() {
+    assertThat(hs.contains(0)).isFalse();
+    assertThat(hs.add(0)).isTrue();
+    assertThat(hs.add(0)).isFalse();
+    assertThat(hs.contains(0)).isTrue();
+    assertThat(hs.size()).isEqualTo(1);
+    assertThat(hs.remove(0)).isTrue();
+    assertThat(hs.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void testExtremeValues() {
+    hs.add(Integer.MIN_VALUE);
+    hs.add(Integer.MAX_VALUE);
+    hs.add(-1);
+    assertThat(hs.contains(Integer.MIN_VALUE)).isTrue();
+    assertThat(hs.contains(Integer.MAX_VALUE)).isTrue();
+    assertThat(hs.contains(-1)).isTrue();
+    assertThat(hs.contains(1)).isFalse();
+  }
+
+  @Test
+  public void testGrowth() {
+    for (int i = 0; i < 100000; i++) assertThat(hs.add(i * 1024)).isTrue();
+    assertThat(hs.size()).isEqualTo(100000);
+    for (int i = 0; i < 100000; i++) assertThat(hs.contains(i * 1024)).isTrue();
+    assertThat(hs.contains(1)).isFalse();
+    assertThat(hs.stashSize()).isAtMost(CuckooHashing.MAX_STASH_SIZE);
+  }
+
+  @Test
+  public void testToArray() {
+    for (int i = -5; i <= 5; i++) hs.add(i);
+    int[] values = hs.toArray();
+    Arrays.sort(values);
+    assertThat(values).isEqualTo(new int[] {-5, -4, -3, -2, -1, 0, 1, 2, 3, 4, 5});
+  }
+
+  @Test
+  public void randomizedSetOperations() {
+    for (int loop = 0; loop < LOOPS; loop++) {
+      hs.clear();
+      Set<Integer> jset = new HashSet<>();
+      for (int i = 0; i < TEST_SZ; i++) {
+        int v = r.nextInt(MAX_RAND_NUM) - MAX_RAND_NUM / 2;
+        if (r.nextDouble() < 0.3) assertThat(hs.remove(v)).isEqualTo(jset.remove(v));
+        else assertThat(hs.add(v)).isEqualTo(jset.add(v));
+        assertThat(hs.size()).isEqualTo(jset.size());
+      }
+      for (int v = -MAX_RAND_NUM / 2; v < MAX_RAND_NUM / 2; v++)
+        assertThat(hs.contains(v)).isEqualTo(jset.contains(v));
+    }
+  }
+
+  // Values whose buckets collide under the current hash functions fill the stash while the set is
+  // far from half full, which must rehash with a new seed instead of letting the stash grow.
+  @Test
+  public void testStashOverflowAtLowLoadReseeds() {
+    IntCuckooHashSet set = new IntCuckooHashSet(16);
+    int capacity = set.getCapacity();
+    int bucketMask = capacity / (2 * CuckooHashing.SLOTS_PER_BUCKET) - 1;
+    long seed = set.seed();
+    List<Integer> colliding = new ArrayList<>();
+    int bucket0 = -1, bucket1 = -1;
+    for (int v = 1; colliding.size() < 13; v++) {
+      long h = CuckooHashing.mix64(v ^ seed);
+      int b0 = CuckooHashing.bucketStart(h, 0, bucketMask);
+      int b1 = CuckooHashing.bucketStart(h, 1, bucketMask);
+      if (bucket0 == -1) {
+        bucket0 = b0;
+        bucket1 = b1;
+      }
+      if (b0 == bucket0 && b1 == bucket1) colliding.add(v);
+    }
+    for (int v : colliding) {
+      set.add(v);
+      assertThat(set.stashSize()).isAtMost(CuckooHashing.MAX_STASH_SIZE);
+    }
+    assertThat(set.getCapacity()).isEqualTo(capacity);
+    assertThat(set.seed()).isNotEqualTo(seed);
+    for (int v : colliding) assertThat(set.contains(v)).isTrue();
+  }
+}
@@ -0,0 +1,153 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.*;
+
+public class ConcurrentUnionFindTest {
+
+  static final Random RANDOM = new Random(25);
+  static final int THREADS = 8;
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  // Checks that both union finds split the elements the same way.
+  private static void assertSamePartition(UnionFind expected, ConcurrentUnionFind actual) {
+    int n = expected.size();
+    assertThat(actual.components()).isEqualTo(expected.components());
+    Map<Integer, Integer> roots = new HashMap<>();
+    for (int i = 0; i < n; i++) {
+      roots.putIfAbsent(expected.find(i), actual.find(i));
+      assertThat(roots.get(expected.find(i))).isEqualTo(actual.find(i));
+    }
+    assertThat(roots.size()).isEqualTo(expected.components());
+  }
+
+  @Test
+  public void testSequentialUse() {
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(5, pool);
+    assertThat(uf.components()).isEqualTo(5);
+    assertThat(uf.unify(0, 1)).isTrue();
+    assertThat(uf.unify(1, 0)).isFalse();
+    assertThat(uf.unify(3, 4)).isTrue();
+    assertThat(uf.connected(0, 1)).isTrue();
+    assertThat(uf.connected(1, 3)).isFalse();
+    assertThat(uf.unify(4, 1)).isTrue();
+    assertThat(uf.connected(0, 3)).isTrue();
+    assertThat(uf.connected(2, 0)).isFalse();
+    assertThat(uf.components()).isEqualTo(2);
+    assertThat(uf.size()).isEqualTo(5);
+  }
+
+  @Test
+  public void testLongPath() {
+    int n = 200_000;
+    ConcurrentUnionFind uf = new ConcurrentUnionFind(n, pool);
+    for (int i = 0; i + 1 < n; i++) uf.unify(i, i + 1);
+    assertThat(uf.components()).isEqualTo(1);
+    assertThat(uf.connected(0, n - 1)).isTrue();
+  }
+
+  @Test
+  public void testUnifyAllAgainstUnionFind() {
+    for (int n : new int[] {1, 10, 1000, 100_000}) {
+      int m = RANDOM.nextInt(2 * n + 1);
+      int[] from = new int[m], to = new int[m];
+      UnionFind expected = new UnionFind(n);
+      for (int i = 0; i < m; i++) {
+        from[i] = RANDOM.nextInt(n);
+        to[i] = RANDOM.nextInt(n);
+        expected.unify(from[i], to[i]);
+      }
+      ConcurrentUnionFind uf = new ConcurrentUnionFind(n, pool);
+      assertThat(uf.unifyAll(from, to)).isEqualTo(n - expected.components());
+      assertSamePartition(expected, uf);
+    }
+  }
+
+  // Threads unify overlapping random edges while readers check that connected pairs never become
+  // disconnected again.
+  @Test
+  public void testConcurrentStress() throws Exception {
+    final int n = 50_000, edgesPerThread = 40_000;
+    final ConcurrentUnionFind uf = new ConcurrentUnionFind(n, pool);
+    final int[][] from = new int[THREADS][edgesPerThread], to = new int[THREADS][edgesPerThread];
+    UnionFind expected = new UnionFind(n);
+    for (int t = 0; t < THREADS; t++) {
+      for (int i = 0; i < edgesPerThread; i++) {
+        from[t][i] = RANDOM.nextInt(n);
+        to[t][i] = RANDOM.nextInt(n);
+        expected.unify(from[t][i], to[t][i]);
+      }
+    }
+
+    final AtomicBoolean done = new AtomicBoolean();
+    final AtomicBoolean failed = new AtomicBoolean();
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 2);
+    List<Future<Integer>> writers = new ArrayList<>();
+    List<Future<?>> readers = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      final int thread = t;
+      writers.add(
+          executor.submit(
+              () -> {
+                start.await();
+                int merged = 0;
+                for (int i = 0; i < edgesPerThread; i++) {
+                  if (uf.unify(from[thread][i], to[thread][i])) merged++;
+                  // Every edge just unified must be connected from now on.
+                  if (!uf.connected(from[thread][i], to[thread][i])) failed.set(true);
+                }
+                return merged;
+              }));
+    }
+    for (int t = 0; t < 2; t++) {
+      readers.add(
+          executor.submit(
+              () -> {
+                Random random = new Random();
+                start.await();
+                while (!done.get()) {
+                  int p = random.nextInt(n), q = random.nextInt(n);
+                  boolean before = uf.connected(p, q);
+                  if (before && !uf.connected(q, p)) failed.set(true);
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    int merged = 0;
+    for (Future<Integer> f : writers) merged += f.get();
+    done.set(true);
+    for (Future<?> f : readers) f.get();
+    executor.shutdown();
+
+    assertThat(failed.get()).isFalse();
+    assertThat(merged).isEqualTo(n - expected.components());
+    assertSamePartition(expected, uf);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedEdgeArrays() {
+    new ConcurrentUnionFind(3, pool).unifyAll(new int[2], new int[1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadCreation() {
+    new ConcurrentUnionFind(0);
+  }
+}
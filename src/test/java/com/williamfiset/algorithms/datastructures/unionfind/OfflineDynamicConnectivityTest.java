@@ -0,0 +1,121 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class OfflineDynamicConnectivityTest {
+
+  static final Random RANDOM = new Random(24);
+
+  @Test
+  public void testSmallStream() {
+    OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(4);
+    int q0 = dc.queryComponents();
+    dc.addEdge(0, 1);
+    dc.addEdge(1, 2);
+    int q1 = dc.queryConnected(0, 2);
+    int q2 = dc.queryComponents();
+    dc.removeEdge(2, 1);
+    int q3 = dc.queryConnected(0, 2);
+    int q4 = dc.queryConnected(1, 0);
+    dc.addEdge(2, 3);
+    dc.addEdge(3, 0);
+    int q5 = dc.queryConnected(2, 1);
+    int q6 = dc.queryComponents();
+
+    assertThat(dc.components(q0)).isEqualTo(4);
+    assertThat(dc.isConnected(q1)).isTrue();
+    assertThat(dc.components(q2)).isEqualTo(2);
+    assertThat(dc.isConnected(q3)).isFalse();
+    assertThat(dc.isConnected(q4)).isTrue();
+    assertThat(dc.isConnected(q5)).isTrue();
+    assertThat(dc.components(q6)).isEqualTo(1);
+  }
+
+  @Test
+  public void testParallelEdges() {
+    OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(2);
+    dc.addEdge(0, 1);
+    dc.addEdge(1, 0);
+    dc.removeEdge(0, 1);
+    int q0 = dc.queryConnected(0, 1);
+    dc.removeEdge(0, 1);
+    int q1 = dc.queryConnected(0, 1);
+    assertThat(dc.isConnected(q0)).isTrue();
+    assertThat(dc.isConnected(q1)).isFalse();
+  }
+
+  @Test
+  public void testEventsAfterSolve() {
+    OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(3);
+    dc.addEdge(0, 1);
+    int q0 = dc.queryComponents();
+    assertThat(dc.components(q0)).isEqualTo(2);
+    dc.addEdge(1, 2);
+    int q1 = dc.queryComponents();
+    assertThat(dc.components(q1)).isEqualTo(1);
+    assertThat(dc.components(q0)).isEqualTo(2);
+  }
+
+  @Test
+  public void testRandomStreamsAgainstRecomputing() {
+    for (int loop = 0; loop < 30; loop++) {
+      int n = 1 + RANDOM.nextInt(40);
+      OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(n);
+      List<int[]> edges = new ArrayList<>();
+      List<Integer> queries = new ArrayList<>();
+      List<Integer> expected = new ArrayList<>();
+
+      for (int event = 0; event < 400; event++) {
+        int type = RANDOM.nextInt(4);
+        if (type == 0 || (type == 1 && edges.isEmpty())) {
+          int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+          dc.addEdge(u, v);
+          edges.add(new int[] {u, v});
+        } else if (type == 1) {
+          int[] edge = edges.remove(RANDOM.nextInt(edges.size()));
+          dc.removeEdge(edge[0], edge[1]);
+        } else {
+          // Recompute the components from scratch for the expected answer.
+          UnionFind uf = new UnionFind(n);
+          for (int[] edge : edges) uf.unify(edge[0], edge[1]);
+          if (type == 2) {
+            int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+            queries.add(dc.queryConnected(u, v));
+            expected.add(uf.connected(u, v) ? 1 : 0);
+          } else {
+            queries.add(dc.queryComponents());
+            expected.add(-uf.components());
+          }
+        }
+      }
+
+      assertThat(dc.queryCount()).isEqualTo(queries.size());
+      for (int i = 0; i < queries.size(); i++) {
+        int query = queries.get(i), answer = expected.get(i);
+        if (answer < 0) assertThat(dc.components(query)).isEqualTo(-answer);
+        else assertThat(dc.isConnected(query)).isEqualTo(answer == 1);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRemoveMissingEdge() {
+    OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(3);
+    dc.addEdge(0, 1);
+    dc.removeEdge(1, 2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWrongQueryKind() {
+    OfflineDynamicConnectivity dc = new OfflineDynamicConnectivity(3);
+    dc.isConnected(dc.queryComponents());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNode() {
+    new OfflineDynamicConnectivity(3).queryConnected(0, 3);
+  }
+}
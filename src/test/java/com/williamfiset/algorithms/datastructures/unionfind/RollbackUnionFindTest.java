@@ -0,0 +1,83 @@
+package com.williamfiset.algorithms.datastructures.unionfind;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class RollbackUnionFindTest {
+
+  static final Random RANDOM = new Random(24);
+
+  @Test
+  public void testUnifyAndRollback() {
+    RollbackUnionFind uf = new RollbackUnionFind(5);
+    assertThat(uf.unify(0, 1)).isTrue();
+    assertThat(uf.unify(1, 0)).isFalse();
+    int checkpoint = uf.checkpoint();
+
+    assertThat(uf.unify(1, 2)).isTrue();
+    assertThat(uf.unify(3, 4)).isTrue();
+    assertThat(uf.unify(2, 4)).isTrue();
+    assertThat(uf.components()).isEqualTo(1);
+    assertThat(uf.componentSize(3)).isEqualTo(5);
+
+    uf.rollback(checkpoint);
+    assertThat(uf.components()).isEqualTo(4);
+    assertThat(uf.connected(0, 1)).isTrue();
+    assertThat(uf.connected(1, 2)).isFalse();
+    assertThat(uf.connected(3, 4)).isFalse();
+    assertThat(uf.componentSize(0)).isEqualTo(2);
+    assertThat(uf.componentSize(4)).isEqualTo(1);
+
+    assertThat(uf.undo()).isTrue();
+    assertThat(uf.components()).isEqualTo(5);
+    assertThat(uf.undo()).isFalse();
+  }
+
+  @Test
+  public void testNestedCheckpointsAgainstUnionFind() {
+    int n = 200;
+    RollbackUnionFind uf = new RollbackUnionFind(n);
+    Deque<Integer> checkpoints = new ArrayDeque<>();
+    Deque<List<int[]>> unions = new ArrayDeque<>();
+    unions.push(new ArrayList<>());
+
+    for (int step = 0; step < 3000; step++) {
+      int action = RANDOM.nextInt(10);
+      if (action < 6) {
+        int p = RANDOM.nextInt(n), q = RANDOM.nextInt(n);
+        uf.unify(p, q);
+        unions.peek().add(new int[] {p, q});
+      } else if (action < 8) {
+        checkpoints.push(uf.checkpoint());
+        unions.push(new ArrayList<>());
+      } else if (!checkpoints.isEmpty()) {
+        uf.rollback(checkpoints.pop());
+        unions.pop();
+      }
+
+      // Rebuild the expected components from the unions which are still in effect.
+      UnionFind expected = new UnionFind(n);
+      for (List<int[]> level : unions) for (int[] u : level) expected.unify(u[0], u[1]);
+      assertThat(uf.components()).isEqualTo(expected.components());
+      for (int i = 0; i < 10; i++) {
+        int p = RANDOM.nextInt(n), q = RANDOM.nextInt(n);
+        assertThat(uf.connected(p, q)).isEqualTo(expected.connected(p, q));
+        assertThat(uf.componentSize(p)).isEqualTo(expected.componentSize(p));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidCheckpoint() {
+    RollbackUnionFind uf = new RollbackUnionFind(3);
+    uf.unify(0, 1);
+    uf.rollback(2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBadCreation() {
+    new RollbackUnionFind(0);
+  }
+}
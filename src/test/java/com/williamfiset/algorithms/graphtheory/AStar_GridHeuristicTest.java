@@ -0,0 +1,190 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class AStar_GridHeuristicTest {
+
+  static final Random RANDOM = new Random(16);
+
+  @Test
+  public void testBidirectionalSameNode() {
+    Map<Integer, List<AStar_GridHeuristic.Edge>> graph = new HashMap<>();
+    double[] X = new double[1], Y = new double[1];
+    assertThat(AStar_GridHeuristic.bidirectionalAstar(X, Y, graph, 0, 0, 1)).isEqualTo(0.0);
+  }
+
+  @Test
+  public void testBidirectionalUnreachable() {
+    Map<Integer, List<AStar_GridHeuristic.Edge>> graph = new HashMap<>();
+    graph.put(0, new ArrayList<>());
+    graph.get(0).add(new AStar_GridHeuristic.Edge(0, 1, 1));
+    double[] X = {0, 1, 2}, Y = {0, 0, 0};
+    assertThat(AStar_GridHeuristic.bidirectionalAstar(X, Y, graph, 0, 2, 3))
+        .isEqualTo(Double.POSITIVE_INFINITY);
+  }
+
+  @Test
+  public void testBidirectionalMatchesDijkstraOnRandomGrids() {
+    for (int loop = 0; loop < 20; loop++) {
+      int N = 2 + RANDOM.nextInt(8);
+      int n = N * N;
+      Map<Integer, List<AStar_GridHeuristic.Edge>> graph = new HashMap<>();
+      for (int i = 0; i < n; i++) graph.put(i, new ArrayList<>());
+      double[] X = new double[n], Y = new double[n];
+      for (int i = 0; i < n; i++) {
+        X[i] = i / N;
+        Y[i] = i % N;
+      }
+      for (int k = 0; k < 3 * n; k++) {
+        int f = RANDOM.nextInt(n), t = RANDOM.nextInt(n);
+        AStar_GridHeuristic.addEdge(
+            graph, f, t, (int) X[f], (int) Y[f], (int) X[t], (int) Y[t]);
+      }
+      Map<Integer, List<AStar_GridHeuristic.Edge>> reverse =
+          AStar_GridHeuristic.reverseGraph(graph);
+
+      for (int q = 0; q < 20; q++) {
+        int s = RANDOM.nextInt(n), e = RANDOM.nextInt(n);
+        double expected = AStar_GridHeuristic.dijkstra(graph, s, e, n);
+        assertThat(AStar_GridHeuristic.bidirectionalAstar(X, Y, graph, reverse, s, e, n))
+            .isEqualTo(expected);
+      }
+    }
+  }
+
+  // A grid where every node links to its four neighbours at a cost of at least one, so the
+  // Manhattan distance between two cells is a consistent heuristic in both directions.
+  @Test
+  public void testBidirectionalManhattanHeuristicMatchesDijkstra() {
+    for (int loop = 0; loop < 20; loop++) {
+      int N = 2 + RANDOM.nextInt(15);
+      int n = N * N;
+      Map<Integer, List<AStar_GridHeuristic.Edge>> graph = new HashMap<>();
+      for (int i = 0; i < n; i++) graph.put(i, new ArrayList<>());
+      for (int i = 0; i < n; i++) {
+        int[] neighbours = {i - N, i + N, i % N == 0 ? -1 : i - 1, i % N == N - 1 ? -1 : i + 1};
+        for (int j : neighbours) {
+          // Leave out some edges so the shortest paths have to take detours.
+          if (j < 0 || j >= n || RANDOM.nextInt(5) == 0) continue;
+          graph.get(i).add(new AStar_GridHeuristic.Edge(i, j, 1 + RANDOM.nextInt(4)));
+        }
+      }
+      Map<Integer, List<AStar_GridHeuristic.Edge>> reverse =
+          AStar_GridHeuristic.reverseGraph(graph);
+      AStar_GridHeuristic.Heuristic manhattan =
+          (at, end) -> Math.abs(at / N - end / N) + Math.abs(at % N - end % N);
+
+      for (int q = 0; q < 20; q++) {
+        int s = RANDOM.nextInt(n), e = RANDOM.nextInt(n);
+        assertThat(AStar_GridHeuristic.bidirectionalAstar(graph, reverse, s, e, n, manhattan))
+            .isEqualTo(AStar_GridHeuristic.dijkstra(graph, s, e, n));
+      }
+    }
+  }
+
+  // A random directed graph with integer costs and no geometry.
+  static Map<Integer, List<AStar_GridHeuristic.Edge>> randomGraph(int n, int m) {
+    Map<Integer, List<AStar_GridHeuristic.Edge>> graph = new HashMap<>();
+    for (int i = 0; i < n; i++) graph.put(i, new ArrayList<>());
+    for (int i = 0; i < m; i++) {
+      int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+      graph.get(u).add(new AStar_GridHeuristic.Edge(u, v, RANDOM.nextInt(50)));
+    }
+    return graph;
+  }
+
+  @Test
+  public void testAstarMatchesDijkstra() {
+    for (int loop = 0; loop < 20; loop++) {
+      int N = 2 + RANDOM.nextInt(8);
+      int n = N * N;
+      Map<Integer, List<AStar_GridHeuristic.Edge>> graph = new HashMap<>();
+      for (int i = 0; i < n; i++) graph.put(i, new ArrayList<>());
+      double[] X = new double[n], Y = new double[n];
+      for (int i = 0; i < n; i++) {
+        X[i] = i / N;
+        Y[i] = i % N;
+      }
+      for (int k = 0; k < 3 * n; k++) {
+        int f = RANDOM.nextInt(n), t = RANDOM.nextInt(n);
+        AStar_GridHeuristic.addEdge(
+            graph, f, t, (int) X[f], (int) Y[f], (int) X[t], (int) Y[t]);
+      }
+      for (int q = 0; q < 20; q++) {
+        int s = RANDOM.nextInt(n), e = RANDOM.nextInt(n);
+        assertThat(AStar_GridHeuristic.astar(X, Y, graph, s, e, n))
+            .isEqualTo(AStar_GridHeuristic.dijkstra(graph, s, e, n));
+      }
+    }
+  }
+
+  @Test
+  public void testAllDistancesDijkstra() {
+    Map<Integer, List<AStar_GridHeuristic.Edge>> graph = randomGraph(40, 120);
+    double[] dists = AStar_GridHeuristic.dijkstra(graph, 3, 40);
+    for (int v = 0; v < 40; v++) {
+      assertThat(dists[v]).isEqualTo(AStar_GridHeuristic.dijkstra(graph, 3, v, 40));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyLandmarks() {
+    AStar_GridHeuristic.Landmarks.select(
+        randomGraph(5, 10), 5, 6, AStar_GridHeuristic.Landmarks.Strategy.AVOID, RANDOM);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidLandmarkNode() {
+    AStar_GridHeuristic.Landmarks.of(randomGraph(5, 10), 5, new int[] {5});
+  }
+
+  @Test
+  public void testLandmarkBoundsAreConsistent() {
+    for (AStar_GridHeuristic.Landmarks.Strategy strategy :
+        AStar_GridHeuristic.Landmarks.Strategy.values()) {
+      int n = 60;
+      Map<Integer, List<AStar_GridHeuristic.Edge>> graph = randomGraph(n, 200);
+      AStar_GridHeuristic.Landmarks landmarks =
+          AStar_GridHeuristic.Landmarks.select(graph, n, 4, strategy, RANDOM);
+      assertThat(landmarks.getLandmarks().length).isEqualTo(4);
+
+      Map<Integer, List<AStar_GridHeuristic.Edge>> reverse =
+          AStar_GridHeuristic.reverseGraph(graph);
+      for (int end = 0; end < n; end++) {
+        double[] toEnd = AStar_GridHeuristic.dijkstra(reverse, end, n);
+        for (int v = 0; v < n; v++) {
+          // Admissible: never more than the true distance.
+          assertThat(landmarks.estimate(v, end)).isAtMost(toEnd[v]);
+          // Consistent: h(u) <= cost(u, v) + h(v) for every edge.
+          for (AStar_GridHeuristic.Edge edge : graph.get(v)) {
+            double hu = landmarks.estimate(edge.from, end), hv = landmarks.estimate(edge.to, end);
+            if (hv != Double.POSITIVE_INFINITY) assertThat(hu).isAtMost(edge.cost + hv + 1e-9);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLandmarkAstarMatchesDijkstra() {
+    for (AStar_GridHeuristic.Landmarks.Strategy strategy :
+        AStar_GridHeuristic.Landmarks.Strategy.values()) {
+      for (int loop = 0; loop < 10; loop++) {
+        int n = 1 + RANDOM.nextInt(100);
+        Map<Integer, List<AStar_GridHeuristic.Edge>> graph =
+            randomGraph(n, RANDOM.nextInt(4 * n));
+        AStar_GridHeuristic.Landmarks landmarks =
+            AStar_GridHeuristic.Landmarks.select(
+                graph, n, 1 + RANDOM.nextInt(Math.min(n, 8)), strategy, RANDOM);
+        for (int q = 0; q < 30; q++) {
+          int s = RANDOM.nextInt(n), e = RANDOM.nextInt(n);
+          assertThat(AStar_GridHeuristic.astar(graph, s, e, n, landmarks))
+              .isEqualTo(AStar_GridHeuristic.dijkstra(graph, s, e, n));
+        }
+      }
+    }
+  }
+}
@@ -2,6 +2,7 @@ package com.williamfiset.algorithms.graphtheory;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.*;
 
@@ -248,4 +249,34 @@ public class ArticulationPointsAdjacencyListTest {
     expected[1] = true; // middle node.
     assertThat(actual).isEqualTo(expected);
   }
+
+  @Test
+  public void testCsrGraph() {
+    int n = 9;
+    CsrGraph graph =
+        new CsrGraph.Builder(n)
+            .addUndirectedEdge(0, 1)
+            .addUndirectedEdge(0, 2)
+            .addUndirectedEdge(1, 2)
+            .addUndirectedEdge(2, 3)
+            .addUndirectedEdge(3, 4)
+            .addUndirectedEdge(2, 5)
+            .addUndirectedEdge(5, 6)
+            .addUndirectedEdge(6, 7)
+            .addUndirectedEdge(7, 8)
+            .addUndirectedEdge(8, 5)
+            .build();
+
+    ArticulationPointsAdjacencyList solver = ArticulationPointsAdjacencyList.fromCsr(graph);
+    boolean[] actual = solver.findArticulationPoints();
+
+    boolean[] expected = new boolean[n];
+    expected[2] = expected[3] = expected[5] = true;
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCsrGraph() {
+    ArticulationPointsAdjacencyList.fromCsr(null);
+  }
 }
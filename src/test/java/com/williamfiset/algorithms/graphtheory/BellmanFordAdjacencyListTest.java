@@ -0,0 +1,44 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class BellmanFordAdjacencyListTest {
+
+  static final Random RANDOM = new Random();
+
+  @Test
+  public void testSpfaNegativeCycle() {
+    List<BellmanFordAdjacencyList.Edge>[] graph = BellmanFordAdjacencyList.createGraph(9);
+    BellmanFordAdjacencyList.addEdge(graph, 0, 1, 1);
+    BellmanFordAdjacencyList.addEdge(graph, 1, 2, 1);
+    BellmanFordAdjacencyList.addEdge(graph, 2, 4, 1);
+    BellmanFordAdjacencyList.addEdge(graph, 4, 3, -3);
+    BellmanFordAdjacencyList.addEdge(graph, 3, 2, 1);
+    BellmanFordAdjacencyList.addEdge(graph, 1, 5, 4);
+    BellmanFordAdjacencyList.addEdge(graph, 1, 6, 4);
+    BellmanFordAdjacencyList.addEdge(graph, 5, 6, 5);
+    BellmanFordAdjacencyList.addEdge(graph, 6, 7, 4);
+    BellmanFordAdjacencyList.addEdge(graph, 5, 7, 3);
+    double inf = Double.POSITIVE_INFINITY;
+    double[] expected = {0, 1, -inf, -inf, -inf, 5, 5, 8, inf};
+    assertThat(BellmanFordAdjacencyList.spfa(graph, 9, 0)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testSpfaMatchesBellmanFord() {
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + RANDOM.nextInt(30);
+      List<BellmanFordAdjacencyList.Edge>[] graph = BellmanFordAdjacencyList.createGraph(n);
+      for (int i = RANDOM.nextInt(3 * n); i > 0; i--) {
+        int cost = RANDOM.nextInt(20) - 2;
+        BellmanFordAdjacencyList.addEdge(graph, RANDOM.nextInt(n), RANDOM.nextInt(n), cost);
+      }
+      int start = RANDOM.nextInt(n);
+      assertThat(BellmanFordAdjacencyList.spfa(graph, n, start))
+          .isEqualTo(BellmanFordAdjacencyList.bellmanFord(graph, n, start));
+    }
+  }
+}
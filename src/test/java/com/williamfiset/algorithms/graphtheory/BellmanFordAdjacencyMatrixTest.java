@@ -0,0 +1,52 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class BellmanFordAdjacencyMatrixTest {
+
+  static final Random RANDOM = new Random();
+
+  static double[][] randomMatrix(int n) {
+    double[][] matrix = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      Arrays.fill(matrix[i], Double.POSITIVE_INFINITY);
+      matrix[i][i] = 0;
+    }
+    for (int k = RANDOM.nextInt(3 * n); k > 0; k--) {
+      matrix[RANDOM.nextInt(n)][RANDOM.nextInt(n)] = RANDOM.nextInt(20) - 2;
+    }
+    return matrix;
+  }
+
+  @Test
+  public void testQueueMatchesFullPasses() {
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + RANDOM.nextInt(25);
+      double[][] matrix = randomMatrix(n);
+      int start = RANDOM.nextInt(n);
+      BellmanFordAdjacencyMatrix passes = new BellmanFordAdjacencyMatrix(start, matrix);
+      BellmanFordAdjacencyMatrix queue = new BellmanFordAdjacencyMatrix(start, matrix, true);
+      assertThat(queue.getShortestPaths()).isEqualTo(passes.getShortestPaths());
+
+      for (int end = 0; end < n; end++) {
+        List<Integer> path = queue.reconstructShortestPath(end);
+        double dist = queue.getShortestPaths()[end];
+        if (dist == Double.NEGATIVE_INFINITY) {
+          assertThat(path).isNull();
+        } else if (dist == Double.POSITIVE_INFINITY) {
+          assertThat(path).isEmpty();
+        } else {
+          // The path must start at 'start', end at 'end' and add up to the distance.
+          assertThat(path.get(0)).isEqualTo(start);
+          assertThat(path.get(path.size() - 1)).isEqualTo(end);
+          double cost = 0;
+          for (int i = 0; i + 1 < path.size(); i++) cost += matrix[path.get(i)][path.get(i + 1)];
+          assertThat(cost).isEqualTo(dist);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class BellmanFordEdgeListTest {
+
+  static final Random RANDOM = new Random();
+
+  static BellmanFordEdgeList.Edge[] exampleEdges() {
+    return new BellmanFordEdgeList.Edge[] {
+      new BellmanFordEdgeList.Edge(0, 1, 1),
+      new BellmanFordEdgeList.Edge(1, 2, 1),
+      new BellmanFordEdgeList.Edge(2, 4, 1),
+      new BellmanFordEdgeList.Edge(4, 3, -3),
+      new BellmanFordEdgeList.Edge(3, 2, 1),
+      new BellmanFordEdgeList.Edge(1, 5, 4),
+      new BellmanFordEdgeList.Edge(1, 6, 4),
+      new BellmanFordEdgeList.Edge(5, 6, 5),
+      new BellmanFordEdgeList.Edge(6, 7, 4),
+      new BellmanFordEdgeList.Edge(5, 7, 3)
+    };
+  }
+
+  @Test
+  public void testSpfaNegativeCycle() {
+    double inf = Double.POSITIVE_INFINITY;
+    double[] expected = {0, 1, -inf, -inf, -inf, 5, 5, 8, inf};
+    assertThat(BellmanFordEdgeList.bellmanFord(exampleEdges(), 9, 0)).isEqualTo(expected);
+    assertThat(BellmanFordEdgeList.spfa(exampleEdges(), 9, 0)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testSpfaNegativeSelfLoop() {
+    BellmanFordEdgeList.Edge[] edges = {
+      new BellmanFordEdgeList.Edge(0, 1, 2), new BellmanFordEdgeList.Edge(1, 1, -1)
+    };
+    assertThat(BellmanFordEdgeList.spfa(edges, 3, 0))
+        .isEqualTo(new double[] {0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY});
+  }
+
+  @Test
+  public void testSpfaMatchesBellmanFord() {
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + RANDOM.nextInt(30);
+      int m = RANDOM.nextInt(3 * n);
+      BellmanFordEdgeList.Edge[] edges = new BellmanFordEdgeList.Edge[m];
+      for (int i = 0; i < m; i++) {
+        // Mostly non negative costs so some graphs have negative cycles and some do not.
+        int cost = RANDOM.nextInt(20) - 2;
+        edges[i] = new BellmanFordEdgeList.Edge(RANDOM.nextInt(n), RANDOM.nextInt(n), cost);
+      }
+      int start = RANDOM.nextInt(n);
+      assertThat(BellmanFordEdgeList.spfa(edges, n, start))
+          .isEqualTo(BellmanFordEdgeList.bellmanFord(edges, n, start));
+    }
+  }
+}
@@ -7,6 +7,7 @@ import static com.williamfiset.algorithms.graphtheory.BreadthFirstSearchAdjacenc
 import static java.lang.Math.max;
 import static java.lang.Math.random;
 
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -107,4 +108,26 @@ public class BreadthFirstSearchAdjacencyListIterativeTest {
 
     return graph2;
   }
+
+  @Test
+  public void testCsrGraph() {
+    CsrGraph graph =
+        new CsrGraph.Builder(6)
+            .addUndirectedEdge(0, 1)
+            .addUndirectedEdge(1, 2)
+            .addUndirectedEdge(2, 3)
+            .addUndirectedEdge(0, 4)
+            .addUndirectedEdge(4, 3)
+            .build();
+    solver = BreadthFirstSearchAdjacencyListIterative.fromCsr(graph);
+
+    assertThat(solver.reconstructPath(0, 3)).isEqualTo(Arrays.asList(0, 4, 3));
+    assertThat(solver.reconstructPath(1, 4)).isEqualTo(Arrays.asList(1, 0, 4));
+    assertThat(solver.reconstructPath(0, 5)).isEmpty();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCsrGraphInput() {
+    BreadthFirstSearchAdjacencyListIterative.fromCsr(null);
+  }
 }
@@ -0,0 +1,153 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class BreadthFirstSearchDirectionOptimizingTest {
+
+  static final Random RANDOM = new Random(21);
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  private static int[] queueBfs(CsrGraph graph, int start) {
+    int[] depth = new int[graph.numNodes()];
+    Arrays.fill(depth, -1);
+    Deque<Integer> queue = new ArrayDeque<>();
+    depth[start] = 0;
+    queue.offer(start);
+    while (!queue.isEmpty()) {
+      int u = queue.poll();
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        int v = graph.target(e);
+        if (depth[v] == -1) {
+          depth[v] = depth[u] + 1;
+          queue.offer(v);
+        }
+      }
+    }
+    return depth;
+  }
+
+  private static boolean hasEdge(CsrGraph graph, int u, int v) {
+    for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+      if (graph.target(e) == v) return true;
+    }
+    return false;
+  }
+
+  // Checks the depths against a queue based BFS and that every parent is one level up and adjacent.
+  private static void check(
+      CsrGraph graph, int start, BreadthFirstSearchDirectionOptimizing.Result r) {
+    int[] expected = queueBfs(graph, start);
+    int reached = 0;
+    for (int v = 0; v < graph.numNodes(); v++) {
+      assertThat(r.depth(v)).isEqualTo(expected[v]);
+      if (expected[v] == -1) continue;
+      reached++;
+      if (v == start) {
+        assertThat(r.parent(v)).isEqualTo(-1);
+      } else {
+        int p = r.parent(v);
+        assertThat(r.depth(p)).isEqualTo(r.depth(v) - 1);
+        assertThat(hasEdge(graph, p, v)).isTrue();
+      }
+    }
+    assertThat(r.reachedCount()).isEqualTo(reached);
+  }
+
+  private static CsrGraph randomGraph(int n, int m, boolean undirected) {
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) {
+      int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+      if (undirected) builder.addUndirectedEdge(u, v);
+      else builder.addEdge(u, v);
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void testSingleNode() {
+    CsrGraph graph = new CsrGraph.Builder(1).build();
+    BreadthFirstSearchDirectionOptimizing.Result r =
+        new BreadthFirstSearchDirectionOptimizing(graph).bfs(0);
+    assertThat(r.depth(0)).isEqualTo(0);
+    assertThat(r.reachedCount()).isEqualTo(1);
+    assertThat(r.reconstructPath(0)).isEqualTo(new int[] {0});
+  }
+
+  @Test
+  public void testPathGraph() {
+    int n = 200;
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i + 1 < n; i++) builder.addEdge(i, i + 1);
+    CsrGraph graph = builder.build();
+    BreadthFirstSearchDirectionOptimizing.Result r =
+        new BreadthFirstSearchDirectionOptimizing(graph, graph.transpose(), pool).bfs(0);
+    assertThat(r.depth(n - 1)).isEqualTo(n - 1);
+    assertThat(r.reconstructPath(3)).isEqualTo(new int[] {0, 1, 2, 3});
+    assertThat(r.bottomUpLevels()).isEqualTo(0);
+
+    // Nothing leads back to node 0.
+    r = new BreadthFirstSearchDirectionOptimizing(graph).bfs(5);
+    assertThat(r.depth(0)).isEqualTo(-1);
+    assertThat(r.reconstructPath(0).length).isEqualTo(0);
+  }
+
+  @Test
+  public void testSmallRandomGraphs() {
+    for (int n = 1; n <= 200; n += 7) {
+      for (boolean undirected : new boolean[] {false, true}) {
+        CsrGraph graph = randomGraph(n, RANDOM.nextInt(4 * n + 1), undirected);
+        int start = RANDOM.nextInt(n);
+        check(graph, start, new BreadthFirstSearchDirectionOptimizing(graph).bfs(start));
+      }
+    }
+  }
+
+  @Test
+  public void testLargeUndirectedGraphGoesBottomUp() {
+    int n = 50_000;
+    CsrGraph graph = randomGraph(n, 10 * n, true);
+    BreadthFirstSearchDirectionOptimizing solver =
+        new BreadthFirstSearchDirectionOptimizing(graph, graph, pool);
+    for (int start : new int[] {0, n - 1, RANDOM.nextInt(n)}) {
+      BreadthFirstSearchDirectionOptimizing.Result r = solver.bfs(start);
+      assertThat(r.bottomUpLevels()).isGreaterThan(0);
+      check(graph, start, r);
+    }
+  }
+
+  @Test
+  public void testLargeDirectedGraph() {
+    int n = 30_001;
+    CsrGraph graph = randomGraph(n, 8 * n, false);
+    BreadthFirstSearchDirectionOptimizing solver =
+        new BreadthFirstSearchDirectionOptimizing(graph, graph.transpose(), pool);
+    check(graph, 7, solver.bfs(7));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidStart() {
+    new BreadthFirstSearchDirectionOptimizing(new CsrGraph.Builder(3).build()).bfs(3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMismatchedReverseGraph() {
+    CsrGraph graph = new CsrGraph.Builder(3).addEdge(0, 1).build();
+    new BreadthFirstSearchDirectionOptimizing(graph, new CsrGraph.Builder(3).build(), pool);
+  }
+}
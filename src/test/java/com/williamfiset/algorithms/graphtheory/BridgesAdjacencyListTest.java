@@ -3,6 +3,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.*;
@@ -159,4 +160,33 @@ public class BridgesAdjacencyListTest {
     }
     return bridges;
   }
+
+  @Test
+  public void testCsrGraph() {
+    CsrGraph graph =
+        new CsrGraph.Builder(9)
+            .addUndirectedEdge(0, 1)
+            .addUndirectedEdge(0, 2)
+            .addUndirectedEdge(1, 2)
+            .addUndirectedEdge(2, 3)
+            .addUndirectedEdge(3, 4)
+            .addUndirectedEdge(2, 5)
+            .addUndirectedEdge(5, 6)
+            .addUndirectedEdge(6, 7)
+            .addUndirectedEdge(7, 8)
+            .addUndirectedEdge(8, 5)
+            .build();
+
+    BridgesAdjacencyList solver = BridgesAdjacencyList.fromCsr(graph);
+    List<Pair<Integer, Integer>> sortedBridges = getSortedBridges(solver.findBridges());
+
+    List<Pair<Integer, Integer>> expected =
+        ImmutableList.of(Pair.of(2, 3), Pair.of(3, 4), Pair.of(2, 5));
+    assertThat(sortedBridges).containsExactlyElementsIn(expected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullCsrGraph() {
+    BridgesAdjacencyList.fromCsr(null);
+  }
 }
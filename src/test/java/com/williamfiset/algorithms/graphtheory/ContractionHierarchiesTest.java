@@ -0,0 +1,196 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphTestUtils.pathCost;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphTestUtils.randomGraph;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class ContractionHierarchiesTest {
+
+  static final Random RANDOM = new Random(15);
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  static void assertMatchesDijkstra(CsrGraph graph, ContractionHierarchies ch, int queries) {
+    DijkstrasShortestPathCsr dijkstra = new DijkstrasShortestPathCsr(graph);
+    DijkstrasShortestPathCsr.Workspace dijkstraWs = dijkstra.newWorkspace();
+    ContractionHierarchies.Workspace ws = ch.newWorkspace();
+    int n = graph.numNodes();
+    for (int q = 0; q < queries; q++) {
+      int s = RANDOM.nextInt(n), e = RANDOM.nextInt(n);
+      double expected = dijkstra.dijkstra(s, e, dijkstraWs);
+      assertThat(ch.query(s, e, ws)).isEqualTo(expected);
+      assertThat(ws.distance()).isEqualTo(expected);
+
+      int[] path = ws.reconstructPath();
+      if (expected == Double.POSITIVE_INFINITY) {
+        assertThat(path).isEmpty();
+      } else {
+        assertThat(path[0]).isEqualTo(s);
+        assertThat(path[path.length - 1]).isEqualTo(e);
+        assertThat(pathCost(graph, path)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraph() {
+    ContractionHierarchies.preprocess(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeEdgeWeight() {
+    ContractionHierarchies.preprocess(new CsrGraph.Builder(2).addEdge(0, 1, -1.0).build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWorkspaceFromOtherHierarchy() {
+    ContractionHierarchies a = ContractionHierarchies.preprocess(new CsrGraph.Builder(2).build());
+    ContractionHierarchies b = ContractionHierarchies.preprocess(new CsrGraph.Builder(2).build());
+    a.query(0, 1, b.newWorkspace());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNode() {
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(new CsrGraph.Builder(2).build());
+    ch.query(0, 2, ch.newWorkspace());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testPathBeforeQuery() {
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(new CsrGraph.Builder(2).build());
+    ch.newWorkspace().reconstructPath();
+  }
+
+  @Test
+  public void testSameNode() {
+    CsrGraph graph = new CsrGraph.Builder(2).addEdge(0, 1, 3.0).build();
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(graph);
+    ContractionHierarchies.Workspace ws = ch.newWorkspace();
+    assertThat(ch.query(1, 1, ws)).isEqualTo(0.0);
+    assertThat(ws.reconstructPath()).isEqualTo(new int[] {1});
+  }
+
+  @Test
+  public void testShortcutsAreUnpacked() {
+    // A directed chain forces the middle nodes to be bypassed by shortcuts.
+    int n = 50;
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i + 1 < n; i++) builder.addEdge(i, i + 1, 1.0);
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(builder.build());
+    assertThat(ch.numShortcuts()).isGreaterThan(0);
+
+    ContractionHierarchies.Workspace ws = ch.newWorkspace();
+    assertThat(ch.query(0, n - 1, ws)).isEqualTo(n - 1.0);
+    int[] path = ws.reconstructPath();
+    assertThat(path.length).isEqualTo(n);
+    for (int i = 0; i < n; i++) assertThat(path[i]).isEqualTo(i);
+    assertThat(ch.query(n - 1, 0, ws)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(ws.reconstructPath()).isEmpty();
+  }
+
+  @Test
+  public void testRanksArePermutation() {
+    CsrGraph graph = randomGraph(RANDOM, 100, 300, 20);
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(graph);
+    boolean[] seen = new boolean[100];
+    for (int u = 0; u < 100; u++) seen[ch.rank(u)] = true;
+    for (boolean b : seen) assertThat(b).isTrue();
+  }
+
+  @Test
+  public void testRandomGraphs() {
+    for (int loop = 0; loop < 30; loop++) {
+      int n = 1 + RANDOM.nextInt(80);
+      CsrGraph graph = randomGraph(RANDOM, n, RANDOM.nextInt(4 * n), 20);
+      assertMatchesDijkstra(graph, ContractionHierarchies.preprocess(graph), 50);
+    }
+  }
+
+  @Test
+  public void testGridGraph() {
+    CsrGraph graph = ContractionHierarchies.gridGraph(30, 30, RANDOM.nextLong());
+    assertMatchesDijkstra(graph, ContractionHierarchies.preprocess(graph), 200);
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException {
+    CsrGraph graph = ContractionHierarchies.gridGraph(20, 20, RANDOM.nextLong());
+    ContractionHierarchies ch = ContractionHierarchies.preprocess(graph);
+    Path file = folder.newFile("hierarchy.ch").toPath();
+    ch.write(file);
+    ContractionHierarchies loaded = ContractionHierarchies.read(file);
+    assertThat(loaded.numNodes()).isEqualTo(ch.numNodes());
+    assertThat(loaded.numEdges()).isEqualTo(ch.numEdges());
+    assertThat(loaded.numShortcuts()).isEqualTo(ch.numShortcuts());
+    for (int u = 0; u < graph.numNodes(); u++) assertThat(loaded.rank(u)).isEqualTo(ch.rank(u));
+    assertMatchesDijkstra(graph, loaded, 100);
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadInvalidFile() throws IOException {
+    Path file = folder.newFile("hierarchy.ch").toPath();
+    Files.write(file, new byte[64]);
+    ContractionHierarchies.read(file);
+  }
+
+  // Overwrites the int at 'position' of a written hierarchy and reads it back.
+  private void readWithIntAt(ContractionHierarchies ch, int position, int value)
+      throws IOException {
+    Path file = folder.newFile("hierarchy.ch").toPath();
+    ch.write(file);
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer.wrap(bytes).putInt(position, value);
+    Files.write(file, bytes);
+    ContractionHierarchies.read(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadRankOutOfRange() throws IOException {
+    CsrGraph graph = ContractionHierarchies.gridGraph(3, 3, RANDOM.nextLong());
+    // The ranks start right after the 24 byte header.
+    readWithIntAt(ContractionHierarchies.preprocess(graph), 24, 9);
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadDecreasingOffsets() throws IOException {
+    CsrGraph graph = ContractionHierarchies.gridGraph(3, 3, RANDOM.nextLong());
+    // upOffsets[1] follows the 9 ranks and upOffsets[0].
+    readWithIntAt(ContractionHierarchies.preprocess(graph), 24 + 4 * 10, -1);
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadTargetOutOfRange() throws IOException {
+    CsrGraph graph = ContractionHierarchies.gridGraph(3, 3, RANDOM.nextLong());
+    // upTargets[0] follows the 9 ranks and the 10 upward offsets.
+    readWithIntAt(ContractionHierarchies.preprocess(graph), 24 + 4 * 19, 9);
+  }
+
+  @Test(expected = IOException.class)
+  public void testReadTruncatedFile() throws IOException {
+    Path file = folder.newFile("hierarchy.ch").toPath();
+    ContractionHierarchies.preprocess(ContractionHierarchies.gridGraph(3, 3, 1)).write(file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 8));
+    ContractionHierarchies.read(file);
+  }
+
+  @Test
+  public void testWriteReplacesFile() throws IOException {
+    Path file = folder.newFile("hierarchy.ch").toPath();
+    Files.write(file, new byte[1 << 16]);
+    CsrGraph graph = ContractionHierarchies.gridGraph(10, 10, RANDOM.nextLong());
+    ContractionHierarchies.preprocess(graph).write(file);
+    assertMatchesDijkstra(graph, ContractionHierarchies.read(file), 50);
+    assertThat(folder.getRoot().list().length).isEqualTo(1);
+  }
+}
@@ -0,0 +1,134 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class DeltaSteppingShortestPathTest {
+
+  static final Random RANDOM = new Random(17);
+
+  ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void teardown() {
+    pool.shutdown();
+  }
+
+  static BellmanFordEdgeList.Edge[] randomEdges(int n, int m, int maxCost) {
+    BellmanFordEdgeList.Edge[] edges = new BellmanFordEdgeList.Edge[m];
+    for (int i = 0; i < m; i++) {
+      edges[i] =
+          new BellmanFordEdgeList.Edge(
+              RANDOM.nextInt(n), RANDOM.nextInt(n), RANDOM.nextInt(maxCost + 1));
+    }
+    return edges;
+  }
+
+  static CsrGraph toCsrGraph(BellmanFordEdgeList.Edge[] edges, int n) {
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (BellmanFordEdgeList.Edge edge : edges) builder.addEdge(edge.from, edge.to, edge.cost);
+    return builder.build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraph() {
+    new DeltaSteppingShortestPath(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeEdge() {
+    new DeltaSteppingShortestPath(new CsrGraph.Builder(2).addEdge(0, 1, -1.0).build());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDelta() {
+    new DeltaSteppingShortestPath(new CsrGraph.Builder(2).build(), 0, pool);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeltaTooSmallForEdgeWeights() {
+    CsrGraph graph = new CsrGraph.Builder(2).addEdge(0, 1, 1e9).build();
+    new DeltaSteppingShortestPath(graph, 1, pool);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidStart() {
+    new DeltaSteppingShortestPath(new CsrGraph.Builder(2).build()).shortestPaths(2);
+  }
+
+  @Test
+  public void testBellmanFordExample() {
+    BellmanFordEdgeList.Edge[] edges = {
+      new BellmanFordEdgeList.Edge(0, 1, 1),
+      new BellmanFordEdgeList.Edge(1, 2, 1),
+      new BellmanFordEdgeList.Edge(2, 4, 1),
+      new BellmanFordEdgeList.Edge(4, 3, 3),
+      new BellmanFordEdgeList.Edge(3, 2, 1),
+      new BellmanFordEdgeList.Edge(1, 5, 4),
+      new BellmanFordEdgeList.Edge(1, 6, 4),
+      new BellmanFordEdgeList.Edge(5, 6, 5),
+      new BellmanFordEdgeList.Edge(6, 7, 4),
+      new BellmanFordEdgeList.Edge(5, 7, 3)
+    };
+    double[] expected = {0, 1, 2, 6, 3, 5, 5, 8, Double.POSITIVE_INFINITY};
+    assertThat(DeltaSteppingShortestPath.deltaStepping(edges, 9, 0)).isEqualTo(expected);
+  }
+
+  @Test
+  public void testZeroWeights() {
+    BellmanFordEdgeList.Edge[] edges = randomEdges(50, 200, 0);
+    assertThat(DeltaSteppingShortestPath.deltaStepping(edges, 50, 7))
+        .isEqualTo(BellmanFordEdgeList.bellmanFord(edges, 50, 7));
+  }
+
+  @Test
+  public void testMatchesBellmanFordWithDifferentDeltas() {
+    for (int loop = 0; loop < 30; loop++) {
+      int n = 1 + RANDOM.nextInt(200);
+      BellmanFordEdgeList.Edge[] edges = randomEdges(n, RANDOM.nextInt(5 * n), 100);
+      CsrGraph graph = toCsrGraph(edges, n);
+      int start = RANDOM.nextInt(n);
+      double[] expected = BellmanFordEdgeList.bellmanFord(edges, n, start);
+      for (double delta : new double[] {0.5, 1, 7, 30, 1000}) {
+        DeltaSteppingShortestPath solver = new DeltaSteppingShortestPath(graph, delta, pool);
+        assertThat(solver.shortestPaths(start)).isEqualTo(expected);
+      }
+    }
+  }
+
+  @Test
+  public void testLongChainReusesBuckets() {
+    // The distances go far past the few buckets a delta of 1 needs for edges of weight at most 2.
+    int n = 10_000;
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i + 1 < n; i++) builder.addEdge(i, i + 1, 1.0 + (i % 2));
+    builder.addEdge(0, n / 2, 2.0);
+    double[] expected = new double[n];
+    for (int i = 1; i < n; i++) expected[i] = i == n / 2 ? 2.0 : expected[i - 1] + 1 + (i - 1) % 2;
+    assertThat(new DeltaSteppingShortestPath(builder.build(), 1, pool).shortestPaths(0))
+        .isEqualTo(expected);
+  }
+
+  @Test
+  public void testLargeGraphRelaxedInParallel() {
+    // Large enough for the frontiers to be split into several fork/join tasks.
+    int n = 20_000;
+    BellmanFordEdgeList.Edge[] edges = randomEdges(n, 8 * n, 1000);
+    CsrGraph graph = toCsrGraph(edges, n);
+    DeltaSteppingShortestPath solver =
+        new DeltaSteppingShortestPath(graph, 1000.0 / 8, pool);
+    for (int start : new int[] {0, n / 2}) {
+      assertThat(solver.shortestPaths(start))
+          .isEqualTo(BellmanFordEdgeList.bellmanFord(edges, n, start));
+    }
+  }
+}
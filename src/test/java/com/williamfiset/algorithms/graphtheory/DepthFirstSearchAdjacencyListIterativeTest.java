@@ -0,0 +1,52 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.DepthFirstSearchAdjacencyListIterative.Edge;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import org.junit.*;
+
+public class DepthFirstSearchAdjacencyListIterativeTest {
+
+  static final Random RANDOM = new Random(11);
+
+  @Test
+  public void testCsrGraphComponentSizes() {
+    // Components {0, 1, 2, 3}, {4, 5} and {6}, where 3 is only reachable through a cycle.
+    CsrGraph graph =
+        new CsrGraph.Builder(7)
+            .addEdge(0, 1)
+            .addEdge(1, 2)
+            .addEdge(2, 0)
+            .addEdge(2, 3)
+            .addUndirectedEdge(4, 5)
+            .build();
+
+    assertThat(DepthFirstSearchAdjacencyListIterative.dfs(graph, 0)).isEqualTo(4);
+    assertThat(DepthFirstSearchAdjacencyListIterative.dfs(graph, 1)).isEqualTo(4);
+    assertThat(DepthFirstSearchAdjacencyListIterative.dfs(graph, 3)).isEqualTo(1);
+    assertThat(DepthFirstSearchAdjacencyListIterative.dfs(graph, 4)).isEqualTo(2);
+    assertThat(DepthFirstSearchAdjacencyListIterative.dfs(graph, 6)).isEqualTo(1);
+  }
+
+  @Test
+  public void testCsrGraphAgainstMapGraph() {
+    for (int loop = 0; loop < 20; loop++) {
+      int n = 1 + RANDOM.nextInt(100);
+      Map<Integer, List<Edge>> graph = new HashMap<>();
+      CsrGraph.Builder builder = new CsrGraph.Builder(n);
+      for (int i = 0; i < n; i++) {
+        int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+        graph.computeIfAbsent(u, k -> new ArrayList<>()).add(new Edge(u, v, 1));
+        builder.addEdge(u, v);
+      }
+      CsrGraph csr = builder.build();
+
+      for (int start = 0; start < n; start++) {
+        assertThat(DepthFirstSearchAdjacencyListIterative.dfs(csr, start))
+            .isEqualTo(DepthFirstSearchAdjacencyListIterative.dfs(graph, start, n));
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphTestUtils.pathCost;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphTestUtils.randomGraph;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import org.junit.*;
+
+public class DijkstrasShortestPathAdjacencyListTest {
+
+  static final Random RANDOM = new Random(14);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBidirectionalInvalidNode() {
+    new DijkstrasShortestPathAdjacencyList(3).bidirectionalDijkstra(0, 3);
+  }
+
+  @Test
+  public void testBidirectionalSameNode() {
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(2);
+    solver.addEdge(0, 1, 5);
+    assertThat(solver.bidirectionalDijkstra(1, 1)).isEqualTo(0.0);
+    assertThat(solver.reconstructBidirectionalPath(1, 1)).containsExactly(1);
+  }
+
+  @Test
+  public void testBidirectionalUnreachable() {
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(3);
+    solver.addEdge(0, 1, 1);
+    solver.addEdge(2, 0, 1);
+    assertThat(solver.bidirectionalDijkstra(0, 2)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(solver.reconstructBidirectionalPath(0, 2)).isEmpty();
+  }
+
+  @Test
+  public void testBidirectionalPicksShorterDetour() {
+    // The direct edge 0 -> 3 is more expensive than going around through 1 and 2.
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(4);
+    solver.addEdge(0, 3, 10);
+    solver.addEdge(0, 1, 2);
+    solver.addEdge(1, 2, 2);
+    solver.addEdge(2, 3, 2);
+    assertThat(solver.bidirectionalDijkstra(0, 3)).isEqualTo(6.0);
+    assertThat(solver.reconstructBidirectionalPath(0, 3)).containsExactly(0, 1, 2, 3).inOrder();
+  }
+
+  @Test
+  public void testBidirectionalEdgesAddedBetweenQueries() {
+    DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(3);
+    solver.addEdge(0, 1, 1);
+    assertThat(solver.bidirectionalDijkstra(0, 2)).isEqualTo(Double.POSITIVE_INFINITY);
+    solver.addEdge(1, 2, 1);
+    assertThat(solver.bidirectionalDijkstra(0, 2)).isEqualTo(2.0);
+  }
+
+  @Test
+  public void testBidirectionalMatchesDijkstraOnRandomGraphs() {
+    for (int loop = 0; loop < 30; loop++) {
+      int n = 1 + RANDOM.nextInt(60);
+      CsrGraph graph = randomGraph(RANDOM, n, RANDOM.nextInt(4 * n), 20);
+      DijkstrasShortestPathAdjacencyList solver = new DijkstrasShortestPathAdjacencyList(n);
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          solver.addEdge(u, graph.target(e), (int) graph.weight(e));
+        }
+      }
+      DijkstrasShortestPathAdjacencyList csrSolver =
+          DijkstrasShortestPathAdjacencyList.fromCsr(graph);
+
+      for (int q = 0; q < 20; q++) {
+        int s = RANDOM.nextInt(n), e = RANDOM.nextInt(n);
+        double expected = solver.dijkstra(s, e);
+        assertThat(solver.bidirectionalDijkstra(s, e)).isEqualTo(expected);
+        assertThat(csrSolver.bidirectionalDijkstra(s, e)).isEqualTo(expected);
+
+        List<Integer> path = solver.reconstructBidirectionalPath(s, e);
+        if (expected == Double.POSITIVE_INFINITY) {
+          assertThat(path).isEmpty();
+        } else {
+          assertThat(path.get(0)).isEqualTo(s);
+          assertThat(path.get(path.size() - 1)).isEqualTo(e);
+          assertThat(pathCost(graph, path)).isEqualTo(expected);
+        }
+      }
+    }
+  }
+}
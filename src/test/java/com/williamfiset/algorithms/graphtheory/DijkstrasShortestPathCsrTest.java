@@ -0,0 +1,122 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphTestUtils.pathCost;
+import static com.williamfiset.algorithms.utils.graphutils.CsrGraphTestUtils.randomGraph;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import org.junit.*;
+
+public class DijkstrasShortestPathCsrTest {
+
+  static final Random RANDOM = new Random(13);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNullGraph() {
+    new DijkstrasShortestPathCsr(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWorkspaceFromOtherGraph() {
+    DijkstrasShortestPathCsr a = new DijkstrasShortestPathCsr(new CsrGraph.Builder(3).build());
+    DijkstrasShortestPathCsr b = new DijkstrasShortestPathCsr(new CsrGraph.Builder(4).build());
+    a.dijkstra(0, 1, b.newWorkspace());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidNode() {
+    DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(new CsrGraph.Builder(3).build());
+    solver.dijkstra(0, 3, solver.newWorkspace());
+  }
+
+  @Test
+  public void testSingleNode() {
+    DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(new CsrGraph.Builder(1).build());
+    DijkstrasShortestPathCsr.Workspace ws = solver.newWorkspace();
+    assertThat(solver.dijkstra(0, 0, ws)).isEqualTo(0.0);
+    assertThat(ws.reconstructPath(0)).isEqualTo(new int[] {0});
+  }
+
+  @Test
+  public void testUnreachable() {
+    CsrGraph graph = new CsrGraph.Builder(3).addEdge(0, 1, 1.0).addEdge(2, 0, 1.0).build();
+    DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(graph);
+    DijkstrasShortestPathCsr.Workspace ws = solver.newWorkspace();
+    assertThat(solver.dijkstra(0, 2, ws)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(ws.reconstructPath(2)).isEqualTo(new int[0]);
+  }
+
+  @Test
+  public void testOnlyTouchedNodesAreReset() {
+    // Two disjoint chains, 0 -> 1 -> 2 and 3 -> 4.
+    CsrGraph graph =
+        new CsrGraph.Builder(5).addEdge(0, 1, 1.0).addEdge(1, 2, 1.0).addEdge(3, 4, 1.0).build();
+    DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(graph);
+    DijkstrasShortestPathCsr.Workspace ws = solver.newWorkspace();
+
+    solver.dijkstra(0, ws);
+    assertThat(ws.touchedCount()).isEqualTo(3);
+    assertThat(ws.distance(2)).isEqualTo(2.0);
+
+    solver.dijkstra(3, ws);
+    assertThat(ws.touchedCount()).isEqualTo(2);
+    assertThat(ws.distance(4)).isEqualTo(1.0);
+    assertThat(ws.distance(2)).isEqualTo(Double.POSITIVE_INFINITY);
+    assertThat(ws.previous(1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testMatchesAdjacencyListDijkstra() {
+    for (int loop = 0; loop < 30; loop++) {
+      int n = 1 + RANDOM.nextInt(150);
+      CsrGraph graph = randomGraph(RANDOM, n, 4 * n, 100);
+      DijkstrasShortestPathAdjacencyList expected = new DijkstrasShortestPathAdjacencyList(n);
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          expected.addEdge(u, graph.target(e), (int) graph.weight(e));
+        }
+      }
+
+      DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(graph);
+      DijkstrasShortestPathCsr.Workspace ws = solver.newWorkspace();
+      for (int query = 0; query < 20; query++) {
+        int start = RANDOM.nextInt(n), end = RANDOM.nextInt(n);
+        double dist = solver.dijkstra(start, end, ws);
+        assertThat(dist).isEqualTo(expected.dijkstra(start, end));
+
+        // The reconstructed path must exist in the graph and have the same length.
+        int[] path = ws.reconstructPath(end);
+        if (dist == Double.POSITIVE_INFINITY) {
+          assertThat(path.length).isEqualTo(0);
+          continue;
+        }
+        assertThat(path[0]).isEqualTo(start);
+        assertThat(path[path.length - 1]).isEqualTo(end);
+        assertThat(pathCost(graph, path)).isEqualTo(dist);
+      }
+    }
+  }
+
+  @Test
+  public void testAllDistances() {
+    for (int loop = 0; loop < 30; loop++) {
+      int n = 1 + RANDOM.nextInt(100);
+      CsrGraph graph = randomGraph(RANDOM, n, 3 * n, 20);
+      DijkstrasShortestPathAdjacencyList expected = new DijkstrasShortestPathAdjacencyList(n);
+      for (int u = 0; u < n; u++) {
+        for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+          expected.addEdge(u, graph.target(e), (int) graph.weight(e));
+        }
+      }
+      DijkstrasShortestPathCsr solver = new DijkstrasShortestPathCsr(graph);
+      DijkstrasShortestPathCsr.Workspace ws = solver.newWorkspace();
+      int start = RANDOM.nextInt(n);
+      solver.dijkstra(start, ws);
+      for (int v = 0; v < n; v++) {
+        assertThat(ws.distance(v)).isEqualTo(expected.dijkstra(start, v));
+      }
+    }
+  }
+}
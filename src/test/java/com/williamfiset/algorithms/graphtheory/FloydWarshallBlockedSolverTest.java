@@ -0,0 +1,202 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class FloydWarshallBlockedSolverTest {
+
+  static final double INF = Double.POSITIVE_INFINITY;
+  static final double NEG_INF = Double.NEGATIVE_INFINITY;
+
+  static final Random RANDOM = new Random(19);
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  private FloydWarshallBlockedSolver solver(double[][] matrix, int blockSize) {
+    int n = matrix.length;
+    double[] flat = new double[n * n];
+    for (int i = 0; i < n; i++) System.arraycopy(matrix[i], 0, flat, i * n, n);
+    return new FloydWarshallBlockedSolver(flat, n, blockSize, pool);
+  }
+
+  private static double[][] randomMatrix(int n, int numEdges, boolean allowNegativeEdges) {
+    double[][] m = FloydWarshallSolver.createGraph(n);
+    while (numEdges-- > 0) {
+      int i = RANDOM.nextInt(n), j = RANDOM.nextInt(n);
+      if (i == j) continue;
+      int v = RANDOM.nextInt(100);
+      // Negative edges are rare since even one can create many negative cycles.
+      if (allowNegativeEdges && RANDOM.nextInt(200) == 0) v = -v;
+      m[i][j] = v;
+    }
+    return m;
+  }
+
+  @Test
+  public void testDirectedGraph() {
+    double[][] m = {
+      {0, INF, INF, INF, INF},
+      {1, 0, 7, INF, INF},
+      {INF, 3, 0, INF, INF},
+      {13, INF, 4, 0, INF},
+      {INF, INF, 3, 0, 0}
+    };
+    double[][] soln = solver(m, 2).getApspMatrix();
+    assertThat(soln[0]).isEqualTo(new double[] {0, INF, INF, INF, INF});
+    assertThat(soln[1]).isEqualTo(new double[] {1, 0, 7, INF, INF});
+    assertThat(soln[2]).isEqualTo(new double[] {4, 3, 0, INF, INF});
+    assertThat(soln[3]).isEqualTo(new double[] {8, 7, 4, 0, INF});
+    assertThat(soln[4]).isEqualTo(new double[] {7, 6, 3, 0, 0});
+  }
+
+  @Test
+  public void testNegativeCycleGraph() {
+    double[][] m = {
+      {0, 3, 1, 8, INF},
+      {2, 0, 9, 4, INF},
+      {INF, INF, 0, INF, -2},
+      {INF, INF, 1, 0, INF},
+      {INF, INF, INF, 0, 0}
+    };
+    FloydWarshallBlockedSolver solver = solver(m, 2);
+    double[][] soln = solver.getApspMatrix();
+    assertThat(soln[0]).isEqualTo(new double[] {0, 3, NEG_INF, NEG_INF, NEG_INF});
+    assertThat(soln[1]).isEqualTo(new double[] {2, 0, NEG_INF, NEG_INF, NEG_INF});
+    assertThat(soln[4]).isEqualTo(new double[] {INF, INF, NEG_INF, NEG_INF, NEG_INF});
+    assertThat(solver.reconstructShortestPath(0, 4)).isNull();
+    assertThat(solver.reconstructShortestPath(0, 1)).isEqualTo(Arrays.asList(0, 1));
+    assertThat(solver.reconstructShortestPath(4, 0)).isEmpty();
+  }
+
+  @Test
+  public void testEmptyAndSingleNodeGraphs() {
+    assertThat(new FloydWarshallBlockedSolver(new double[0][0]).getApspMatrix().length)
+        .isEqualTo(0);
+    FloydWarshallBlockedSolver solver = new FloydWarshallBlockedSolver(new double[][] {{-1}});
+    assertThat(solver.getDistance(0, 0)).isEqualTo(NEG_INF);
+    assertThat(solver.reconstructShortestPath(0, 0)).isNull();
+  }
+
+  @Test
+  public void testFlatMatrixIsCopied() {
+    double[] flat = {0, 5, INF, 0};
+    FloydWarshallBlockedSolver solver = new FloydWarshallBlockedSolver(flat, 2, 1, pool);
+    flat[1] = 1;
+    assertThat(solver.getDistance(0, 1)).isEqualTo(5.0);
+    assertThat(solver.getFlatApspMatrix()).isEqualTo(new double[] {0, 5, INF, 0});
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMatrixSizeMismatch() {
+    new FloydWarshallBlockedSolver(new double[5], 2, 1, pool);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBlockSize() {
+    new FloydWarshallBlockedSolver(new double[4], 2, 0, pool);
+  }
+
+  @Test
+  public void testApspAgainstTextbookSolver() {
+    for (int n = 1; n <= 40; n++) {
+      for (int blockSize : new int[] {1, 3, 8, 64}) {
+        for (boolean negative : new boolean[] {false, true}) {
+          double[][] m = randomMatrix(n, RANDOM.nextInt(n * n + 1), negative);
+          double[][] expected = new FloydWarshallSolver(m).getApspMatrix();
+          double[][] actual = solver(m, blockSize).getApspMatrix();
+          for (int i = 0; i < n; i++) assertThat(actual[i]).isEqualTo(expected[i]);
+        }
+      }
+    }
+  }
+
+  // Checks that the path from s to e uses edges of the matrix and costs the shortest distance.
+  private static void assertShortestPath(
+      double[][] m, FloydWarshallBlockedSolver solver, List<Integer> path, int s, int e) {
+    assertThat(path.get(0)).isEqualTo(s);
+    assertThat(path.get(path.size() - 1)).isEqualTo(e);
+    double cost = 0;
+    for (int i = 1; i < path.size(); i++) cost += m[path.get(i - 1)][path.get(i)];
+    assertThat(cost).isEqualTo(solver.getDistance(s, e));
+  }
+
+  // Graphs with many negative edges but no negative cycle: every edge costs a non negative base,
+  // which is often zero, plus the difference of the heights of its endpoints.
+  @Test
+  public void testPathReconstructionWithManyNegativeEdges() {
+    for (int loop = 0; loop < 12; loop++) {
+      int n = 65 + RANDOM.nextInt(101);
+      int[] height = new int[n];
+      for (int i = 0; i < n; i++) height[i] = RANDOM.nextInt(50);
+      double[][] m = FloydWarshallSolver.createGraph(n);
+      for (int edges = 4 * n; edges > 0; edges--) {
+        int i = RANDOM.nextInt(n), j = RANDOM.nextInt(n);
+        if (i != j) m[i][j] = RANDOM.nextInt(5) + height[i] - height[j];
+      }
+      double[][] expected = new FloydWarshallSolver(m).getApspMatrix();
+      FloydWarshallBlockedSolver solver = new FloydWarshallBlockedSolver(m);
+      for (int s = 0; s < n; s++) {
+        for (int e = 0; e < n; e++) {
+          assertThat(solver.getDistance(s, e)).isEqualTo(expected[s][e]);
+          List<Integer> path = solver.reconstructShortestPath(s, e);
+          assertThat(path.isEmpty()).isEqualTo(expected[s][e] == INF);
+          if (!path.isEmpty()) assertShortestPath(m, solver, path, s, e);
+        }
+      }
+    }
+  }
+
+  // Without a zero diagonal the node at the end of a path has no edge to itself, which must not be
+  // mistaken for a negative cycle.
+  @Test
+  public void testPathReconstructionWithInfiniteDiagonal() {
+    double[][] m = {
+      {INF, 2, INF},
+      {INF, INF, -1},
+      {INF, INF, INF}
+    };
+    FloydWarshallBlockedSolver solver = solver(m, 2);
+    assertThat(solver.reconstructShortestPath(0, 2)).isEqualTo(Arrays.asList(0, 1, 2));
+    assertThat(solver.reconstructShortestPath(2, 2)).isEmpty();
+    assertThat(solver.getDistance(0, 2)).isEqualTo(1.0);
+  }
+
+  @Test
+  public void testPathReconstructionAgainstTextbookSolver() {
+    for (int n = 1; n <= 30; n++) {
+      for (int blockSize : new int[] {1, 4, 7}) {
+        double[][] m = randomMatrix(n, RANDOM.nextInt(n * n + 1), true);
+        FloydWarshallSolver expected = new FloydWarshallSolver(m);
+        FloydWarshallBlockedSolver actual = solver(m, blockSize);
+        for (int s = 0; s < n; s++) {
+          for (int e = 0; e < n; e++) {
+            List<Integer> expectedPath = expected.reconstructShortestPath(s, e);
+            List<Integer> path = actual.reconstructShortestPath(s, e);
+            if (expectedPath == null) {
+              assertThat(path).isNull();
+              continue;
+            }
+            assertThat(path.size() == 0).isEqualTo(expectedPath.size() == 0);
+            if (path.isEmpty()) continue;
+
+            // Shortest paths may differ when there are ties, but they must have the same cost.
+            assertShortestPath(m, actual, path, s, e);
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.*;
+
+public class ForwardBackwardSccSolverTest {
+
+  static final Random RANDOM = new Random(23);
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  // A random graph on the first 'dense' nodes, followed by a chain of small cycles which cannot be
+  // trimmed, with edges between the two parts.
+  private static CsrGraph randomGraph(int n, int dense, int m) {
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) builder.addEdge(RANDOM.nextInt(dense), RANDOM.nextInt(dense));
+    for (int u = dense; u + 1 < n; u++) {
+      builder.addEdge(u, u + 1);
+      if (RANDOM.nextInt(3) == 0) builder.addEdge(u + 1, u);
+      if (RANDOM.nextInt(100) == 0) builder.addEdge(u, RANDOM.nextInt(dense));
+      if (RANDOM.nextInt(100) == 0) builder.addEdge(RANDOM.nextInt(dense), u);
+    }
+    return builder.build();
+  }
+
+  // Checks that both labelings split the nodes the same way.
+  private static void assertSamePartition(int[] expected, int[] actual) {
+    assertThat(actual.length).isEqualTo(expected.length);
+    Map<Integer, Integer> forward = new HashMap<>(), backward = new HashMap<>();
+    for (int u = 0; u < expected.length; u++) {
+      forward.putIfAbsent(expected[u], actual[u]);
+      backward.putIfAbsent(actual[u], expected[u]);
+      assertThat(forward.get(expected[u])).isEqualTo(actual[u]);
+      assertThat(backward.get(actual[u])).isEqualTo(expected[u]);
+    }
+  }
+
+  private void check(CsrGraph graph) {
+    TarjanSccSolverAdjacencyList tarjan = TarjanSccSolverAdjacencyList.fromCsr(graph);
+    ForwardBackwardSccSolver solver = new ForwardBackwardSccSolver(graph, pool);
+    assertThat(solver.sccCount()).isEqualTo(tarjan.sccCount());
+    assertSamePartition(tarjan.getSccs(), solver.getSccs());
+
+    // Like Tarjan's algorithm, edges between SCCs go from higher to lower ids.
+    int[] sccs = solver.getSccs();
+    for (int u = 0; u < graph.numNodes(); u++) {
+      for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+        assertThat(sccs[u] >= sccs[graph.target(e)]).isTrue();
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullGraphConstructor() {
+    new ForwardBackwardSccSolver((CsrGraph) null);
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    ForwardBackwardSccSolver solver =
+        new ForwardBackwardSccSolver(new CsrGraph.Builder(0).build(), pool);
+    assertThat(solver.sccCount()).isEqualTo(0);
+    assertThat(solver.getSccs().length).isEqualTo(0);
+  }
+
+  @Test
+  public void testSmallGraph() {
+    List<List<Integer>> graph = TarjanSccSolverAdjacencyList.createGraph(8);
+    int[][] edges = {
+      {6, 0}, {6, 2}, {3, 4}, {6, 4}, {2, 0}, {0, 1}, {4, 5},
+      {5, 6}, {3, 7}, {7, 5}, {1, 2}, {7, 3}, {5, 0}
+    };
+    for (int[] edge : edges) TarjanSccSolverAdjacencyList.addEdge(graph, edge[0], edge[1]);
+
+    ForwardBackwardSccSolver solver = new ForwardBackwardSccSolver(graph);
+    int[] sccs = solver.getSccs();
+    assertThat(solver.sccCount()).isEqualTo(3);
+    assertThat(sccs[0]).isEqualTo(sccs[1]);
+    assertThat(sccs[1]).isEqualTo(sccs[2]);
+    assertThat(sccs[3]).isEqualTo(sccs[7]);
+    assertThat(sccs[4]).isEqualTo(sccs[5]);
+    assertThat(sccs[5]).isEqualTo(sccs[6]);
+    assertThat(sccs[0]).isNotEqualTo(sccs[3]);
+    assertThat(sccs[3]).isNotEqualTo(sccs[4]);
+    check(CsrGraph.fromAdjacencyList(graph));
+  }
+
+  @Test
+  public void testSmallRandomGraphs() {
+    for (int loop = 0; loop < 100; loop++) {
+      int n = 1 + RANDOM.nextInt(100);
+      check(randomGraph(n, 1 + RANDOM.nextInt(n), RANDOM.nextInt(3 * n)));
+    }
+  }
+
+  @Test
+  public void testLargeRandomGraphs() {
+    check(randomGraph(50_000, 50_000, 60_000));
+    check(randomGraph(50_000, 50_000, 150_000));
+    check(randomGraph(60_000, 20_000, 50_000));
+  }
+
+  @Test
+  public void testLongCycle() {
+    int n = 100_000;
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int u = 0; u < n; u++) builder.addEdge(u, (u + 1) % n);
+    ForwardBackwardSccSolver solver = new ForwardBackwardSccSolver(builder.build(), pool);
+    assertThat(solver.sccCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void testLabelsDoNotDependOnScheduling() {
+    CsrGraph graph = randomGraph(40_000, 30_000, 70_000);
+    int[] expected = new ForwardBackwardSccSolver(graph, pool).getSccs();
+    ForkJoinPool single = new ForkJoinPool(1);
+    try {
+      assertThat(new ForwardBackwardSccSolver(graph, single).getSccs()).isEqualTo(expected);
+    } finally {
+      single.shutdown();
+    }
+  }
+
+  @Test
+  public void testCondensation() {
+    CsrGraph graph = randomGraph(20_000, 15_000, 30_000);
+    ForwardBackwardSccSolver solver = new ForwardBackwardSccSolver(graph, pool);
+    CsrGraph dag = solver.condensation();
+    assertThat(dag.numNodes()).isEqualTo(solver.sccCount());
+    for (int c = 0; c < dag.numNodes(); c++) {
+      for (int e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+        assertThat(dag.target(e) < c).isTrue();
+      }
+    }
+  }
+}
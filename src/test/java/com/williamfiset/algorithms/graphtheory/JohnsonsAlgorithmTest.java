@@ -0,0 +1,120 @@
+package com.williamfiset.algorithms.graphtheory;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.BellmanFordAdjacencyList.Edge;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.*;
+
+public class JohnsonsAlgorithmTest {
+
+  static final double INF = Double.POSITIVE_INFINITY;
+
+  static final Random RANDOM = new Random(20);
+
+  private ForkJoinPool pool;
+
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  // A random graph whose negative edges never form a negative cycle, and the same graph as a
+  // Floyd-Warshall matrix.
+  private static List<Edge>[] randomGraph(int V, int E, double[][] matrix) {
+    List<Edge>[] graph = BellmanFordAdjacencyList.createGraph(V);
+    int[] height = new int[V];
+    for (int v = 0; v < V; v++) height[v] = RANDOM.nextInt(30);
+    for (int i = 0; i < E; i++) {
+      int u = RANDOM.nextInt(V), v = RANDOM.nextInt(V);
+      double cost = RANDOM.nextInt(50) + height[u] - height[v];
+      BellmanFordAdjacencyList.addEdge(graph, u, v, cost);
+      matrix[u][v] = Math.min(matrix[u][v], cost);
+    }
+    return graph;
+  }
+
+  @Test
+  public void testSmallGraphWithNegativeEdges() {
+    int V = 4;
+    List<Edge>[] graph = BellmanFordAdjacencyList.createGraph(V);
+    BellmanFordAdjacencyList.addEdge(graph, 0, 1, 4);
+    BellmanFordAdjacencyList.addEdge(graph, 0, 2, 1);
+    BellmanFordAdjacencyList.addEdge(graph, 2, 1, -2);
+    BellmanFordAdjacencyList.addEdge(graph, 1, 3, 3);
+
+    JohnsonsAlgorithm johnson = new JohnsonsAlgorithm(graph, V, pool);
+    assertThat(johnson.hasNegativeCycle()).isFalse();
+    double[][] dist = johnson.getApspMatrix();
+    assertThat(dist[0]).isEqualTo(new double[] {0, -1, 1, 2});
+    assertThat(dist[1]).isEqualTo(new double[] {INF, 0, INF, 3});
+    assertThat(dist[2]).isEqualTo(new double[] {INF, -2, 0, 1});
+    assertThat(dist[3]).isEqualTo(new double[] {INF, INF, INF, 0});
+    assertThat(johnson.shortestPaths(2)).isEqualTo(dist[2]);
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    JohnsonsAlgorithm johnson = new JohnsonsAlgorithm(BellmanFordAdjacencyList.createGraph(0), 0);
+    assertThat(johnson.getApspMatrix().length).isEqualTo(0);
+  }
+
+  @Test
+  public void testNegativeCycle() {
+    List<Edge>[] graph = BellmanFordAdjacencyList.createGraph(3);
+    BellmanFordAdjacencyList.addEdge(graph, 0, 1, 1);
+    BellmanFordAdjacencyList.addEdge(graph, 1, 2, -3);
+    BellmanFordAdjacencyList.addEdge(graph, 2, 1, 2);
+    assertThat(new JohnsonsAlgorithm(graph, 3, pool).hasNegativeCycle()).isTrue();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testQueryWithNegativeCycle() {
+    List<Edge>[] graph = BellmanFordAdjacencyList.createGraph(2);
+    BellmanFordAdjacencyList.addEdge(graph, 1, 1, -1);
+    new JohnsonsAlgorithm(graph, 2, pool).shortestPaths(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSource() {
+    new JohnsonsAlgorithm(BellmanFordAdjacencyList.createGraph(2), 2, pool).shortestPaths(2);
+  }
+
+  @Test
+  public void testAgainstFloydWarshall() {
+    for (int V = 1; V <= 60; V++) {
+      double[][] matrix = FloydWarshallSolver.createGraph(V);
+      List<Edge>[] graph = randomGraph(V, RANDOM.nextInt(3 * V + 1), matrix);
+      double[][] expected = new FloydWarshallSolver(matrix).getApspMatrix();
+      double[][] dist = new JohnsonsAlgorithm(graph, V, pool).getApspMatrix();
+      for (int i = 0; i < V; i++) assertThat(dist[i]).isEqualTo(expected[i]);
+    }
+  }
+
+  @Test
+  public void testForEachRowVisitsEverySourceOnce() {
+    int V = 500;
+    double[][] matrix = FloydWarshallSolver.createGraph(V);
+    List<Edge>[] graph = randomGraph(V, 4 * V, matrix);
+    JohnsonsAlgorithm johnson = new JohnsonsAlgorithm(graph, V, pool);
+
+    AtomicIntegerArray calls = new AtomicIntegerArray(V);
+    AtomicIntegerArray mismatches = new AtomicIntegerArray(1);
+    johnson.forEachRow(
+        (source, row) -> {
+          calls.incrementAndGet(source);
+          if (!Arrays.equals(row, BellmanFordAdjacencyList.spfa(graph, V, source))) {
+            mismatches.incrementAndGet(0);
+          }
+        });
+    for (int v = 0; v < V; v++) assertThat(calls.get(v)).isEqualTo(1);
+    assertThat(mismatches.get(0)).isEqualTo(0);
+  }
+}
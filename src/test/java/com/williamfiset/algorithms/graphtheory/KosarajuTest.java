@@ -8,6 +8,7 @@ package com.williamfiset.algorithms.graphtheory;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.williamfiset.algorithms.utils.graphutils.CsrGraph;
 import java.util.*;
 import org.junit.*;
 
@@ -236,4 +237,103 @@ public class KosarajuTest {
     }
     return true;
   }
+
+  @Test
+  public void testCsrGraph() {
+    CsrGraph.Builder builder = new CsrGraph.Builder(8);
+    builder.addEdge(6, 0).addEdge(6, 2).addEdge(3, 4).addEdge(6, 4).addEdge(2, 0);
+    builder.addEdge(0, 1).addEdge(4, 5).addEdge(5, 6).addEdge(3, 7).addEdge(7, 5);
+    builder.addEdge(1, 2).addEdge(7, 3).addEdge(5, 0);
+
+    Kosaraju solver = Kosaraju.fromCsr(builder.build());
+
+    List<List<Integer>> expectedSccs =
+        ImmutableList.of(
+            ImmutableList.of(0, 1, 2), ImmutableList.of(3, 7), ImmutableList.of(4, 5, 6));
+
+    assertThat(solver.sccCount()).isEqualTo(expectedSccs.size());
+    assertThat(isScc(solver.getSccs(), expectedSccs)).isTrue();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullCsrGraph() {
+    Kosaraju.fromCsr(null);
+  }
+
+  @Test
+  public void testDeepPathDoesNotOverflowStack() {
+    // A recursive DFS needs one stack frame per node of the path.
+    int n = 1_000_000;
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i + 1 < n; i++) builder.addEdge(i, i + 1);
+    builder.addEdge(n - 1, n / 2);
+
+    Kosaraju solver = Kosaraju.fromCsr(builder.build());
+    assertThat(solver.sccCount()).isEqualTo(n / 2 + 1);
+    int[] sccs = solver.getSccs();
+    assertThat(sccs[n - 1]).isEqualTo(sccs[n / 2]);
+    assertThat(sccs[n / 2 - 1]).isNotEqualTo(sccs[n / 2]);
+  }
+
+  @Test
+  public void testCondensation() {
+    List<List<Integer>> g = createGraph(6);
+    // SCCs {0, 1}, {2, 3}, {4} and {5}, with two edges from {0, 1} to {2, 3}.
+    addEdge(g, 0, 1);
+    addEdge(g, 1, 0);
+    addEdge(g, 2, 3);
+    addEdge(g, 3, 2);
+    addEdge(g, 0, 2);
+    addEdge(g, 1, 3);
+    addEdge(g, 3, 4);
+    addEdge(g, 0, 5);
+
+    Kosaraju solver = new Kosaraju(g);
+    int[] sccs = solver.getSccs();
+    CsrGraph dag = solver.condensation();
+    assertThat(dag.numNodes()).isEqualTo(4);
+    assertThat(dag.numEdges()).isEqualTo(3);
+    Set<List<Integer>> edges = new HashSet<>();
+    for (int c = 0; c < dag.numNodes(); c++) {
+      for (int e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+        edges.add(Arrays.asList(c, dag.target(e)));
+      }
+    }
+    assertThat(edges)
+        .containsExactly(
+            Arrays.asList(sccs[0], sccs[2]),
+            Arrays.asList(sccs[2], sccs[4]),
+            Arrays.asList(sccs[0], sccs[5]));
+  }
+
+  @Test
+  public void testCondensationIsTopologicallyNumbered() {
+    Random random = new Random(11);
+    for (int loop = 0; loop < 50; loop++) {
+      int n = 1 + random.nextInt(100);
+      List<List<Integer>> g = createGraph(n);
+      for (int i = 0; i < 2 * n; i++) addEdge(g, random.nextInt(n), random.nextInt(n));
+
+      Kosaraju solver = new Kosaraju(g);
+      int[] sccs = solver.getSccs();
+      CsrGraph dag = solver.condensation();
+      assertThat(dag.numNodes()).isEqualTo(solver.sccCount());
+      for (int c = 0; c < dag.numNodes(); c++) {
+        for (int e = dag.edgeStart(c); e < dag.edgeEnd(c); e++) {
+          assertThat(dag.target(e) > c).isTrue();
+        }
+      }
+      for (int u = 0; u < n; u++) {
+        for (int v : g.get(u)) {
+          if (sccs[u] != sccs[v]) {
+            boolean found = false;
+            for (int e = dag.edgeStart(sccs[u]); e < dag.edgeEnd(sccs[u]); e++) {
+              found |= dag.target(e) == sccs[v];
+            }
+            assertThat(found).isTrue();
+          }
+        }
+      }
+    }
+  }
 }
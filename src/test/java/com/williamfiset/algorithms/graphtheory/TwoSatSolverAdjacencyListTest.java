@@ -54,4 +54,41 @@ public class TwoSatSolverAdjacencyListTest {
     TwoSatSolverAdjacencyList solver = new TwoSatSolverAdjacencyList(g);
     assertThat(solver.isSatisfiable()).isFalse();
   }
+
+  @Test
+  public void testAssignmentSatisfiesClauses() {
+    Random random = new Random(3);
+    for (int loop = 0; loop < 200; loop++) {
+      int n = 1 + random.nextInt(10), m = random.nextInt(3 * n);
+      List<List<Integer>> g = createGraph(n);
+      int[][] clauses = new int[m][];
+      for (int i = 0; i < m; i++) {
+        clauses[i] = new int[] {random.nextInt(2 * n), random.nextInt(2 * n)};
+        TwoSatSolverAdjacencyList.addOrClause(g, clauses[i][0], clauses[i][1]);
+      }
+
+      // Brute force over all assignments.
+      boolean satisfiable = false;
+      for (int mask = 0; mask < 1 << n && !satisfiable; mask++) {
+        boolean[] values = new boolean[n];
+        for (int i = 0; i < n; i++) values[i] = (mask >> i & 1) == 1;
+        satisfiable = satisfies(clauses, values);
+      }
+
+      TwoSatSolverAdjacencyList solver = new TwoSatSolverAdjacencyList(g);
+      assertThat(solver.isSatisfiable()).isEqualTo(satisfiable);
+      if (satisfiable) assertThat(satisfies(clauses, solver.getAssignment())).isTrue();
+      else assertThat(solver.getAssignment()).isNull();
+    }
+  }
+
+  // Literal 2i is variable i and literal 2i + 1 its negation.
+  private static boolean satisfies(int[][] clauses, boolean[] values) {
+    for (int[] clause : clauses) {
+      boolean p = values[clause[0] / 2] ^ (clause[0] % 2 == 1);
+      boolean q = values[clause[1] / 2] ^ (clause[1] % 2 == 1);
+      if (!p && !q) return false;
+    }
+    return true;
+  }
 }
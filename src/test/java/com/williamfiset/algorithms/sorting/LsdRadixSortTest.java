@@ -0,0 +1,110 @@
+package com.williamfiset.algorithms.sorting;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.utils.TestUtils;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class LsdRadixSortTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDigitWidth() {
+    new LsdRadixSort(17);
+  }
+
+  @Test
+  public void testNullAndEmpty() {
+    LsdRadixSort.lsdRadixSort((int[]) null);
+    LsdRadixSort.lsdRadixSort((long[]) null);
+    LsdRadixSort.lsdRadixSort(new int[0]);
+    LsdRadixSort.lsdRadixSort(new long[0]);
+    assertThat(LsdRadixSort.argsort(new int[0])).isEqualTo(new int[0]);
+  }
+
+  @Test
+  public void testExtremeValues() {
+    int[] values = {0, Integer.MAX_VALUE, -1, Integer.MIN_VALUE, 1, Integer.MIN_VALUE};
+    LsdRadixSort.lsdRadixSort(values);
+    assertThat(values)
+        .isEqualTo(
+            new int[] {Integer.MIN_VALUE, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE});
+
+    long[] longs = {0, Long.MAX_VALUE, -1, Long.MIN_VALUE, 1L << 40, -(1L << 40)};
+    LsdRadixSort.lsdRadixSort(longs);
+    assertThat(longs)
+        .isEqualTo(new long[] {Long.MIN_VALUE, -(1L << 40), -1, 0, 1L << 40, Long.MAX_VALUE});
+  }
+
+  @Test
+  public void randomIntegers_allDigitWidths() {
+    for (int digitBits = 1; digitBits <= LsdRadixSort.MAX_DIGIT_BITS; digitBits++) {
+      for (int size = 0; size < 300; size++) {
+        int[] values = TestUtils.randomIntegerArray(size, -1_000_000_000, 1_000_000_000);
+        int[] copy = values.clone();
+
+        Arrays.sort(values);
+        LsdRadixSort.lsdRadixSort(copy, digitBits);
+
+        assertThat(values).isEqualTo(copy);
+      }
+    }
+  }
+
+  @Test
+  public void randomIntegers_fewUniqueValues() {
+    for (int size = 0; size < 1000; size++) {
+      int[] values = TestUtils.randomIntegerArray(size, -3, 3);
+      int[] copy = values.clone();
+
+      Arrays.sort(values);
+      new LsdRadixSort(11).sort(copy);
+
+      assertThat(values).isEqualTo(copy);
+    }
+  }
+
+  @Test
+  public void randomLongs() {
+    for (int digitBits : new int[] {8, 11, 16}) {
+      for (int size = 0; size < 500; size++) {
+        long[] values = TestUtils.randomLongArray(size, Long.MIN_VALUE / 2, Long.MAX_VALUE / 2);
+        long[] copy = values.clone();
+
+        Arrays.sort(values);
+        LsdRadixSort.lsdRadixSort(copy, digitBits);
+
+        assertThat(values).isEqualTo(copy);
+      }
+    }
+  }
+
+  @Test
+  public void argsortIsStable() {
+    for (int size = 0; size < 500; size++) {
+      int[] keys = TestUtils.randomIntegerArray(size, -10, 10);
+      int[] keysCopy = keys.clone();
+
+      // Boxed sort of the indices is stable, so ties keep their index order.
+      int[] expected =
+          IntStream.range(0, size)
+              .boxed()
+              .sorted(Comparator.comparingInt(i -> keys[i]))
+              .mapToInt(i -> i)
+              .toArray();
+
+      assertThat(LsdRadixSort.argsort(keys)).isEqualTo(expected);
+      assertThat(keys).isEqualTo(keysCopy);
+    }
+  }
+
+  @Test
+  public void sortByKey() {
+    int[] values = {15, 3, 27, 8, 11, 40};
+    // Sort by value modulo 10, ties keep their original order.
+    LsdRadixSort.sortByKey(values, v -> v % 10);
+    assertThat(values).isEqualTo(new int[] {40, 11, 3, 15, 27, 8});
+  }
+}
@@ -21,7 +21,10 @@ public class SortingTest {
     COUNTING_SORT(new CountingSort()),
     HEAP_SORT(new Heapsort()),
     INSERTION_SORT(new InsertionSort()),
+    LSD_RADIX_SORT(new LsdRadixSort()),
     MERGE_SORT(new MergeSort()),
+    PARALLEL_MERGE_SORT(new ParallelMergeSort()),
+    PARALLEL_QUICK_SORT(new ParallelQuickSort()),
     QUICK_SORT(new QuickSort()),
     QUICK_SORT3(new QuickSort3()),
     RADIX_SORT(new RadixSort()),
@@ -45,7 +48,10 @@ public class SortingTest {
           SortingAlgorithm.COUNTING_SORT,
           SortingAlgorithm.HEAP_SORT,
           SortingAlgorithm.INSERTION_SORT,
+          SortingAlgorithm.LSD_RADIX_SORT,
           SortingAlgorithm.MERGE_SORT,
+          SortingAlgorithm.PARALLEL_MERGE_SORT,
+          SortingAlgorithm.PARALLEL_QUICK_SORT,
           SortingAlgorithm.QUICK_SORT,
           SortingAlgorithm.QUICK_SORT3,
           SortingAlgorithm.RADIX_SORT,
@@ -87,4 +93,31 @@ public class SortingTest {
       }
     }
   }
+
+  // The parallel sorts only fork tasks past their sequential cutoff, so they
+  // need much larger inputs than the tests above to exercise the parallel code.
+  @Test
+  public void verifyParallelSortingAlgorithms_largeArrays() {
+    EnumSet<SortingAlgorithm> parallelAlgorithms =
+        EnumSet.of(SortingAlgorithm.PARALLEL_MERGE_SORT, SortingAlgorithm.PARALLEL_QUICK_SORT);
+    for (int size : new int[] {8191, 8192, 8193, 50000, 200000}) {
+      for (SortingAlgorithm algorithm : parallelAlgorithms) {
+        InplaceSort sorter = algorithm.getSortingAlgorithm();
+        int[][] inputs = {
+          TestUtils.randomIntegerArray(size, -1_000_000_000, 1_000_000_000),
+          TestUtils.randomIntegerArray(size, -5, 5),
+          TestUtils.sortedIntegerArray(size),
+          TestUtils.reversedIntegerArray(size)
+        };
+        for (int[] values : inputs) {
+          int[] copy = values.clone();
+
+          Arrays.sort(values);
+          sorter.sort(copy);
+
+          assertThat(values).isEqualTo(copy);
+        }
+      }
+    }
+  }
 }
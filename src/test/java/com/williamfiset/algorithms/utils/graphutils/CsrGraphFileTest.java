@@ -0,0 +1,139 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.williamfiset.algorithms.graphtheory.Kosaraju;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+public class CsrGraphFileTest {
+
+  static final Random RANDOM = new Random(12);
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  Path file;
+
+  @Before
+  public void setup() throws IOException {
+    file = folder.newFile("graph.csr").toPath();
+  }
+
+  static CsrGraph randomGraph(int n, int m, CsrGraphFile.Weights weights) {
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) {
+      int u = RANDOM.nextInt(n), v = RANDOM.nextInt(n);
+      if (weights == CsrGraphFile.Weights.NONE) builder.addEdge(u, v);
+      if (weights == CsrGraphFile.Weights.DOUBLE) builder.addEdge(u, v, RANDOM.nextDouble());
+      if (weights == CsrGraphFile.Weights.LONG) builder.addEdge(u, v, RANDOM.nextLong());
+    }
+    return builder.build();
+  }
+
+  static void assertSameGraph(CsrGraph actual, CsrGraph expected) {
+    assertThat(actual.numNodes()).isEqualTo(expected.numNodes());
+    assertThat(actual.numEdges()).isEqualTo(expected.numEdges());
+    assertThat(actual.hasWeights()).isEqualTo(expected.hasWeights());
+    assertThat(actual.hasLongWeights()).isEqualTo(expected.hasLongWeights());
+    for (int u = 0; u < expected.numNodes(); u++) {
+      assertThat(actual.edgeStart(u)).isEqualTo(expected.edgeStart(u));
+      assertThat(actual.edgeEnd(u)).isEqualTo(expected.edgeEnd(u));
+    }
+    for (int e = 0; e < expected.numEdges(); e++) {
+      assertThat(actual.target(e)).isEqualTo(expected.target(e));
+      assertThat(actual.weight(e)).isEqualTo(expected.weight(e));
+      if (expected.hasLongWeights()) {
+        assertThat(actual.longWeight(e)).isEqualTo(expected.longWeight(e));
+      }
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    for (CsrGraphFile.Weights weights : CsrGraphFile.Weights.values()) {
+      for (int loop = 0; loop < 10; loop++) {
+        int n = 1 + RANDOM.nextInt(200);
+        CsrGraph graph = randomGraph(n, RANDOM.nextInt(4 * n), weights);
+        CsrGraphFile.write(graph, file);
+        assertSameGraph(CsrGraphFile.open(file), graph);
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyGraph() throws IOException {
+    CsrGraphFile.write(new CsrGraph.Builder(0).build(), file);
+    CsrGraph graph = CsrGraphFile.open(file);
+    assertThat(graph.numNodes()).isEqualTo(0);
+    assertThat(graph.numEdges()).isEqualTo(0);
+  }
+
+  @Test
+  public void testDagGenerator() throws IOException {
+    List<List<Integer>> dag = new GraphGenerator.DagGenerator(5, 10, 2, 8, 0.5).createDag();
+    CsrGraphFile.write(dag, file);
+    assertThat(CsrGraphFile.open(file).toAdjacencyList()).isEqualTo(dag);
+  }
+
+  @Test
+  public void testConvertEdgeList() throws IOException {
+    Path edgeList = folder.newFile("edges.txt").toPath();
+    Files.write(
+        edgeList,
+        Arrays.asList("# A comment", "3 1 2.5", "", "0 2\t-1", "% another comment", "3 0 4"),
+        StandardCharsets.UTF_8);
+    CsrGraphFile.convertEdgeList(edgeList, file, CsrGraphFile.Weights.DOUBLE);
+
+    CsrGraph expected =
+        new CsrGraph.Builder(4).addEdge(3, 1, 2.5).addEdge(0, 2, -1.0).addEdge(3, 0, 4.0).build();
+    assertSameGraph(CsrGraphFile.open(file), expected);
+
+    CsrGraphFile.convertEdgeList(edgeList, file, CsrGraphFile.Weights.NONE);
+    assertSameGraph(
+        CsrGraphFile.open(file),
+        new CsrGraph.Builder(4).addEdge(3, 1).addEdge(0, 2).addEdge(3, 0).build());
+  }
+
+  @Test(expected = IOException.class)
+  public void testMalformedEdgeList() throws IOException {
+    Path edgeList = folder.newFile("edges.txt").toPath();
+    Files.write(edgeList, Arrays.asList("0 1", "1"), StandardCharsets.UTF_8);
+    CsrGraphFile.convertEdgeList(edgeList, file, CsrGraphFile.Weights.NONE);
+  }
+
+  @Test
+  public void testOverwriteMappedFile() throws IOException {
+    CsrGraph graph = randomGraph(100, 300, CsrGraphFile.Weights.DOUBLE);
+    CsrGraphFile.write(graph, file);
+    CsrGraph mapped = CsrGraphFile.open(file);
+
+    // A graph still mapped from the file keeps its edges when the file is replaced.
+    CsrGraph replacement = randomGraph(50, 100, CsrGraphFile.Weights.LONG);
+    CsrGraphFile.write(replacement, file);
+    assertSameGraph(mapped, graph);
+    assertSameGraph(CsrGraphFile.open(file), replacement);
+    CsrGraphFile.write(mapped, file);
+    assertSameGraph(CsrGraphFile.open(file), graph);
+  }
+
+  @Test(expected = IOException.class)
+  public void testOpenInvalidFile() throws IOException {
+    Files.write(file, new byte[100]);
+    CsrGraphFile.open(file);
+  }
+
+  @Test
+  public void testSolverOnMappedGraph() throws IOException {
+    CsrGraph graph = randomGraph(500, 1000, CsrGraphFile.Weights.NONE);
+    CsrGraphFile.write(graph, file);
+    Kosaraju expected = Kosaraju.fromCsr(graph);
+    Kosaraju actual = Kosaraju.fromCsr(CsrGraphFile.open(file));
+    assertThat(actual.sccCount()).isEqualTo(expected.sccCount());
+    assertThat(actual.getSccs()).isEqualTo(expected.getSccs());
+  }
+}
@@ -0,0 +1,120 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.*;
+import org.junit.*;
+
+public class CsrGraphTest {
+
+  static final Random RANDOM = new Random();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeNodeCount() {
+    new CsrGraph.Builder(-1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEdgeOutOfBounds() {
+    new CsrGraph.Builder(3).addEdge(0, 3);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testMixedWeights() {
+    new CsrGraph.Builder(3).addEdge(0, 1, 2.5).addEdge(1, 2, 3L);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testLongWeightsOnDoubleGraph() {
+    new CsrGraph.Builder(2).addEdge(0, 1, 2.5).build().longWeight(0);
+  }
+
+  @Test
+  public void testEmptyGraph() {
+    CsrGraph graph = new CsrGraph.Builder(0).build();
+    assertThat(graph.numNodes()).isEqualTo(0);
+    assertThat(graph.numEdges()).isEqualTo(0);
+    assertThat(graph.transpose().numEdges()).isEqualTo(0);
+  }
+
+  @Test
+  public void testEdgesKeepInsertionOrder() {
+    CsrGraph graph =
+        new CsrGraph.Builder(4)
+            .addEdge(2, 3, 1.5)
+            .addEdge(0, 2, 2.5)
+            .addEdge(2, 0, 3.5)
+            .addEdge(0, 1, 4.5)
+            .build();
+
+    assertThat(graph.numEdges()).isEqualTo(4);
+    assertThat(graph.degree(0)).isEqualTo(2);
+    assertThat(graph.degree(1)).isEqualTo(0);
+    assertThat(graph.degree(2)).isEqualTo(2);
+    assertThat(graph.degree(3)).isEqualTo(0);
+
+    int e = graph.edgeStart(0);
+    assertThat(graph.target(e)).isEqualTo(2);
+    assertThat(graph.weight(e)).isEqualTo(2.5);
+    assertThat(graph.target(e + 1)).isEqualTo(1);
+    assertThat(graph.weight(e + 1)).isEqualTo(4.5);
+
+    e = graph.edgeStart(2);
+    assertThat(graph.target(e)).isEqualTo(3);
+    assertThat(graph.weight(e)).isEqualTo(1.5);
+    assertThat(graph.target(e + 1)).isEqualTo(0);
+    assertThat(graph.weight(e + 1)).isEqualTo(3.5);
+  }
+
+  @Test
+  public void testUnweightedEdgesHaveUnitWeight() {
+    CsrGraph graph = new CsrGraph.Builder(2).addUndirectedEdge(0, 1).build();
+    assertThat(graph.hasWeights()).isFalse();
+    assertThat(graph.weight(graph.edgeStart(1))).isEqualTo(1.0);
+  }
+
+  @Test
+  public void testLongWeights() {
+    CsrGraph graph = new CsrGraph.Builder(3).addEdge(0, 1, 1L << 40).addEdge(1, 2, -7L).build();
+    assertThat(graph.hasLongWeights()).isTrue();
+    assertThat(graph.longWeight(graph.edgeStart(0))).isEqualTo(1L << 40);
+    assertThat(graph.longWeight(graph.edgeStart(1))).isEqualTo(-7L);
+
+    CsrGraph transpose = graph.transpose();
+    assertThat(transpose.target(transpose.edgeStart(2))).isEqualTo(1);
+    assertThat(transpose.longWeight(transpose.edgeStart(2))).isEqualTo(-7L);
+  }
+
+  @Test
+  public void testAdjacencyListRoundTrip() {
+    for (int loop = 0; loop < 50; loop++) {
+      int n = 1 + RANDOM.nextInt(100);
+      List<List<Integer>> adj = Utils.createEmptyAdjacencyList(n);
+      for (int i = 0; i < 3 * n; i++) {
+        Utils.addDirectedEdge(adj, RANDOM.nextInt(n), RANDOM.nextInt(n));
+      }
+      CsrGraph graph = CsrGraph.fromAdjacencyList(adj);
+      assertThat(graph.numEdges()).isEqualTo(3 * n);
+      assertThat(graph.toAdjacencyList()).isEqualTo(adj);
+    }
+  }
+
+  @Test
+  public void testTranspose() {
+    for (int loop = 0; loop < 50; loop++) {
+      int n = 1 + RANDOM.nextInt(100);
+      CsrGraph.Builder builder = new CsrGraph.Builder(n);
+      List<List<Integer>> reversed = Utils.createEmptyAdjacencyList(n);
+      for (int u = 0; u < n; u++) {
+        for (int i = RANDOM.nextInt(5); i > 0; i--) {
+          int v = RANDOM.nextInt(n);
+          builder.addEdge(u, v);
+          reversed.get(v).add(u);
+        }
+      }
+      CsrGraph transpose = builder.build().transpose();
+      assertThat(transpose.toAdjacencyList()).isEqualTo(reversed);
+      assertThat(transpose.transpose().transpose().toAdjacencyList()).isEqualTo(reversed);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.williamfiset.algorithms.utils.graphutils;
+
+import java.util.List;
+import java.util.Random;
+
+// Graph builders and checks shared by the tests of the solvers which run on a CsrGraph.
+public final class CsrGraphTestUtils {
+
+  private CsrGraphTestUtils() {}
+
+  // A directed graph with m random edges whose weights are integers in [0, maxWeight). Integer
+  // weights keep the path costs exact whatever order the edges are added in.
+  public static CsrGraph randomGraph(Random random, int n, int m, int maxWeight) {
+    CsrGraph.Builder builder = new CsrGraph.Builder(n);
+    for (int i = 0; i < m; i++) {
+      builder.addEdge(random.nextInt(n), random.nextInt(n), (double) random.nextInt(maxWeight));
+    }
+    return builder.build();
+  }
+
+  // Returns the cost of the cheapest edges along the path, or infinity if an edge is missing.
+  public static double pathCost(CsrGraph graph, int[] path) {
+    double cost = 0;
+    for (int i = 0; i + 1 < path.length; i++) {
+      double best = Double.POSITIVE_INFINITY;
+      for (int e = graph.edgeStart(path[i]); e < graph.edgeEnd(path[i]); e++) {
+        if (graph.target(e) == path[i + 1]) best = Math.min(best, graph.weight(e));
+      }
+      cost += best;
+    }
+    return cost;
+  }
+
+  public static double pathCost(CsrGraph graph, List<Integer> path) {
+    return pathCost(graph, path.stream().mapToInt(Integer::intValue).toArray());
+  }
+}